@@ -184,6 +184,16 @@ public interface IncrementalIlpSolver {
 
 	int getConstraintCount();
 
+	/**
+	 * Returns the dual value of the given constraint in the solution of the last
+	 * {@link #solveRelaxation()} call.
+	 *
+	 * @param name Name of the constraint.
+	 * @return Dual value of the constraint.
+	 * @throws IlpSolverException If no dual value is available for the constraint.
+	 */
+	double getDual(final String name) throws IlpSolverException;
+
 	Map<String, Boolean> getMappings() throws IlpSolverException;
 
 	default Map<String, Boolean> getMappings(final List<String> variables) throws IlpSolverException {
@@ -192,6 +202,16 @@ public interface IncrementalIlpSolver {
 
 	double getObjectiveValue() throws IlpSolverException;
 
+	/**
+	 * Returns the value of the given variable in the solution of the last
+	 * {@link #solve()} or {@link #solveRelaxation()} call.
+	 *
+	 * @param name Name of the variable.
+	 * @return Value of the variable.
+	 * @throws IlpSolverException If no value is available for the variable.
+	 */
+	double getValue(final String name) throws IlpSolverException;
+
 	int getVariableCount();
 
 	boolean hasVariable(final String name) throws IlpSolverException;
@@ -233,4 +253,14 @@ public interface IncrementalIlpSolver {
 
 	Statistics solve() throws IlpSolverException;
 
+	/**
+	 * Solves the LP relaxation of the current model, i.e., all variables are
+	 * continuous in [0, 1] for this run. The model itself stays binary. The model
+	 * must not contain SOS1 constraints.
+	 *
+	 * @return Statistics of the run.
+	 * @throws IlpSolverException If the solver encounters a problem.
+	 */
+	Statistics solveRelaxation() throws IlpSolverException;
+
 }
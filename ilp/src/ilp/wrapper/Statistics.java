@@ -1,5 +1,8 @@
 package ilp.wrapper;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Statistics class for the ILP solver implementations.
  *
@@ -17,6 +20,72 @@ public class Statistics {
 	 */
 	private final long duration;
 
+	/**
+	 * Solver-internal details of the run.
+	 */
+	private final SolverDetails details;
+
+	/**
+	 * Solver-internal details of a run, e.g., the number of explored
+	 * branch-and-bound nodes. Durations are given in nanoseconds relative to the
+	 * start of the solver. Values the solver does not provide are negative (or NaN
+	 * for the MIP gap).
+	 *
+	 * @param nodeCount              Number of explored branch-and-bound nodes.
+	 * @param simplexIterations      Number of simplex iterations.
+	 * @param mipGap                 Relative MIP gap at termination.
+	 * @param presolveRemovedRows    Number of rows removed by presolve.
+	 * @param presolveRemovedColumns Number of columns removed by presolve.
+	 * @param rootRelaxationTime     Time until the root relaxation was solved.
+	 * @param timeToFirstIncumbent   Time until the first incumbent was found.
+	 */
+	public record SolverDetails(long nodeCount, long simplexIterations, double mipGap, long presolveRemovedRows,
+			long presolveRemovedColumns, long rootRelaxationTime, long timeToFirstIncumbent) {
+
+		/**
+		 * Details of a run for which the solver did not provide any values.
+		 */
+		public static final SolverDetails UNKNOWN = new SolverDetails(-1, -1, Double.NaN, -1, -1, -1, -1);
+
+		/**
+		 * Returns all known values as map of metric names (without the "ilp." prefix)
+		 * to values. Durations are converted to seconds.
+		 *
+		 * @return Map of metric names to values.
+		 */
+		public Map<String, Number> toMetrics() {
+			final Map<String, Number> metrics = new LinkedHashMap<>();
+			putIfKnown(metrics, "node_count", nodeCount);
+			putIfKnown(metrics, "simplex_iterations", simplexIterations);
+			if (!Double.isNaN(mipGap)) {
+				metrics.put("mip_gap", mipGap);
+			}
+			putIfKnown(metrics, "presolve_removed_rows", presolveRemovedRows);
+			putIfKnown(metrics, "presolve_removed_columns", presolveRemovedColumns);
+			if (rootRelaxationTime >= 0) {
+				metrics.put("root_relaxation_time", rootRelaxationTime / 1_000_000_000d);
+			}
+			if (timeToFirstIncumbent >= 0) {
+				metrics.put("time_to_first_incumbent", timeToFirstIncumbent / 1_000_000_000d);
+			}
+			return metrics;
+		}
+
+		/**
+		 * Puts the given value to the given map if it is known (non-negative).
+		 *
+		 * @param metrics Map of metric names to values.
+		 * @param name    Name of the metric.
+		 * @param value   Value of the metric.
+		 */
+		private static void putIfKnown(final Map<String, Number> metrics, final String name, final long value) {
+			if (value >= 0) {
+				metrics.put(name, value);
+			}
+		}
+
+	}
+
 	/**
 	 * Creates a new statistics object with given parameters.
 	 *
@@ -24,8 +93,24 @@ public class Statistics {
 	 * @param duration Runtime in nanoseconds.
 	 */
 	public Statistics(final SolverStatus status, final long duration) {
+		this(status, duration, SolverDetails.UNKNOWN);
+	}
+
+	/**
+	 * Creates a new statistics object with given parameters.
+	 *
+	 * @param status   Solver status.
+	 * @param duration Runtime in nanoseconds.
+	 * @param details  Solver-internal details of the run.
+	 */
+	public Statistics(final SolverStatus status, final long duration, final SolverDetails details) {
+		if (details == null) {
+			throw new IllegalArgumentException("Solver details must not be null.");
+		}
+
 		this.status = status;
 		this.duration = duration;
+		this.details = details;
 	}
 
 	/**
@@ -46,6 +131,15 @@ public class Statistics {
 		return duration;
 	}
 
+	/**
+	 * Returns the solver-internal details of the run.
+	 *
+	 * @return Solver-internal details of the run.
+	 */
+	public SolverDetails getDetails() {
+		return details;
+	}
+
 	/**
 	 * Returns true if the statistics object was feasible.
 	 *
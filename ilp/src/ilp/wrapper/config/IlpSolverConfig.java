@@ -49,6 +49,13 @@ public class IlpSolverConfig {
 	 */
 	public static double OPT_TOL = 0.000_001;
 
+	/**
+	 * If true, the ILP solvers collect solver-internal statistics (e.g., time to
+	 * the first incumbent) via callbacks. Disabled by default to avoid the
+	 * callback overhead; experiments enable it with the full metrics level.
+	 */
+	public static boolean COLLECT_SOLVER_STATISTICS = false;
+
 	/**
 	 * Factor to scale the objective functions for the ILP solver.
 	 */
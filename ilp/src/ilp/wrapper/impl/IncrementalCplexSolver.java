@@ -9,10 +9,12 @@ import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import iflye.dependencies.logging.IflyeLogger;
+import ilog.concert.IloConversion;
 import ilog.concert.IloException;
 import ilog.concert.IloIntVar;
 import ilog.concert.IloLinearNumExpr;
 import ilog.concert.IloNumVar;
+import ilog.concert.IloNumVarType;
 import ilog.concert.IloObjective;
 import ilog.concert.IloRange;
 import ilog.cplex.IloCplex;
@@ -20,6 +22,7 @@ import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
 import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
+import ilp.wrapper.Statistics.SolverDetails;
 import ilp.wrapper.config.IlpSolverConfig;
 
 /**
@@ -68,6 +71,22 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 	 */
 	private double objectiveValue = -1;
 
+	/**
+	 * Variable values of the last LP relaxation run (empty after an ILP run).
+	 */
+	private final Map<String, Double> relaxedValues = new HashMap<>();
+
+	/**
+	 * Constraint dual values of the last LP relaxation run (empty after an ILP
+	 * run).
+	 */
+	private final Map<String, Double> duals = new HashMap<>();
+
+	/**
+	 * Callback that collects solver-internal statistics (null if disabled).
+	 */
+	private final StatisticsCallback statisticsCallback;
+
 	/**
 	 * Creates a new object of this incremental CPLEX solver with the given
 	 * parameters.
@@ -87,6 +106,13 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 			}
 
 			obj = cplex.addMinimize(cplex.linearNumExpr());
+
+			if (IlpSolverConfig.COLLECT_SOLVER_STATISTICS) {
+				statisticsCallback = new StatisticsCallback();
+				cplex.use(statisticsCallback, IloCplex.Callback.Context.Id.GlobalProgress);
+			} else {
+				statisticsCallback = null;
+			}
 		} catch (final IloException e) {
 			throw new RuntimeException(e);
 		}
@@ -258,6 +284,15 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		return constraints.size();
 	}
 
+	@Override
+	public double getDual(final String name) throws IlpSolverException {
+		final Double dual = duals.get(name);
+		if (dual == null) {
+			throw new IlpSolverException("No dual value of the constraint " + name + " available.");
+		}
+		return dual;
+	}
+
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
 		return variables.values().stream().collect(Collectors.toMap(IloNumVar::getName, v -> {
@@ -274,6 +309,23 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 		return objectiveValue;
 	}
 
+	@Override
+	public double getValue(final String name) throws IlpSolverException {
+		if (!relaxedValues.isEmpty()) {
+			final Double value = relaxedValues.get(name);
+			if (value == null) {
+				throw new IlpSolverException("No value of the variable " + name + " available.");
+			}
+			return value;
+		}
+
+		try {
+			return cplex.getValue(variables.get(name));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public int getVariableCount() {
 		return variables.size();
@@ -452,8 +504,13 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 
 	@Override
 	public Statistics solve() throws IlpSolverException {
+		relaxedValues.clear();
+		duals.clear();
 		try {
 			final long start = System.nanoTime();
+			if (statisticsCallback != null) {
+				statisticsCallback.reset(start);
+			}
 			final boolean solve = cplex.solve();
 			if (solve) {
 				objectiveValue = cplex.getObjValue();
@@ -461,24 +518,138 @@ public class IncrementalCplexSolver  extends IflyeLogger implements IncrementalI
 				objectiveValue = -1;
 			}
 
-			SolverStatus status;
-			if (cplex.getStatus() == IloCplex.Status.Unbounded) {
-				status = SolverStatus.UNBOUNDED;
-			} else if (cplex.getStatus() == IloCplex.Status.InfeasibleOrUnbounded) {
-				status = SolverStatus.INF_OR_UNBD;
-			} else if (cplex.getStatus() == IloCplex.Status.Infeasible) {
-				status = SolverStatus.INFEASIBLE;
-			} else if (cplex.getStatus() == IloCplex.Status.Optimal) {
-				status = SolverStatus.OPTIMAL;
-			} else if (cplex.getStatus() == IloCplex.Status.Unknown) {
-				status = SolverStatus.TIME_OUT;
-			} else {
-				throw new RuntimeException("Unknown solver status.");
+			final SolverStatus status = getStatus();
+			final long duration = System.nanoTime() - start;
+			return new Statistics(status, duration,
+					statisticsCallback == null ? SolverDetails.UNKNOWN : statisticsCallback.getDetails(solve));
+		} catch (final IloException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
+	@Override
+	public Statistics solveRelaxation() throws IlpSolverException {
+		relaxedValues.clear();
+		duals.clear();
+		final String[] varNames = variables.keySet().toArray(String[]::new);
+		final IloNumVar[] vars = Arrays.stream(varNames).map(variables::get).toArray(IloNumVar[]::new);
+		final String[] constrNames = constraints.keySet().toArray(String[]::new);
+		final IloRange[] constrs = Arrays.stream(constrNames).map(constraints::get).toArray(IloRange[]::new);
+
+		try {
+			final IloConversion relaxation = cplex.conversion(vars, IloNumVarType.Float);
+			cplex.add(relaxation);
+			try {
+				final long start = System.nanoTime();
+				final boolean solve = cplex.solve();
+				objectiveValue = solve ? cplex.getObjValue() : -1;
+				final SolverStatus status = getStatus();
+				final long duration = System.nanoTime() - start;
+
+				// The solution gets discarded as soon as the conversion is removed
+				if (status == SolverStatus.OPTIMAL) {
+					final double[] values = cplex.getValues(vars);
+					for (int i = 0; i < varNames.length; i++) {
+						relaxedValues.put(varNames[i], values[i]);
+					}
+					final double[] pis = cplex.getDuals(constrs);
+					for (int i = 0; i < constrNames.length; i++) {
+						duals.put(constrNames[i], pis[i]);
+					}
+				}
+				return new Statistics(status, duration);
+			} finally {
+				cplex.remove(relaxation);
 			}
-			return new Statistics(status, System.nanoTime() - start);
 		} catch (final IloException e) {
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * Returns the status of the last run of the solver.
+	 *
+	 * @return Status of the last run.
+	 * @throws IloException If the solver encounters a problem.
+	 */
+	private SolverStatus getStatus() throws IloException {
+		if (cplex.getStatus() == IloCplex.Status.Unbounded) {
+			return SolverStatus.UNBOUNDED;
+		} else if (cplex.getStatus() == IloCplex.Status.InfeasibleOrUnbounded) {
+			return SolverStatus.INF_OR_UNBD;
+		} else if (cplex.getStatus() == IloCplex.Status.Infeasible) {
+			return SolverStatus.INFEASIBLE;
+		} else if (cplex.getStatus() == IloCplex.Status.Optimal) {
+			return SolverStatus.OPTIMAL;
+		} else if (cplex.getStatus() == IloCplex.Status.Unknown) {
+			return SolverStatus.TIME_OUT;
+		} else {
+			throw new RuntimeException("Unknown solver status.");
+		}
+	}
+
+	/**
+	 * Generic callback that collects solver-internal statistics of one run of the
+	 * solver. CPLEX invokes the global progress context whenever the global
+	 * progress of the branch-and-cut changes: the first invocation with a finite
+	 * best bound marks the solved root relaxation, the first one with a feasible
+	 * solution the first incumbent.
+	 *
+	 * The Concert API does not expose presolve statistics, hence, the removed rows
+	 * and columns are unknown for CPLEX.
+	 */
+	private class StatisticsCallback implements IloCplex.Callback.Function {
+
+		/**
+		 * Start of the run in nanoseconds.
+		 */
+		private long start;
+
+		/**
+		 * Time until the root relaxation was solved in nanoseconds.
+		 */
+		private long rootRelaxationTime = -1;
+
+		/**
+		 * Time until the first incumbent was found in nanoseconds.
+		 */
+		private long timeToFirstIncumbent = -1;
+
+		@Override
+		public synchronized void invoke(final IloCplex.Callback.Context context) throws IloException {
+			if (rootRelaxationTime < 0
+					&& Double.isFinite(context.getDoubleInfo(IloCplex.Callback.Context.Info.BestBound))) {
+				rootRelaxationTime = System.nanoTime() - start;
+			}
+			if (timeToFirstIncumbent < 0 && context.getIntInfo(IloCplex.Callback.Context.Info.Feasible) != 0) {
+				timeToFirstIncumbent = System.nanoTime() - start;
+			}
+		}
+
+		/**
+		 * Resets the collected statistics for a new run of the solver.
+		 *
+		 * @param start Start of the run in nanoseconds.
+		 */
+		private synchronized void reset(final long start) {
+			this.start = start;
+			this.rootRelaxationTime = -1;
+			this.timeToFirstIncumbent = -1;
+		}
+
+		/**
+		 * Returns the collected details of the run.
+		 *
+		 * @param hasSolution True if the run found a solution.
+		 * @return Details of the run.
+		 * @throws IloException If the solver encounters a problem.
+		 */
+		private synchronized SolverDetails getDetails(final boolean hasSolution) throws IloException {
+			final double mipGap = cplex.isMIP() && hasSolution ? cplex.getMIPRelativeGap() : Double.NaN;
+			return new SolverDetails(cplex.getNnodes64(), cplex.getNiterations64(), mipGap, -1, -1,
+					rootRelaxationTime, timeToFirstIncumbent);
+		}
+
+	}
+
 }
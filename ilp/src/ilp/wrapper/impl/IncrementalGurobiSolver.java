@@ -11,10 +11,12 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.gurobi.gurobi.GRB;
+import com.gurobi.gurobi.GRB.CharAttr;
 import com.gurobi.gurobi.GRB.DoubleAttr;
 import com.gurobi.gurobi.GRB.DoubleParam;
 import com.gurobi.gurobi.GRB.IntParam;
 import com.gurobi.gurobi.GRB.StringAttr;
+import com.gurobi.gurobi.GRBCallback;
 import com.gurobi.gurobi.GRBConstr;
 import com.gurobi.gurobi.GRBEnv;
 import com.gurobi.gurobi.GRBException;
@@ -27,6 +29,7 @@ import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
 import ilp.wrapper.SolverStatus;
 import ilp.wrapper.Statistics;
+import ilp.wrapper.Statistics.SolverDetails;
 import ilp.wrapper.config.IlpSolverConfig;
 
 /**
@@ -75,6 +78,17 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 	 */
 	private final Map<GRBConstr, Set<GRBVar>> constraintVars = new HashMap<>();
 
+	/**
+	 * Variable values of the last LP relaxation run (empty after an ILP run).
+	 */
+	private final Map<String, Double> relaxedValues = new HashMap<>();
+
+	/**
+	 * Constraint dual values of the last LP relaxation run (empty after an ILP
+	 * run).
+	 */
+	private final Map<String, Double> duals = new HashMap<>();
+
 	/**
 	 * Constructor that initializes a new Gurobi solver object for a given time
 	 * limit and random seed.
@@ -321,6 +335,15 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		return constraints.size();
 	}
 
+	@Override
+	public double getDual(final String name) throws IlpSolverException {
+		final Double dual = duals.get(name);
+		if (dual == null) {
+			throw new IlpSolverException("No dual value of the constraint " + name + " available.");
+		}
+		return dual;
+	}
+
 	@Override
 	public Map<String, Boolean> getMappings() throws IlpSolverException {
 		return variables.values().stream().collect(Collectors.toMap(v -> {
@@ -347,6 +370,23 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 		}
 	}
 
+	@Override
+	public double getValue(final String name) throws IlpSolverException {
+		if (!relaxedValues.isEmpty()) {
+			final Double value = relaxedValues.get(name);
+			if (value == null) {
+				throw new IlpSolverException("No value of the variable " + name + " available.");
+			}
+			return value;
+		}
+
+		try {
+			return getVariable(name).get(DoubleAttr.X);
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
+
 	@Override
 	public int getVariableCount() {
 		return variables.size();
@@ -532,32 +572,178 @@ public class IncrementalGurobiSolver extends IflyeLogger implements IncrementalI
 
 	@Override
 	public Statistics solve() throws IlpSolverException {
+		relaxedValues.clear();
+		duals.clear();
 		try {
 			model.update();
 			model.set(DoubleParam.OptimalityTol, IlpSolverConfig.OPT_TOL);
+			final StatisticsCallback callback = IlpSolverConfig.COLLECT_SOLVER_STATISTICS ? new StatisticsCallback()
+					: null;
+			model.setCallback(callback);
 			final long start = System.nanoTime();
 			model.optimize();
-			SolverStatus status;
-			if (model.get(GRB.IntAttr.Status) == GRB.UNBOUNDED) {
-				status = SolverStatus.UNBOUNDED;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.INF_OR_UNBD) {
-				status = SolverStatus.INF_OR_UNBD;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.INFEASIBLE) {
-				status = SolverStatus.INFEASIBLE;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.OPTIMAL) {
-				status = SolverStatus.OPTIMAL;
-			} else if (model.get(GRB.IntAttr.Status) == GRB.TIME_LIMIT) {
-				logger.warning("Warning: time limit (" + model.get(GRB.DoubleParam.TimeLimit) + "s) reached! "
-						+ model.get(GRB.IntAttr.SolCount) + " solutions were found so far.");
-				status = SolverStatus.TIME_OUT;
-			} else {
-				throw new RuntimeException("Unknown solver status.");
-			}
+			final SolverStatus status = getStatus();
+			final long duration = System.nanoTime() - start;
+			return new Statistics(status, duration,
+					callback == null ? SolverDetails.UNKNOWN : callback.getDetails(model));
+		} catch (final GRBException e) {
+			throw new IlpSolverException(e);
+		}
+	}
 
-			return new Statistics(status, System.nanoTime() - start);
+	@Override
+	public Statistics solveRelaxation() throws IlpSolverException {
+		relaxedValues.clear();
+		duals.clear();
+		final String[] varNames = variables.keySet().toArray(String[]::new);
+		final GRBVar[] vars = Arrays.stream(varNames).map(variables::get).toArray(GRBVar[]::new);
+		final String[] constrNames = constraints.keySet().toArray(String[]::new);
+		final GRBConstr[] constrs = Arrays.stream(constrNames).map(constraints::get).toArray(GRBConstr[]::new);
+		final char[] types = new char[vars.length];
+
+		try {
+			Arrays.fill(types, GRB.CONTINUOUS);
+			model.set(CharAttr.VType, vars, types);
+			try {
+				model.update();
+				model.set(DoubleParam.OptimalityTol, IlpSolverConfig.OPT_TOL);
+				model.setCallback(null);
+				final long start = System.nanoTime();
+				model.optimize();
+				final SolverStatus status = getStatus();
+				final long duration = System.nanoTime() - start;
+
+				// The solution gets discarded as soon as the variables are binary again
+				if (status == SolverStatus.OPTIMAL) {
+					final double[] values = model.get(DoubleAttr.X, vars);
+					for (int i = 0; i < varNames.length; i++) {
+						relaxedValues.put(varNames[i], values[i]);
+					}
+					final double[] pis = model.get(DoubleAttr.Pi, constrs);
+					for (int i = 0; i < constrNames.length; i++) {
+						duals.put(constrNames[i], pis[i]);
+					}
+				}
+				return new Statistics(status, duration);
+			} finally {
+				// The variables must be binary again, even if the relaxation failed
+				Arrays.fill(types, GRB.BINARY);
+				model.set(CharAttr.VType, vars, types);
+			}
 		} catch (final GRBException e) {
 			throw new IlpSolverException(e);
 		}
 	}
 
+	/**
+	 * Returns the status of the last run of the solver.
+	 *
+	 * @return Status of the last run.
+	 * @throws GRBException If the solver encounters a problem.
+	 */
+	private SolverStatus getStatus() throws GRBException {
+		if (model.get(GRB.IntAttr.Status) == GRB.UNBOUNDED) {
+			return SolverStatus.UNBOUNDED;
+		} else if (model.get(GRB.IntAttr.Status) == GRB.INF_OR_UNBD) {
+			return SolverStatus.INF_OR_UNBD;
+		} else if (model.get(GRB.IntAttr.Status) == GRB.INFEASIBLE) {
+			return SolverStatus.INFEASIBLE;
+		} else if (model.get(GRB.IntAttr.Status) == GRB.OPTIMAL) {
+			return SolverStatus.OPTIMAL;
+		} else if (model.get(GRB.IntAttr.Status) == GRB.TIME_LIMIT) {
+			logger.warning("Warning: time limit (" + model.get(GRB.DoubleParam.TimeLimit) + "s) reached! "
+					+ model.get(GRB.IntAttr.SolCount) + " solutions were found so far.");
+			return SolverStatus.TIME_OUT;
+		} else {
+			throw new RuntimeException("Unknown solver status.");
+		}
+	}
+
+	/**
+	 * Callback that collects solver-internal statistics of one run of the solver.
+	 * Presolve statistics and times are taken from the callbacks, all other values
+	 * from the model attributes after the run.
+	 */
+	private static class StatisticsCallback extends GRBCallback {
+
+		/**
+		 * Number of rows removed by presolve.
+		 */
+		private long presolveRemovedRows = -1;
+
+		/**
+		 * Number of columns removed by presolve.
+		 */
+		private long presolveRemovedColumns = -1;
+
+		/**
+		 * Time until the root relaxation was solved in nanoseconds.
+		 */
+		private long rootRelaxationTime = -1;
+
+		/**
+		 * Time until the first incumbent was found in nanoseconds.
+		 */
+		private long timeToFirstIncumbent = -1;
+
+		@Override
+		protected void callback() {
+			try {
+				if (where == GRB.CB_PRESOLVE) {
+					presolveRemovedRows = getIntInfo(GRB.CB_PRE_ROWDEL);
+					presolveRemovedColumns = getIntInfo(GRB.CB_PRE_COLDEL);
+				} else if (where == GRB.CB_MIPNODE && rootRelaxationTime < 0
+						&& getDoubleInfo(GRB.CB_MIPNODE_NODCNT) == 0) {
+					rootRelaxationTime = toNanos(getDoubleInfo(GRB.CB_RUNTIME));
+				} else if (where == GRB.CB_MIPSOL && timeToFirstIncumbent < 0) {
+					timeToFirstIncumbent = toNanos(getDoubleInfo(GRB.CB_RUNTIME));
+				}
+			} catch (final GRBException e) {
+				// Statistics are optional and must never abort the solver
+				logger.warning("Could not collect solver statistics: " + e.getMessage());
+			}
+		}
+
+		/**
+		 * Returns the collected details of the run of the given model.
+		 *
+		 * @param model The optimized model.
+		 * @return Details of the run.
+		 */
+		private SolverDetails getDetails(final GRBModel model) {
+			return new SolverDetails((long) getAttribute(model, DoubleAttr.NodeCount, -1),
+					(long) getAttribute(model, DoubleAttr.IterCount, -1),
+					getAttribute(model, DoubleAttr.MIPGap, Double.NaN), presolveRemovedRows, presolveRemovedColumns,
+					rootRelaxationTime, timeToFirstIncumbent);
+		}
+
+		/**
+		 * Returns the value of the given attribute of the given model or the fallback
+		 * value if the attribute is not available, e.g., the MIP gap of an LP.
+		 *
+		 * @param model     The model.
+		 * @param attribute The attribute.
+		 * @param fallback  The fallback value.
+		 * @return Value of the attribute.
+		 */
+		private static double getAttribute(final GRBModel model, final DoubleAttr attribute, final double fallback) {
+			try {
+				return model.get(attribute);
+			} catch (final GRBException e) {
+				return fallback;
+			}
+		}
+
+		/**
+		 * Converts the given runtime in seconds to nanoseconds.
+		 *
+		 * @param seconds Runtime in seconds.
+		 * @return Runtime in nanoseconds.
+		 */
+		private static long toNanos(final double seconds) {
+			return (long) (seconds * 1_000_000_000);
+		}
+
+	}
+
 }
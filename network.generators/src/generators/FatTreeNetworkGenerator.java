@@ -4,7 +4,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import facade.ModelFacade;
+import generators.cache.SubstratePathCache;
 import generators.config.FatTreeConfig;
 import generators.config.GlobalGeneratorConfig;
 import generators.config.IGeneratorConfig;
@@ -186,7 +186,7 @@ public class FatTreeNetworkGenerator implements INetworkGenerator {
 
 		// Generate paths
 		if (!isVirtual) {
-			ModelFacade.getInstance().createAllPathsForNetwork(networkId);
+			SubstratePathCache.createAllPathsForNetwork(networkId);
 		} else {
 			final VirtualNetwork vnet = ((VirtualNetwork) facade.getNetworkById(networkId));
 			final OneTierConfig rack = config.getRack();
@@ -3,7 +3,7 @@ package generators;
 import java.util.LinkedList;
 import java.util.List;
 
-import facade.ModelFacade;
+import generators.cache.SubstratePathCache;
 import generators.config.GlobalGeneratorConfig;
 import generators.config.IGeneratorConfig;
 import generators.config.OneTierConfig;
@@ -101,7 +101,7 @@ public class OneTierNetworkGenerator implements INetworkGenerator {
 
 		// Generate paths
 		if (!isVirtual) {
-			ModelFacade.getInstance().createAllPathsForNetwork(networkId);
+			SubstratePathCache.createAllPathsForNetwork(networkId);
 		} else {
 			final VirtualNetwork vnet = ((VirtualNetwork) facade.getNetworkById(networkId));
 			vnet.setCpu(config.getNumberOfServers() * config.getCpuPerServer());
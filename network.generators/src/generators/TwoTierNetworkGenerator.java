@@ -4,6 +4,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
+import generators.cache.SubstratePathCache;
 import generators.config.GlobalGeneratorConfig;
 import generators.config.IGeneratorConfig;
 import generators.config.OneTierConfig;
@@ -148,7 +149,7 @@ public class TwoTierNetworkGenerator implements INetworkGenerator {
 
 		// Generate paths
 		if (!isVirtual) {
-			facade.createAllPathsForNetwork(networkId);
+			SubstratePathCache.createAllPathsForNetwork(networkId);
 		} else {
 			final VirtualNetwork vnet = ((VirtualNetwork) facade.getNetworkById(networkId));
 			final OneTierConfig rack = config.getRack();
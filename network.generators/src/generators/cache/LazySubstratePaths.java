@@ -0,0 +1,410 @@
+package generators.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import generators.config.PathCacheConfig;
+import iflye.dependencies.logging.IflyeLogger;
+import model.ModelFactory;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstratePath;
+
+/**
+ * Demand-driven generation of the paths of a substrate network.
+ *
+ * The paths between a pair of substrate nodes get searched (see
+ * {@link SubstratePathSearch}) and materialized as {@link SubstratePath}
+ * objects of the model the first time a virtual network request could use this
+ * pair. Searched paths are kept in a compact representation outside of the
+ * model (references to their nodes and links only), so they do not have to be
+ * searched again after an eviction. If the paths were loaded from the path
+ * cache, the compact representation contains all paths and nothing gets
+ * searched. Materialized paths that do not host any virtual link get evicted in
+ * the least recently requested order as soon as more than
+ * {@link PathCacheConfig#LAZY_MAX_PATHS} paths are materialized.
+ *
+ * The searched paths have the same pairs, hop counts, names, and bandwidths as
+ * the eagerly generated ones. If there are multiple shortest paths between a
+ * pair (e.g., with multiple connected core switches), the search may choose
+ * other ones than the eager path generation of the model facade.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LazySubstratePaths extends IflyeLogger {
+
+	/**
+	 * Compact representation of a path that is not necessarily part of the model.
+	 * The residual bandwidth is the one at the time of the path generation (or
+	 * search) and only used by the path cache.
+	 */
+	record PathRecord(String name, SubstrateNode source, SubstrateNode target, int hops, int bandwidth,
+			int residualBandwidth, SubstrateNode[] nodes, SubstrateLink[] links) {
+	}
+
+	/**
+	 * Lazy paths of all substrate networks: Network name to lazy paths.
+	 */
+	private static final Map<String, LazySubstratePaths> instances = new HashMap<String, LazySubstratePaths>();
+
+	/**
+	 * Substrate network of this object.
+	 */
+	private final SubstrateNetwork sNet;
+
+	/**
+	 * Known paths of the substrate network: Source node to target node to paths.
+	 * Contains all paths if they were loaded from the path cache or the searched
+	 * ones otherwise.
+	 */
+	private final Map<SubstrateNode, Map<SubstrateNode, List<PathRecord>>> records = new HashMap<>();
+
+	/**
+	 * Search for the paths of a pair that is not known yet or null if all paths
+	 * are known.
+	 */
+	private SubstratePathSearch search;
+
+	/**
+	 * Materialized paths per pair of source and target node in the least recently
+	 * requested order.
+	 */
+	private final LinkedHashMap<List<SubstrateNode>, List<SubstratePath>> materialized = new LinkedHashMap<>(16,
+			0.75f, true);
+
+	/**
+	 * Number of materialized paths.
+	 */
+	private int numberOfMaterializedPaths = 0;
+
+	/**
+	 * Constructor that initializes the object for a given substrate network.
+	 *
+	 * @param sNet   Substrate network.
+	 * @param search Search for the paths of unknown pairs or null if all paths are
+	 *               known.
+	 */
+	private LazySubstratePaths(final SubstrateNetwork sNet, final SubstratePathSearch search) {
+		this.sNet = sNet;
+		this.search = search;
+	}
+
+	/**
+	 * Creates the lazy paths for the given substrate network. No path gets
+	 * generated before a pair is requested. All paths that are currently part of
+	 * the network get removed from the model.
+	 *
+	 * @param sNet Substrate network to create the lazy paths for.
+	 */
+	static void createForNetwork(final SubstrateNetwork sNet) {
+		new ArrayList<>(sNet.getPaths()).forEach(LazySubstratePaths::detach);
+		register(new LazySubstratePaths(sNet, new SubstratePathSearch(sNet)));
+		logger.info("Paths of substrate network " + sNet.getName() + " get generated on demand.");
+	}
+
+	/**
+	 * Creates the lazy paths for the given substrate network from the given
+	 * compact paths, e.g., from the path cache.
+	 *
+	 * @param sNet  Substrate network to create the lazy paths for.
+	 * @param paths Compact representations of all paths of the network.
+	 */
+	static void createForNetwork(final SubstrateNetwork sNet, final List<PathRecord> paths) {
+		final LazySubstratePaths lazy = new LazySubstratePaths(sNet, null);
+		for (final PathRecord p : paths) {
+			lazy.records.computeIfAbsent(p.source(), s -> new HashMap<>())
+					.computeIfAbsent(p.target(), t -> new ArrayList<>(1)).add(p);
+		}
+
+		register(lazy);
+		logger.info("Created " + paths.size() + " lazy paths for substrate network " + sNet.getName() + ".");
+	}
+
+	/**
+	 * Registers the given lazy paths for their substrate network.
+	 *
+	 * @param lazy Lazy paths to register.
+	 */
+	private static void register(final LazySubstratePaths lazy) {
+		synchronized (instances) {
+			instances.put(lazy.sNet.getName(), lazy);
+		}
+	}
+
+	/**
+	 * Returns the lazy paths of the given substrate network.
+	 *
+	 * @param sNet Substrate network.
+	 * @return Lazy paths of the substrate network or null if its paths were
+	 *         generated eagerly.
+	 */
+	private static LazySubstratePaths get(final SubstrateNetwork sNet) {
+		synchronized (instances) {
+			final LazySubstratePaths lazy = instances.get(sNet.getName());
+			if (lazy != null && lazy.sNet != sNet) {
+				// Stale entry of a previous model with the same network name
+				instances.remove(sNet.getName());
+				return null;
+			}
+			return lazy;
+		}
+	}
+
+	/**
+	 * Returns true if the paths of the given substrate network are generated on
+	 * demand.
+	 *
+	 * @param sNet Substrate network.
+	 * @return True if the paths of the substrate network are generated on demand.
+	 */
+	public static boolean isLazy(final SubstrateNetwork sNet) {
+		return get(sNet) != null;
+	}
+
+	/**
+	 * Materializes all paths from every given source node to every given target
+	 * node of the given substrate network. Afterwards, unused paths of other pairs
+	 * get evicted if the limit of materialized paths is exceeded. Does nothing if
+	 * the paths of the substrate network were generated eagerly.
+	 *
+	 * @param sNet  Substrate network.
+	 * @param pairs Source nodes to the target nodes of all pairs to materialize
+	 *              the paths for.
+	 */
+	public static void generatePaths(final SubstrateNetwork sNet,
+			final Map<? extends SubstrateNode, ? extends Set<? extends SubstrateNode>> pairs) {
+		final LazySubstratePaths lazy = get(sNet);
+		if (lazy != null) {
+			synchronized (lazy) {
+				lazy.generate(pairs);
+			}
+		}
+	}
+
+	/**
+	 * Materializes all paths of the given substrate network, e.g., for algorithms
+	 * that do not support the demand-driven path generation. Does nothing if the
+	 * paths of the substrate network were generated eagerly.
+	 *
+	 * @param sNet Substrate network.
+	 */
+	public static void generateAllPaths(final SubstrateNetwork sNet) {
+		final LazySubstratePaths lazy = get(sNet);
+		if (lazy != null) {
+			synchronized (lazy) {
+				final Map<SubstrateNode, Set<SubstrateNode>> all = new HashMap<>();
+				if (lazy.search == null) {
+					lazy.records.forEach((source, targets) -> all.put(source, targets.keySet()));
+				} else {
+					final Set<SubstrateNode> nodes = new HashSet<>();
+					sNet.getNodess().forEach(n -> nodes.add((SubstrateNode) n));
+					nodes.forEach(n -> all.put(n, nodes));
+				}
+				lazy.generate(all);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of currently materialized paths of the given substrate
+	 * network.
+	 *
+	 * @param sNet Substrate network.
+	 * @return Number of materialized paths or the number of all paths if the paths
+	 *         of the substrate network were generated eagerly.
+	 */
+	public static int getNumberOfMaterializedPaths(final SubstrateNetwork sNet) {
+		final LazySubstratePaths lazy = get(sNet);
+		if (lazy == null) {
+			return sNet.getPaths().size();
+		}
+
+		synchronized (lazy) {
+			return lazy.numberOfMaterializedPaths;
+		}
+	}
+
+	/**
+	 * Materializes all paths of the given pairs and evicts unused paths afterwards.
+	 *
+	 * @param pairs Source nodes to the target nodes of all pairs to materialize
+	 *              the paths for.
+	 */
+	private void generate(final Map<? extends SubstrateNode, ? extends Set<? extends SubstrateNode>> pairs) {
+		final Set<List<SubstrateNode>> requested = new HashSet<>();
+		if (search != null && search.isStale()) {
+			// Nodes or links were added or removed, so the known paths may be outdated
+			search = new SubstratePathSearch(sNet);
+			records.clear();
+		}
+
+		for (final SubstrateNode source : pairs.keySet()) {
+			for (final SubstrateNode target : pairs.get(source)) {
+				final List<PathRecord> paths = getPaths(source, target);
+				if (paths == null || paths.isEmpty()) {
+					continue;
+				}
+
+				final List<SubstrateNode> pair = List.of(source, target);
+				requested.add(pair);
+				final List<SubstratePath> existing = materialized.get(pair);
+				if (existing != null && existing.stream().allMatch(p -> p.eContainer() == sNet)) {
+					continue;
+				}
+
+				if (existing != null) {
+					// Some paths were removed from the model in the meantime, e.g., with a node
+					numberOfMaterializedPaths -= existing.size();
+					existing.forEach(LazySubstratePaths::detach);
+				}
+
+				final List<SubstratePath> created = new ArrayList<>(paths.size());
+				for (final PathRecord p : paths) {
+					if (isValid(p)) {
+						created.add(materialize(p));
+					}
+				}
+				materialized.put(pair, created);
+				numberOfMaterializedPaths += created.size();
+			}
+		}
+
+		evict(requested);
+	}
+
+	/**
+	 * Returns the known paths from the given source to the given target node.
+	 * Searches the paths of both directions if they are not known yet.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return Paths from the source to the target node or null if there are none.
+	 */
+	private List<PathRecord> getPaths(final SubstrateNode source, final SubstrateNode target) {
+		final Map<SubstrateNode, List<PathRecord>> targets = records.get(source);
+		final List<PathRecord> known = targets == null ? null : targets.get(target);
+		if (known != null || search == null || !SubstratePathSearch.hasPaths(source, target)) {
+			return known;
+		}
+
+		final List<List<PathRecord>> found = search.find(source, target);
+		records.computeIfAbsent(source, s -> new HashMap<>()).put(target, found.get(0));
+		records.computeIfAbsent(target, t -> new HashMap<>()).put(source, found.get(1));
+		return found.get(0);
+	}
+
+	/**
+	 * Evicts materialized paths that do not host any virtual link in the least
+	 * recently requested order until the limit of materialized paths is met.
+	 * Paths of the given pairs never get evicted.
+	 *
+	 * @param requested Pairs of the current request.
+	 */
+	private void evict(final Set<List<SubstrateNode>> requested) {
+		final Iterator<Map.Entry<List<SubstrateNode>, List<SubstratePath>>> it = materialized.entrySet().iterator();
+		while (numberOfMaterializedPaths > PathCacheConfig.LAZY_MAX_PATHS && it.hasNext()) {
+			final Map.Entry<List<SubstrateNode>, List<SubstratePath>> entry = it.next();
+			if (requested.contains(entry.getKey())
+					|| entry.getValue().stream().anyMatch(p -> !p.getGuestLinks().isEmpty())) {
+				continue;
+			}
+
+			entry.getValue().forEach(LazySubstratePaths::detach);
+			numberOfMaterializedPaths -= entry.getValue().size();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Adds a path object for the given compact path to the substrate network. The
+	 * residual bandwidth is set to the minimum residual bandwidth of all links of
+	 * the path at the time of the materialization, which is the invariant the
+	 * model facade maintains for eagerly generated paths. The residual bandwidth
+	 * of the compact path is outdated as soon as a virtual link was embedded, so
+	 * it is not used.
+	 *
+	 * @param record Compact path to materialize.
+	 * @return Materialized path.
+	 */
+	private SubstratePath materialize(final PathRecord record) {
+		final SubstratePath p = ModelFactory.eINSTANCE.createSubstratePath();
+		p.setName(record.name());
+		p.setSource(record.source());
+		p.setTarget(record.target());
+		p.setHops(record.hops());
+		p.setBandwidth(record.bandwidth());
+
+		int residualBandwidth = Integer.MAX_VALUE;
+		for (final SubstrateLink l : record.links()) {
+			residualBandwidth = Math.min(residualBandwidth, l.getResidualBandwidth());
+		}
+		p.setResidualBandwidth(residualBandwidth);
+
+		for (final SubstrateNode n : record.nodes()) {
+			p.getNodes().add(n);
+		}
+		for (final SubstrateLink l : record.links()) {
+			p.getLinks().add(l);
+		}
+
+		sNet.getPaths().add(p);
+		return p;
+	}
+
+	/**
+	 * Checks if all nodes and links of the given compact path are still part of the
+	 * substrate network.
+	 *
+	 * @param record Compact path to check.
+	 * @return True if all nodes and links of the path are still part of the
+	 *         network.
+	 */
+	private boolean isValid(final PathRecord record) {
+		for (final SubstrateNode n : record.nodes()) {
+			if (n.eContainer() != sNet) {
+				return false;
+			}
+		}
+		for (final SubstrateLink l : record.links()) {
+			if (l.eContainer() != sNet) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the given path with all of its references from the model.
+	 *
+	 * @param p Path to remove.
+	 */
+	private static void detach(final SubstratePath p) {
+		if (p.eContainer() instanceof SubstrateNetwork net) {
+			net.getPaths().remove(p);
+		}
+		p.setSource(null);
+		p.setTarget(null);
+		p.getNodes().clear();
+		p.getLinks().clear();
+	}
+
+	/**
+	 * Removes the lazy paths of the substrate network with the given ID, e.g., if
+	 * its paths get generated again.
+	 *
+	 * @param networkId Substrate network ID.
+	 */
+	static void remove(final String networkId) {
+		synchronized (instances) {
+			instances.remove(networkId);
+		}
+	}
+
+}
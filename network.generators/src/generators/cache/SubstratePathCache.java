@@ -0,0 +1,315 @@
+package generators.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import generators.cache.LazySubstratePaths.PathRecord;
+import generators.config.PathCacheConfig;
+import iflye.dependencies.logging.IflyeLogger;
+import model.Link;
+import model.ModelFactory;
+import model.Node;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstratePath;
+import model.SubstrateServer;
+
+/**
+ * Content-addressed on-disk cache for the paths of generated substrate networks.
+ *
+ * The cache key is a hash of the network's topology (IDs and resources of all
+ * nodes and links, i.e., everything the generator configuration determines)
+ * and all path generation settings of {@link ModelFacadeConfig}. Hence, a cache
+ * entry can only be hit by an identical substrate network with identical path
+ * settings. Entries are stored in a compact binary format that references nodes
+ * and links by their index within the network.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstratePathCache extends IflyeLogger {
+
+	/**
+	 * Magic number of the cache file format ('IPC' + version).
+	 */
+	private static final int MAGIC = 0x49504301;
+
+	/**
+	 * File extension of all cache files.
+	 */
+	private static final String FILE_EXTENSION = ".paths";
+
+	/**
+	 * Private constructor ensures no object instantiation.
+	 */
+	private SubstratePathCache() {
+	}
+
+	/**
+	 * Creates all paths for the given substrate network. If the cache is enabled
+	 * (see {@link PathCacheConfig#ENABLED}), the paths get loaded from the cache or
+	 * are stored to it after their generation. If the lazy path generation is
+	 * enabled (see {@link PathCacheConfig#LAZY}), no path gets added to the model.
+	 * Cached paths are then only kept in the compact representation of
+	 * {@link LazySubstratePaths}, and without a cache entry the paths get
+	 * generated per pair on demand. Hence, the lazy mode never stores entries to
+	 * the cache.
+	 *
+	 * @param networkId Substrate network ID to create all paths for.
+	 */
+	public static void createAllPathsForNetwork(final String networkId) {
+		LazySubstratePaths.remove(networkId);
+
+		if (!PathCacheConfig.ENABLED) {
+			if (PathCacheConfig.LAZY) {
+				LazySubstratePaths.createForNetwork(getSubstrateNetwork(networkId));
+			} else {
+				ModelFacade.getInstance().createAllPathsForNetwork(networkId);
+			}
+			return;
+		}
+
+		final SubstrateNetwork sNet = getSubstrateNetwork(networkId);
+		final Path file = PathCacheConfig.CACHE_DIR.resolve(key(sNet) + FILE_EXTENSION);
+
+		if (Files.isRegularFile(file)) {
+			try {
+				if (PathCacheConfig.LAZY) {
+					// The cached paths never get added to the model at once
+					LazySubstratePaths.createForNetwork(sNet, read(sNet, file));
+				} else {
+					load(sNet, file);
+				}
+				return;
+			} catch (final IOException | RuntimeException e) {
+				// Fall back to the generation of all paths, the broken entry gets overwritten
+				logger.warning("Could not load cached paths from " + file + ": " + e.getMessage());
+				sNet.getPaths().clear();
+			}
+		}
+
+		if (PathCacheConfig.LAZY) {
+			LazySubstratePaths.createForNetwork(sNet);
+			return;
+		}
+
+		ModelFacade.getInstance().createAllPathsForNetwork(networkId);
+
+		try {
+			store(sNet, file);
+		} catch (final IOException e) {
+			logger.warning("Could not store paths to cache file " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Computes the cache key of the given substrate network, i.e., a hash of its
+	 * topology and the current path generation settings.
+	 *
+	 * @param sNet Substrate network to compute the key for.
+	 * @return Hex string of the cache key.
+	 */
+	public static String key(final SubstrateNetwork sNet) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(MAGIC).append('|');
+		sb.append(ModelFacadeConfig.MIN_PATH_LENGTH).append('|');
+		sb.append(ModelFacadeConfig.MAX_PATH_LENGTH).append('|');
+		sb.append(ModelFacadeConfig.MAX_PATH_LENGTH_AUTO).append('|');
+		sb.append(ModelFacadeConfig.YEN_PATH_GEN).append('|');
+		sb.append(ModelFacadeConfig.YEN_K).append('|');
+		sb.append(ModelFacadeConfig.IGNORE_BW).append('|');
+		sb.append(sNet.getName()).append('\n');
+
+		for (final Node n : sNet.getNodess()) {
+			sb.append(n.eClass().getName()).append(',').append(n.getName());
+			if (n instanceof SubstrateServer srv) {
+				sb.append(',').append(srv.getCpu());
+				sb.append(',').append(srv.getMemory());
+				sb.append(',').append(srv.getStorage());
+			}
+			sb.append('\n');
+		}
+
+		for (final Link l : sNet.getLinks()) {
+			sb.append(l.getName()).append(',');
+			sb.append(l.getSource().getName()).append(',');
+			sb.append(l.getTarget().getName()).append(',');
+			sb.append(l.getBandwidth()).append(',');
+			sb.append(((SubstrateLink) l).getResidualBandwidth()).append('\n');
+		}
+
+		try {
+			final MessageDigest md = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(md.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Writes all paths of the given substrate network to the given file. The file
+	 * is written to a temporary file first and moved afterwards, so concurrent
+	 * readers never see partially written entries.
+	 *
+	 * @param sNet Substrate network to store all paths of.
+	 * @param file File to write.
+	 * @throws IOException If the file could not be written.
+	 */
+	public static void store(final SubstrateNetwork sNet, final Path file) throws IOException {
+		final Map<Node, Integer> nodeIndex = new HashMap<>();
+		final List<Node> nodes = sNet.getNodess();
+		for (int i = 0; i < nodes.size(); i++) {
+			nodeIndex.put(nodes.get(i), i);
+		}
+
+		final Map<Link, Integer> linkIndex = new HashMap<>();
+		final List<Link> links = sNet.getLinks();
+		for (int i = 0; i < links.size(); i++) {
+			linkIndex.put(links.get(i), i);
+		}
+
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		final Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "paths", ".tmp");
+
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(nodes.size());
+			out.writeInt(links.size());
+			out.writeInt(sNet.getPaths().size());
+
+			for (final SubstratePath p : sNet.getPaths()) {
+				out.writeUTF(p.getName());
+				out.writeInt(nodeIndex.get(p.getSource()));
+				out.writeInt(nodeIndex.get(p.getTarget()));
+				out.writeInt(p.getHops());
+				out.writeInt(p.getBandwidth());
+				out.writeInt(p.getResidualBandwidth());
+
+				out.writeInt(p.getNodes().size());
+				for (final Node n : p.getNodes()) {
+					out.writeInt(nodeIndex.get(n));
+				}
+
+				out.writeInt(p.getLinks().size());
+				for (final Link l : p.getLinks()) {
+					out.writeInt(linkIndex.get(l));
+				}
+			}
+		} catch (final IOException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Loads all paths from the given file and adds them to the given substrate
+	 * network.
+	 *
+	 * @param sNet Substrate network to add all paths to.
+	 * @param file File to read.
+	 * @throws IOException If the file could not be read or does not match the
+	 *                     substrate network.
+	 */
+	public static void load(final SubstrateNetwork sNet, final Path file) throws IOException {
+		for (final PathRecord r : read(sNet, file)) {
+			final SubstratePath p = ModelFactory.eINSTANCE.createSubstratePath();
+			p.setName(r.name());
+			p.setSource(r.source());
+			p.setTarget(r.target());
+			p.setHops(r.hops());
+			p.setBandwidth(r.bandwidth());
+			p.setResidualBandwidth(r.residualBandwidth());
+
+			for (final SubstrateNode n : r.nodes()) {
+				p.getNodes().add(n);
+			}
+			for (final SubstrateLink l : r.links()) {
+				p.getLinks().add(l);
+			}
+
+			sNet.getPaths().add(p);
+		}
+	}
+
+	/**
+	 * Reads all paths of the given substrate network from the given file without
+	 * adding them to the network.
+	 *
+	 * @param sNet Substrate network of the paths.
+	 * @param file File to read.
+	 * @return Compact representations of all paths of the file.
+	 * @throws IOException If the file could not be read or does not match the
+	 *                     substrate network.
+	 */
+	static List<PathRecord> read(final SubstrateNetwork sNet, final Path file) throws IOException {
+		final List<Node> nodes = sNet.getNodess();
+		final List<Link> links = sNet.getLinks();
+
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Unknown cache file format.");
+			}
+			if (in.readInt() != nodes.size() || in.readInt() != links.size()) {
+				throw new IOException("Cache file does not match the substrate network.");
+			}
+
+			final int numberOfPaths = in.readInt();
+			final List<PathRecord> paths = new ArrayList<>(numberOfPaths);
+			for (int i = 0; i < numberOfPaths; i++) {
+				final String name = in.readUTF();
+				final SubstrateNode source = (SubstrateNode) nodes.get(in.readInt());
+				final SubstrateNode target = (SubstrateNode) nodes.get(in.readInt());
+				final int hops = in.readInt();
+				final int bandwidth = in.readInt();
+				final int residualBandwidth = in.readInt();
+
+				final SubstrateNode[] pathNodes = new SubstrateNode[in.readInt()];
+				for (int j = 0; j < pathNodes.length; j++) {
+					pathNodes[j] = (SubstrateNode) nodes.get(in.readInt());
+				}
+
+				final SubstrateLink[] pathLinks = new SubstrateLink[in.readInt()];
+				for (int j = 0; j < pathLinks.length; j++) {
+					pathLinks[j] = (SubstrateLink) links.get(in.readInt());
+				}
+
+				paths.add(new PathRecord(name, source, target, hops, bandwidth, residualBandwidth, pathNodes,
+						pathLinks));
+			}
+			return paths;
+		}
+	}
+
+	/**
+	 * Returns the substrate network with the given ID.
+	 *
+	 * @param networkId Substrate network ID.
+	 * @return Substrate network with the given ID.
+	 */
+	private static SubstrateNetwork getSubstrateNetwork(final String networkId) {
+		if (!(ModelFacade.getInstance().getNetworkById(networkId) instanceof SubstrateNetwork sNet)) {
+			throw new IllegalArgumentException("Network with ID " + networkId + " is not a substrate network.");
+		}
+		return sNet;
+	}
+
+}
@@ -0,0 +1,331 @@
+package generators.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import facade.config.ModelFacadeConfig;
+import generators.cache.LazySubstratePaths.PathRecord;
+import model.Link;
+import model.Node;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstrateServer;
+
+/**
+ * Search for the paths between one pair of substrate nodes with the path
+ * settings of {@link ModelFacadeConfig}, i.e., the shortest path (in hops) or
+ * the {@link ModelFacadeConfig#YEN_K} shortest loopless paths (Yen's algorithm)
+ * with a length between {@link ModelFacadeConfig#MIN_PATH_LENGTH} and
+ * {@link ModelFacadeConfig#MAX_PATH_LENGTH}. As for the eager path generation,
+ * only pairs with at least one substrate server get paths and the paths of the
+ * opposite direction are the reversed ones.
+ *
+ * The search works on a snapshot of the network topology that is taken when
+ * the object is created (see {@link #isStale()}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class SubstratePathSearch {
+
+	/**
+	 * Substrate network to search in.
+	 */
+	private final SubstrateNetwork sNet;
+
+	/**
+	 * Outgoing links of all substrate nodes (in the order of the network).
+	 */
+	private final Map<SubstrateNode, List<SubstrateLink>> outgoing = new HashMap<>();
+
+	/**
+	 * Index of all substrate nodes within the network.
+	 */
+	private final Map<SubstrateNode, Integer> index = new HashMap<>();
+
+	/**
+	 * Number of nodes of the network at the time of the snapshot.
+	 */
+	private final int numberOfNodes;
+
+	/**
+	 * Number of links of the network at the time of the snapshot.
+	 */
+	private final int numberOfLinks;
+
+	/**
+	 * Creates a new path search on the current topology of the given substrate
+	 * network.
+	 *
+	 * @param sNet Substrate network to search in.
+	 */
+	SubstratePathSearch(final SubstrateNetwork sNet) {
+		this.sNet = sNet;
+		final List<Node> nodes = sNet.getNodess();
+		for (int i = 0; i < nodes.size(); i++) {
+			index.put((SubstrateNode) nodes.get(i), i);
+			outgoing.put((SubstrateNode) nodes.get(i), new ArrayList<>());
+		}
+		for (final Link l : sNet.getLinks()) {
+			final List<SubstrateLink> out = outgoing.get(l.getSource());
+			if (out != null && index.containsKey(l.getTarget())) {
+				out.add((SubstrateLink) l);
+			}
+		}
+		numberOfNodes = nodes.size();
+		numberOfLinks = sNet.getLinks().size();
+	}
+
+	/**
+	 * Returns true if nodes or links were added to or removed from the network
+	 * since this object was created.
+	 *
+	 * @return True if the topology snapshot is outdated.
+	 */
+	boolean isStale() {
+		return sNet.getNodess().size() != numberOfNodes || sNet.getLinks().size() != numberOfLinks;
+	}
+
+	/**
+	 * Returns true if the eager path generation creates paths between the given
+	 * nodes, i.e., the nodes differ and at least one of them is a server.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return True if the pair could have paths.
+	 */
+	static boolean hasPaths(final SubstrateNode source, final SubstrateNode target) {
+		return source != target && (source instanceof SubstrateServer || target instanceof SubstrateServer);
+	}
+
+	/**
+	 * Searches all paths from the given source to the given target node and all
+	 * paths of the opposite direction.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return Paths from source to target (first) and from target to source
+	 *         (second).
+	 */
+	List<List<PathRecord>> find(final SubstrateNode source, final SubstrateNode target) {
+		if (!hasPaths(source, target) || !index.containsKey(source) || !index.containsKey(target)) {
+			return List.of(List.of(), List.of());
+		}
+
+		// The paths get searched in one direction only, so both directions use the
+		// same links (in reverse)
+		final boolean forward = isForward(source, target);
+		final List<List<SubstrateLink>> found = forward ? kShortest(source, target) : kShortest(target, source);
+
+		final List<PathRecord> there = new ArrayList<>(found.size());
+		final List<PathRecord> back = new ArrayList<>(found.size());
+		for (final List<SubstrateLink> links : found) {
+			final List<SubstrateLink> reversed = reverse(links);
+			if (reversed == null) {
+				continue;
+			}
+			there.add(toRecord(forward ? links : reversed));
+			back.add(toRecord(forward ? reversed : links));
+		}
+		return List.of(there, back);
+	}
+
+	/**
+	 * Returns true if the paths of the given pair get searched from the source to
+	 * the target, i.e., if the source is a server and the target is a switch or
+	 * if both are servers and the source comes first in the network.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return True if the search starts at the source.
+	 */
+	private boolean isForward(final SubstrateNode source, final SubstrateNode target) {
+		if (source instanceof SubstrateServer != target instanceof SubstrateServer) {
+			return source instanceof SubstrateServer;
+		}
+		return index.get(source) < index.get(target);
+	}
+
+	/**
+	 * Returns the shortest loopless paths (as lists of links) from the given
+	 * source to the given target node (Yen's algorithm with a breadth-first search
+	 * as the shortest path search). Only paths within the configured length limits
+	 * are returned.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return Up to K paths in the order of their length.
+	 */
+	private List<List<SubstrateLink>> kShortest(final SubstrateNode source, final SubstrateNode target) {
+		final int k = ModelFacadeConfig.YEN_PATH_GEN ? ModelFacadeConfig.YEN_K : 1;
+		final int maxHops = ModelFacadeConfig.MAX_PATH_LENGTH_AUTO ? Integer.MAX_VALUE
+				: ModelFacadeConfig.MAX_PATH_LENGTH;
+
+		final List<List<SubstrateLink>> paths = new ArrayList<>();
+		final List<List<SubstrateLink>> candidates = new ArrayList<>();
+		final List<SubstrateLink> first = shortest(source, target, Set.of(), Set.of(), maxHops);
+		if (first != null) {
+			paths.add(first);
+		}
+
+		while (!paths.isEmpty() && paths.size() < k) {
+			final List<SubstrateLink> previous = paths.get(paths.size() - 1);
+			for (int i = 0; i < previous.size(); i++) {
+				final List<SubstrateLink> root = previous.subList(0, i);
+				final SubstrateNode spur = i == 0 ? source : (SubstrateNode) previous.get(i - 1).getTarget();
+
+				final Set<SubstrateLink> blockedLinks = new HashSet<>();
+				for (final List<SubstrateLink> p : paths) {
+					if (p.size() > i && p.subList(0, i).equals(root)) {
+						blockedLinks.add(p.get(i));
+					}
+				}
+				final Set<SubstrateNode> blockedNodes = new HashSet<>();
+				blockedNodes.add(source);
+				for (final SubstrateLink l : root) {
+					blockedNodes.add((SubstrateNode) l.getTarget());
+				}
+				blockedNodes.remove(spur);
+
+				final List<SubstrateLink> spurPath = shortest(spur, target, blockedNodes, blockedLinks, maxHops - i);
+				if (spurPath != null) {
+					final List<SubstrateLink> candidate = new ArrayList<>(root);
+					candidate.addAll(spurPath);
+					if (!paths.contains(candidate) && !candidates.contains(candidate)) {
+						candidates.add(candidate);
+					}
+				}
+			}
+
+			if (candidates.isEmpty()) {
+				break;
+			}
+
+			// Shortest candidate, the first found one on ties
+			int best = 0;
+			for (int i = 1; i < candidates.size(); i++) {
+				if (candidates.get(i).size() < candidates.get(best).size()) {
+					best = i;
+				}
+			}
+			paths.add(candidates.remove(best));
+		}
+
+		paths.removeIf(p -> p.size() < ModelFacadeConfig.MIN_PATH_LENGTH);
+		return paths;
+	}
+
+	/**
+	 * Returns the shortest path (in hops) from the given source to the given
+	 * target node that does not use any of the given nodes or links.
+	 *
+	 * @param source       Source node.
+	 * @param target       Target node.
+	 * @param blockedNodes Nodes that must not be used.
+	 * @param blockedLinks Links that must not be used.
+	 * @param maxHops      Maximum number of hops.
+	 * @return Links of the shortest path or null if there is none.
+	 */
+	private List<SubstrateLink> shortest(final SubstrateNode source, final SubstrateNode target,
+			final Set<SubstrateNode> blockedNodes, final Set<SubstrateLink> blockedLinks, final int maxHops) {
+		final Map<SubstrateNode, SubstrateLink> parent = new HashMap<>();
+		final Map<SubstrateNode, Integer> hops = new HashMap<>();
+		final ArrayDeque<SubstrateNode> queue = new ArrayDeque<>();
+		hops.put(source, 0);
+		queue.add(source);
+
+		while (!queue.isEmpty()) {
+			final SubstrateNode n = queue.poll();
+			if (n == target) {
+				final List<SubstrateLink> path = new ArrayList<>();
+				for (SubstrateNode cur = target; cur != source; cur = (SubstrateNode) parent.get(cur).getSource()) {
+					path.add(parent.get(cur));
+				}
+				Collections.reverse(path);
+				return path;
+			}
+			if (hops.get(n) >= maxHops) {
+				continue;
+			}
+
+			for (final SubstrateLink l : outgoing.get(n)) {
+				final SubstrateNode next = (SubstrateNode) l.getTarget();
+				if (hops.containsKey(next) || blockedNodes.contains(next) || blockedLinks.contains(l)) {
+					continue;
+				}
+				hops.put(next, hops.get(n) + 1);
+				parent.put(next, l);
+				queue.add(next);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the links of the given path in the opposite direction.
+	 *
+	 * @param links Links of a path.
+	 * @return Links of the reversed path or null if one link has no opposite link.
+	 */
+	private List<SubstrateLink> reverse(final List<SubstrateLink> links) {
+		final List<SubstrateLink> reversed = new ArrayList<>(links.size());
+		for (int i = links.size() - 1; i >= 0; i--) {
+			final SubstrateLink opposite = getLink((SubstrateNode) links.get(i).getTarget(),
+					(SubstrateNode) links.get(i).getSource());
+			if (opposite == null) {
+				return null;
+			}
+			reversed.add(opposite);
+		}
+		return reversed;
+	}
+
+	/**
+	 * Returns the first link from the given source to the given target node.
+	 *
+	 * @param source Source node.
+	 * @param target Target node.
+	 * @return Link from source to target or null if there is none.
+	 */
+	private SubstrateLink getLink(final SubstrateNode source, final SubstrateNode target) {
+		for (final SubstrateLink l : outgoing.get(source)) {
+			if (l.getTarget() == target) {
+				return l;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the compact representation of the path with the given links. The
+	 * name consists of the names of all nodes and the bandwidth is the minimum
+	 * bandwidth of all links (as for the eager path generation).
+	 *
+	 * @param links Links of the path.
+	 * @return Compact path.
+	 */
+	private PathRecord toRecord(final List<SubstrateLink> links) {
+		final SubstrateNode[] nodes = new SubstrateNode[links.size() + 1];
+		nodes[0] = (SubstrateNode) links.get(0).getSource();
+		final StringBuilder name = new StringBuilder("path-").append(nodes[0].getName());
+		int bandwidth = Integer.MAX_VALUE;
+		int residualBandwidth = Integer.MAX_VALUE;
+		for (int i = 0; i < links.size(); i++) {
+			nodes[i + 1] = (SubstrateNode) links.get(i).getTarget();
+			name.append('-').append(nodes[i + 1].getName());
+			bandwidth = Math.min(bandwidth, links.get(i).getBandwidth());
+			residualBandwidth = Math.min(residualBandwidth, links.get(i).getResidualBandwidth());
+		}
+
+		return new PathRecord(name.toString(), nodes[0], nodes[nodes.length - 1], links.size(), bandwidth,
+				residualBandwidth, nodes, links.toArray(new SubstrateLink[0]));
+	}
+
+}
@@ -0,0 +1,46 @@
+package generators.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Configuration of the on-disk cache for generated substrate paths and of the
+ * demand-driven path generation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PathCacheConfig {
+
+	/**
+	 * Private constructor ensures no instantiation.
+	 */
+	private PathCacheConfig() {
+	}
+
+	/**
+	 * If true, the network generators load the paths of substrate networks from
+	 * the cache (and store them after generating them, if not cached yet).
+	 */
+	public static boolean ENABLED = false;
+
+	/**
+	 * Directory of the cache files.
+	 */
+	public static Path CACHE_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "iflye-path-cache");
+
+	/**
+	 * If true, the paths of substrate networks are generated on demand, i.e., the
+	 * paths between a pair of substrate nodes only get added to the model if a
+	 * virtual network request could use this pair (see
+	 * {@link generators.cache.LazySubstratePaths}).
+	 */
+	public static boolean LAZY = false;
+
+	/**
+	 * Maximum number of materialized paths per substrate network in the lazy mode.
+	 * If this limit is exceeded, paths that do not host any virtual link get
+	 * removed from the model in the least recently requested order.
+	 */
+	public static int LAZY_MAX_PATHS = 100_000;
+
+}
@@ -41,6 +41,24 @@ public interface HasMetric<T extends Observation.Context> extends ObservationHan
 		return List.of();
 	}
 
+	/**
+	 * @return The lowest {@link MetricsLevel} at which this {@link HasMetric} is
+	 *         active.
+	 */
+	default public MetricsLevel getLevel() {
+		return MetricsLevel.TIMING;
+	}
+
+	/**
+	 * Called once before the reporters get concluded, e.g., to record metrics that
+	 * are computed only at the end of a run.
+	 * 
+	 * @return True if meters were recorded that need to be flushed.
+	 */
+	default public boolean conclude() {
+		return false;
+	}
+
 	/**
 	 * Set the currently used {@link MeterRegistry} for this {@link HasMetric}.
 	 * 
@@ -1,5 +1,9 @@
 package metrics;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration of the metric classes.
  *
@@ -12,6 +16,64 @@ public class MetricConfig {
 	 */
 	public static boolean ENABLE_MEMORY = false;
 
+	/**
+	 * Collection level of the metrics. Handlers of higher levels are not active.
+	 */
+	public static MetricsLevel METRICS_LEVEL = MetricsLevel.FULL;
+
+	/**
+	 * Interval (in embedded VNRs) of the expensive substrate-wide metrics, e.g.,
+	 * the total communication cost. 1 computes them for every VNR, N for every N-th
+	 * VNR, and 0 only once on {@code MetricsManager#conclude()}.
+	 */
+	public static int HEAVY_METRICS_INTERVAL = 1;
+
+	/**
+	 * Maximum number of queued entries of the Notion reporter. Further entries are
+	 * dropped until the background sender catches up.
+	 */
+	public static int NOTION_QUEUE_CAPACITY = 10_000;
+
+	/**
+	 * Maximum number of entries the background sender of the Notion reporter takes
+	 * from the queue at once.
+	 */
+	public static int NOTION_BATCH_SIZE = 50;
+
+	/**
+	 * Number of retries of the Notion reporter for a failed request.
+	 */
+	public static int NOTION_MAX_RETRIES = 5;
+
+	/**
+	 * Initial back-off of the Notion reporter between two retries in milliseconds.
+	 * It gets doubled after every retry.
+	 */
+	public static long NOTION_BACKOFF_MS = 500;
+
+	/**
+	 * Latency SLO per phase (e.g., 'execute' or 'ilp') of the latency reporter.
+	 * Every observation of a phase that takes longer than its SLO counts as a
+	 * violation. Phases without an entry have no SLO.
+	 */
+	public static Map<String, Duration> LATENCY_SLO = new HashMap<>();
+
+	/**
+	 * Percentiles the latency reporter writes per phase and algorithm.
+	 */
+	public static double[] LATENCY_PERCENTILES = { 50, 90, 95, 99, 99.9 };
+
+	/**
+	 * Number of the slowest VNRs the latency reporter lists per phase and
+	 * algorithm.
+	 */
+	public static int LATENCY_WORST_CASES = 5;
+
+	/**
+	 * Number of significant decimal digits of the latency histograms.
+	 */
+	public static int LATENCY_SIGNIFICANT_DIGITS = 3;
+
 	/**
 	 * Private constructor ensures no instantiation of this class.
 	 */
@@ -0,0 +1,54 @@
+package metrics;
+
+/**
+ * Collection levels of the metrics. Every {@link HasMetric} declares the level
+ * it belongs to (see {@link HasMetric#getLevel()}) and is only active if the
+ * configured level ({@link MetricConfig#METRICS_LEVEL}) includes it.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public enum MetricsLevel {
+
+	/**
+	 * Only the timings (and errors) of the phases, e.g., for throughput runs with
+	 * near-zero instrumentation overhead.
+	 */
+	TIMING,
+
+	/**
+	 * Timings plus the embedding and solver metrics.
+	 */
+	STANDARD,
+
+	/**
+	 * All metrics, including the sampled memory and thread usage.
+	 */
+	FULL;
+
+	/**
+	 * Returns true if this level includes the given level.
+	 *
+	 * @param level Level to check.
+	 * @return True if this level includes the given level.
+	 */
+	public boolean includes(final MetricsLevel level) {
+		return this.compareTo(level) >= 0;
+	}
+
+	/**
+	 * Returns the level for the given (case-insensitive) name, e.g., "timing".
+	 *
+	 * @param name Name of the level.
+	 * @return Level with the given name.
+	 * @throws IllegalArgumentException If there is no level with the given name.
+	 */
+	public static MetricsLevel of(final String name) {
+		for (final MetricsLevel level : values()) {
+			if (level.name().equalsIgnoreCase(name)) {
+				return level;
+			}
+		}
+		throw new IllegalArgumentException("Unknown metrics level: " + name);
+	}
+
+}
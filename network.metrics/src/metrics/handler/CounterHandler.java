@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import metrics.HasMetric;
 import metrics.MetricTransformer;
+import metrics.MetricsLevel;
 import metrics.manager.Context;
 import metrics.reporter.NotionReporter;
 import metrics.reporter.NotionReporter.PropertyFormat;
@@ -101,6 +102,14 @@ public class CounterHandler implements HasMetric<Context.VnetEmbeddingContext> {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.STANDARD;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
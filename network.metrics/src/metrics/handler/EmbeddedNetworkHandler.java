@@ -2,8 +2,10 @@ package metrics.handler;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 
 import io.micrometer.core.instrument.DistributionSummary;
@@ -13,7 +15,9 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.observation.Observation;
 import metrics.HasMetric;
 import metrics.IMetric;
+import metrics.MetricConfig;
 import metrics.MetricTransformer;
+import metrics.MetricsLevel;
 import metrics.embedding.AcceptedVnrMetric;
 import metrics.embedding.AveragePathLengthMetric;
 import metrics.embedding.OperatingCostMetric;
@@ -49,18 +53,46 @@ public class EmbeddedNetworkHandler implements HasMetric<Context.VnetEmbeddingCo
 	 */
 	private final Map<String, Function<SubstrateNetwork, IMetric>> metrics = new HashMap<>();
 
+	/**
+	 * The names of the expensive substrate-wide metrics. They are only computed
+	 * every {@link MetricConfig#HEAVY_METRICS_INTERVAL} embeddings.
+	 */
+	private final Set<String> heavyMetrics = new HashSet<>();
+
+	/**
+	 * The number of finished root embeddings.
+	 */
+	private long embeddings = 0;
+
+	/**
+	 * The last root embedding whose heavy metrics were skipped (null if there is
+	 * none). Its heavy metrics are computed on {@link #conclude()}.
+	 */
+	private Context.VnetEmbeddingContext pending;
+
 	public EmbeddedNetworkHandler() {
 		this.metrics.put("accepted_vnrs", (sNet) -> new AcceptedVnrMetric(sNet));
-		this.metrics.put("total_path_cost", (sNet) -> new TotalPathCostMetric(sNet));
-		this.metrics.put("average_path_length", (sNet) -> new AveragePathLengthMetric(sNet));
-		this.metrics.put("total_communication_cost_a", (sNet) -> new TotalCommunicationCostMetricA(sNet));
-		this.metrics.put("total_communication_cost_b", (sNet) -> new TotalCommunicationCostMetricB(sNet));
-		this.metrics.put("total_communication_cost_c", (sNet) -> new TotalCommunicationCostMetricC(sNet));
-		this.metrics.put("total_communication_cost_d", (sNet) -> new TotalCommunicationCostMetricD(sNet));
-		this.metrics.put("total_communication_objective_c", (sNet) -> new TotalCommunicationCostObjectiveC(sNet));
-		this.metrics.put("total_communication_objective_d", (sNet) -> new TotalCommunicationCostObjectiveD(sNet));
-		this.metrics.put("total_taf_communication_cost", (sNet) -> new TotalTafCommunicationCostMetric(sNet));
-		this.metrics.put("operation_cost", (sNet) -> new OperatingCostMetric(sNet));
+		this.putHeavy("total_path_cost", (sNet) -> new TotalPathCostMetric(sNet));
+		this.putHeavy("average_path_length", (sNet) -> new AveragePathLengthMetric(sNet));
+		this.putHeavy("total_communication_cost_a", (sNet) -> new TotalCommunicationCostMetricA(sNet));
+		this.putHeavy("total_communication_cost_b", (sNet) -> new TotalCommunicationCostMetricB(sNet));
+		this.putHeavy("total_communication_cost_c", (sNet) -> new TotalCommunicationCostMetricC(sNet));
+		this.putHeavy("total_communication_cost_d", (sNet) -> new TotalCommunicationCostMetricD(sNet));
+		this.putHeavy("total_communication_objective_c", (sNet) -> new TotalCommunicationCostObjectiveC(sNet));
+		this.putHeavy("total_communication_objective_d", (sNet) -> new TotalCommunicationCostObjectiveD(sNet));
+		this.putHeavy("total_taf_communication_cost", (sNet) -> new TotalTafCommunicationCostMetric(sNet));
+		this.putHeavy("operation_cost", (sNet) -> new OperatingCostMetric(sNet));
+	}
+
+	/**
+	 * Adds an expensive substrate-wide metric to this handler.
+	 * 
+	 * @param key    The name of the metric.
+	 * @param metric The function to compute the metric.
+	 */
+	private void putHeavy(final String key, final Function<SubstrateNetwork, IMetric> metric) {
+		this.metrics.put(key, metric);
+		this.heavyMetrics.add(key);
 	}
 
 	/**
@@ -106,6 +138,14 @@ public class EmbeddedNetworkHandler implements HasMetric<Context.VnetEmbeddingCo
 		return List.of(new NetworkMeter());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.STANDARD;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -119,19 +159,71 @@ public class EmbeddedNetworkHandler implements HasMetric<Context.VnetEmbeddingCo
 	 */
 	@Override
 	public void onStop(Context.VnetEmbeddingContext context) {
+		final int interval = MetricConfig.HEAVY_METRICS_INTERVAL;
+		final boolean sampled = interval > 0 && (embeddings + 1) % interval == 0;
+		record(context, sampled);
+
+		// Nested embeddings stop before their root and share its decision
+		if (context.getLevel() == 0) {
+			embeddings++;
+			pending = sampled ? null : context;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * Computes the skipped heavy metrics of the last embedding.
+	 */
+	@Override
+	public boolean conclude() {
+		if (pending == null) {
+			return false;
+		}
+
+		final Context.VnetEmbeddingContext context = pending;
+		pending = null;
+		final SubstrateNetwork sNet = context.getSubstrateNetwork();
+		final List<Tag> tags = createTags(context);
+		this.heavyMetrics.forEach(key -> record(key, this.metrics.get(key), sNet, tags));
+		return true;
+	}
+
+	/**
+	 * Records the metrics of the given context.
+	 * 
+	 * @param context The context to record the metrics for.
+	 * @param heavy   If true, the heavy metrics get recorded as well.
+	 */
+	private void record(final Context.VnetEmbeddingContext context, final boolean heavy) {
 		SubstrateNetwork sNet = context.getSubstrateNetwork();
 		List<Tag> tags = createTags(context);
 
 		this.metrics.forEach((key, metric) -> {
-			try {
-				this.meterRegistry.summary(key, tags).record(metric.apply(sNet).getValue());
-			} catch (UnsupportedOperationException _ignored) {
-				// Ignore the exception, as the metric might not be supported by the
-				// SubstrateNetwork.
+			if (heavy || !this.heavyMetrics.contains(key)) {
+				record(key, metric, sNet, tags);
 			}
 		});
 	}
 
+	/**
+	 * Records the given metric of the given substrate network.
+	 * 
+	 * @param key    The name of the metric.
+	 * @param metric The function to compute the metric.
+	 * @param sNet   The substrate network.
+	 * @param tags   The tags of the meter.
+	 */
+	private void record(final String key, final Function<SubstrateNetwork, IMetric> metric,
+			final SubstrateNetwork sNet, final List<Tag> tags) {
+		try {
+			this.meterRegistry.summary(key, tags).record(metric.apply(sNet).getValue());
+		} catch (UnsupportedOperationException _ignored) {
+			// Ignore the exception, as the metric might not be supported by the
+			// SubstrateNetwork.
+		}
+	}
+
 	/**
 	 * Transform the context key-values into a set of Tags to register with the
 	 * meters.
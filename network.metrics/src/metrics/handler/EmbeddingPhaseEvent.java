@@ -0,0 +1,71 @@
+package metrics.handler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event of a single observed embedding phase, i.e., the
+ * whole algorithm run, one of its stages (prepare, execute), or one of its
+ * steps (pm, ilp, deploy). The event spans the phase, hence, it can be
+ * correlated with GC, JIT, and lock events of the same recording.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+@Name(EmbeddingPhaseEvent.NAME)
+@Label("Embedding Phase")
+@Category({ "iflye", "Embedding" })
+@Description("Phase of the embedding of one or more virtual network requests")
+@StackTrace(false)
+public class EmbeddingPhaseEvent extends Event {
+
+	/**
+	 * Name of the event type in a recording.
+	 */
+	public static final String NAME = "iflye.EmbeddingPhase";
+
+	/**
+	 * Name of the observation.
+	 */
+	@Label("Observation")
+	public String observation;
+
+	/**
+	 * Phase of the algorithm ('total' for a whole algorithm run).
+	 */
+	@Label("Stage")
+	@Description("Phase of the algorithm, 'total' for a whole algorithm run")
+	public String stage;
+
+	/**
+	 * Comma-separated names of the virtual networks to embed.
+	 */
+	@Label("VNR")
+	public String vnr;
+
+	/**
+	 * Simple class name of the embedding algorithm.
+	 */
+	@Label("Algorithm")
+	public String algorithm;
+
+	/**
+	 * CPU time of the observing thread within the phase.
+	 */
+	@Label("CPU Time")
+	@Timespan(Timespan.NANOSECONDS)
+	public long cpuTime;
+
+	/**
+	 * Bytes allocated by the observing thread within the phase.
+	 */
+	@Label("Allocated")
+	@DataAmount(DataAmount.BYTES)
+	public long allocated;
+
+}
@@ -0,0 +1,173 @@
+package metrics.handler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationView;
+import metrics.HasMetric;
+import metrics.MetricsLevel;
+import metrics.manager.Context;
+import model.VirtualNetwork;
+
+/**
+ * Emits every observed embedding phase as {@link EmbeddingPhaseEvent} to the
+ * JDK Flight Recorder. If no recording is running (or the event type is
+ * disabled), the handler does nothing besides one enabled check per phase.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class JfrHandler implements HasMetric<Context> {
+
+	/**
+	 * The {@link ThreadMXBean} to measure the CPU time and allocations.
+	 */
+	private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onStart(Context context) {
+		final EmbeddingPhaseEvent event = new EmbeddingPhaseEvent();
+		if (!event.isEnabled()) {
+			return;
+		}
+
+		event.cpuTime = getCpuTime();
+		event.allocated = getAllocatedBytes();
+		context.put(EmbeddingPhaseEvent.class, event);
+		event.begin();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onStop(Context context) {
+		final EmbeddingPhaseEvent event = context.get(EmbeddingPhaseEvent.class);
+		if (event == null) {
+			return;
+		}
+
+		event.end();
+		if (!event.shouldCommit()) {
+			return;
+		}
+
+		event.cpuTime = Math.max(0, getCpuTime() - event.cpuTime);
+		event.allocated = Math.max(0, getAllocatedBytes() - event.allocated);
+		event.observation = context.getName();
+		event.stage = getSuffix(context);
+		event.vnr = getVirtualNetworks(context);
+		event.algorithm = getAlgorithm(context);
+		event.commit();
+	}
+
+	/**
+	 * Returns the stage of the event based on the context.
+	 *
+	 * @param context The context to get the stage for.
+	 * @return The stage of the event.
+	 */
+	public String getSuffix(Context context) {
+		if (context instanceof Context.PhaseContext) {
+			return ((Context.PhaseContext) context).getPhase();
+		}
+
+		return "total";
+	}
+
+	/**
+	 * Returns the comma-separated names of the virtual networks of the given
+	 * context.
+	 *
+	 * @param context The context to get the virtual networks for.
+	 * @return The names of the virtual networks or null if the context is not
+	 *         nested into a {@link Context.VnetEmbeddingContext}.
+	 */
+	private String getVirtualNetworks(final Context context) {
+		try {
+			return context.getVirtualNetwork().stream().map(VirtualNetwork::getName).sorted()
+					.collect(Collectors.joining(","));
+		} catch (final IllegalStateException | NullPointerException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the simple class name of the algorithm of the nearest
+	 * {@link Context.VnetEmbeddingContext} (the context itself or one of its
+	 * parents).
+	 *
+	 * @param context The context to get the algorithm for.
+	 * @return The name of the algorithm or null if there is none.
+	 */
+	private String getAlgorithm(final Context context) {
+		Observation.ContextView view = context;
+		while (view != null) {
+			if (view instanceof Context.VnetEmbeddingContext) {
+				final Object algorithm = ((Context.VnetEmbeddingContext) view).getAlgorithm();
+				if (algorithm == null) {
+					return null;
+				}
+
+				return algorithm instanceof String ? (String) algorithm : algorithm.getClass().getSimpleName();
+			}
+
+			final ObservationView parent = view.getParentObservation();
+			view = parent == null ? null : parent.getContextView();
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The CPU time of the current thread in nanoseconds or 0 if it is not
+	 *         supported.
+	 */
+	private long getCpuTime() {
+		return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	/**
+	 * @return The bytes allocated by the current thread or 0 if it is not
+	 *         supported.
+	 */
+	private long getAllocatedBytes() {
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes();
+		}
+
+		return 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.STANDARD;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof Context.PhaseContext || context instanceof Context.VnetEmbeddingContext;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The events do not register any meters.
+	 */
+	@Override
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		// noop
+	}
+
+}
@@ -17,6 +17,7 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.observation.Observation;
 import metrics.HasMetric;
 import metrics.MetricTransformer;
+import metrics.MetricsLevel;
 import metrics.manager.Context;
 import metrics.reporter.NotionReporter;
 import metrics.reporter.NotionReporter.PropertyFormat;
@@ -183,6 +184,14 @@ public class MemoryHandler implements HasMetric<Context>, AutoCloseable {
 		meterRegistry.summary("memory_" + suffix + ".end", createTags(context)).record(memAfter / 1024.0);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.FULL;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,127 @@
+package metrics.handler;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import metrics.HasMetric;
+import metrics.MetricTransformer;
+import metrics.MetricsLevel;
+import metrics.manager.Context;
+import metrics.reporter.NotionReporter;
+import metrics.reporter.NotionReporter.PropertyFormat;
+
+/**
+ * Reports the solver-internal statistics of an ILP step (e.g., node count, MIP
+ * gap, or time to the first incumbent) as "ilp.*" meters. The statistics are
+ * set to the {@link Context.IlpStepContext} by the algorithm, see
+ * {@link metrics.manager.GlobalMetricsManager#recordIlpStatistics(Map)}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SolverStatisticsHandler implements HasMetric<Context.IlpStepContext> {
+
+	/**
+	 * Prefix of all meters of this handler.
+	 */
+	public static final String PREFIX = "ilp.";
+
+	/**
+	 * The {@link MeterRegistry} to register the metrics to.
+	 */
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Names of all meters recorded by this handler.
+	 */
+	private final Set<String> meterNames = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<MetricTransformer> getProvidedMeters() {
+		class SolverStatisticsMeter implements MetricTransformer, NotionReporter.NotionMeter {
+			@Override
+			public Map<String, Object> toEntry(Meter meter, Map<String, Object> unmodifiableEntry) {
+				DistributionSummary summary = (DistributionSummary) meter;
+
+				Map<String, Object> entry = new HashMap<>();
+				entry.put(meter.getId().getName(), summary.max());
+				return entry;
+			}
+
+			@Override
+			public boolean supportsMeter(Meter meter) {
+				return meter instanceof DistributionSummary && meterNames.contains(meter.getId().getName());
+			}
+
+			@Override
+			public boolean shouldResetMeter(Meter meter) {
+				return true;
+			}
+
+			@Override
+			public PropertyFormat getNotionPropertyFormat(Meter meter, String key, Object value) {
+				return NotionReporter.PROPERTY_TYPE.NUMBER;
+			}
+		}
+		return List.of(new SolverStatisticsMeter());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onStop(Context.IlpStepContext context) {
+		for (final Map.Entry<String, Number> statistic : context.getSolverStatistics().entrySet()) {
+			final String name = PREFIX + statistic.getKey();
+			meterNames.add(name);
+			meterRegistry.summary(name, createTags(context)).record(statistic.getValue().doubleValue());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.STANDARD;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof Context.IlpStepContext;
+	}
+
+	/**
+	 * Transform the context key-values into a set of Tags to register with the
+	 * meters.
+	 *
+	 * @param context The context to transform.
+	 * @return The tags to register with the meters.
+	 */
+	private List<Tag> createTags(Context context) {
+		return context.getLowCardinalityKeyValues().stream().map(kv -> Tag.of(kv.getKey(), kv.getValue())).toList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMeterRegistry(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+}
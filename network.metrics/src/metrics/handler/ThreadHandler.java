@@ -19,6 +19,7 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.observation.Observation;
 import metrics.HasMetric;
 import metrics.MetricTransformer;
+import metrics.MetricsLevel;
 import metrics.manager.Context;
 import metrics.reporter.NotionReporter;
 import metrics.reporter.NotionReporter.PropertyFormat;
@@ -176,6 +177,14 @@ public class ThreadHandler implements HasMetric<Context>, AutoCloseable {
 				.record(this.threadBean.getTotalStartedThreadCount());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.FULL;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1,5 +1,6 @@
 package metrics.manager;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -297,9 +298,38 @@ public abstract class Context extends Observation.Context {
 	 * A {@link StepContext} for the ILP step of the algorithm.
 	 */
 	public static class IlpStepContext extends StepContext {
+
+		/**
+		 * Solver-internal statistics of the ILP solver by metric name.
+		 */
+		private Map<String, Number> solverStatistics = Map.of();
+
 		public IlpStepContext() {
 			super("ilp");
 		}
+
+		/**
+		 * @return Solver-internal statistics of the ILP solver by metric name (without
+		 *         the "ilp." prefix).
+		 */
+		public Map<String, Number> getSolverStatistics() {
+			return this.solverStatistics;
+		}
+
+		/**
+		 * Sets the solver-internal statistics of the ILP solver.
+		 * 
+		 * @param solverStatistics Statistics by metric name (without the "ilp."
+		 *                         prefix), must not be null.
+		 * @throws IllegalArgumentException If the statistics are null.
+		 */
+		public void setSolverStatistics(final Map<String, ? extends Number> solverStatistics) {
+			if (solverStatistics == null) {
+				throw new IllegalArgumentException("Solver statistics must not be null.");
+			}
+
+			this.solverStatistics = Map.copyOf(solverStatistics);
+		}
 	}
 
 	/**
@@ -1,5 +1,8 @@
 package metrics.manager;
 
+import java.util.Map;
+
+import io.micrometer.observation.Observation;
 import metrics.MetricConfig;
 import metrics.memory.MemoryDetailedMetric;
 import metrics.memory.MemoryPidMetric;
@@ -99,6 +102,25 @@ public class GlobalMetricsManager {
 		}
 	}
 
+	/**
+	 * Records the solver-internal statistics of the current ILP step, i.e., between
+	 * {@link #startIlpTime()} and {@link #endIlpTime()}. They get reported as
+	 * "ilp.*" meters when the ILP step ends.
+	 *
+	 * @param solverStatistics Statistics by metric name (without the "ilp."
+	 *                         prefix).
+	 */
+	public static void recordIlpStatistics(final Map<String, ? extends Number> solverStatistics) {
+		if (accessor() == null) {
+			return;
+		}
+
+		final Observation observation = accessor().getCurrentObservation();
+		if (observation != null && observation.getContext() instanceof Context.IlpStepContext ilpContext) {
+			ilpContext.setSolverStatistics(solverStatistics);
+		}
+	}
+
 	/**
 	 * Sets a start point for the PM time measurement.
 	 */
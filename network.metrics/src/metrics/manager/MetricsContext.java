@@ -0,0 +1,306 @@
+package metrics.manager;
+
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.observation.Observation;
+
+/**
+ * An immutable node in a chain of metric contexts. Each node references its
+ * parent and only holds the tags it adds itself, hence, opening a tagged scope
+ * neither copies the {@link MetricsManager} nor the tags of the enclosing
+ * scopes.
+ *
+ * A context can be captured on one thread and restored on another one (e.g., a
+ * worker thread of an executor, a solver callback, or a virtual thread). All
+ * observations started within the restored context carry its tags and are
+ * nested into the observation that was current when the context was captured.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public final class MetricsContext {
+
+	/**
+	 * The current context of each thread.
+	 */
+	private static final ThreadLocal<MetricsContext> current = new ThreadLocal<>();
+
+	/**
+	 * The {@link MetricsManager} this context belongs to.
+	 */
+	private final MetricsManager manager;
+
+	/**
+	 * The parent context or null if this is a root context.
+	 */
+	private final MetricsContext parent;
+
+	/**
+	 * The tags added by this context.
+	 */
+	private final Tags tags;
+
+	/**
+	 * The parent observation of all observations started within this context or
+	 * null if the current observation of the thread should be used.
+	 */
+	private final Observation observation;
+
+	/**
+	 * The tags of the whole chain (computed lazily).
+	 */
+	private volatile Tags chainTags;
+
+	/**
+	 * A scope of an opened {@link MetricsContext}. Closing it restores the
+	 * previous context of the thread.
+	 */
+	public final class Scope implements AutoCloseable {
+
+		/**
+		 * The context of the thread before this scope was opened.
+		 */
+		private final MetricsContext previous;
+
+		/**
+		 * True if opening this scope pushed the manager onto the stack of the thread.
+		 */
+		private final boolean pushedManager;
+
+		/**
+		 * The observation scope opened by this scope or null.
+		 */
+		private final Observation.Scope observationScope;
+
+		/**
+		 * The observation scope that was current right after this scope was opened.
+		 */
+		private final Observation.Scope enclosingScope;
+
+		/**
+		 * Creates a new scope.
+		 *
+		 * @param previous         The context of the thread before this scope.
+		 * @param pushedManager    True if the manager was pushed onto the stack.
+		 * @param observationScope The opened observation scope or null.
+		 */
+		private Scope(final MetricsContext previous, final boolean pushedManager,
+				final Observation.Scope observationScope) {
+			this.previous = previous;
+			this.pushedManager = pushedManager;
+			this.observationScope = observationScope;
+			this.enclosingScope = manager.getCurrentObservationScope();
+		}
+
+		/**
+		 * Stops all observations that were started but not stopped within this scope
+		 * and restores the previous context of the thread.
+		 */
+		@Override
+		public void close() {
+			while (manager.getCurrentObservationScope() != null
+					&& manager.getCurrentObservationScope() != enclosingScope) {
+				manager.stop();
+			}
+
+			if (observationScope != null) {
+				observationScope.close();
+			}
+
+			if (pushedManager) {
+				MetricsManager.instance.get().removeFirstOccurrence(manager);
+			}
+
+			if (previous == null) {
+				current.remove();
+			} else {
+				current.set(previous);
+			}
+		}
+
+	}
+
+	/**
+	 * Creates a new context.
+	 *
+	 * @param manager     The manager of the context.
+	 * @param parent      The parent context or null.
+	 * @param tags        The tags added by the context.
+	 * @param observation The parent observation or null.
+	 */
+	MetricsContext(final MetricsManager manager, final MetricsContext parent, final Tags tags,
+			final Observation observation) {
+		if (manager == null) {
+			throw new IllegalArgumentException("The metrics manager must not be null.");
+		}
+
+		this.manager = manager;
+		this.parent = parent;
+		this.tags = tags == null ? Tags.empty() : tags;
+		this.observation = observation;
+		if (parent == null) {
+			this.chainTags = this.tags;
+		}
+	}
+
+	/**
+	 * @return The current context of this thread or null if no context was opened.
+	 */
+	public static MetricsContext current() {
+		return current.get();
+	}
+
+	/**
+	 * Captures the current context of this thread including its current
+	 * observation.
+	 *
+	 * @return The captured context or null if there is no {@link MetricsManager}
+	 *         on this thread.
+	 */
+	public static MetricsContext capture() {
+		final MetricsContext context = current();
+		if (context != null) {
+			return context.withObservation(context.manager.getCurrentObservation());
+		}
+
+		final MetricsManager manager = MetricsManager.getInstance();
+		return manager == null ? null : manager.capture();
+	}
+
+	/**
+	 * Wraps the given executor, so that every submitted task runs in the context
+	 * that was current when the task was submitted.
+	 *
+	 * @param executor The executor to wrap.
+	 * @return The wrapped executor.
+	 */
+	public static Executor propagating(final Executor executor) {
+		return command -> {
+			final MetricsContext context = capture();
+			executor.execute(context == null ? command : context.wrap(command));
+		};
+	}
+
+	/**
+	 * @return The {@link MetricsManager} this context belongs to.
+	 */
+	public MetricsManager getManager() {
+		return this.manager;
+	}
+
+	/**
+	 * @return The parent context or null if this is a root context.
+	 */
+	public MetricsContext getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * @return The parent observation of all observations started within this
+	 *         context or null.
+	 */
+	public Observation getObservation() {
+		return this.observation;
+	}
+
+	/**
+	 * @return The tags of this context and all of its parents (without the tags of
+	 *         the {@link MetricsManager}).
+	 */
+	public Tags getTags() {
+		Tags result = this.chainTags;
+		if (result == null) {
+			result = this.parent.getTags().and(this.tags);
+			this.chainTags = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates a child context with the given additional tags.
+	 *
+	 * @param tags The tags to be added.
+	 * @return The child context.
+	 */
+	public MetricsContext with(final Iterable<? extends Tag> tags) {
+		return new MetricsContext(this.manager, this, tags == null ? Tags.empty() : Tags.of(tags), this.observation);
+	}
+
+	/**
+	 * Creates a child context with the given additional tags.
+	 *
+	 * @param tags The tags to be added as key-value pairs.
+	 * @return The child context.
+	 */
+	public MetricsContext with(final String... tags) {
+		return this.with(Tags.of(tags));
+	}
+
+	/**
+	 * Creates a child context whose observations are nested into the given
+	 * observation.
+	 *
+	 * @param observation The parent observation or null.
+	 * @return The child context.
+	 */
+	public MetricsContext withObservation(final Observation observation) {
+		return new MetricsContext(this.manager, this, Tags.empty(), observation);
+	}
+
+	/**
+	 * Opens this context on the current thread. The returned scope must be closed
+	 * on the same thread.
+	 *
+	 * @return The opened scope.
+	 */
+	public Scope open() {
+		final MetricsContext previous = current.get();
+
+		final Deque<MetricsManager> managers = MetricsManager.instance.get();
+		final boolean pushManager = managers.peekFirst() != this.manager;
+		if (pushManager) {
+			managers.addFirst(this.manager);
+		}
+
+		Observation.Scope observationScope = null;
+		if (this.observation != null && this.manager.getCurrentObservation() != this.observation) {
+			observationScope = this.observation.openScope();
+		}
+
+		current.set(this);
+		return new Scope(previous, pushManager, observationScope);
+	}
+
+	/**
+	 * Wraps the given runnable, so that it runs within this context.
+	 *
+	 * @param runnable The runnable to wrap.
+	 * @return The wrapped runnable.
+	 */
+	public Runnable wrap(final Runnable runnable) {
+		return () -> {
+			try (final Scope scope = open()) {
+				runnable.run();
+			}
+		};
+	}
+
+	/**
+	 * Wraps the given callable, so that it is called within this context.
+	 *
+	 * @param callable The callable to wrap.
+	 * @return The wrapped callable.
+	 */
+	public <T> Callable<T> wrap(final Callable<T> callable) {
+		return () -> {
+			try (final Scope scope = open()) {
+				return callable.call();
+			}
+		};
+	}
+
+}
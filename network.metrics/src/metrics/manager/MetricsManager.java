@@ -16,14 +16,18 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.Observations;
 import metrics.HasMetric;
+import metrics.MetricConfig;
 import metrics.Reporter;
 import metrics.handler.CounterHandler;
 import metrics.handler.EmbeddedNetworkHandler;
 import metrics.handler.ErrorHandler;
+import metrics.handler.JfrHandler;
 import metrics.handler.MemoryHandler;
+import metrics.handler.SolverStatisticsHandler;
 import metrics.handler.ThreadHandler;
 import metrics.handler.TimingHandler;
 import metrics.reporter.TextSummaryReporter;
@@ -84,6 +88,12 @@ public class MetricsManager implements AutoCloseable {
 	 */
 	protected boolean isRoot = false;
 
+	/**
+	 * The root {@link MetricsContext} of this {@link MetricsManager} (without
+	 * tags).
+	 */
+	protected final MetricsContext rootContext = new MetricsContext(this, null, null, null);
+
 	/**
 	 * A Default MetricsManager configuration with a {@link TextSummaryReporter} and
 	 * the {@link TimingHandler} and {@link EmbeddedNetworkHandler}.
@@ -98,6 +108,8 @@ public class MetricsManager implements AutoCloseable {
 			this.addMeter(new CounterHandler());
 			this.addMeter(new MemoryHandler());
 			this.addMeter(new ThreadHandler());
+			this.addMeter(new JfrHandler());
+			this.addMeter(new SolverStatisticsHandler());
 
 			this.addReporter(new TextSummaryReporter());
 		}
@@ -167,10 +179,41 @@ public class MetricsManager implements AutoCloseable {
 
 	/**
 	 * @return The tags to be used for all observations that are started by this
-	 *         {@link MetricsManager}.
+	 *         {@link MetricsManager}, including the tags of the current
+	 *         {@link MetricsContext} of this thread.
 	 */
 	public Tags getTags() {
-		return this.tags;
+		final MetricsContext context = MetricsContext.current();
+		if (context == null || context.getManager() != this) {
+			return this.tags;
+		}
+
+		return this.mergeTags(context.getTags());
+	}
+
+	/**
+	 * Returns the current {@link MetricsContext} of this thread if it belongs to
+	 * this {@link MetricsManager}, or the root context of this
+	 * {@link MetricsManager} otherwise.
+	 * 
+	 * @return The current {@link MetricsContext}.
+	 */
+	public MetricsContext getContext() {
+		final MetricsContext context = MetricsContext.current();
+		return context != null && context.getManager() == this ? context : this.rootContext;
+	}
+
+	/**
+	 * Captures the current {@link MetricsContext} including the current
+	 * {@link Observation} of this thread. The captured context can be opened on any
+	 * other thread (see {@link MetricsContext#open()}), so that observations
+	 * started there carry the same tags and are nested into the current
+	 * observation.
+	 * 
+	 * @return The captured {@link MetricsContext}.
+	 */
+	public MetricsContext capture() {
+		return this.getContext().withObservation(this.getCurrentObservation());
 	}
 
 	/**
@@ -183,13 +226,15 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Adds a new {@link HasMetric} to the {@link MetricsManager}.
+	 * Adds a new {@link HasMetric} to the {@link MetricsManager}. It only handles
+	 * observations if the configured {@link MetricConfig#METRICS_LEVEL} includes
+	 * its {@link HasMetric#getLevel()}.
 	 */
 	public void addMeter(final HasMetric<? extends Observation.Context> meterProvider) {
 		meterProvider.setMeterRegistry(this.meterRegistry);
 		this.reporters.forEach((reporter) -> reporter.registerMeterProvider(meterProvider));
 		this.meterProviders.add(meterProvider);
-		this.observationRegistry.observationConfig().observationHandler(meterProvider);
+		this.observationRegistry.observationConfig().observationHandler(new LevelObservationHandler<>(meterProvider));
 	}
 
 	/**
@@ -211,6 +256,16 @@ public class MetricsManager implements AutoCloseable {
 	 * This can trigger summarizing or finilizing actions.
 	 */
 	public void conclude() {
+		boolean recorded = false;
+		for (final HasMetric<? extends Observation.Context> meterProvider : this.meterProviders) {
+			if (MetricConfig.METRICS_LEVEL.includes(meterProvider.getLevel())) {
+				recorded |= meterProvider.conclude();
+			}
+		}
+
+		if (recorded) {
+			this.flush();
+		}
 		this.reporters.forEach((reporter) -> reporter.conclude());
 	}
 
@@ -275,15 +330,14 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Runs the callable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. The
-	 * return value of the callable will be returned.
+	 * Runs the callable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags. The return
+	 * value of the callable will be returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return The return value of the callable.
 	 */
 	public <T> T withTags(Callable<T> callable, Tag... tags) {
@@ -291,15 +345,14 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Runs the callable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. The
-	 * return value of the callable will be returned.
+	 * Runs the callable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags. The return
+	 * value of the callable will be returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return The return value of the callable.
 	 */
 	public <T> T withTags(Callable<T> callable, String... tags) {
@@ -307,19 +360,18 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Runs the callable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. The
-	 * return value of the callable will be returned.
+	 * Runs the callable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags. The return
+	 * value of the callable will be returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return The return value of the callable.
 	 */
 	public <T> T withTags(Callable<T> callable, Iterable<? extends Tag> tags) {
-		try (final MetricsManager metricsManager = this.withTags(tags)) {
+		try (final MetricsContext.Scope scope = this.getContext().with(tags).open()) {
 			final T result = callable.call();
 			return result;
 		} catch (Throwable e) {
@@ -328,45 +380,42 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Runs the runnable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags.
+	 * Runs the runnable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 */
 	public void withTags(Runnable runnable, Tag... tags) {
 		this.withTags(runnable, Tags.of(tags));
 	}
 
 	/**
-	 * Runs the runnable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags.
+	 * Runs the runnable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 */
 	public void withTags(Runnable runnable, String... tags) {
 		this.withTags(runnable, Tags.of(tags));
 	}
 
 	/**
-	 * Runs the runnable in the context of a new {@link MetricsManager} instance.
-	 * The new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags.
+	 * Runs the runnable in a child {@link MetricsContext} with the given tags. No
+	 * new {@link MetricsManager} is created, i.e., {@link #getInstance()} still
+	 * returns this one, but {@link #getTags()} contains the given tags.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 */
 	public void withTags(Runnable runnable, Iterable<? extends Tag> tags) {
-		try (final MetricsManager metricsManager = this.withTags(tags)) {
+		try (final MetricsContext.Scope scope = this.getContext().with(tags).open()) {
 			runnable.run();
 		} catch (Throwable e) {
 			throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
@@ -374,15 +423,14 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Wraps the call of the callable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * callable will be returned.
+	 * Wraps the call of the callable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * callable can therefore be called on any thread. A new callable will be
+	 * returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new callable.
 	 */
 	public <T> Callable<T> wrap(Callable<T> callable, Tag... tags) {
@@ -390,15 +438,14 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Wraps the call of the callable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * callable will be returned.
+	 * Wraps the call of the callable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * callable can therefore be called on any thread. A new callable will be
+	 * returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new callable.
 	 */
 	public <T> Callable<T> wrap(Callable<T> callable, String... tags) {
@@ -406,49 +453,41 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Wraps the call of the callable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * callable will be returned.
+	 * Wraps the call of the callable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * callable can therefore be called on any thread. A new callable will be
+	 * returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new callable.
 	 */
 	public <T> Callable<T> wrap(Callable<T> callable, Iterable<? extends Tag> tags) {
-		return () -> this.withTags(callable, tags);
+		return this.capture().with(tags).wrap(callable);
 	}
 
 	/**
-	 * Wraps the call of the callable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry},
-	 * {@link ObservationRegistry} and tags as this one. A new callable will be
-	 * returned.
+	 * Wraps the call of the callable in the captured {@link MetricsContext} of the
+	 * current thread (see {@link #capture()}). The callable can therefore be
+	 * called on any thread. A new callable will be returned.
 	 * 
-	 * @param callable The callable to be executed with the new
-	 *                 {@link MetricsManager}.
+	 * @param callable The callable to be executed within the context.
 	 * @return A new callable.
 	 */
 	public <T> Callable<T> wrap(Callable<T> callable) {
-		return () -> {
-			try (final MetricsManager metricsManager = this.clone()) {
-				return callable.call();
-			}
-		};
+		return this.capture().wrap(callable);
 	}
 
 	/**
-	 * Wraps the call of the runnable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * runnable will be returned.
+	 * Wraps the run of the runnable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * runnable can therefore be run on any thread. A new runnable will be
+	 * returned.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new runnable.
 	 */
 	public Runnable wrap(Runnable runnable, Tag... tags) {
@@ -456,15 +495,14 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Wraps the call of the runnable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * runnable will be returned.
+	 * Wraps the run of the runnable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * runnable can therefore be run on any thread. A new runnable will be
+	 * returned.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new runnable.
 	 */
 	public Runnable wrap(Runnable runnable, String... tags) {
@@ -472,37 +510,30 @@ public class MetricsManager implements AutoCloseable {
 	}
 
 	/**
-	 * Wraps the call of the runnable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry} and
-	 * {@link ObservationRegistry} as this one, but will have the given tags. A new
-	 * runnable will be returned.
+	 * Wraps the run of the runnable in the captured {@link MetricsContext} of the
+	 * current thread with the given tags added (see {@link #capture()}). The
+	 * runnable can therefore be run on any thread. A new runnable will be
+	 * returned.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
-	 * @param tags     The tags to be used for all observations that are started by
-	 *                 the new {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
+	 * @param tags     The tags to be used for all observations that are started
+	 *                 within the context.
 	 * @return A new runnable.
 	 */
 	public Runnable wrap(Runnable runnable, Iterable<? extends Tag> tags) {
-		return () -> this.withTags(runnable, tags);
+		return this.capture().with(tags).wrap(runnable);
 	}
 
 	/**
-	 * Wraps the run of the runnable in a new {@link MetricsManager} instance. The
-	 * new {@link MetricsManager} will have the same {@link MeterRegistry},
-	 * {@link ObservationRegistry} and tags as this one. A new runnable will be
-	 * returned.
+	 * Wraps the run of the runnable in the captured {@link MetricsContext} of the
+	 * current thread (see {@link #capture()}). The runnable can therefore be run on
+	 * any thread. A new runnable will be returned.
 	 * 
-	 * @param runnable The runnable to be executed with the new
-	 *                 {@link MetricsManager}.
+	 * @param runnable The runnable to be executed within the context.
 	 * @return A new runnable.
 	 */
 	public Runnable wrap(Runnable runnable) {
-		return () -> {
-			try (final MetricsManager metricsManager = this.clone()) {
-				runnable.run();
-			}
-		};
+		return this.capture().wrap(runnable);
 	}
 
 	/**
@@ -594,7 +625,7 @@ public class MetricsManager implements AutoCloseable {
 	 */
 	protected Observation createObservation(String name, Supplier<? extends Observation.Context> context) {
 		Observation observation = Observation.createNotStarted(name, context, observationRegistry);
-		observation.lowCardinalityKeyValues(KeyValues.of(this.tags, Tag::getKey, Tag::getValue));
+		observation.lowCardinalityKeyValues(KeyValues.of(this.getTags(), Tag::getKey, Tag::getValue));
 		observation.getContext().put("manager", this); // Put to make instance available even if not a VNE metrics
 														// Context
 
@@ -841,9 +872,7 @@ public class MetricsManager implements AutoCloseable {
 	 */
 	public <T> T observe(String name, Supplier<? extends Observation.Context> context,
 			Callable<T> callable, Iterable<? extends Tag> tags) {
-		try (final MetricsManager metricsManager = this.withTags(tags)) {
-			return metricsManager.observe(name, context, callable);
-		}
+		return this.withTags(() -> this.observe(name, context, callable), tags);
 	}
 
 	/**
@@ -943,9 +972,7 @@ public class MetricsManager implements AutoCloseable {
 	 */
 	public <T> void observe(String name, Supplier<? extends Observation.Context> context,
 			Runnable runnable, Iterable<? extends Tag> tags) {
-		try (final MetricsManager metricsManager = this.withTags(tags)) {
-			metricsManager.observe(name, context, runnable);
-		}
+		this.withTags(() -> this.observe(name, context, runnable), tags);
 	}
 
 	/**
@@ -1237,4 +1264,70 @@ public class MetricsManager implements AutoCloseable {
 		}
 	}
 
+	/**
+	 * An {@link ObservationHandler} that delegates to the given {@link HasMetric}
+	 * if the configured {@link MetricConfig#METRICS_LEVEL} includes its level.
+	 * Observations are not handled at all otherwise.
+	 *
+	 * @param <T> The type of the handled context.
+	 */
+	private static class LevelObservationHandler<T extends Observation.Context> implements ObservationHandler<T> {
+
+		/**
+		 * The {@link HasMetric} to delegate to.
+		 */
+		private final HasMetric<T> delegate;
+
+		/**
+		 * Creates a new {@link LevelObservationHandler} for the given
+		 * {@link HasMetric}.
+		 * 
+		 * @param delegate The {@link HasMetric} to delegate to.
+		 */
+		private LevelObservationHandler(final HasMetric<T> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void onStart(final T context) {
+			delegate.onStart(context);
+		}
+
+		@Override
+		public void onError(final T context) {
+			delegate.onError(context);
+		}
+
+		@Override
+		public void onEvent(final Observation.Event event, final T context) {
+			delegate.onEvent(event, context);
+		}
+
+		@Override
+		public void onScopeOpened(final T context) {
+			delegate.onScopeOpened(context);
+		}
+
+		@Override
+		public void onScopeClosed(final T context) {
+			delegate.onScopeClosed(context);
+		}
+
+		@Override
+		public void onScopeReset(final T context) {
+			delegate.onScopeReset(context);
+		}
+
+		@Override
+		public void onStop(final T context) {
+			delegate.onStop(context);
+		}
+
+		@Override
+		public boolean supportsContext(final Observation.Context context) {
+			return MetricConfig.METRICS_LEVEL.includes(delegate.getLevel()) && delegate.supportsContext(context);
+		}
+
+	}
+
 }
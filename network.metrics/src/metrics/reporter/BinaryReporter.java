@@ -0,0 +1,115 @@
+package metrics.reporter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import metrics.Reporter;
+import metrics.store.ResultWriter;
+
+/**
+ * A reporter that writes metrics to a binary result file (see
+ * {@link metrics.store.ResultFormat}). Other than the CSV file, values keep
+ * their type and full precision, and repeated tag values are stored only once.
+ * The file will be created if it does not exist, otherwise, new entries get
+ * appended. Every entry is flushed to the file, the footer gets written on
+ * {@link #conclude()} or {@link #close()}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class BinaryReporter extends GroupByTagValueReporter implements Reporter {
+
+	/**
+	 * The file to which the metrics will be written.
+	 */
+	protected final File outputFile;
+
+	/**
+	 * The tags that will be persisted in the file.
+	 */
+	protected List<String> persistTags;
+
+	/**
+	 * The writer of the file (opened on the first entry).
+	 */
+	private ResultWriter writer;
+
+	/**
+	 * Initializes a new BinaryReporter with the given output file.
+	 *
+	 * @param outputFile  The file to which the metrics will be written.
+	 * @param persistTags The tags that will be persisted in the file.
+	 */
+	public BinaryReporter(final File outputFile, final List<String> persistTags) {
+		super();
+
+		if (outputFile == null) {
+			throw new IllegalArgumentException("Output file must not be null.");
+		}
+
+		this.outputFile = outputFile;
+		this.persistTags = new ArrayList<>(persistTags);
+	}
+
+	public static class Default extends BinaryReporter {
+		public Default(final File outputFile) {
+			super(outputFile, CsvReporter.Default.defaultPersistTags());
+		}
+	}
+
+	/**
+	 * Appends the given entry to the result file.
+	 *
+	 * @param entry    The entry to write to the file.
+	 * @param groupKey The key used to group this entry.
+	 */
+	@Override
+	protected void flushEntry(GroupedReporter.Entry entry, String groupKey) {
+		entry.tags().entrySet().stream().filter(tag -> persistTags.contains(tag.getKey()))
+				.forEach(tag -> entry.values().putIfAbsent(tag.getKey(), tag.getValue()));
+
+		if (entry.values().isEmpty()) {
+			return;
+		}
+
+		synchronized (this) {
+			if (writer == null) {
+				writer = new ResultWriter(outputFile.toPath());
+			}
+			writer.writeRow(entry.values());
+			writer.flush();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Writes the footer of the result file. Later entries get appended.
+	 */
+	@Override
+	public void conclude() {
+		closeWriter();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Writes the footer of the result file.
+	 */
+	@Override
+	public void close() {
+		closeWriter();
+		super.close();
+	}
+
+	/**
+	 * Closes the writer of the result file if it is open.
+	 */
+	private synchronized void closeWriter() {
+		if (writer != null) {
+			writer.close();
+			writer = null;
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package metrics.reporter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+/**
+ * Timer that delegates to the timer of a registry and gets notified about every
+ * recorded duration. The reporters use it to hook into the timers they create.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+abstract class DelegatingTimer implements Timer {
+
+	/**
+	 * The timer of the registry.
+	 */
+	protected final Timer delegate;
+
+	/**
+	 * The clock to measure the durations of recorded functions with.
+	 */
+	private final Clock clock;
+
+	/**
+	 * Creates a new delegating timer.
+	 *
+	 * @param delegate the timer of the registry
+	 * @param clock    the clock of the registry
+	 */
+	protected DelegatingTimer(final Timer delegate, final Clock clock) {
+		this.delegate = delegate;
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets called after every recorded duration.
+	 *
+	 * @param amount the recorded duration
+	 * @param unit   the time unit of the duration
+	 */
+	protected abstract void recorded(long amount, TimeUnit unit);
+
+	@Override
+	public void record(final long amount, final TimeUnit unit) {
+		delegate.record(amount, unit);
+		recorded(amount, unit);
+	}
+
+	@Override
+	public <R> R record(final Supplier<R> f) {
+		final long start = clock.monotonicTime();
+		try {
+			return f.get();
+		} finally {
+			record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public <R> R recordCallable(final Callable<R> f) throws Exception {
+		final long start = clock.monotonicTime();
+		try {
+			return f.call();
+		} finally {
+			record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public void record(final Runnable f) {
+		final long start = clock.monotonicTime();
+		try {
+			f.run();
+		} finally {
+			record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public long count() {
+		return delegate.count();
+	}
+
+	@Override
+	public double totalTime(final TimeUnit unit) {
+		return delegate.totalTime(unit);
+	}
+
+	@Override
+	public double max(final TimeUnit unit) {
+		return delegate.max(unit);
+	}
+
+	@Override
+	public TimeUnit baseTimeUnit() {
+		return delegate.baseTimeUnit();
+	}
+
+	@Override
+	public HistogramSnapshot takeSnapshot() {
+		return delegate.takeSnapshot();
+	}
+
+	@Override
+	public Iterable<Measurement> measure() {
+		return delegate.measure();
+	}
+
+	@Override
+	public Meter.Id getId() {
+		return delegate.getId();
+	}
+
+}
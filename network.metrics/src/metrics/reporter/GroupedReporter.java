@@ -1,16 +1,27 @@
 package metrics.reporter;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Measurement;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.observation.Observation;
 import metrics.HasMetric;
@@ -21,6 +32,14 @@ import metrics.Reporter;
  * GroupedReporter is a base class for reporters that group metrics by a
  * specific key.
  * 
+ * The reporter keeps an index of its meters, so that a flush does not have to
+ * visit the whole registry: Counters, distribution summaries, and timers signal
+ * every update, hence, a flush only visits the meters that were registered or
+ * updated since the last flush (plus the retained meters of their groups).
+ * Groups whose meters were all reset or did not change are not emitted again.
+ * Other meter types (e.g., gauges) can not signal updates and are visited on
+ * every flush.
+ * 
  * @author Janik Stracke {@literal <janik.stracke@stud.tu-darmstadt.de>}
  */
 public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements Reporter {
@@ -30,8 +49,241 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 	 */
 	protected final Set<HasMetric<? extends Observation.Context>> meterProviders = new HashSet<>();
 
+	/**
+	 * The transformer used for meters that no meter provider supports.
+	 */
+	private final MetricTransformer defaultTransformer = new DefaultMetricTransformer();
+
+	/**
+	 * Resolved transformers per meter id. An empty list means that no meter
+	 * provider supports the meter.
+	 */
+	private final Map<Meter.Id, List<MetricTransformer>> transformers = new ConcurrentHashMap<>();
+
+	/**
+	 * All meters that are currently registered.
+	 */
+	private final Map<Meter.Id, Meter> registered = new ConcurrentHashMap<>();
+
+	/**
+	 * Meters that were registered or updated since the last flush (in order).
+	 */
+	private final Map<Meter.Id, Meter> updated = new LinkedHashMap<>();
+
+	/**
+	 * Meters that can not signal updates and are visited on every flush.
+	 */
+	private final Map<Meter.Id, Meter> polled = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	/**
+	 * Meters that were visited but not reset by a previous flush, indexed by their
+	 * group key.
+	 */
+	private final Map<T, Map<Meter.Id, Meter>> retained = new HashMap<>();
+
 	public GroupedReporter() {
 		super();
+
+		config().onMeterAdded(this::meterAdded);
+		config().onMeterRemoved(this::meterRemoved);
+	}
+
+	/**
+	 * Marker interface for meters that signal their updates to the reporter.
+	 */
+	private interface TrackedMeter {
+	}
+
+	/**
+	 * Counter that marks itself as updated on every increment.
+	 */
+	private class TrackedCounter implements Counter, TrackedMeter {
+
+		/**
+		 * The counter of the registry.
+		 */
+		private final Counter delegate;
+
+		/**
+		 * Creates a new tracked counter.
+		 * 
+		 * @param delegate the counter of the registry
+		 */
+		private TrackedCounter(final Counter delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void increment(final double amount) {
+			delegate.increment(amount);
+			markUpdated(this);
+		}
+
+		@Override
+		public double count() {
+			return delegate.count();
+		}
+
+		@Override
+		public Iterable<Measurement> measure() {
+			return delegate.measure();
+		}
+
+		@Override
+		public Meter.Id getId() {
+			return delegate.getId();
+		}
+
+	}
+
+	/**
+	 * Distribution summary that marks itself as updated on every record.
+	 */
+	private class TrackedDistributionSummary implements DistributionSummary, TrackedMeter {
+
+		/**
+		 * The distribution summary of the registry.
+		 */
+		private final DistributionSummary delegate;
+
+		/**
+		 * Creates a new tracked distribution summary.
+		 * 
+		 * @param delegate the distribution summary of the registry
+		 */
+		private TrackedDistributionSummary(final DistributionSummary delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void record(final double amount) {
+			delegate.record(amount);
+			markUpdated(this);
+		}
+
+		@Override
+		public long count() {
+			return delegate.count();
+		}
+
+		@Override
+		public double totalAmount() {
+			return delegate.totalAmount();
+		}
+
+		@Override
+		public double max() {
+			return delegate.max();
+		}
+
+		@Override
+		public HistogramSnapshot takeSnapshot() {
+			return delegate.takeSnapshot();
+		}
+
+		@Override
+		public Iterable<Measurement> measure() {
+			return delegate.measure();
+		}
+
+		@Override
+		public Meter.Id getId() {
+			return delegate.getId();
+		}
+
+	}
+
+	/**
+	 * Timer that marks itself as updated on every record.
+	 */
+	private class TrackedTimer extends DelegatingTimer implements TrackedMeter {
+
+		/**
+		 * Creates a new tracked timer.
+		 * 
+		 * @param delegate the timer of the registry
+		 */
+		private TrackedTimer(final Timer delegate) {
+			super(delegate, clock);
+		}
+
+		@Override
+		protected void recorded(final long amount, final TimeUnit unit) {
+			markUpdated(this);
+		}
+
+	}
+
+	@Override
+	protected Counter newCounter(final Meter.Id id) {
+		return new TrackedCounter(super.newCounter(id));
+	}
+
+	@Override
+	protected DistributionSummary newDistributionSummary(final Meter.Id id,
+			final DistributionStatisticConfig distributionStatisticConfig, final double scale) {
+		return new TrackedDistributionSummary(super.newDistributionSummary(id, distributionStatisticConfig, scale));
+	}
+
+	@Override
+	protected Timer newTimer(final Meter.Id id, final DistributionStatisticConfig distributionStatisticConfig,
+			final PauseDetector pauseDetector) {
+		return new TrackedTimer(super.newTimer(id, distributionStatisticConfig, pauseDetector));
+	}
+
+	/**
+	 * Adds a newly registered meter to the index.
+	 * 
+	 * @param meter the registered meter
+	 */
+	private void meterAdded(final Meter meter) {
+		registered.put(meter.getId(), meter);
+		if (meter instanceof TrackedMeter) {
+			markUpdated(meter);
+		} else {
+			polled.put(meter.getId(), meter);
+		}
+	}
+
+	/**
+	 * Removes a meter from the index.
+	 * 
+	 * @param meter the removed meter
+	 */
+	private void meterRemoved(final Meter meter) {
+		final Meter.Id id = meter.getId();
+		registered.remove(id);
+		transformers.remove(id);
+		polled.remove(id);
+		synchronized (updated) {
+			updated.remove(id);
+		}
+		synchronized (retained) {
+			final T groupKey = getGroupKey(meter);
+			final Map<Meter.Id, Meter> group = retained.get(groupKey);
+			if (group != null) {
+				group.remove(id);
+				if (group.isEmpty()) {
+					retained.remove(groupKey);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the given meter as updated, i.e., it will be visited by the next flush.
+	 * Meters that are not registered (anymore) are ignored.
+	 * 
+	 * @param meter the updated meter
+	 */
+	private void markUpdated(final Meter meter) {
+		if (registered.get(meter.getId()) != meter) {
+			return;
+		}
+
+		synchronized (updated) {
+			updated.putIfAbsent(meter.getId(), meter);
+		}
 	}
 
 	/**
@@ -97,6 +349,80 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 	@Override
 	public void registerMeterProvider(HasMetric<? extends Observation.Context> meterProvider) {
 		this.meterProviders.add(meterProvider);
+		this.transformers.clear();
+	}
+
+	/**
+	 * Returns the transformers of all meter providers that support the given meter.
+	 * The result is cached per meter id until the meter gets removed or another
+	 * meter provider gets registered.
+	 * 
+	 * @param meter the meter to get the transformers for
+	 * @return the supporting transformers, empty if no meter provider supports the
+	 *         meter
+	 */
+	protected List<MetricTransformer> getTransformers(final Meter meter) {
+		return this.transformers.computeIfAbsent(meter.getId(), _ignored -> {
+			final List<MetricTransformer> supporting = new ArrayList<>();
+			for (HasMetric<? extends Observation.Context> meterProvider : this.meterProviders) {
+				MetricTransformer meterTransformer = meterProvider.getProvidedMeter(meter);
+				if (meterTransformer != null) {
+					supporting.add(meterTransformer);
+				}
+			}
+			return supporting.isEmpty() ? List.of() : supporting;
+		});
+	}
+
+	/**
+	 * Returns the meters the next flush has to visit and clears the set of updated
+	 * meters. These are all meters registered or updated since the last flush, all
+	 * meters that can not signal updates, and the retained meters of the groups
+	 * the former belong to (so that these groups are emitted completely).
+	 * 
+	 * @return the meters to visit
+	 * @see #isIncremental()
+	 */
+	protected Collection<Meter> getMetersToVisit() {
+		final Map<Meter.Id, Meter> visit = new LinkedHashMap<>();
+		synchronized (updated) {
+			visit.putAll(updated);
+			updated.clear();
+		}
+
+		if (!isIncremental()) {
+			return getMeters();
+		}
+
+		synchronized (polled) {
+			visit.putAll(polled);
+		}
+
+		final Set<T> groupKeys = new HashSet<>();
+		for (Meter meter : visit.values()) {
+			groupKeys.add(getGroupKey(meter));
+		}
+		synchronized (retained) {
+			for (T groupKey : groupKeys) {
+				final Map<Meter.Id, Meter> group = retained.get(groupKey);
+				if (group != null) {
+					group.forEach(visit::putIfAbsent);
+				}
+			}
+		}
+
+		return visit.values();
+	}
+
+	/**
+	 * If true, a flush only visits the meters registered or updated since the last
+	 * flush. Otherwise, every flush visits all meters of the registry.
+	 * 
+	 * @return true if the flushes are incremental
+	 * @see #getMetersToVisit()
+	 */
+	protected boolean isIncremental() {
+		return true;
 	}
 
 	/**
@@ -118,7 +444,8 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 	/**
 	 * Groups the meters by the group key to create a map of entries. Each entry
 	 * starts with an initial entry associated by its group key. Further metrics are
-	 * then collected to that entry.
+	 * then collected to that entry. Only the meters returned by
+	 * {@link #getMetersToVisit()} are grouped.
 	 * 
 	 * @return a map of entries grouped by the group key
 	 * @see #getGroupKey(Meter)
@@ -128,7 +455,7 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 	protected Map<T, Entry> groupEntriesBy() {
 		Map<T, Entry> entries = new LinkedHashMap<>();
 
-		for (Meter meter : getMeters()) {
+		for (Meter meter : getMetersToVisit()) {
 			T groupKey = getGroupKey(meter);
 
 			final Entry entry = entries.computeIfAbsent(groupKey,
@@ -136,14 +463,11 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 			entry.tags.putAll(getTags(meter));
 			boolean found = false;
 			boolean reset = false;
-			for (HasMetric<? extends Observation.Context> meterProvider : this.meterProviders) {
-				MetricTransformer meterTransformer = meterProvider.getProvidedMeter(meter);
-				if (meterTransformer != null) {
-					final Map<String, Object> meterValues = meterTransformer.toEntry(meter,
-							Collections.unmodifiableMap(entry.values));
-					found |= collectEntry(meterValues, meterTransformer, entry, meter);
-					reset |= meterTransformer.shouldResetMeter(meter);
-				}
+			for (MetricTransformer meterTransformer : getTransformers(meter)) {
+				final Map<String, Object> meterValues = meterTransformer.toEntry(meter,
+						Collections.unmodifiableMap(entry.values));
+				found |= collectEntry(meterValues, meterTransformer, entry, meter);
+				reset |= meterTransformer.shouldResetMeter(meter);
 			}
 
 			if (!found) {
@@ -152,6 +476,10 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 
 			if (reset) {
 				resetMeter(meter);
+			} else if (registered.get(meter.getId()) == meter && !polled.containsKey(meter.getId())) {
+				synchronized (retained) {
+					retained.computeIfAbsent(groupKey, _ignored -> new LinkedHashMap<>()).put(meter.getId(), meter);
+				}
 			}
 		}
 
@@ -166,7 +494,7 @@ public abstract class GroupedReporter<T> extends SimpleMeterRegistry implements
 	 * @return true if the meter should be reset, false otherwise
 	 */
 	protected boolean applyDefaultCollector(Meter meter, final Entry entry) {
-		MetricTransformer meterTransformer = new DefaultMetricTransformer();
+		MetricTransformer meterTransformer = this.defaultTransformer;
 		final Map<String, Object> meterValues = meterTransformer.toEntry(meter,
 				Collections.unmodifiableMap(entry.values));
 		collectEntry(meterValues, meterTransformer, entry, meter);
@@ -0,0 +1,365 @@
+package metrics.reporter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import metrics.MetricConfig;
+import metrics.Reporter;
+
+/**
+ * A reporter that keeps a high-dynamic-range latency histogram per phase and
+ * algorithm for the whole run, i.e., of all timers named 'time_&lt;phase&gt;'
+ * (see TimingHandler). Other than the CSV columns, the histograms are not reset
+ * after a flush. On {@link #conclude()}, it writes the percentiles, the number
+ * of SLO violations, and the slowest VNRs of every phase and algorithm to a CSV
+ * file.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LatencyReporter extends SimpleMeterRegistry implements Reporter {
+
+	/**
+	 * Name prefix of the timers to record.
+	 */
+	public static final String TIMER_PREFIX = "time_";
+
+	/**
+	 * The file to which the report will be written.
+	 */
+	protected final File outputFile;
+
+	/**
+	 * Latency SLO per phase.
+	 */
+	protected final Map<String, Duration> slos;
+
+	/**
+	 * The tag that holds the name of the algorithm.
+	 */
+	protected String algorithmTag = "algorithm";
+
+	/**
+	 * The tag that holds the ID of the VNR.
+	 */
+	protected String vnrTag = "lastVNR";
+
+	/**
+	 * The separator used in the report file.
+	 */
+	protected String separator = ",";
+
+	/**
+	 * Latencies per phase and algorithm.
+	 */
+	private final Map<Key, Latency> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * Phase and algorithm of a latency histogram.
+	 *
+	 * @param phase     The phase, e.g., 'execute'.
+	 * @param algorithm The algorithm (or an empty string).
+	 */
+	protected static record Key(String phase, String algorithm) {
+	}
+
+	/**
+	 * Observed latency of a single VNR.
+	 *
+	 * @param nanos The latency in nanoseconds.
+	 * @param vnr   The ID of the VNR.
+	 */
+	protected static record Sample(long nanos, String vnr) {
+	}
+
+	/**
+	 * Latency histogram of one phase and algorithm.
+	 */
+	protected static class Latency {
+
+		/**
+		 * The histogram of all latencies in nanoseconds.
+		 */
+		private final ConcurrentHistogram histogram = new ConcurrentHistogram(MetricConfig.LATENCY_SIGNIFICANT_DIGITS);
+
+		/**
+		 * Number of latencies above the SLO.
+		 */
+		private final AtomicLong violations = new AtomicLong();
+
+		/**
+		 * The slowest samples (the fastest of them first).
+		 */
+		private final PriorityQueue<Sample> worst = new PriorityQueue<>(Comparator.comparingLong(Sample::nanos));
+
+		/**
+		 * The SLO in nanoseconds or -1 if there is none.
+		 */
+		private final long slo;
+
+		/**
+		 * Creates a new latency histogram.
+		 *
+		 * @param slo The SLO or null if there is none.
+		 */
+		private Latency(final Duration slo) {
+			this.slo = slo == null ? -1 : slo.toNanos();
+		}
+
+		/**
+		 * Records the given latency.
+		 *
+		 * @param nanos The latency in nanoseconds.
+		 * @param vnr   The ID of the VNR.
+		 */
+		private void record(final long nanos, final String vnr) {
+			final long value = Math.max(0, nanos);
+			histogram.recordValue(value);
+			if (slo >= 0 && value > slo) {
+				violations.incrementAndGet();
+			}
+
+			if (MetricConfig.LATENCY_WORST_CASES <= 0) {
+				return;
+			}
+
+			synchronized (worst) {
+				if (worst.size() < MetricConfig.LATENCY_WORST_CASES) {
+					worst.add(new Sample(value, vnr));
+				} else if (worst.peek().nanos() < value) {
+					worst.poll();
+					worst.add(new Sample(value, vnr));
+				}
+			}
+		}
+
+		/**
+		 * @return The slowest samples (the slowest first).
+		 */
+		private List<Sample> getWorst() {
+			final List<Sample> samples;
+			synchronized (worst) {
+				samples = new ArrayList<>(worst);
+			}
+			samples.sort(Comparator.comparingLong(Sample::nanos).reversed());
+			return samples;
+		}
+
+	}
+
+	/**
+	 * A timer that records every latency into the histogram of its phase and
+	 * algorithm.
+	 */
+	private class HistogramTimer extends DelegatingTimer {
+
+		/**
+		 * The histogram of the timer.
+		 */
+		private final Latency latency;
+
+		/**
+		 * The ID of the VNR of the timer.
+		 */
+		private final String vnr;
+
+		/**
+		 * Creates a new histogram timer.
+		 *
+		 * @param delegate the timer of the registry
+		 */
+		private HistogramTimer(final Timer delegate) {
+			super(delegate, clock);
+			this.latency = getLatency(delegate.getId());
+			this.vnr = delegate.getId().getTag(vnrTag);
+		}
+
+		@Override
+		protected void recorded(final long amount, final TimeUnit unit) {
+			latency.record(unit.toNanos(amount), vnr);
+		}
+
+	}
+
+	/**
+	 * Initializes a new LatencyReporter with the given output file and the SLOs
+	 * of {@link MetricConfig#LATENCY_SLO}.
+	 *
+	 * @param outputFile The file to which the report will be written.
+	 */
+	public LatencyReporter(final File outputFile) {
+		this(outputFile, MetricConfig.LATENCY_SLO);
+	}
+
+	/**
+	 * Initializes a new LatencyReporter with the given output file and SLOs.
+	 *
+	 * @param outputFile The file to which the report will be written.
+	 * @param slos       Latency SLO per phase.
+	 */
+	public LatencyReporter(final File outputFile, final Map<String, Duration> slos) {
+		super();
+
+		if (outputFile == null) {
+			throw new IllegalArgumentException("Output file must not be null.");
+		}
+
+		this.outputFile = outputFile;
+		this.slos = new HashMap<>(slos);
+	}
+
+	/**
+	 * Returns the file of the latency report next to the given CSV file, i.e.,
+	 * '&lt;name&gt;_latency.csv'.
+	 *
+	 * @param csvFile The CSV file of the metrics.
+	 * @return The file of the latency report.
+	 */
+	public static File reportFileFor(final File csvFile) {
+		final String name = csvFile.getName();
+		final String base = name.endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
+		return new File(csvFile.getAbsoluteFile().getParentFile(), base + "_latency.csv");
+	}
+
+	@Override
+	protected Timer newTimer(final Meter.Id id, final DistributionStatisticConfig distributionStatisticConfig,
+			final PauseDetector pauseDetector) {
+		final Timer timer = super.newTimer(id, distributionStatisticConfig, pauseDetector);
+		if (!id.getName().startsWith(TIMER_PREFIX)) {
+			return timer;
+		}
+
+		return new HistogramTimer(timer);
+	}
+
+	/**
+	 * Returns the histogram of the phase and algorithm of the given timer.
+	 *
+	 * @param id The ID of the timer.
+	 * @return The histogram of the timer.
+	 */
+	private Latency getLatency(final Meter.Id id) {
+		final String phase = id.getName().substring(TIMER_PREFIX.length());
+		final String algorithm = id.getTag(algorithmTag);
+		return latencies.computeIfAbsent(new Key(phase, algorithm == null ? "" : algorithm),
+				key -> new Latency(slos.get(key.phase())));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * The timers get removed, since their latencies are kept in the histograms.
+	 */
+	@Override
+	public void flush() {
+		getMeters().stream().filter(meter -> meter.getId().getName().startsWith(TIMER_PREFIX))
+				.forEach(this::remove);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * Writes the latency report.
+	 */
+	@Override
+	public void conclude() {
+		flush();
+
+		try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile))) {
+			writer.println(String.join(separator, getHeaders()));
+			latencies.entrySet().stream()
+					.sorted(Map.Entry.comparingByKey(Comparator.comparing(Key::phase).thenComparing(Key::algorithm)))
+					.forEach(entry -> writer.println(buildCsvRow(entry.getKey(), entry.getValue())));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return The headers of the report file.
+	 */
+	private List<String> getHeaders() {
+		final List<String> headers = new ArrayList<>(List.of("phase", "algorithm", "count", "mean"));
+		for (final double percentile : MetricConfig.LATENCY_PERCENTILES) {
+			headers.add("p" + formatPercentile(percentile));
+		}
+		headers.addAll(List.of("max", "slo", "slo_violations", "worst_vnrs"));
+		return headers;
+	}
+
+	/**
+	 * Builds the report row of the given phase and algorithm.
+	 *
+	 * @param key     The phase and algorithm.
+	 * @param latency The histogram of the phase and algorithm.
+	 * @return A CSV row as a string.
+	 */
+	private String buildCsvRow(final Key key, final Latency latency) {
+		final ConcurrentHistogram histogram = latency.histogram;
+		final List<Object> row = new ArrayList<>();
+		row.add(escape(key.phase()));
+		row.add(escape(key.algorithm()));
+		row.add(histogram.getTotalCount());
+		row.add(toSeconds(histogram.getMean()));
+		for (final double percentile : MetricConfig.LATENCY_PERCENTILES) {
+			row.add(toSeconds(histogram.getValueAtPercentile(percentile)));
+		}
+		row.add(toSeconds(histogram.getMaxValue()));
+		row.add(latency.slo < 0 ? "" : toSeconds(latency.slo));
+		row.add(latency.slo < 0 ? "" : latency.violations.get());
+		row.add(latency.getWorst().stream()
+				.map(sample -> escape(String.valueOf(sample.vnr())) + "=" + toSeconds(sample.nanos()))
+				.collect(Collectors.joining(";")));
+		return row.stream().map(Object::toString).collect(Collectors.joining(separator));
+	}
+
+	/**
+	 * Formats the given percentile without trailing zeros, e.g., '99' or '99.9'.
+	 *
+	 * @param percentile The percentile to format.
+	 * @return The formatted percentile.
+	 */
+	private static String formatPercentile(final double percentile) {
+		return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+	}
+
+	/**
+	 * Replaces all characters that would break the CSV format.
+	 *
+	 * @param value The value to escape.
+	 * @return The escaped value.
+	 */
+	private static String escape(final String value) {
+		return value.replace(",", "/").replace(";", "/").replace("=", "/");
+	}
+
+	/**
+	 * Converts the given nanoseconds to seconds.
+	 *
+	 * @param nanos Nanoseconds to convert.
+	 * @return Seconds.
+	 */
+	private static double toSeconds(final double nanos) {
+		return nanos / 1_000_000_000.0;
+	}
+
+}
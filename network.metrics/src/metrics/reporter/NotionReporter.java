@@ -16,8 +16,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -26,6 +29,7 @@ import java.util.stream.Collectors;
 import iflye.dependencies.logging.IflyeLogger;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Tag;
+import metrics.MetricConfig;
 import metrics.MetricTransformer;
 import metrics.Reporter;
 import metrics.manager.MetricsManager;
@@ -34,6 +38,13 @@ import metrics.manager.MetricsManager;
  * NotionReporter is a reporter that sends metrics to a Notion database. It uses
  * the Notion API to create pages in the database.
  * 
+ * All requests are queued and sent by a background sender, so that network
+ * latency and rate limits of the Notion API never delay the caller of
+ * {@link #flush()}. The queue is bounded (see
+ * {@link MetricConfig#NOTION_QUEUE_CAPACITY}), i.e., entries are dropped if the
+ * sender can not keep up. Failed requests are retried with an exponential
+ * back-off. {@link #close()} blocks until all queued entries are sent.
+ * 
  * @author Janik Stracke {@literal <janik.stracke@stud.tu-darmstadt.de>}
  */
 public class NotionReporter extends GroupByTagValueReporter implements Reporter {
@@ -49,9 +60,15 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 	protected final HttpClient notionClient = HttpClient.newHttpClient();
 
 	/**
-	 * The ID of the current series of metrics used to group them.
+	 * The ID of the current series of metrics used to group them. It is set by the
+	 * background sender once the series was created.
+	 */
+	protected volatile String seriesId;
+
+	/**
+	 * The base URL of the Notion API.
 	 */
-	protected String seriesId;
+	protected final String apiUrl;
 
 	/**
 	 * The token used to authenticate with the Notion API.
@@ -75,10 +92,46 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 	protected final Map<String, PropertyFormat> properties = new HashMap<>();
 
 	/**
-	 * The {@link ExecutorService} to flush metrics in parallel
+	 * The {@link ExecutorService} that runs the background sender.
 	 */
 	protected final ExecutorService executorService;
 
+	/**
+	 * The queue of all requests that were not sent yet.
+	 */
+	protected final BlockingQueue<Request> queue = new ArrayBlockingQueue<>(MetricConfig.NOTION_QUEUE_CAPACITY);
+
+	/**
+	 * The number of requests that were dropped because the queue was full or all
+	 * retries failed.
+	 */
+	protected final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * True if the background sender was started.
+	 */
+	protected boolean senderStarted = false;
+
+	/**
+	 * Lock for starting and stopping the background sender.
+	 */
+	private final Object senderLock = new Object();
+
+	/**
+	 * A queued request to the Notion API.
+	 * 
+	 * @param databaseId the ID of the database to create the page in
+	 * @param properties the properties of the page
+	 * @param series     true if the page is the series of this reporter
+	 */
+	protected static record Request(String databaseId, List<String> properties, boolean series) {
+	}
+
+	/**
+	 * Marker request that stops the background sender.
+	 */
+	protected static final Request STOP = new Request(null, List.of(), false);
+
 	/**
 	 * A default configuration of the NotionReporter with preset property formats.
 	 */
@@ -134,12 +187,29 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 	 */
 	public NotionReporter(final String token, final String seriesDatabaseId, final String metricDatabaseId,
 			final ExecutorService executorService) {
+		this(token, seriesDatabaseId, metricDatabaseId, executorService, "https://api.notion.com/v1");
+	}
+
+	/**
+	 * Creates a new NotionReporter with the given token and database IDs that sends
+	 * its requests to the given API URL, e.g., a local stub for testing.
+	 * 
+	 * @param token            the token used to authenticate with the Notion API
+	 * @param seriesDatabaseId the ID of the database used to store the parent
+	 *                         series
+	 * @param metricDatabaseId the ID of the database used to store the metrics
+	 * @param executorService  the executorService to run the background sender on
+	 * @param apiUrl           the base URL of the Notion API
+	 */
+	public NotionReporter(final String token, final String seriesDatabaseId, final String metricDatabaseId,
+			final ExecutorService executorService, final String apiUrl) {
 		super();
 
 		this.token = token;
 		this.metricDatabaseId = metricDatabaseId;
 		this.seriesDatabaseId = seriesDatabaseId;
 		this.executorService = executorService;
+		this.apiUrl = apiUrl;
 
 		IflyeLogger.configureLogging(logger);
 	}
@@ -336,23 +406,14 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 		final String name = this.getSeriesDate(tags) + ": " + getName(tags);
 
 		tags.putIfAbsent("Name", name);
-		Collection<String> properties = formatTags(tags).values();
-
-		try {
-			HttpResponse<String> response = this.postMetric(this.seriesDatabaseId, properties);
-
-			Matcher matcher = Pattern.compile(".*?\"id\":\\s*\"([\\p{XDigit}-]{36})\",.*?").matcher(response.body());
-			matcher.matches();
-			this.seriesId = matcher.group(1);
-		} catch (IOException | InterruptedException e) {
-			throw new RuntimeException(e);
-		}
+		enqueue(new Request(this.seriesDatabaseId, new ArrayList<>(formatTags(tags).values()), true));
 	}
 
 	/**
 	 * Flushes a metrics entry to the notion database. It will have all tags
 	 * assigned as properties if there was a format defined. If there is an active
-	 * series ID, it will be used to create a relation to the series.
+	 * series ID, it will be used to create a relation to the series. The entry is
+	 * only queued, it gets sent by the background sender.
 	 * 
 	 * @param entry    the entry to flush
 	 * @param groupKey the group key of the entry
@@ -377,22 +438,149 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 		if (this.formatTag("Name", name) != null) {
 			properties.add(this.formatTag("Name", name));
 		}
-		if (this.seriesId != null && this.formatTag("Series", this.seriesId) != null) {
+		properties.addAll(entry.values().values().stream().map((e) -> String.valueOf(e)).toList());
+
+		enqueue(new Request(this.metricDatabaseId, properties, false));
+	}
+
+	/**
+	 * Queues the given request for the background sender and starts the sender if
+	 * necessary. This method never blocks: If the queue is full, the request is
+	 * dropped.
+	 * 
+	 * @param request the request to queue
+	 */
+	protected void enqueue(final Request request) {
+		synchronized (this.senderLock) {
+			if (!this.senderStarted) {
+				this.senderStarted = true;
+				this.executorService.submit(this::runSender);
+			}
+		}
+
+		if (!this.queue.offer(request)) {
+			this.dropped.incrementAndGet();
+		}
+	}
+
+	/**
+	 * The loop of the background sender. It takes all queued requests in batches
+	 * of up to {@link MetricConfig#NOTION_BATCH_SIZE} and sends them until the
+	 * {@link #STOP} marker is reached.
+	 */
+	protected void runSender() {
+		final List<Request> batch = new ArrayList<>(MetricConfig.NOTION_BATCH_SIZE);
+		try {
+			while (true) {
+				batch.add(this.queue.take());
+				this.queue.drainTo(batch, MetricConfig.NOTION_BATCH_SIZE - 1);
+
+				for (final Request request : batch) {
+					if (request == STOP) {
+						return;
+					}
+					send(request);
+				}
+				batch.clear();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Sends the given request. Requests that failed because of an I/O error, rate
+	 * limiting, or a server error are retried with an exponential back-off. The
+	 * series relation is added right before sending, because the series is created
+	 * asynchronously as well.
+	 * 
+	 * @param request the request to send
+	 * @throws InterruptedException if the sender was interrupted
+	 */
+	protected void send(final Request request) throws InterruptedException {
+		final List<String> properties = new ArrayList<>(request.properties());
+		if (!request.series() && this.seriesId != null && this.formatTag("Series", this.seriesId) != null) {
 			properties.add(this.formatTag("Series", this.seriesId));
 		}
-		properties.addAll(entry.values().values().stream().map((e) -> String.valueOf(e)).toList());
 
-		this.executorService.submit(() -> {
+		long backoff = MetricConfig.NOTION_BACKOFF_MS;
+		for (int attempt = 0;; attempt++) {
 			try {
-				this.postMetric(this.metricDatabaseId, properties);
-			} catch (IOException | InterruptedException | NoSuchElementException e) {
-				// Don't propagate error to prevent failing the entire series
-				logger.warning("Failed to write to Notion DB!");
-				logger.warning("Entry was:");
-				logger.warning(properties.toString());
-				e.printStackTrace();
+				final HttpResponse<String> response = this.postMetric(request.databaseId(), properties);
+				if (request.series()) {
+					final Matcher matcher = Pattern.compile("(?s).*?\"id\":\\s*\"([\\p{XDigit}-]{36})\",.*")
+							.matcher(response.body());
+					if (matcher.matches()) {
+						this.seriesId = matcher.group(1);
+					}
+				}
+				return;
+			} catch (final IOException | RetryableException e) {
+				if (attempt >= MetricConfig.NOTION_MAX_RETRIES) {
+					fail(properties, e);
+					return;
+				}
+				if (e instanceof RetryableException re && re.retryAfterMs > 0) {
+					backoff = Math.max(backoff, re.retryAfterMs);
+				}
+			} catch (final NoSuchElementException e) {
+				// Client errors will not go away by retrying
+				fail(properties, e);
+				return;
 			}
-		});
+
+			Thread.sleep(backoff);
+			backoff *= 2;
+		}
+	}
+
+	/**
+	 * Logs a request that could not be sent. Errors are not propagated to prevent
+	 * failing the entire series.
+	 * 
+	 * @param properties the properties of the request
+	 * @param e          the cause
+	 */
+	private void fail(final List<String> properties, final Exception e) {
+		this.dropped.incrementAndGet();
+		logger.warning("Failed to write to Notion DB: " + e.getMessage());
+		logger.warning("Entry was:");
+		logger.warning(properties.toString());
+	}
+
+	/**
+	 * Returns the number of requests that were dropped, either because the queue
+	 * was full or because all retries failed.
+	 * 
+	 * @return the number of dropped requests
+	 */
+	public long getDropped() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Exception for a request that failed temporarily and should be retried.
+	 */
+	protected static class RetryableException extends NoSuchElementException {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The delay requested by the server in milliseconds, 0 if none.
+		 */
+		protected final long retryAfterMs;
+
+		/**
+		 * Creates a new exception.
+		 * 
+		 * @param message      the message
+		 * @param retryAfterMs the delay requested by the server in milliseconds
+		 */
+		protected RetryableException(final String message, final long retryAfterMs) {
+			super(message);
+			this.retryAfterMs = retryAfterMs;
+		}
+
 	}
 
 	/**
@@ -463,7 +651,9 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 	 * @return the response of the request
 	 * @throws IOException            if an I/O error occurs
 	 * @throws InterruptedException   if the request is interrupted
-	 * @throws NoSuchElementException if the request fails
+	 * @throws NoSuchElementException if the request fails, a
+	 *                                {@link RetryableException} if it may succeed
+	 *                                later
 	 * @see #prepareRequest(String)
 	 * @see #flushEntry(Map, Map)
 	 * @see #initialized()
@@ -474,10 +664,20 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 				+ "	\"properties\": {\n" + String.join(",\n", properties) + "\n" + "	},\n" + "	\"children\": []\n"
 				+ "}";
 
-		HttpRequest request = prepareRequest("https://api.notion.com/v1/pages").POST(BodyPublishers.ofString(body))
-				.build();
+		HttpRequest request = prepareRequest(this.apiUrl + "/pages").POST(BodyPublishers.ofString(body)).build();
 
 		HttpResponse<String> response = this.notionClient.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() == 429 || response.statusCode() >= 500) {
+			final long retryAfter = response.headers().firstValue("Retry-After").map(v -> {
+				try {
+					return (long) (Double.parseDouble(v) * 1000);
+				} catch (final NumberFormatException e) {
+					return 0L;
+				}
+			}).orElse(0L);
+			throw new RetryableException("Notion API responded with status " + response.statusCode() + "!",
+					retryAfter);
+		}
 		if (response.statusCode() != 200) {
 			throw new NoSuchElementException("Failed to write metric to the Notion DB with status "
 					+ response.statusCode() + "! Response: " + response.body());
@@ -528,14 +728,29 @@ public class NotionReporter extends GroupByTagValueReporter implements Reporter
 	}
 
 	/**
-	 * Shutdown the flush executor service and wait for all metrics to be sent to
+	 * Shutdown the background sender and wait for all queued metrics to be sent to
 	 * the Notion DB.
 	 */
 	@Override
 	public void close() {
 		super.close();
 
+		synchronized (this.senderLock) {
+			if (this.senderStarted) {
+				try {
+					// The marker must not be dropped, hence, wait for free space
+					this.queue.put(STOP);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
 		this.executorService.close();
+
+		if (this.dropped.get() > 0) {
+			logger.warning(this.dropped.get() + " entries could not be written to the Notion DB!");
+		}
 	}
 
 }
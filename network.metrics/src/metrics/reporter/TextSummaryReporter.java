@@ -358,6 +358,17 @@ public class TextSummaryReporter extends GroupedReporter<String> {
 		return found;
 	}
 
+	/**
+	 * The aggregation spans all flushes, hence, every flush visits all meters as
+	 * before (including those that did not change).
+	 * 
+	 * @return false
+	 */
+	@Override
+	protected boolean isIncremental() {
+		return false;
+	}
+
 	/**
 	 * On conclusion, print the aggregated metrics.
 	 */
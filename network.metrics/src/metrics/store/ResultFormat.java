@@ -0,0 +1,142 @@
+package metrics.store;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants of the binary run-result format. A result file is append-only and
+ * self-describing:
+ *
+ * <pre>
+ * file    := MAGIC version block* [footer]
+ * block   := COLUMN id:short type:byte name:utf
+ *          | STRING id:int value:utf
+ *          | ROW cells:short (column:short type:byte value)*
+ * footer  := FOOTER rows:long (offset:long)* columns:short (type:byte name:utf)*
+ *            strings:int (value:utf)* footerOffset:long END
+ * </pre>
+ *
+ * Columns and dictionary strings are defined by a block before their first use,
+ * hence, a file can be streamed from the beginning without its footer, e.g., if
+ * the run was aborted. The footer repeats the columns and the dictionary and
+ * indexes the offset of every row for random access. On append, the footer gets
+ * truncated and written again on close.
+ *
+ * Every cell carries its type, so a column may hold values of different types
+ * without loss. The type of a column is the type of its first value.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public final class ResultFormat {
+
+	/**
+	 * Magic bytes at the beginning of every result file.
+	 */
+	static final byte[] MAGIC = "IFLYERES".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Magic bytes at the end of a complete result file (after the footer).
+	 */
+	static final byte[] END = "IFLYEEND".getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * Version of the format.
+	 */
+	static final byte VERSION = 1;
+
+	/**
+	 * Block that defines a column.
+	 */
+	static final byte BLOCK_COLUMN = 'C';
+
+	/**
+	 * Block that adds a string to the dictionary.
+	 */
+	static final byte BLOCK_STRING = 'S';
+
+	/**
+	 * Block that holds one row.
+	 */
+	static final byte BLOCK_ROW = 'R';
+
+	/**
+	 * Block that holds the footer.
+	 */
+	static final byte BLOCK_FOOTER = 'F';
+
+	/**
+	 * Length of the trailer, i.e., the footer offset and the end magic bytes.
+	 */
+	static final int TRAILER_LENGTH = Long.BYTES + 8;
+
+	/**
+	 * File extension of result files.
+	 */
+	public static final String EXTENSION = ".iflye";
+
+	/**
+	 * Type of a column or a cell.
+	 */
+	public enum ColumnType {
+
+		/**
+		 * 64-bit floating point number (lossless).
+		 */
+		DOUBLE,
+
+		/**
+		 * 64-bit integer.
+		 */
+		LONG,
+
+		/**
+		 * Dictionary-encoded string.
+		 */
+		STRING,
+
+		/**
+		 * Boolean.
+		 */
+		BOOLEAN;
+
+		/**
+		 * Returns the type of the given value.
+		 *
+		 * @param value Value to get the type for.
+		 * @return The type of the value.
+		 */
+		public static ColumnType of(final Object value) {
+			if (value instanceof Double || value instanceof Float) {
+				return DOUBLE;
+			} else if (value instanceof Long || value instanceof Integer || value instanceof Short
+					|| value instanceof Byte) {
+				return LONG;
+			} else if (value instanceof Boolean) {
+				return BOOLEAN;
+			}
+
+			return STRING;
+		}
+
+		/**
+		 * Returns the type of the given ID.
+		 *
+		 * @param id ID of the type.
+		 * @return The type of the ID.
+		 */
+		static ColumnType byId(final int id) {
+			if (id < 0 || id >= values().length) {
+				throw new IllegalArgumentException("Unknown column type: " + id);
+			}
+
+			return values()[id];
+		}
+
+	}
+
+	/**
+	 * Private constructor ensures no instantiation of this class.
+	 */
+	private ResultFormat() {
+	}
+
+}
@@ -0,0 +1,677 @@
+package metrics.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import metrics.store.ResultFormat.ColumnType;
+
+/**
+ * Streaming reader of a binary result file (see {@link ResultFormat}). The
+ * columns, the dictionary, and the row offsets are read from the footer or,
+ * if the file has no footer (e.g., an aborted run), recovered by scanning all
+ * blocks. The rows themselves are only decoded while streaming or on random
+ * access.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class ResultReader implements AutoCloseable, Iterable<ResultReader.Row> {
+
+	/**
+	 * Channel of the result file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Names of all columns (by ID).
+	 */
+	private final List<String> columns = new ArrayList<>();
+
+	/**
+	 * Types of all columns (by ID).
+	 */
+	private final List<ColumnType> types = new ArrayList<>();
+
+	/**
+	 * IDs of all columns by name.
+	 */
+	private final Map<String, Integer> columnIds = new HashMap<>();
+
+	/**
+	 * Dictionary of all strings (by ID).
+	 */
+	private final List<String> strings = new ArrayList<>();
+
+	/**
+	 * Offsets of all rows.
+	 */
+	private long[] rowOffsets = new long[16];
+
+	/**
+	 * Number of rows.
+	 */
+	private int rowCount;
+
+	/**
+	 * Offset of the end of the last complete block (i.e., the footer offset if the
+	 * file is complete).
+	 */
+	private long end;
+
+	/**
+	 * True if the file has a footer.
+	 */
+	private boolean complete;
+
+	/**
+	 * One row of a result file.
+	 */
+	public class Row {
+
+		/**
+		 * Values of the row (by column ID).
+		 */
+		private final Object[] values;
+
+		/**
+		 * Creates a new row.
+		 *
+		 * @param values Values of the row (by column ID).
+		 */
+		private Row(final Object[] values) {
+			this.values = values;
+		}
+
+		/**
+		 * Returns the value of the given column.
+		 *
+		 * @param column Name of the column.
+		 * @return Value (Double, Long, String, or Boolean) or null if missing.
+		 */
+		public Object get(final String column) {
+			final Integer id = columnIds.get(column);
+			return id == null || id >= values.length ? null : values[id];
+		}
+
+		/**
+		 * Returns the numeric value of the given column.
+		 *
+		 * @param column Name of the column.
+		 * @return Value or NaN if the column is missing or not numeric.
+		 */
+		public double getDouble(final String column) {
+			final Object value = get(column);
+			if (value instanceof Number) {
+				return ((Number) value).doubleValue();
+			} else if (value instanceof String) {
+				try {
+					return Double.parseDouble((String) value);
+				} catch (final NumberFormatException e) {
+					return Double.NaN;
+				}
+			}
+
+			return Double.NaN;
+		}
+
+		/**
+		 * Returns the value of the given column as string.
+		 *
+		 * @param column Name of the column.
+		 * @return Value or null if missing.
+		 */
+		public String getString(final String column) {
+			final Object value = get(column);
+			return value == null ? null : value.toString();
+		}
+
+		/**
+		 * @return All present values by column name (in column order).
+		 */
+		public Map<String, Object> toMap() {
+			final Map<String, Object> map = new LinkedHashMap<>();
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] != null) {
+					map.put(columns.get(i), values[i]);
+				}
+			}
+			return map;
+		}
+
+		@Override
+		public String toString() {
+			return toMap().toString();
+		}
+
+	}
+
+	/**
+	 * Opens the given result file.
+	 *
+	 * @param path Path of the result file.
+	 * @throws UncheckedIOException     If the file can not be read.
+	 * @throws IllegalArgumentException If the file is no result file.
+	 */
+	public ResultReader(final Path path) {
+		try {
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		try {
+			if (!readFooter()) {
+				scan();
+			}
+		} catch (final IOException | RuntimeException e) {
+			close();
+			if (e instanceof IOException) {
+				throw new UncheckedIOException((IOException) e);
+			}
+			throw (RuntimeException) e;
+		}
+	}
+
+	/**
+	 * @return Names of all columns in the order of their first occurrence.
+	 */
+	public List<String> getColumns() {
+		return Collections.unmodifiableList(columns);
+	}
+
+	/**
+	 * Returns the type of the given column, i.e., the type of its first value.
+	 *
+	 * @param column Name of the column.
+	 * @return Type of the column or null if there is no such column.
+	 */
+	public ColumnType getType(final String column) {
+		final Integer id = columnIds.get(column);
+		return id == null ? null : types.get(id);
+	}
+
+	/**
+	 * @return Number of rows.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return True if the file has a footer, false if it was recovered by scanning
+	 *         (e.g., because the run was aborted).
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Reads the row with the given index using the row index.
+	 *
+	 * @param index Index of the row.
+	 * @return The row.
+	 */
+	public Row getRow(final int index) {
+		if (index < 0 || index >= rowCount) {
+			throw new IndexOutOfBoundsException("Row " + index + " of " + rowCount);
+		}
+
+		try {
+			final DataInputStream in = openAt(rowOffsets[index]);
+			in.readByte();
+			return readRow(in);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns an iterator that streams all rows in file order. Only one row is
+	 * held in memory at a time.
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		final DataInputStream in;
+		try {
+			in = openAt(ResultFormat.MAGIC.length + 1);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return new Iterator<>() {
+
+			/**
+			 * Number of rows read so far.
+			 */
+			private int read = 0;
+
+			@Override
+			public boolean hasNext() {
+				return read < rowCount;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				try {
+					while (true) {
+						final byte block = in.readByte();
+						switch (block) {
+						case ResultFormat.BLOCK_COLUMN:
+							in.readShort();
+							in.readByte();
+							in.readUTF();
+							break;
+						case ResultFormat.BLOCK_STRING:
+							in.readInt();
+							in.readUTF();
+							break;
+						case ResultFormat.BLOCK_ROW:
+							read++;
+							return readRow(in);
+						default:
+							throw new IllegalStateException("Unexpected block: " + block);
+						}
+					}
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * @return A sequential stream of all rows in file order.
+	 */
+	public Stream<Row> rows() {
+		return StreamSupport.stream(Spliterators.spliterator(iterator(), rowCount,
+				Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Writes all rows as CSV to the given writer. The header holds all columns.
+	 * Missing values are written as empty cells, doubles in their shortest
+	 * lossless representation.
+	 *
+	 * @param out Writer to write the CSV to.
+	 * @throws IOException If writing fails.
+	 */
+	public void toCsv(final Writer out) throws IOException {
+		out.write(columns.stream().map(ResultReader::escapeCsv).collect(Collectors.joining(",")));
+		out.write(System.lineSeparator());
+		for (final Row row : this) {
+			final String[] cells = new String[columns.size()];
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = i < row.values.length && row.values[i] != null ? escapeCsv(row.values[i].toString()) : "";
+			}
+			out.write(String.join(",", cells));
+			out.write(System.lineSeparator());
+		}
+	}
+
+	/**
+	 * Closes the result file.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Offset of the end of the last complete block.
+	 */
+	long getEnd() {
+		return end;
+	}
+
+	/**
+	 * @return Types of all columns (by ID).
+	 */
+	List<ColumnType> getTypes() {
+		return Collections.unmodifiableList(types);
+	}
+
+	/**
+	 * @return Dictionary of all strings (by ID).
+	 */
+	List<String> getStrings() {
+		return Collections.unmodifiableList(strings);
+	}
+
+	/**
+	 * @return Offsets of all rows.
+	 */
+	long[] getRowOffsets() {
+		return Arrays.copyOf(rowOffsets, rowCount);
+	}
+
+	/**
+	 * Reads the footer of the file if present.
+	 *
+	 * @return True if the file has a valid footer.
+	 * @throws IOException If reading fails.
+	 */
+	private boolean readFooter() throws IOException {
+		final long size = channel.size();
+		if (size < ResultFormat.MAGIC.length + 1 + ResultFormat.TRAILER_LENGTH) {
+			return false;
+		}
+
+		final ByteBuffer trailer = ByteBuffer.allocate(ResultFormat.TRAILER_LENGTH);
+		channel.read(trailer, size - ResultFormat.TRAILER_LENGTH);
+		trailer.flip();
+		final long footerOffset = trailer.getLong();
+		final byte[] magic = new byte[ResultFormat.END.length];
+		trailer.get(magic);
+		if (!Arrays.equals(magic, ResultFormat.END) || footerOffset <= ResultFormat.MAGIC.length
+				|| footerOffset >= size - ResultFormat.TRAILER_LENGTH) {
+			return false;
+		}
+
+		checkHeader();
+		final DataInputStream in = openAt(footerOffset);
+		if (in.readByte() != ResultFormat.BLOCK_FOOTER) {
+			return false;
+		}
+
+		final long rows = in.readLong();
+		rowOffsets = new long[(int) Math.max(16, rows)];
+		for (int i = 0; i < rows; i++) {
+			rowOffsets[rowCount++] = in.readLong();
+		}
+		final int numOfColumns = in.readShort();
+		for (int i = 0; i < numOfColumns; i++) {
+			addColumn(ColumnType.byId(in.readByte()), in.readUTF());
+		}
+		final int numOfStrings = in.readInt();
+		for (int i = 0; i < numOfStrings; i++) {
+			strings.add(in.readUTF());
+		}
+
+		end = footerOffset;
+		complete = true;
+		return true;
+	}
+
+	/**
+	 * Recovers the columns, the dictionary, and the row offsets by scanning all
+	 * blocks. A truncated last block is ignored.
+	 *
+	 * @throws IOException If reading fails.
+	 */
+	private void scan() throws IOException {
+		checkHeader();
+		long offset = ResultFormat.MAGIC.length + 1;
+		end = offset;
+
+		final CountingInputStream counter = new CountingInputStream(
+				new BufferedInputStream(new PositionalInputStream(offset)));
+		final DataInputStream in = new DataInputStream(counter);
+		try {
+			while (true) {
+				final byte block = in.readByte();
+				switch (block) {
+				case ResultFormat.BLOCK_COLUMN:
+					final int id = in.readShort();
+					final ColumnType type = ColumnType.byId(in.readByte());
+					final String name = in.readUTF();
+					if (id != columns.size()) {
+						throw new IllegalArgumentException("Corrupt column block at offset " + offset);
+					}
+					addColumn(type, name);
+					break;
+				case ResultFormat.BLOCK_STRING:
+					in.readInt();
+					strings.add(in.readUTF());
+					break;
+				case ResultFormat.BLOCK_ROW:
+					readRow(in);
+					addRowOffset(offset);
+					break;
+				case ResultFormat.BLOCK_FOOTER:
+					// Footer without (complete) trailer
+					return;
+				default:
+					throw new IllegalArgumentException("Unexpected block " + block + " at offset " + offset);
+				}
+
+				offset = ResultFormat.MAGIC.length + 1 + counter.count;
+				end = offset;
+			}
+		} catch (final EOFException e) {
+			// End of file or truncated last block
+		}
+	}
+
+	/**
+	 * Checks the magic bytes and the version of the file.
+	 *
+	 * @throws IOException If reading fails.
+	 */
+	private void checkHeader() throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(ResultFormat.MAGIC.length + 1);
+		channel.read(header, 0);
+		header.flip();
+		final byte[] magic = new byte[ResultFormat.MAGIC.length];
+		if (header.remaining() < header.capacity()) {
+			throw new IllegalArgumentException("File is no result file.");
+		}
+		header.get(magic);
+		if (!Arrays.equals(magic, ResultFormat.MAGIC)) {
+			throw new IllegalArgumentException("File is no result file.");
+		}
+		final byte version = header.get();
+		if (version != ResultFormat.VERSION) {
+			throw new IllegalArgumentException("Unsupported result file version: " + version);
+		}
+	}
+
+	/**
+	 * Reads the body of a row block.
+	 *
+	 * @param in Input to read from.
+	 * @return The row.
+	 * @throws IOException If reading fails.
+	 */
+	private Row readRow(final DataInputStream in) throws IOException {
+		final int cells = in.readShort();
+		final Object[] values = new Object[columns.size()];
+		for (int i = 0; i < cells; i++) {
+			final int column = in.readShort();
+			final Object value = readValue(in, ColumnType.byId(in.readByte()));
+			if (column < 0 || column >= values.length) {
+				throw new IllegalArgumentException("Undefined column: " + column);
+			}
+			values[column] = value;
+		}
+		return new Row(values);
+	}
+
+	/**
+	 * Reads one value of the given type.
+	 *
+	 * @param in   Input to read from.
+	 * @param type Type of the value.
+	 * @return The value.
+	 * @throws IOException If reading fails.
+	 */
+	private Object readValue(final DataInputStream in, final ColumnType type) throws IOException {
+		switch (type) {
+		case DOUBLE:
+			return in.readDouble();
+		case LONG:
+			return in.readLong();
+		case BOOLEAN:
+			return in.readBoolean();
+		case STRING:
+			final int id = in.readInt();
+			if (id < 0 || id >= strings.size()) {
+				throw new IllegalArgumentException("Undefined string: " + id);
+			}
+			return strings.get(id);
+		default:
+			throw new UnsupportedOperationException("Unknown column type: " + type);
+		}
+	}
+
+	/**
+	 * Adds a column.
+	 *
+	 * @param type Type of the column.
+	 * @param name Name of the column.
+	 */
+	private void addColumn(final ColumnType type, final String name) {
+		columnIds.put(name, columns.size());
+		columns.add(name);
+		types.add(type);
+	}
+
+	/**
+	 * Adds the offset of a row.
+	 *
+	 * @param offset Offset of the row.
+	 */
+	private void addRowOffset(final long offset) {
+		if (rowCount == rowOffsets.length) {
+			rowOffsets = Arrays.copyOf(rowOffsets, rowCount * 2);
+		}
+		rowOffsets[rowCount++] = offset;
+	}
+
+	/**
+	 * Opens a buffered input at the given offset.
+	 *
+	 * @param offset Offset to start reading at.
+	 * @return The input.
+	 * @throws IOException If positioning fails.
+	 */
+	private DataInputStream openAt(final long offset) throws IOException {
+		return new DataInputStream(new BufferedInputStream(new PositionalInputStream(offset)));
+	}
+
+	/**
+	 * Quotes the given CSV cell if necessary.
+	 *
+	 * @param value Value of the cell.
+	 * @return The (quoted) value.
+	 */
+	private static String escapeCsv(final String value) {
+		if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+
+		return value;
+	}
+
+	/**
+	 * Input stream that reads from the channel at its own position, hence,
+	 * multiple iterators can be used at the same time.
+	 */
+	private class PositionalInputStream extends InputStream {
+
+		/**
+		 * Current position.
+		 */
+		private long position;
+
+		/**
+		 * Creates a new input stream.
+		 *
+		 * @param position Position to start at.
+		 */
+		private PositionalInputStream(final long position) {
+			this.position = position;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int read = channel.read(ByteBuffer.wrap(b, off, len), position);
+			if (read > 0) {
+				position += read;
+			}
+			return read;
+		}
+
+	}
+
+	/**
+	 * Input stream that counts the consumed bytes.
+	 */
+	private static class CountingInputStream extends InputStream {
+
+		/**
+		 * The wrapped input stream.
+		 */
+		private final InputStream in;
+
+		/**
+		 * Number of consumed bytes.
+		 */
+		private long count;
+
+		/**
+		 * Creates a new counting input stream.
+		 *
+		 * @param in The wrapped input stream.
+		 */
+		private CountingInputStream(final InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int b = in.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			final int read = in.read(b, off, len);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+
+	}
+
+}
@@ -0,0 +1,351 @@
+package metrics.store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import metrics.store.ResultFormat.ColumnType;
+
+/**
+ * Append-only writer of a binary result file (see {@link ResultFormat}). If the
+ * file already exists, new rows get appended: its footer (or a truncated last
+ * block of an aborted run) is cut off and written again on {@link #close()}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class ResultWriter implements AutoCloseable, Flushable {
+
+	/**
+	 * Channel of the result file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Output of the result file.
+	 */
+	private final DataOutputStream out;
+
+	/**
+	 * Offset of the next block.
+	 */
+	private long position;
+
+	/**
+	 * Names of all columns (by ID).
+	 */
+	private final List<String> columns = new ArrayList<>();
+
+	/**
+	 * Types of all columns (by ID).
+	 */
+	private final List<ColumnType> types = new ArrayList<>();
+
+	/**
+	 * IDs of all columns by name.
+	 */
+	private final Map<String, Integer> columnIds = new HashMap<>();
+
+	/**
+	 * Dictionary of all strings (by ID).
+	 */
+	private final List<String> strings = new ArrayList<>();
+
+	/**
+	 * IDs of all strings of the dictionary.
+	 */
+	private final Map<String, Integer> stringIds = new HashMap<>();
+
+	/**
+	 * Offsets of all rows.
+	 */
+	private long[] rowOffsets = new long[16];
+
+	/**
+	 * Number of rows.
+	 */
+	private int rowCount;
+
+	/**
+	 * True if the writer is closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * Opens the given result file for writing. A new file will be created if it
+	 * does not exist, otherwise, new rows get appended.
+	 *
+	 * @param path Path of the result file.
+	 * @throws UncheckedIOException     If the file can not be opened.
+	 * @throws IllegalArgumentException If the file exists but is no result file.
+	 */
+	public ResultWriter(final Path path) {
+		final boolean append = Files.exists(path) && path.toFile().length() > 0;
+
+		try {
+			if (append) {
+				try (final ResultReader reader = new ResultReader(path)) {
+					reader.getColumns().forEach(columns::add);
+					types.addAll(reader.getTypes());
+					strings.addAll(reader.getStrings());
+					rowOffsets = reader.getRowOffsets();
+					rowCount = rowOffsets.length;
+					position = reader.getEnd();
+				}
+				for (int i = 0; i < columns.size(); i++) {
+					columnIds.put(columns.get(i), i);
+				}
+				for (int i = 0; i < strings.size(); i++) {
+					stringIds.put(strings.get(i), i);
+				}
+			}
+
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			if (append) {
+				channel.truncate(position);
+			} else {
+				channel.truncate(0);
+			}
+			channel.position(position);
+			this.out = new DataOutputStream(
+					new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel))));
+
+			if (!append) {
+				out.write(ResultFormat.MAGIC);
+				out.writeByte(ResultFormat.VERSION);
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Appends one row. Null values are skipped. Doubles and floats are written as
+	 * DOUBLE, other integral numbers as LONG, booleans as BOOLEAN, and all other
+	 * values as (dictionary-encoded) STRING.
+	 *
+	 * @param row Values of the row by column name.
+	 * @throws UncheckedIOException If writing fails.
+	 */
+	public synchronized void writeRow(final Map<String, ?> row) {
+		if (closed) {
+			throw new IllegalStateException("Result writer is closed.");
+		}
+
+		try {
+			// Define all new columns and strings before the row
+			int cells = 0;
+			for (final Map.Entry<String, ?> e : row.entrySet()) {
+				if (e.getValue() == null) {
+					continue;
+				}
+
+				cells++;
+				final ColumnType type = ColumnType.of(e.getValue());
+				getColumnId(e.getKey(), type);
+				if (type == ColumnType.STRING) {
+					getStringId(e.getValue().toString());
+				}
+			}
+
+			if (cells > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("Too many cells in row: " + cells);
+			}
+
+			addRowOffset(position);
+			out.writeByte(ResultFormat.BLOCK_ROW);
+			out.writeShort(cells);
+			for (final Map.Entry<String, ?> e : row.entrySet()) {
+				final Object value = e.getValue();
+				if (value == null) {
+					continue;
+				}
+
+				final ColumnType type = ColumnType.of(value);
+				out.writeShort(columnIds.get(e.getKey()));
+				out.writeByte(type.ordinal());
+				switch (type) {
+				case DOUBLE:
+					out.writeDouble(((Number) value).doubleValue());
+					break;
+				case LONG:
+					out.writeLong(((Number) value).longValue());
+					break;
+				case BOOLEAN:
+					out.writeBoolean((Boolean) value);
+					break;
+				case STRING:
+					out.writeInt(stringIds.get(value.toString()));
+					break;
+				default:
+					throw new UnsupportedOperationException("Unknown column type: " + type);
+				}
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return Number of rows of the file.
+	 */
+	public synchronized int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Flushes all written rows to the file. The file can be read (by scanning)
+	 * afterwards, even if the writer never gets closed.
+	 */
+	@Override
+	public synchronized void flush() {
+		if (closed) {
+			return;
+		}
+
+		try {
+			out.flush();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the footer and closes the file.
+	 */
+	@Override
+	public synchronized void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			final long footerOffset = position;
+			out.writeByte(ResultFormat.BLOCK_FOOTER);
+			out.writeLong(rowCount);
+			for (int i = 0; i < rowCount; i++) {
+				out.writeLong(rowOffsets[i]);
+			}
+			out.writeShort(columns.size());
+			for (int i = 0; i < columns.size(); i++) {
+				out.writeByte(types.get(i).ordinal());
+				out.writeUTF(columns.get(i));
+			}
+			out.writeInt(strings.size());
+			for (final String s : strings) {
+				out.writeUTF(s);
+			}
+			out.writeLong(footerOffset);
+			out.write(ResultFormat.END);
+			out.close();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the ID of the given column and defines the column if necessary.
+	 *
+	 * @param name Name of the column.
+	 * @param type Type of the first value.
+	 * @return ID of the column.
+	 * @throws IOException If writing fails.
+	 */
+	private int getColumnId(final String name, final ColumnType type) throws IOException {
+		final Integer id = columnIds.get(name);
+		if (id != null) {
+			return id;
+		}
+
+		if (columns.size() >= Short.MAX_VALUE) {
+			throw new IllegalStateException("Too many columns: " + columns.size());
+		}
+
+		final int newId = columns.size();
+		out.writeByte(ResultFormat.BLOCK_COLUMN);
+		out.writeShort(newId);
+		out.writeByte(type.ordinal());
+		out.writeUTF(name);
+		columns.add(name);
+		types.add(type);
+		columnIds.put(name, newId);
+		return newId;
+	}
+
+	/**
+	 * Returns the dictionary ID of the given string and adds it if necessary.
+	 *
+	 * @param value The string.
+	 * @return ID of the string.
+	 * @throws IOException If writing fails.
+	 */
+	private int getStringId(final String value) throws IOException {
+		final Integer id = stringIds.get(value);
+		if (id != null) {
+			return id;
+		}
+
+		final int newId = strings.size();
+		out.writeByte(ResultFormat.BLOCK_STRING);
+		out.writeInt(newId);
+		out.writeUTF(value);
+		strings.add(value);
+		stringIds.put(value, newId);
+		return newId;
+	}
+
+	/**
+	 * Adds the offset of a row.
+	 *
+	 * @param offset Offset of the row.
+	 */
+	private void addRowOffset(final long offset) {
+		if (rowCount == rowOffsets.length) {
+			rowOffsets = Arrays.copyOf(rowOffsets, Math.max(16, rowCount * 2));
+		}
+		rowOffsets[rowCount++] = offset;
+	}
+
+	/**
+	 * Output stream that keeps track of the position of the next block.
+	 */
+	private class CountingOutputStream extends FilterOutputStream {
+
+		/**
+		 * Creates a new counting output stream.
+		 *
+		 * @param out The wrapped output stream.
+		 */
+		private CountingOutputStream(final OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			out.write(b);
+			position++;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			out.write(b, off, len);
+			position += len;
+		}
+
+	}
+
+}
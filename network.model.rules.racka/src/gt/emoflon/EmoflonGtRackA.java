@@ -103,6 +103,7 @@ public class EmoflonGtRackA implements IncrementalPatternMatcher {
 	 * @param sub      Substrate element to embed on.
 	 * @param doUpdate True if PM should do updates.
 	 */
+	@Override
 	public void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
 		final GraphTransformationMatch<?, ?> match = tupleToGtMatch.get(new Tuple(virt, sub));
 		if (match instanceof ServerMatchPositiveMatch) {
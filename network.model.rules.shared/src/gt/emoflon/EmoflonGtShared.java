@@ -0,0 +1,257 @@
+package gt.emoflon;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.emoflon.ibex.gt.api.GraphTransformationMatch;
+import org.emoflon.ibex.gt.api.GraphTransformationRule;
+
+import gt.MatchConsumer;
+import gt.PatternMatchingConfig;
+import gt.emoflon.apps.EmoflonGtSharedHiPEApp;
+import model.Element;
+import model.Root;
+import model.SubstrateElement;
+import model.VirtualElement;
+import model.VirtualNetwork;
+import network.model.rules.shared.api.SharedAPI;
+import network.model.rules.shared.api.SharedApp;
+
+/**
+ * Pattern matching engine that contains the rules of all pipeline stages (full
+ * rule set, rack A, rack B, and virtual network) in one HiPE network. All
+ * pattern matchers of one model share a single engine instance, hence, the
+ * model gets indexed once and identical sub-networks of the rules are only
+ * evaluated once instead of once per stage.
+ *
+ * The pattern matchers are views ({@link EmoflonGtSharedStage}) of the engine.
+ * The engine reports every match tagged by its stage to all open views of this
+ * stage, i.e., every view has its own delta, its own scope, and its own matches
+ * to apply. A view that gets opened on an existing engine starts with all
+ * currently existing matches of the rules of its stage. The engine gets
+ * terminated after its last view was closed.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class EmoflonGtShared {
+
+	/**
+	 * Stages of the shared engine, i.e., rule sets of the pattern matchers.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	public enum Stage {
+		FULL, RACK_A, RACK_B, VNET;
+	}
+
+	/**
+	 * Function that adds a match to a match consumer.
+	 */
+	interface Adder {
+		void add(final MatchConsumer consumer, final Element virtual, final Element substrate);
+	}
+
+	/**
+	 * Application of a found match.
+	 */
+	interface Application {
+		void apply(final boolean doUpdate);
+	}
+
+	/**
+	 * Shared engine instances: Root node to engine.
+	 */
+	private static final Map<Root, EmoflonGtShared> engines = new UnifiedMap<Root, EmoflonGtShared>();
+
+	/**
+	 * Root node of this engine.
+	 */
+	private final Root root;
+
+	/**
+	 * Shared Rules API object generated from graph transformation patterns.
+	 */
+	private final SharedAPI api;
+
+	/**
+	 * Wrapper that initializes the API object.
+	 */
+	private final SharedApp emoflonPatternMatcherApp;
+
+	/**
+	 * Open views per stage.
+	 */
+	private final Map<Stage, List<EmoflonGtSharedStage>> views = new EnumMap<Stage, List<EmoflonGtSharedStage>>(
+			Stage.class);
+
+	/**
+	 * Functions per stage that report all currently existing matches of the stage
+	 * to a given view.
+	 */
+	private final Map<Stage, List<Consumer<EmoflonGtSharedStage>>> seeders = new EnumMap<Stage, List<Consumer<EmoflonGtSharedStage>>>(
+			Stage.class);
+
+	/**
+	 * Constructor that initializes the object for a given root node.
+	 *
+	 * @param root Root node to work with.
+	 */
+	private EmoflonGtShared(final Root root) {
+		switch (PatternMatchingConfig.pm) {
+		case HIPE:
+			emoflonPatternMatcherApp = new EmoflonGtSharedHiPEApp(root);
+			break;
+		default:
+			throw new UnsupportedOperationException();
+		}
+
+		this.root = root;
+		api = emoflonPatternMatcherApp.initAPI();
+
+		for (final Stage stage : Stage.values()) {
+			views.put(stage, new ArrayList<>());
+			seeders.put(stage, new ArrayList<>());
+		}
+
+		/*
+		 * Matches: Full rule set
+		 */
+
+		subscribe(Stage.FULL, api.serverMatchPositive(), MatchConsumer::addServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualNode(), m -> m.getSubstrateNode());
+		subscribe(Stage.FULL, api.switchNodeMatchPositive(), MatchConsumer::addSwitchMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualSwitch(), m -> m.getSubstrateNode());
+
+		if (PatternMatchingConfig.coupledLinkPaths) {
+			subscribe(Stage.FULL, api.linkPathMatchCoupledServerServer(), MatchConsumer::addLinkPathMatchPositive,
+					m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+			subscribe(Stage.FULL, api.linkPathMatchCoupledServerSwitch(), MatchConsumer::addLinkPathMatchPositive,
+					m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+			subscribe(Stage.FULL, api.linkPathMatchCoupledSwitchServer(), MatchConsumer::addLinkPathMatchPositive,
+					m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+			subscribe(Stage.FULL, api.linkPathMatchCoupledSwitchSwitch(), MatchConsumer::addLinkPathMatchPositive,
+					m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+		} else {
+			subscribe(Stage.FULL, api.linkPathMatchPositive(), MatchConsumer::addLinkPathMatchPositive,
+					m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+		}
+
+		subscribe(Stage.FULL, api.linkServerMatchPositive(), MatchConsumer::addLinkServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstrateServer());
+
+		/*
+		 * Matches: Rack A
+		 */
+
+		subscribe(Stage.RACK_A, api.rackAServerMatchPositive(), MatchConsumer::addServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualNode(), m -> m.getSubstrateNode());
+		subscribe(Stage.RACK_A, api.rackASwitchMatchPositive(), MatchConsumer::addSwitchMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualSwitch(), m -> m.getSubstrateSwitch());
+		subscribe(Stage.RACK_A, api.rackALinkPathMatchPositive(), MatchConsumer::addLinkPathMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+		subscribe(Stage.RACK_A, api.rackALinkServerMatchPositive(), MatchConsumer::addLinkServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstrateServer());
+
+		/*
+		 * Matches: Rack B
+		 */
+
+		subscribe(Stage.RACK_B, api.rackBServerMatchPositive(), MatchConsumer::addServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualNode(), m -> m.getSubstrateNode());
+		subscribe(Stage.RACK_B, api.rackBSwitchMatchPositive(), MatchConsumer::addSwitchMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualSwitch(), m -> m.getSubstrateNode());
+		subscribe(Stage.RACK_B, api.rackBLinkPathMatchPositive(), MatchConsumer::addLinkPathMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+		subscribe(Stage.RACK_B, api.rackBLinkPathMatchServerServer(), MatchConsumer::addLinkPathMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstratePath());
+		subscribe(Stage.RACK_B, api.rackBLinkServerMatchPositive(), MatchConsumer::addLinkServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualLink(), m -> m.getSubstrateServer());
+
+		/*
+		 * Matches: Virtual network
+		 */
+
+		subscribe(Stage.VNET, api.vnetToServer(), MatchConsumer::addNetworkServerMatchPositive,
+				m -> m.getVirtualNetwork(), m -> m.getVirtualNetwork(), m -> m.getSubstrateNode());
+	}
+
+	/**
+	 * Opens the given view on the shared engine of the given root node. The
+	 * engine gets created if there is none for the root node yet. The view starts
+	 * with all currently existing matches of its stage.
+	 *
+	 * @param root Root node to work with.
+	 * @param view View to open.
+	 * @return Shared engine of the root node.
+	 */
+	static EmoflonGtShared acquire(final Root root, final EmoflonGtSharedStage view) {
+		synchronized (EmoflonGtShared.class) {
+			final EmoflonGtShared engine = engines.computeIfAbsent(root, EmoflonGtShared::new);
+			synchronized (engine) {
+				// Matches of all open views that appeared since their last run
+				engine.api.updateMatches();
+
+				engine.seeders.get(view.getStage()).forEach(s -> s.accept(view));
+				engine.views.get(view.getStage()).add(view);
+			}
+			return engine;
+		}
+	}
+
+	/**
+	 * Closes the given view. The engine gets terminated after its last view was
+	 * closed.
+	 *
+	 * @param view View to close.
+	 */
+	void release(final EmoflonGtSharedStage view) {
+		synchronized (EmoflonGtShared.class) {
+			synchronized (this) {
+				if (!views.get(view.getStage()).remove(view)) {
+					throw new IllegalStateException("View is not open.");
+				}
+
+				if (views.values().stream().allMatch(List::isEmpty)) {
+					api.terminate();
+					engines.remove(root);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the matches of all rules and reports all new matches to the open
+	 * views. Callers must hold the lock of this engine.
+	 */
+	void updateMatches() {
+		api.updateMatches();
+	}
+
+	/**
+	 * Subscribes to the appearing matches of the given rule for the given stage.
+	 *
+	 * @param <M>       Type of the matches.
+	 * @param <R>       Type of the rule.
+	 * @param stage     Stage of the rule.
+	 * @param rule      Rule to subscribe to.
+	 * @param adder     Function that adds a match to a match consumer.
+	 * @param network   Virtual network of a match.
+	 * @param virtual   Virtual element of a match.
+	 * @param substrate Substrate element of a match.
+	 */
+	private <M extends GraphTransformationMatch<M, R>, R extends GraphTransformationRule<M, R>> void subscribe(
+			final Stage stage, final R rule, final Adder adder, final Function<M, VirtualNetwork> network,
+			final Function<M, VirtualElement> virtual, final Function<M, SubstrateElement> substrate) {
+		final BiConsumer<EmoflonGtSharedStage, M> handler = (view, m) -> view.addMatch(network.apply(m), adder,
+				virtual.apply(m), substrate.apply(m), doUpdate -> rule.apply(m, doUpdate));
+		rule.subscribeAppearing(m -> views.get(stage).forEach(view -> handler.accept(view, m)));
+		seeders.get(stage).add(view -> rule.findMatches().forEach(m -> handler.accept(view, m)));
+	}
+
+}
@@ -0,0 +1,47 @@
+package gt.emoflon;
+
+import facade.ModelFacade;
+import gt.IncrementalPatternMatcher;
+import gt.IncrementalPatternMatcherFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
+
+public class EmoflonGtSharedFactory extends IncrementalPatternMatcherFactory {
+
+	/**
+	 * Stage of the created pattern matchers.
+	 */
+	private final Stage stage;
+
+	/**
+	 * Creates a new factory for pattern matchers of the given stage.
+	 *
+	 * @param stage Stage of the created pattern matchers.
+	 */
+	public EmoflonGtSharedFactory(final Stage stage) {
+		if (stage == null) {
+			throw new IllegalArgumentException("Stage must not be null.");
+		}
+		this.stage = stage;
+	}
+
+	@Override
+	public IncrementalPatternMatcher create() {
+		return new EmoflonGtSharedStage(ModelFacade.getInstance().getRoot(), stage);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof EmoflonGtSharedFactory other && stage == other.stage;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * getClass().hashCode() + stage.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "(" + stage + ")";
+	}
+
+}
@@ -0,0 +1,160 @@
+package gt.emoflon;
+
+import java.util.Set;
+
+import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+
+import gt.IncrementalPatternMatcher;
+import gt.MatchConsumer;
+import gt.MatchScope;
+import gt.PatternMatchingDelta;
+import gt.emoflon.EmoflonGtShared.Adder;
+import gt.emoflon.EmoflonGtShared.Application;
+import gt.emoflon.EmoflonGtShared.Stage;
+import model.Root;
+import model.SubstrateElement;
+import model.VirtualElement;
+import model.VirtualNetwork;
+
+/**
+ * Implementation of the {@link IncrementalPatternMatcher} for one stage of the
+ * shared eMoflon engine {@link EmoflonGtShared}. All views of the same model
+ * share one engine, but every view has its own delta.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class EmoflonGtSharedStage implements IncrementalPatternMatcher {
+
+	/**
+	 * Stage of this view.
+	 */
+	private final Stage stage;
+
+	/**
+	 * Current state of the delta. Must be updated in every iteration.
+	 */
+	private PatternMatchingDelta currentDelta = new PatternMatchingDelta();
+
+	/**
+	 * Consumer of appearing matches. Either the current delta or the consumer of a
+	 * streaming run.
+	 */
+	private MatchConsumer consumer = currentDelta;
+
+	/**
+	 * Map for GT matches: Tuple of virtual and substrate element to the
+	 * application of the match.
+	 */
+	private final UnifiedMap<Tuple, Application> tupleToApplication = new UnifiedMap<Tuple, Application>();
+
+	/**
+	 * Scope of the matches including the held back matches outside of it.
+	 */
+	private final MatchScope scope = new MatchScope();
+
+	/**
+	 * Shared engine.
+	 */
+	private final EmoflonGtShared engine;
+
+	/**
+	 * True if this view was already disposed.
+	 */
+	private boolean disposed = false;
+
+	/**
+	 * Constructor that initializes the object for a given root node and stage.
+	 *
+	 * @param root  Root node to work with.
+	 * @param stage Stage of the view.
+	 */
+	public EmoflonGtSharedStage(final Root root, final Stage stage) {
+		if (root == null || stage == null) {
+			throw new IllegalArgumentException("Root node and stage must not be null.");
+		}
+
+		this.stage = stage;
+		this.engine = EmoflonGtShared.acquire(root, this);
+	}
+
+	/**
+	 * Returns the stage of this view.
+	 *
+	 * @return Stage of this view.
+	 */
+	public Stage getStage() {
+		return stage;
+	}
+
+	@Override
+	public void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
+		synchronized (engine) {
+			final Application application = tupleToApplication.get(new Tuple(virt, sub));
+			if (application != null) {
+				application.apply(doUpdate);
+			}
+		}
+	}
+
+	@Override
+	public void setScope(final Set<VirtualNetwork> vNets) {
+		synchronized (engine) {
+			scope.set(vNets);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (!disposed) {
+			disposed = true;
+			engine.release(this);
+		}
+	}
+
+	@Override
+	public PatternMatchingDelta run() {
+		synchronized (engine) {
+			engine.updateMatches();
+			final PatternMatchingDelta old = currentDelta;
+			currentDelta = new PatternMatchingDelta();
+			consumer = currentDelta;
+			return old;
+		}
+	}
+
+	@Override
+	public void run(final MatchConsumer consumer) {
+		synchronized (engine) {
+			// Matches that appeared since the last run (e.g., while applying matches)
+			currentDelta.forEach(consumer);
+			currentDelta.clear();
+
+			this.consumer = consumer;
+			try {
+				engine.updateMatches();
+			} finally {
+				this.consumer = currentDelta;
+			}
+		}
+	}
+
+	/**
+	 * Adds a match of the stage of this view if its virtual network is in the
+	 * current scope. Otherwise, the match is held back until its virtual network
+	 * enters the scope. Called by the shared engine.
+	 *
+	 * @param vNet        Virtual network of the match.
+	 * @param adder       Function that adds the match to a match consumer.
+	 * @param virtual     Virtual element for the mapping.
+	 * @param substrate   Substrate element for the mapping.
+	 * @param application Application of the match.
+	 */
+	void addMatch(final VirtualNetwork vNet, final Adder adder, final VirtualElement virtual,
+			final SubstrateElement substrate, final Application application) {
+		scope.offer(vNet, () -> {
+			adder.add(consumer, virtual, substrate);
+			tupleToApplication.put(new Tuple(virtual, substrate), application);
+		});
+	}
+
+}
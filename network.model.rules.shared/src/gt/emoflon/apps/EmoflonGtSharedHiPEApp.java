@@ -0,0 +1,31 @@
+package gt.emoflon.apps;
+
+import org.eclipse.emf.common.util.URI;
+
+import gt.emoflon.EmoflonGtSharedAppUtils;
+import model.Root;
+import network.model.rules.shared.api.SharedHiPEApp;
+
+/**
+ * Wrapper class for initializing the shared rules HiPe App pattern matcher.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class EmoflonGtSharedHiPEApp extends SharedHiPEApp {
+
+	/**
+	 * Constructor that initializes the model resources for a given root node.
+	 *
+	 * @param root Root node to initialize model for.
+	 */
+	public EmoflonGtSharedHiPEApp(final Root root) {
+		EmoflonGtSharedAppUtils.extractFiles(workspacePath);
+		if (root.eResource() == null) {
+			createModel(URI.createURI("model.xmi"));
+			resourceSet.getResources().get(0).getContents().add(root);
+		} else {
+			resourceSet = root.eResource().getResourceSet();
+		}
+	}
+
+}
@@ -1,9 +1,49 @@
 package gt;
 
+import java.util.Set;
+
+import model.SubstrateElement;
+import model.VirtualElement;
+import model.VirtualNetwork;
+
 public interface IncrementalPatternMatcher {
 
 	void dispose();
 
 	PatternMatchingDelta run();
 
+	/**
+	 * Runs the pattern matcher and reports all new matches to the given consumer
+	 * instead of returning them as a delta. The default implementation collects
+	 * the matches in a delta first and reports them afterwards.
+	 *
+	 * @param consumer Consumer to report the matches to.
+	 */
+	default void run(final MatchConsumer consumer) {
+		run().forEach(consumer);
+	}
+
+	/**
+	 * Limits all subsequent runs to the matches of the given virtual networks.
+	 * Matches of all other virtual networks are not added to the returned deltas,
+	 * but held back until their virtual network enters the scope of a later call
+	 * (see {@link MatchScope}). The scope does not restrict the underlying engine,
+	 * which still finds the matches of the whole model. The default implementation
+	 * ignores the scope, i.e., the deltas contain the matches of the whole model.
+	 *
+	 * @param vNets Virtual networks to match or null for the whole model.
+	 */
+	default void setScope(final Set<VirtualNetwork> vNets) {
+	}
+
+	/**
+	 * Applies a match for a given virtual and substrate element (creates the
+	 * embedding). The match must have been reported by a previous run.
+	 *
+	 * @param virt     Virtual element to embed.
+	 * @param sub      Substrate element to embed on.
+	 * @param doUpdate True if PM should do updates.
+	 */
+	void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate);
+
 }
@@ -0,0 +1,26 @@
+package gt;
+
+import model.Element;
+
+/**
+ * Consumer of appearing matches of a pattern matcher (see
+ * {@link IncrementalPatternMatcher#run(MatchConsumer)}). The matches are
+ * reported while the pattern matcher runs, without collecting them in a
+ * {@link PatternMatchingDelta} first. There is no guarantee about the order of
+ * the reported matches.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public interface MatchConsumer {
+
+	void addServerMatchPositive(final Element virtual, final Element substrate);
+
+	void addSwitchMatchPositive(final Element virtual, final Element substrate);
+
+	void addLinkPathMatchPositive(final Element virtual, final Element substrate);
+
+	void addLinkServerMatchPositive(final Element virtual, final Element substrate);
+
+	void addNetworkServerMatchPositive(final Element virtual, final Element substrate);
+
+}
@@ -0,0 +1,93 @@
+package gt;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import model.VirtualNetwork;
+
+/**
+ * Scope of a pattern matcher (see
+ * {@link IncrementalPatternMatcher#setScope(Set)}). The eMoflon engines report
+ * every appearing match exactly once, hence, a match of a virtual network
+ * outside of the scope must not be dropped. Instead, it is held back and gets
+ * reported as soon as its virtual network enters the scope.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class MatchScope {
+
+	/**
+	 * Virtual networks to match or null for the whole model.
+	 */
+	private Set<VirtualNetwork> scope = null;
+
+	/**
+	 * Held back matches per virtual network (in order of their appearance).
+	 */
+	private final Map<VirtualNetwork, List<Runnable>> held = new LinkedHashMap<>();
+
+	/**
+	 * Reports the given match if its virtual network is in the scope. Otherwise,
+	 * the match is held back.
+	 *
+	 * @param vNet   Virtual network of the match.
+	 * @param report Reports the match (to the current consumer of the pattern
+	 *               matcher at the time it gets called).
+	 */
+	public void offer(final VirtualNetwork vNet, final Runnable report) {
+		if (contains(vNet)) {
+			report.run();
+		} else {
+			held.computeIfAbsent(vNet, n -> new ArrayList<>()).add(report);
+		}
+	}
+
+	/**
+	 * Sets the scope and reports all held back matches of the virtual networks that
+	 * are in the new scope (in order of their appearance). Held back matches of
+	 * virtual networks that were removed from the model are discarded.
+	 *
+	 * @param vNets Virtual networks to match or null for the whole model.
+	 */
+	public void set(final Set<VirtualNetwork> vNets) {
+		scope = vNets == null ? null : Set.copyOf(vNets);
+
+		final List<Runnable> replay = new ArrayList<>();
+		final Iterator<Entry<VirtualNetwork, List<Runnable>>> it = held.entrySet().iterator();
+		while (it.hasNext()) {
+			final Entry<VirtualNetwork, List<Runnable>> entry = it.next();
+			if (entry.getKey().eContainer() == null) {
+				it.remove();
+			} else if (contains(entry.getKey())) {
+				replay.addAll(entry.getValue());
+				it.remove();
+			}
+		}
+		replay.forEach(Runnable::run);
+	}
+
+	/**
+	 * Returns the number of held back matches.
+	 *
+	 * @return Number of held back matches.
+	 */
+	public int getNumberOfHeldMatches() {
+		return held.values().stream().mapToInt(List::size).sum();
+	}
+
+	/**
+	 * Returns true if the given virtual network is in the scope.
+	 *
+	 * @param vNet Virtual network.
+	 * @return True if the virtual network is in the scope.
+	 */
+	private boolean contains(final VirtualNetwork vNet) {
+		return scope == null || scope.contains(vNet);
+	}
+
+}
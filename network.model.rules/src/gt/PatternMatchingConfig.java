@@ -27,4 +27,26 @@ public class PatternMatchingConfig {
 	 */
 	public static PatternMatcher pm = PatternMatcher.HIPE;
 
+	/**
+	 * If true, virtual links are only matched to substrate paths whose source and
+	 * target nodes can host the source and target nodes of the virtual link (see
+	 * the 'linkPathMatchCoupled*' rules). The ILP delta generators additionally
+	 * skip all link to path matches without matching endpoints before creating
+	 * their variables.
+	 */
+	public static boolean coupledLinkPaths = false;
+
+	/**
+	 * If true, the VnePmMdvneAlgorithm limits the pattern matcher to the virtual
+	 * networks of the current request (see
+	 * {@link IncrementalPatternMatcher#setScope(java.util.Set)}). Matches of other
+	 * virtual networks are then held back by the pattern matcher instead of being
+	 * transferred to the ILP delta generator, and they are reported as soon as
+	 * their network is requested. This only applies to the match callbacks, i.e.,
+	 * the engine still finds all matches of the model and only the delta gets
+	 * smaller. It also applies to the final (VnePmMdvneAlgorithm) stage of the
+	 * pipelines.
+	 */
+	public static boolean scopedMatching = false;
+
 }
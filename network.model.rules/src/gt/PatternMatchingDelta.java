@@ -4,6 +4,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 import model.Element;
+import model.Link;
+import model.SubstratePath;
 
 /**
  * Data object that holds new matches from a pattern matcher.
@@ -18,7 +20,7 @@ import model.Element;
  * @author Stefan Tomaszek (ES TU Darmstadt) [idyve project]
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
-public class PatternMatchingDelta {
+public class PatternMatchingDelta implements MatchConsumer {
 
 	/**
 	 * Data object that holds one particular match from a virtual to a substrate
@@ -111,22 +113,27 @@ public class PatternMatchingDelta {
 	 * Adders
 	 */
 
+	@Override
 	public void addServerMatchPositive(final Element virtual, final Element substrate) {
 		addValue(new Match(virtual, substrate), newServerMatchPositives);
 	}
 
+	@Override
 	public void addSwitchMatchPositive(final Element virtual, final Element substrate) {
 		addValue(new Match(virtual, substrate), newSwitchMatchPositives);
 	}
 
+	@Override
 	public void addLinkPathMatchPositive(final Element virtual, final Element substrate) {
 		addValue(new Match(virtual, substrate), newLinkPathMatchPositives);
 	}
 
+	@Override
 	public void addLinkServerMatchPositive(final Element virtual, final Element substrate) {
 		addValue(new Match(virtual, substrate), newLinkServerMatchPositives);
 	}
 
+	@Override
 	public void addNetworkServerMatchPositive(final Element virtual, final Element substrate) {
 		addValue(new Match(virtual, substrate), newNetworkServerMatchPositives);
 	}
@@ -155,6 +162,32 @@ public class PatternMatchingDelta {
 		return newNetworkServerMatchPositives;
 	}
 
+	/**
+	 * Checks if the endpoints of the virtual link of the given link to path match
+	 * can be hosted by the endpoints of the substrate path, i.e., if this delta
+	 * contains a server or switch match for the sources and for the targets.
+	 *
+	 * @param linkPathMatch Match from a virtual link to a substrate path.
+	 * @return True if both endpoints of the virtual link have a match to the
+	 *         respective endpoint of the substrate path.
+	 */
+	public boolean hasEndpointMatches(final Match linkPathMatch) {
+		final Link vLink = (Link) linkPathMatch.getVirtual();
+		final SubstratePath sPath = (SubstratePath) linkPathMatch.getSubstrate();
+		return hasNodeMatch(new Match(vLink.getSource(), sPath.getSource()))
+				&& hasNodeMatch(new Match(vLink.getTarget(), sPath.getTarget()));
+	}
+
+	/**
+	 * Checks if this delta contains the given match as server or switch match.
+	 *
+	 * @param match Match from a virtual node to a substrate node.
+	 * @return True if the match is contained.
+	 */
+	private boolean hasNodeMatch(final Match match) {
+		return newServerMatchPositives.contains(match) || newSwitchMatchPositives.contains(match);
+	}
+
 	/*
 	 * Add other delta to this one
 	 */
@@ -167,6 +200,22 @@ public class PatternMatchingDelta {
 		this.newNetworkServerMatchPositives.addAll(other.newNetworkServerMatchPositives);
 	}
 
+	/**
+	 * Reports all matches of this delta to the given consumer. All node matches
+	 * are reported before the link matches.
+	 *
+	 * @param consumer Consumer to report the matches to.
+	 */
+	public void forEach(final MatchConsumer consumer) {
+		newServerMatchPositives.forEach(m -> consumer.addServerMatchPositive(m.getVirtual(), m.getSubstrate()));
+		newSwitchMatchPositives.forEach(m -> consumer.addSwitchMatchPositive(m.getVirtual(), m.getSubstrate()));
+		newNetworkServerMatchPositives
+				.forEach(m -> consumer.addNetworkServerMatchPositive(m.getVirtual(), m.getSubstrate()));
+		newLinkPathMatchPositives.forEach(m -> consumer.addLinkPathMatchPositive(m.getVirtual(), m.getSubstrate()));
+		newLinkServerMatchPositives
+				.forEach(m -> consumer.addLinkServerMatchPositive(m.getVirtual(), m.getSubstrate()));
+	}
+
 	public void clear() {
 		newServerMatchPositives.clear();
 		newSwitchMatchPositives.clear();
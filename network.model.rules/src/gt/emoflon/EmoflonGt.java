@@ -1,12 +1,17 @@
 package gt.emoflon;
 
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
 import org.emoflon.ibex.gt.api.GraphTransformationMatch;
 
 import gt.IncrementalPatternMatcher;
+import gt.MatchConsumer;
+import gt.MatchScope;
 import gt.PatternMatchingConfig;
 import gt.PatternMatchingDelta;
 import gt.emoflon.apps.EmoflonGtDemoclesApp;
@@ -15,8 +20,13 @@ import model.Element;
 import model.Root;
 import model.SubstrateElement;
 import model.VirtualElement;
+import model.VirtualNetwork;
 import network.model.rules.api.RulesAPI;
 import network.model.rules.api.RulesApp;
+import network.model.rules.api.matches.LinkPathMatchCoupledServerServerMatch;
+import network.model.rules.api.matches.LinkPathMatchCoupledServerSwitchMatch;
+import network.model.rules.api.matches.LinkPathMatchCoupledSwitchServerMatch;
+import network.model.rules.api.matches.LinkPathMatchCoupledSwitchSwitchMatch;
 import network.model.rules.api.matches.LinkPathMatchPositiveMatch;
 import network.model.rules.api.matches.LinkServerMatchPositiveMatch;
 import network.model.rules.api.matches.ServerMatchPositiveMatch;
@@ -44,6 +54,12 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 	 */
 	private PatternMatchingDelta currentDelta = new PatternMatchingDelta();
 
+	/**
+	 * Consumer of appearing matches. Either the current delta or the consumer of a
+	 * streaming run.
+	 */
+	private MatchConsumer consumer = currentDelta;
+
 	/**
 	 * Map for matches: (Virtual) element to (substrate) element.
 	 */
@@ -55,6 +71,11 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 	 */
 	private final UnifiedMap<Tuple, GraphTransformationMatch<?, ?>> tupleToGtMatch = new UnifiedMap<Tuple, GraphTransformationMatch<?, ?>>();
 
+	/**
+	 * Scope of the matches including the held back matches outside of it.
+	 */
+	private final MatchScope scope = new MatchScope();
+
 	// TODO: Currently all update and removal functionality is missing!
 
 	/**
@@ -80,25 +101,51 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 		 * Matches
 		 */
 
-		api.serverMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addServerMatchPositive, m.getVirtualNode(), m.getSubstrateNode());
+		api.serverMatchPositive().subscribeAppearing(scoped(ServerMatchPositiveMatch::getVirtualNetwork, m -> {
+			addMatch(consumer::addServerMatchPositive, m.getVirtualNode(), m.getSubstrateNode());
 			tupleToGtMatch.put(new Tuple(m.getVirtualNode(), m.getSubstrateNode()), m);
-		});
+		}));
 
-		api.switchNodeMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addSwitchMatchPositive, m.getVirtualSwitch(), m.getSubstrateNode());
+		api.switchNodeMatchPositive().subscribeAppearing(scoped(SwitchNodeMatchPositiveMatch::getVirtualNetwork, m -> {
+			addMatch(consumer::addSwitchMatchPositive, m.getVirtualSwitch(), m.getSubstrateNode());
 			tupleToGtMatch.put(new Tuple(m.getVirtualSwitch(), m.getSubstrateNode()), m);
-		});
-
-		api.linkPathMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
-			tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
-		});
+		}));
+
+		if (PatternMatchingConfig.coupledLinkPaths) {
+			api.linkPathMatchCoupledServerServer()
+					.subscribeAppearing(scoped(LinkPathMatchCoupledServerServerMatch::getVirtualNetwork, m -> {
+				addMatch(consumer::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
+				tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+			}));
+
+			api.linkPathMatchCoupledServerSwitch()
+					.subscribeAppearing(scoped(LinkPathMatchCoupledServerSwitchMatch::getVirtualNetwork, m -> {
+				addMatch(consumer::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
+				tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+			}));
+
+			api.linkPathMatchCoupledSwitchServer()
+					.subscribeAppearing(scoped(LinkPathMatchCoupledSwitchServerMatch::getVirtualNetwork, m -> {
+				addMatch(consumer::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
+				tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+			}));
+
+			api.linkPathMatchCoupledSwitchSwitch()
+					.subscribeAppearing(scoped(LinkPathMatchCoupledSwitchSwitchMatch::getVirtualNetwork, m -> {
+				addMatch(consumer::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
+				tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+			}));
+		} else {
+			api.linkPathMatchPositive().subscribeAppearing(scoped(LinkPathMatchPositiveMatch::getVirtualNetwork, m -> {
+				addMatch(consumer::addLinkPathMatchPositive, m.getVirtualLink(), m.getSubstratePath());
+				tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstratePath()), m);
+			}));
+		}
 
-		api.linkServerMatchPositive().subscribeAppearing(m -> {
-			addMatch(currentDelta::addLinkServerMatchPositive, m.getVirtualLink(), m.getSubstrateServer());
+		api.linkServerMatchPositive().subscribeAppearing(scoped(LinkServerMatchPositiveMatch::getVirtualNetwork, m -> {
+			addMatch(consumer::addLinkServerMatchPositive, m.getVirtualLink(), m.getSubstrateServer());
 			tupleToGtMatch.put(new Tuple(m.getVirtualLink(), m.getSubstrateServer()), m);
-		});
+		}));
 
 	}
 
@@ -110,6 +157,7 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 	 * @param sub      Substrate element to embed on.
 	 * @param doUpdate True if PM should do updates.
 	 */
+	@Override
 	public void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
 		final GraphTransformationMatch<?, ?> match = tupleToGtMatch.get(new Tuple(virt, sub));
 		if (match instanceof ServerMatchPositiveMatch) {
@@ -120,9 +168,38 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 			api.linkPathMatchPositive().apply((LinkPathMatchPositiveMatch) match, doUpdate);
 		} else if (match instanceof LinkServerMatchPositiveMatch) {
 			api.linkServerMatchPositive().apply((LinkServerMatchPositiveMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchCoupledServerServerMatch) {
+			api.linkPathMatchCoupledServerServer().apply((LinkPathMatchCoupledServerServerMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchCoupledServerSwitchMatch) {
+			api.linkPathMatchCoupledServerSwitch().apply((LinkPathMatchCoupledServerSwitchMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchCoupledSwitchServerMatch) {
+			api.linkPathMatchCoupledSwitchServer().apply((LinkPathMatchCoupledSwitchServerMatch) match, doUpdate);
+		} else if (match instanceof LinkPathMatchCoupledSwitchSwitchMatch) {
+			api.linkPathMatchCoupledSwitchSwitch().apply((LinkPathMatchCoupledSwitchSwitchMatch) match, doUpdate);
 		}
 	}
 
+	@Override
+	public void setScope(final Set<VirtualNetwork> vNets) {
+		scope.set(vNets);
+	}
+
+	/**
+	 * Wraps the given handler of appearing matches, such that it only gets called
+	 * for matches of virtual networks in the current scope. The matches of all
+	 * other virtual networks are held back until their network enters the scope.
+	 * The scope only applies to the callbacks, i.e., the engine still finds all
+	 * matches of the model.
+	 *
+	 * @param <M>      Type of the matches.
+	 * @param vNet     Function to get the virtual network of a match.
+	 * @param consumer Handler of appearing matches in the scope.
+	 * @return Handler of all appearing matches.
+	 */
+	private <M> Consumer<M> scoped(final Function<M, VirtualNetwork> vNet, final Consumer<M> consumer) {
+		return m -> scope.offer(vNet.apply(m), () -> consumer.accept(m));
+	}
+
 	@Override
 	public void dispose() {
 		api.terminate();
@@ -133,9 +210,24 @@ public class EmoflonGt implements IncrementalPatternMatcher {
 		api.updateMatches();
 		final PatternMatchingDelta old = currentDelta;
 		currentDelta = new PatternMatchingDelta();
+		consumer = currentDelta;
 		return old;
 	}
 
+	@Override
+	public void run(final MatchConsumer consumer) {
+		// Matches that appeared since the last run (e.g., while applying matches)
+		currentDelta.forEach(consumer);
+		currentDelta.clear();
+
+		this.consumer = consumer;
+		try {
+			api.updateMatches();
+		} finally {
+			this.consumer = currentDelta;
+		}
+	}
+
 	/**
 	 * Adds a match to the collection virtualMatches.
 	 *
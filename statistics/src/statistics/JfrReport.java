@@ -0,0 +1,292 @@
+package statistics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import iflye.dependencies.logging.IflyeLogger;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Report tool that summarizes a JDK Flight Recorder recording of an embedding
+ * run per phase (total, prepare, execute, pm, ilp, deploy) and algorithm. For
+ * every phase of every algorithm, it sums up the wall time, the CPU time, and
+ * the allocated bytes of all embedding phase events as well as the number and
+ * the duration of all GC pauses that started within these events. Hence,
+ * recordings of runs with different algorithms can be summarized at once.
+ *
+ * The recording must contain the events emitted by the JfrHandler of the
+ * metrics module, e.g., by starting the JVM with
+ * '-XX:StartFlightRecording=filename=run.jfr'.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class JfrReport extends IflyeLogger {
+
+	/**
+	 * Name of the embedding phase event type (see EmbeddingPhaseEvent in the
+	 * metrics module).
+	 */
+	public static final String PHASE_EVENT = "iflye.EmbeddingPhase";
+
+	/**
+	 * Name of the JDK garbage collection event type.
+	 */
+	public static final String GC_EVENT = "jdk.GarbageCollection";
+
+	/**
+	 * Name of the phase or algorithm of events without one.
+	 */
+	private static final String UNKNOWN = "unknown";
+
+	/**
+	 * Order of the known phases in the report. Unknown phases follow
+	 * alphabetically. Phases of the same name are ordered by their algorithm.
+	 */
+	private static final List<String> PHASE_ORDER = List.of("total", "prepare", "execute", "pm", "ilp", "deploy");
+
+	/**
+	 * Header of the report file.
+	 */
+	private static final String[] HEADER = { "phase", "algorithm", "count", "wall_time", "cpu_time", "allocated_mb", "gc_pauses",
+			"gc_pause_time" };
+
+	/**
+	 * Phase of an algorithm the events get grouped by.
+	 *
+	 * @param phase     Name of the phase.
+	 * @param algorithm Name of the algorithm.
+	 */
+	static record PhaseKey(String phase, String algorithm) {
+	}
+
+	/**
+	 * Summary of all events of one phase of an algorithm.
+	 */
+	static class PhaseSummary {
+
+		/**
+		 * Number of events.
+		 */
+		long count;
+
+		/**
+		 * Wall time in nanoseconds.
+		 */
+		long wallTime;
+
+		/**
+		 * CPU time in nanoseconds.
+		 */
+		long cpuTime;
+
+		/**
+		 * Allocated bytes.
+		 */
+		long allocated;
+
+		/**
+		 * Number of GC pauses.
+		 */
+		long gcPauses;
+
+		/**
+		 * Duration of all GC pauses in nanoseconds.
+		 */
+		long gcPauseTime;
+
+	}
+
+	/**
+	 * Private constructor ensures no object instantiation.
+	 */
+	private JfrReport() {
+	}
+
+	/**
+	 * Main method to start the report tool. Argument must contain the path of the
+	 * recording, the optional second argument the path of the report file (default:
+	 * '&lt;recording&gt;_jfr.csv').
+	 *
+	 * @param args Arguments to parse, i.e., args[0] must hold the path of the
+	 *             recording.
+	 */
+	public static void main(final String[] args) {
+		if (args == null || args.length < 1) {
+			throw new IllegalArgumentException("Please specify the JFR recording to load.");
+		}
+
+		final Path recording = Paths.get(args[0]);
+		final Path report = args.length > 1 ? Paths.get(args[1]) : defaultReportPath(recording);
+		final Map<PhaseKey, PhaseSummary> phases = summarize(recording);
+		write(report, phases);
+
+		phases.forEach((key, s) -> logger.info("=> " + key.phase() + " (" + key.algorithm() + "): " + s.count
+				+ " events, wall " + toSeconds(s.wallTime) + "s, cpu " + toSeconds(s.cpuTime) + "s, allocated "
+				+ toMegabytes(s.allocated) + "MB, " + s.gcPauses + " GC pauses (" + toSeconds(s.gcPauseTime) + "s)"));
+		logger.info("=> Finished JFR report: " + report);
+	}
+
+	/**
+	 * Summarizes all embedding phase events of the given recording per phase and
+	 * algorithm.
+	 *
+	 * @param recording Path of the recording.
+	 * @return Summary per phase and algorithm (in report order).
+	 */
+	static Map<PhaseKey, PhaseSummary> summarize(final Path recording) {
+		final List<long[]> gcs = new ArrayList<>();
+		final List<RecordedEvent> phaseEvents = new ArrayList<>();
+
+		try (final RecordingFile file = new RecordingFile(recording)) {
+			while (file.hasMoreEvents()) {
+				final RecordedEvent event = file.readEvent();
+				final String type = event.getEventType().getName();
+				if (type.equals(PHASE_EVENT)) {
+					phaseEvents.add(event);
+				} else if (type.equals(GC_EVENT)) {
+					final Duration pauses = event.getDuration("sumOfPauses");
+					gcs.add(new long[] { toNanos(event.getStartTime()), pauses == null ? 0 : pauses.toNanos() });
+				}
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		// GC start times (sorted) and the prefix sums of their pauses
+		gcs.sort(Comparator.comparingLong(gc -> gc[0]));
+		final long[] gcStarts = new long[gcs.size()];
+		final long[] gcPrefix = new long[gcs.size() + 1];
+		for (int i = 0; i < gcs.size(); i++) {
+			gcStarts[i] = gcs.get(i)[0];
+			gcPrefix[i + 1] = gcPrefix[i] + gcs.get(i)[1];
+		}
+
+		final Map<PhaseKey, PhaseSummary> phases = new HashMap<>();
+		for (final RecordedEvent event : phaseEvents) {
+			final String stage = event.getString("stage");
+			final String algorithm = event.getString("algorithm");
+			final PhaseSummary s = phases.computeIfAbsent(
+					new PhaseKey(stage == null ? UNKNOWN : stage, algorithm == null ? UNKNOWN : algorithm),
+					_ignored -> new PhaseSummary());
+			s.count++;
+			s.wallTime += event.getDuration().toNanos();
+			s.cpuTime += event.getLong("cpuTime");
+			s.allocated += event.getLong("allocated");
+
+			final int from = lowerBound(gcStarts, toNanos(event.getStartTime()));
+			final int to = lowerBound(gcStarts, toNanos(event.getEndTime()) + 1);
+			s.gcPauses += to - from;
+			s.gcPauseTime += gcPrefix[to] - gcPrefix[from];
+		}
+
+		final Map<PhaseKey, PhaseSummary> ordered = new LinkedHashMap<>();
+		phases.keySet().stream().sorted(Comparator.comparingInt((PhaseKey k) -> {
+			final int index = PHASE_ORDER.indexOf(k.phase());
+			return index < 0 ? PHASE_ORDER.size() : index;
+		}).thenComparing(PhaseKey::phase).thenComparing(PhaseKey::algorithm))
+				.forEach(k -> ordered.put(k, phases.get(k)));
+		return ordered;
+	}
+
+	/**
+	 * Writes the given summaries to a CSV file.
+	 *
+	 * @param report Path of the report file.
+	 * @param phases Summary per phase and algorithm.
+	 */
+	static void write(final Path report, final Map<PhaseKey, PhaseSummary> phases) {
+		try (final Writer out = Files.newBufferedWriter(report);
+				final CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT.builder().setHeader(HEADER).build())) {
+			for (final Map.Entry<PhaseKey, PhaseSummary> e : phases.entrySet()) {
+				final PhaseSummary s = e.getValue();
+				printer.printRecord(Arrays.asList(e.getKey().phase(), e.getKey().algorithm(), s.count,
+						toSeconds(s.wallTime), toSeconds(s.cpuTime), toMegabytes(s.allocated), s.gcPauses,
+						toSeconds(s.gcPauseTime)));
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the default path of the report file of the given recording.
+	 *
+	 * @param recording Path of the recording.
+	 * @return Path of the report file.
+	 */
+	static Path defaultReportPath(final Path recording) {
+		final String name = recording.toString();
+		final String base = name.endsWith(".jfr") ? name.substring(0, name.length() - 4) : name;
+		return Paths.get(base + "_jfr.csv");
+	}
+
+	/**
+	 * Returns the index of the first value that is greater than or equal to the
+	 * given key.
+	 *
+	 * @param sorted Sorted values.
+	 * @param key    Key to search for.
+	 * @return Index of the first value &gt;= key (or the length of the array).
+	 */
+	private static int lowerBound(final long[] sorted, final long key) {
+		int lo = 0;
+		int hi = sorted.length;
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < key) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Converts the given instant to nanoseconds since the epoch.
+	 *
+	 * @param instant Instant to convert.
+	 * @return Nanoseconds since the epoch.
+	 */
+	private static long toNanos(final Instant instant) {
+		return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+	}
+
+	/**
+	 * Converts the given nanoseconds to seconds.
+	 *
+	 * @param nanos Nanoseconds to convert.
+	 * @return Seconds.
+	 */
+	private static double toSeconds(final long nanos) {
+		return nanos / 1_000_000_000.0;
+	}
+
+	/**
+	 * Converts the given bytes to megabytes.
+	 *
+	 * @param bytes Bytes to convert.
+	 * @return Megabytes.
+	 */
+	private static double toMegabytes(final long bytes) {
+		return bytes / (1024.0 * 1024.0);
+	}
+
+}
@@ -0,0 +1,392 @@
+package statistics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import iflye.dependencies.logging.IflyeLogger;
+
+/**
+ * Performance regression detector that compares the timing and memory columns
+ * of a run (CSV metric file) against a stored baseline run of the same
+ * scenario.
+ *
+ * The rows of both files are paired per VNR (by the 'lastVNR' column or, if it
+ * is missing, by their order) and grouped by the 'algorithm' column. For every
+ * column and algorithm, the detector computes the median of the per-VNR ratios
+ * (candidate / baseline) and its bootstrap confidence interval. A column is a
+ * regression if the whole interval lies above 1 + threshold (default:
+ * {@link StatisticConfig#REGRESSION_THRESHOLD}), i.e., the slow-down is
+ * significantly larger than the threshold. Per-VNR noise that only shifts the
+ * median slightly does not trigger a verdict. Improvements are detected
+ * accordingly.
+ *
+ * The main method exits with code 1 if at least one regression was found.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class RegressionDetector extends IflyeLogger {
+
+	/**
+	 * Name of the column that identifies the VNR of a row.
+	 */
+	private static final String VNR_COLUMN = "lastVNR";
+
+	/**
+	 * Name of the column that identifies the algorithm of a row.
+	 */
+	private static final String ALGORITHM_COLUMN = "algorithm";
+
+	/**
+	 * Algorithm name of rows without an algorithm column.
+	 */
+	private static final String NO_ALGORITHM = "-";
+
+	/**
+	 * Verdict of the comparison of one column and algorithm.
+	 */
+	public enum Verdict {
+
+		/**
+		 * Significant and relevant slow-down (or higher memory usage).
+		 */
+		REGRESSION,
+
+		/**
+		 * Significant and relevant speed-up (or lower memory usage).
+		 */
+		IMPROVEMENT,
+
+		/**
+		 * No significant or relevant change.
+		 */
+		UNCHANGED,
+
+		/**
+		 * Not enough paired VNRs for a verdict.
+		 */
+		INSUFFICIENT
+
+	}
+
+	/**
+	 * Result of the comparison of one column and algorithm.
+	 *
+	 * @param column      Name of the compared column, e.g., 'time_ilp'.
+	 * @param algorithm   Name of the algorithm.
+	 * @param samples     Number of paired VNRs.
+	 * @param medianRatio Median of the per-VNR ratios (candidate / baseline).
+	 * @param lower       Lower bound of the confidence interval of the median
+	 *                    ratio.
+	 * @param upper       Upper bound of the confidence interval of the median
+	 *                    ratio.
+	 * @param verdict     Verdict of the comparison.
+	 */
+	public record Comparison(String column, String algorithm, int samples, double medianRatio, double lower,
+			double upper, Verdict verdict) {
+	}
+
+	/**
+	 * Private constructor ensures no object instantiation.
+	 */
+	private RegressionDetector() {
+	}
+
+	/**
+	 * Main method to start the regression detector. Arguments must contain the
+	 * path of the baseline CSV file and the path of the CSV file to check, the
+	 * optional third argument the relevance threshold (default:
+	 * {@link StatisticConfig#REGRESSION_THRESHOLD}).
+	 *
+	 * @param args Arguments to parse, i.e., args[0] must hold the baseline and
+	 *             args[1] the run to check.
+	 */
+	public static void main(final String[] args) {
+		if (args == null || args.length < 2) {
+			throw new IllegalArgumentException("Please specify the baseline and the run file to compare.");
+		}
+
+		double threshold = StatisticConfig.REGRESSION_THRESHOLD;
+		if (args.length > 2) {
+			try {
+				threshold = Double.parseDouble(args[2]);
+			} catch (final NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid threshold: " + args[2]);
+			}
+		}
+
+		final List<Comparison> comparisons = compare(Paths.get(args[0]), Paths.get(args[1]), threshold);
+		print(comparisons, threshold);
+
+		if (comparisons.stream().anyMatch(c -> c.verdict() == Verdict.REGRESSION)) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Compares all timing and memory columns of the given run against the given
+	 * baseline with the configured threshold
+	 * ({@link StatisticConfig#REGRESSION_THRESHOLD}).
+	 *
+	 * @param baseline  Path of the baseline CSV file.
+	 * @param candidate Path of the CSV file to check.
+	 * @return Comparisons per column and algorithm.
+	 */
+	public static List<Comparison> compare(final Path baseline, final Path candidate) {
+		return compare(baseline, candidate, StatisticConfig.REGRESSION_THRESHOLD);
+	}
+
+	/**
+	 * Compares all timing and memory columns of the given run against the given
+	 * baseline.
+	 *
+	 * @param baseline  Path of the baseline CSV file.
+	 * @param candidate Path of the CSV file to check.
+	 * @param threshold Relative change of the median ratio that is relevant, e.g.,
+	 *                  0.1 for 10%.
+	 * @return Comparisons per column and algorithm.
+	 */
+	public static List<Comparison> compare(final Path baseline, final Path candidate, final double threshold) {
+		checkThreshold(threshold);
+		final Run base = Run.read(baseline);
+		final Run cand = Run.read(candidate);
+
+		final List<String> columns = new ArrayList<>();
+		for (final String column : base.columns) {
+			if (cand.columns.contains(column)
+					&& StatisticConfig.REGRESSION_COLUMN_PREFIXES.stream().anyMatch(column::startsWith)) {
+				columns.add(column);
+			}
+		}
+
+		final List<Comparison> comparisons = new ArrayList<>();
+		for (final String algorithm : base.rows.keySet()) {
+			final Map<String, Map<String, Double>> candRows = cand.rows.get(algorithm);
+			if (candRows == null) {
+				continue;
+			}
+
+			for (final String column : columns) {
+				final List<Double> ratios = new ArrayList<>();
+				base.rows.get(algorithm).forEach((vnr, values) -> {
+					final Map<String, Double> other = candRows.get(vnr);
+					if (other == null) {
+						return;
+					}
+
+					final double b = values.getOrDefault(column, Double.NaN);
+					final double c = other.getOrDefault(column, Double.NaN);
+					if (b > 0 && c >= 0) {
+						ratios.add(c / b);
+					}
+				});
+				comparisons.add(compare(column, algorithm, ratios.stream().mapToDouble(Double::doubleValue).toArray(),
+						threshold));
+			}
+		}
+		return comparisons;
+	}
+
+	/**
+	 * Compares one column of one algorithm based on the given per-VNR ratios.
+	 *
+	 * @param column    Name of the column.
+	 * @param algorithm Name of the algorithm.
+	 * @param ratios    Per-VNR ratios (candidate / baseline).
+	 * @param threshold Relative change of the median ratio that is relevant, e.g.,
+	 *                  0.1 for 10%.
+	 * @return Comparison of the column.
+	 */
+	public static Comparison compare(final String column, final String algorithm, final double[] ratios,
+			final double threshold) {
+		checkThreshold(threshold);
+		if (ratios.length < StatisticConfig.REGRESSION_MIN_SAMPLES) {
+			return new Comparison(column, algorithm, ratios.length, ratios.length == 0 ? Double.NaN : median(ratios),
+					Double.NaN, Double.NaN, Verdict.INSUFFICIENT);
+		}
+
+		final double median = median(ratios);
+		final double[] interval = bootstrapMedian(ratios);
+
+		final Verdict verdict;
+		if (interval[0] > 1 + threshold) {
+			verdict = Verdict.REGRESSION;
+		} else if (interval[1] < 1 - threshold) {
+			verdict = Verdict.IMPROVEMENT;
+		} else {
+			verdict = Verdict.UNCHANGED;
+		}
+		return new Comparison(column, algorithm, ratios.length, median, interval[0], interval[1], verdict);
+	}
+
+	/**
+	 * Computes the percentile bootstrap confidence interval of the median of the
+	 * given values.
+	 *
+	 * @param values Values (not empty).
+	 * @return Lower and upper bound of the confidence interval.
+	 */
+	public static double[] bootstrapMedian(final double[] values) {
+		final Random random = new Random(StatisticConfig.REGRESSION_SEED);
+		final int samples = StatisticConfig.REGRESSION_BOOTSTRAP_SAMPLES;
+		final double[] medians = new double[samples];
+		final double[] resample = new double[values.length];
+
+		for (int s = 0; s < samples; s++) {
+			for (int i = 0; i < values.length; i++) {
+				resample[i] = values[random.nextInt(values.length)];
+			}
+			medians[s] = median(resample);
+		}
+
+		Arrays.sort(medians);
+		final double alpha = (1 - StatisticConfig.REGRESSION_CONFIDENCE) / 2;
+		final int lower = (int) Math.floor(alpha * (samples - 1));
+		final int upper = (int) Math.ceil((1 - alpha) * (samples - 1));
+		return new double[] { medians[lower], medians[upper] };
+	}
+
+	/**
+	 * Computes the median of the given values. The array itself is not modified.
+	 *
+	 * @param values Values (not empty).
+	 * @return Median of the values.
+	 */
+	public static double median(final double[] values) {
+		final double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		final int mid = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+	}
+
+	/**
+	 * Prints the given comparisons, one line per column and algorithm.
+	 *
+	 * @param comparisons Comparisons to print.
+	 * @param threshold   Threshold the comparisons were made with.
+	 */
+	static void print(final List<Comparison> comparisons, final double threshold) {
+		for (final Comparison c : comparisons) {
+			final String line = String.format("%-12s %-30s %-20s n=%-5d median=%.3f ci=[%.3f, %.3f]", c.verdict(),
+					c.algorithm(), c.column(), c.samples(), c.medianRatio(), c.lower(), c.upper());
+			if (c.verdict() == Verdict.REGRESSION) {
+				logger.warning(line);
+			} else {
+				logger.info(line);
+			}
+		}
+
+		final long regressions = comparisons.stream().filter(c -> c.verdict() == Verdict.REGRESSION).count();
+		logger.info("=> " + regressions + " regression(s) in " + comparisons.size() + " comparisons (threshold: "
+				+ threshold + ")");
+	}
+
+	/**
+	 * Checks that the given threshold is a valid relative change.
+	 *
+	 * @param threshold Threshold to check.
+	 */
+	private static void checkThreshold(final double threshold) {
+		if (!(threshold >= 0)) {
+			throw new IllegalArgumentException("Threshold must not be negative but was " + threshold + ".");
+		}
+	}
+
+	/**
+	 * All rows of a run file by algorithm and VNR.
+	 */
+	private static class Run {
+
+		/**
+		 * Names of all columns.
+		 */
+		private final List<String> columns;
+
+		/**
+		 * Timing and memory values of all rows by algorithm and VNR key.
+		 */
+		private final Map<String, Map<String, Map<String, Double>>> rows = new LinkedHashMap<>();
+
+		/**
+		 * Creates a new run with the given columns.
+		 *
+		 * @param columns Names of all columns.
+		 */
+		private Run(final List<String> columns) {
+			this.columns = columns;
+		}
+
+		/**
+		 * Reads the given CSV file.
+		 *
+		 * @param path Path of the CSV file.
+		 * @return The run.
+		 */
+		private static Run read(final Path path) {
+			try (final Reader reader = Files.newBufferedReader(path);
+					final CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+							.parse(reader)) {
+				final Run run = new Run(parser.getHeaderNames());
+				final boolean hasVnr = run.columns.contains(VNR_COLUMN);
+				final boolean hasAlgorithm = run.columns.contains(ALGORITHM_COLUMN);
+
+				// Occurrences of every VNR per algorithm (e.g., for repeated VNRs)
+				final Map<String, Integer> occurrences = new HashMap<>();
+				for (final CSVRecord rec : parser) {
+					final String algorithm = hasAlgorithm && rec.isSet(ALGORITHM_COLUMN) ? rec.get(ALGORITHM_COLUMN)
+							: NO_ALGORITHM;
+					final String vnr = hasVnr && rec.isSet(VNR_COLUMN) ? rec.get(VNR_COLUMN) : "";
+					final int occurrence = occurrences.merge(algorithm + "\u0000" + vnr, 1, Integer::sum);
+
+					final Map<String, Double> values = new HashMap<>();
+					for (final String column : run.columns) {
+						if (StatisticConfig.REGRESSION_COLUMN_PREFIXES.stream().anyMatch(column::startsWith)) {
+							values.put(column, parse(rec, column));
+						}
+					}
+					run.rows.computeIfAbsent(algorithm, a -> new LinkedHashMap<>()).put(vnr + "#" + occurrence,
+							values);
+				}
+				return run;
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		/**
+		 * Parses the value of the given column or returns NaN if the column is
+		 * missing or not numeric.
+		 *
+		 * @param rec    CSV record to read from.
+		 * @param column Name of the column.
+		 * @return Parsed value or NaN.
+		 */
+		private static double parse(final CSVRecord rec, final String column) {
+			if (!rec.isSet(column)) {
+				return Double.NaN;
+			}
+
+			try {
+				return Double.parseDouble(rec.get(column));
+			} catch (final NumberFormatException e) {
+				return Double.NaN;
+			}
+		}
+
+	}
+
+}
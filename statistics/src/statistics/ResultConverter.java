@@ -0,0 +1,82 @@
+package statistics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import iflye.dependencies.logging.IflyeLogger;
+import metrics.store.ResultFormat;
+import metrics.store.ResultReader;
+
+/**
+ * Converter that writes a binary result file (see
+ * {@link metrics.store.ResultFormat}) as CSV file, e.g., to inspect a run or to
+ * use it with CSV-based tools.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class ResultConverter extends IflyeLogger {
+
+	/**
+	 * Private constructor ensures no object instantiation.
+	 */
+	private ResultConverter() {
+	}
+
+	/**
+	 * Main method to start the converter. Argument must contain the path of the
+	 * binary result file, the optional second argument the path of the CSV file
+	 * (default: the same path with the extension '.csv').
+	 *
+	 * @param args Arguments to parse, i.e., args[0] must hold the path of the
+	 *             result file.
+	 */
+	public static void main(final String[] args) {
+		if (args == null || args.length < 1) {
+			throw new IllegalArgumentException("Please specify the result file to convert.");
+		}
+
+		final Path result = Paths.get(args[0]);
+		final Path csv = args.length > 1 ? Paths.get(args[1]) : defaultCsvPath(result);
+		final int rows = convert(result, csv);
+		logger.info("=> Finished CSV file: " + csv + " (" + rows + " rows)");
+	}
+
+	/**
+	 * Converts the given binary result file to a CSV file.
+	 *
+	 * @param result Path of the result file.
+	 * @param csv    Path of the CSV file.
+	 * @return Number of converted rows.
+	 */
+	public static int convert(final Path result, final Path csv) {
+		try (final ResultReader reader = new ResultReader(result);
+				final Writer out = Files.newBufferedWriter(csv)) {
+			if (!reader.isComplete()) {
+				logger.warning("=> Result file has no footer (aborted run?): " + result);
+			}
+			reader.toCsv(out);
+			return reader.getRowCount();
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the default path of the CSV file of the given result file.
+	 *
+	 * @param result Path of the result file.
+	 * @return Path of the CSV file.
+	 */
+	static Path defaultCsvPath(final Path result) {
+		final String name = result.toString();
+		final String base = name.endsWith(ResultFormat.EXTENSION)
+				? name.substring(0, name.length() - ResultFormat.EXTENSION.length())
+				: name;
+		return Paths.get(base + ".csv");
+	}
+
+}
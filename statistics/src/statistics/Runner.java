@@ -1,26 +1,95 @@
 package statistics;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
 
 import iflye.dependencies.logging.IflyeLogger;
-import scenario.util.CsvUtil;
+import metrics.store.ResultFormat;
+import metrics.store.ResultReader;
 
 /**
  * Runner class to combine multiple CSV files containing measurements to one
- * statistic CSV file containing the mean and the standard derivation.
+ * statistic CSV file containing the mean, the standard derivation, the minimum,
+ * the maximum, and the configured percentiles of every metric.
+ *
+ * The number of runs and the metric columns are discovered from the files
+ * themselves: all files named '&lt;experiment&gt;_run&lt;N&gt;.csv' (or binary
+ * result files '&lt;experiment&gt;_run&lt;N&gt;.iflye', which are preferred) are
+ * used and every column with numeric values (except the counter columns) is
+ * treated as a metric. All run files are streamed in lockstep, i.e., only one
+ * line per run is held in memory at a time.
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
 public class Runner extends IflyeLogger {
 
-	// TODO: Find a way to dynamically determine upper limit (e.g., by using 'find')
 	/**
-	 * Number of experiments (= runs).
+	 * Pattern of the name of a metric file of a single run.
+	 */
+	private static final Pattern RUN_FILE_PATTERN = Pattern
+			.compile("^(.*)_run(\\d+)(\\.csv|" + Pattern.quote(ResultFormat.EXTENSION) + ")$");
+
+	/**
+	 * Name of the derived total time column.
 	 */
-	private static final int NUM_OF_EXPS = 5;
+	private static final String TIME_TOTAL = "time_total";
+
+	/**
+	 * Prefix of all time-based columns that get summed up in *_timesums.csv.
+	 */
+	private static final String TIME_PREFIX = "time_";
+
+	/**
+	 * One line of a run file.
+	 */
+	private interface RunLine {
+
+		/**
+		 * Returns the numeric value of the given column.
+		 *
+		 * @param column Name of the column.
+		 * @return Value or NaN if the column is missing or not numeric.
+		 */
+		double get(String column);
+
+	}
+
+	/**
+	 * A run file that gets streamed line by line.
+	 */
+	private interface RunFile extends Closeable {
+
+		/**
+		 * @return Names of all columns.
+		 */
+		List<String> getHeader();
+
+		/**
+		 * @return Iterator over all lines.
+		 */
+		Iterator<RunLine> lines();
+
+	}
 
 	/**
 	 * Private constructor ensures no object instantiation.
@@ -40,90 +109,387 @@ public class Runner extends IflyeLogger {
 			throw new IllegalArgumentException("Please specify the experiment name to load files from.");
 		}
 
-		final String expName = args[0];
+		run(args[0]);
+	}
 
-		//
-		// Statistics CSV file
-		//
+	/**
+	 * Aggregates all run files of the given experiment into the files
+	 * '&lt;experiment&gt;_stats.csv' and '&lt;experiment&gt;_timesums.csv'.
+	 *
+	 * @param expName Base name (including the path) of the experiment, e.g.,
+	 *                'results/pm_fat-tree-4-pods_l3_k2'.
+	 */
+	public static void run(final String expName) {
+		if (expName == null || expName.isBlank()) {
+			throw new IllegalArgumentException("Experiment name must not be empty.");
+		}
 
-		final List<List<Double[]>> data = new LinkedList<>();
+		final List<Path> runFiles = findRunFiles(expName);
+		if (runFiles.isEmpty()) {
+			throw new IllegalArgumentException("No run files found for experiment: " + expName);
+		}
 
-		for (int i = 1; i <= NUM_OF_EXPS; i++) {
-			final List<Double[]> line = CsvUtil.loadCsvFile(expName + "_run" + i + ".csv");
-			data.add(line);
+		final List<RunFile> files = new ArrayList<>();
+		try {
+			for (final Path p : runFiles) {
+				files.add(openRunFile(p));
+			}
+			aggregate(expName, files);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			for (final RunFile file : files) {
+				try {
+					file.close();
+				} catch (final IOException e) {
+					logger.warning("Could not close run file: " + e.getMessage());
+				}
+			}
 		}
 
-		final String outputName = expName + "_stats.csv";
+		logger.info("=> Finished statistics file: " + expName + "_stats.csv (" + runFiles.size() + " runs)");
+	}
 
-		// Currently, the number of metrics is hard-coded against CsvUtil.java
-		double[] outputMean = new double[20];
-		double[] outputStdDev = new double[20];
+	/**
+	 * Returns all run files of the given experiment sorted by their run number. If
+	 * a run has a CSV and a binary file, the binary file is used.
+	 *
+	 * @param expName Base name (including the path) of the experiment.
+	 * @return List of all run files of the experiment.
+	 */
+	public static List<Path> findRunFiles(final String expName) {
+		final Path base = Paths.get(expName).toAbsolutePath();
+		final Path dir = base.getParent();
+		final String baseName = base.getFileName().toString();
+
+		final Map<Integer, Path> runs = new TreeMap<>();
+		try (final Stream<Path> files = Files.list(dir)) {
+			files.filter(Files::isRegularFile).forEach(p -> {
+				final Matcher m = RUN_FILE_PATTERN.matcher(p.getFileName().toString());
+				if (m.matches() && m.group(1).equals(baseName)) {
+					final Integer run = Integer.valueOf(m.group(2));
+					if (!runs.containsKey(run) || isBinary(p)) {
+						runs.put(run, p);
+					}
+				}
+			});
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return new ArrayList<>(runs.values());
+	}
+
+	/**
+	 * Returns the experiment base name of the given run file or null if the file is
+	 * not a run file.
+	 *
+	 * @param path Path of the file to check.
+	 * @return Experiment base name (including the path) or null.
+	 */
+	static String experimentOf(final Path path) {
+		final Matcher m = RUN_FILE_PATTERN.matcher(path.toAbsolutePath().toString());
+		return m.matches() ? m.group(1) : null;
+	}
+
+	/**
+	 * Streams all given run files in lockstep and writes the statistics and the
+	 * time sums files.
+	 *
+	 * @param expName Base name (including the path) of the experiment.
+	 * @param files   All run files.
+	 * @throws IOException If reading or writing a file fails.
+	 */
+	private static void aggregate(final String expName, final List<RunFile> files) throws IOException {
+		final List<Iterator<RunLine>> its = new ArrayList<>();
+		for (final RunFile file : files) {
+			its.add(file.lines());
+		}
 
-		// Iterate over all lines of the files
-		for (int v = 0; v < data.get(0).size(); v++) {
-			// Iterate over all metrics
-			for (int i = 0; i < 20; i++) {
-				final Double[] values = new Double[data.size()];
+		RunLine[] recs = nextLine(its);
+		final List<String> metrics = discoverMetrics(files.get(0).getHeader(), recs == null ? null : recs[0]);
+		final boolean deriveTotal = !metrics.contains(TIME_TOTAL);
+		if (deriveTotal) {
+			metrics.add(TIME_TOTAL);
+		}
+
+		final List<String> timeMetrics = new ArrayList<>();
+		timeMetrics.add(TIME_TOTAL);
+		metrics.stream().filter(m -> m.startsWith(TIME_PREFIX) && !m.equals(TIME_TOTAL)).forEach(timeMetrics::add);
+
+		// Time sums of every run (per time metric)
+		final double[][] timeSums = new double[files.size()][timeMetrics.size()];
+
+		try (final Writer out = Files.newBufferedWriter(Paths.get(expName + "_stats.csv"));
+				final CSVPrinter stats = new CSVPrinter(out,
+						CSVFormat.DEFAULT.builder().setHeader(statsHeader(metrics)).build())) {
+			int line = 0;
+			while (recs != null) {
+				final Map<String, StreamingStatistic> lineStats = new LinkedHashMap<>();
+				metrics.forEach(m -> lineStats.put(m, new StreamingStatistic()));
 
 				// Iterate over the data sets (= files)
-				for (int f = 0; f < data.size(); f++) {
-					values[f] = data.get(f).get(v)[i];
-				}
+				for (int f = 0; f < recs.length; f++) {
+					if (recs[f] == null) {
+						continue;
+					}
 
-				// Calculate values
-				outputMean[i] = StatisticUtils.mean(values);
-				outputStdDev[i] = StatisticUtils.stdDev(values);
+					final RunLine rec = recs[f];
+					double total = 0;
+					for (final String m : metrics) {
+						final double value = m.equals(TIME_TOTAL) && deriveTotal ? total : rec.get(m);
+						lineStats.get(m).record(value);
+						if (deriveTotal && StatisticConfig.TIME_TOTAL_COMPONENTS.contains(m) && !Double.isNaN(value)) {
+							total += value;
+						}
+					}
 
-				// If the metric is the last one -> Check if rounding of time_total and
-				// time_total_stddev is
-				// necessary
-				if (i == 21) {
-					outputMean[i] = StatisticUtils.roundTimetotal(outputMean[i]);
-					outputStdDev[i] = StatisticUtils.roundTimetotalstddev(outputStdDev[i]);
+					for (int t = 0; t < timeMetrics.size(); t++) {
+						final double value = timeMetrics.get(t).equals(TIME_TOTAL) && deriveTotal ? total
+								: rec.get(timeMetrics.get(t));
+						if (!Double.isNaN(value)) {
+							timeSums[f][t] += value;
+						}
+					}
 				}
-			}
 
-			// Write line to statistic CSV file
-			final String[] line = StatisticUtils.assembleCsvLine(StatisticConfig.VN_NAME_OFFSET ? v + 1 : v, outputMean,
-					outputStdDev);
-			CsvUtil.appendCsvStatsLine(outputName, line);
+				stats.printRecord(statsLine(StatisticConfig.VN_NAME_OFFSET ? line + 1 : line, metrics, lineStats));
+				line++;
+				recs = nextLine(its);
+			}
 		}
 
-		//
 		// Time summing CSV file
-		//
-
-		final Map<String, Double[]> timeSums = new HashMap<>();
-		timeSums.put("time_total", new Double[NUM_OF_EXPS]);
-		timeSums.put("time_pm", new Double[NUM_OF_EXPS]);
-		timeSums.put("time_ilp", new Double[NUM_OF_EXPS]);
-		timeSums.put("time_deploy", new Double[NUM_OF_EXPS]);
-		timeSums.put("time_rest", new Double[NUM_OF_EXPS]);
-
-		for (final String key : timeSums.keySet()) {
-			for (int i = 0; i < timeSums.get(key).length; i++) {
-				timeSums.get(key)[i] = 0.0;
+		final List<String> timeHeader = new ArrayList<>();
+		final List<String> timeLine = new ArrayList<>();
+		for (int t = 0; t < timeMetrics.size(); t++) {
+			final StreamingStatistic sum = new StreamingStatistic(new double[0]);
+			for (final double[] runSums : timeSums) {
+				sum.record(runSums[t]);
 			}
+			timeHeader.add(timeMetrics.get(t));
+			timeHeader.add(timeMetrics.get(t) + "_stddev");
+			timeLine.add(String.valueOf(StatisticUtils.roundTimesums(sum.getMean())));
+			timeLine.add(String.valueOf(StatisticUtils.roundTimesums(sum.getStdDev())));
+		}
+
+		try (final Writer out = Files.newBufferedWriter(Paths.get(expName + "_timesums.csv"));
+				final CSVPrinter printer = new CSVPrinter(out,
+						CSVFormat.DEFAULT.builder().setHeader(timeHeader.toArray(new String[0])).build())) {
+			printer.printRecord(timeLine);
 		}
+	}
 
-		for (int i = 0; i < NUM_OF_EXPS; i++) {
-			for (Double[] element : data.get(i)) {
-				timeSums.get("time_pm")[i] += element[0];
-				timeSums.get("time_ilp")[i] += element[1];
-				timeSums.get("time_deploy")[i] += element[2];
-				timeSums.get("time_rest")[i] += element[3];
-				timeSums.get("time_total")[i] += //
-						element[0] //
-								+ element[1] //
-								+ element[2] //
-								+ element[3];
+	/**
+	 * Reads the next line of every run file. Runs that have no more lines (e.g.,
+	 * because they were aborted earlier) get a null entry.
+	 *
+	 * @param its Line iterators of all run files.
+	 * @return Array of the next line per run or null if all runs are exhausted.
+	 */
+	private static RunLine[] nextLine(final List<Iterator<RunLine>> its) {
+		final RunLine[] recs = new RunLine[its.size()];
+		boolean any = false;
+		for (int f = 0; f < its.size(); f++) {
+			if (its.get(f).hasNext()) {
+				recs[f] = its.get(f).next();
+				any = true;
 			}
 		}
+		return any ? recs : null;
+	}
 
-		final String[] line = StatisticUtils.assembleTimeSumCsvLine(timeSums);
-		CsvUtil.createCsvTimeSumFile(expName + "_timesums.csv", line);
+	/**
+	 * Determines all metric columns, i.e., all columns of the header with a numeric
+	 * value in the given first data line (without the ignored columns).
+	 *
+	 * @param header Header names of the first run file.
+	 * @param first  First data line of the first run file (may be null).
+	 * @return List of all metric column names in file order.
+	 */
+	private static List<String> discoverMetrics(final List<String> header, final RunLine first) {
+		final List<String> metrics = new ArrayList<>();
+		for (final String name : header) {
+			if (!StatisticConfig.IGNORED_COLUMNS.contains(name)) {
+				metrics.add(name);
+			}
+		}
+
+		if (first != null) {
+			metrics.removeIf(m -> Double.isNaN(first.get(m)));
+		}
+		return metrics;
+	}
+
+	/**
+	 * Assembles the header of the statistics file.
+	 *
+	 * @param metrics List of all metric column names.
+	 * @return Header of the statistics file.
+	 */
+	private static String[] statsHeader(final List<String> metrics) {
+		final List<String> header = new ArrayList<>();
+		header.add("counter");
+		for (final String m : metrics) {
+			header.add(m);
+			header.add(m + "_stddev");
+			header.add(m + "_min");
+			header.add(m + "_max");
+			for (final double p : StatisticConfig.PERCENTILES) {
+				header.add(m + "_p" + StatisticUtils.percentileName(p));
+			}
+		}
+		return header.toArray(new String[0]);
+	}
+
+	/**
+	 * Assembles one line of the statistics file.
+	 *
+	 * @param counter   Line counter.
+	 * @param metrics   List of all metric column names.
+	 * @param lineStats Accumulated statistics of the line per metric.
+	 * @return One line of the statistics file.
+	 */
+	private static List<String> statsLine(final int counter, final List<String> metrics,
+			final Map<String, StreamingStatistic> lineStats) {
+		final List<String> out = new ArrayList<>();
+		out.add(String.valueOf(counter));
+		for (final String m : metrics) {
+			final StreamingStatistic s = lineStats.get(m);
+			if (m.equals(TIME_TOTAL)) {
+				out.add(String.valueOf(StatisticUtils.roundTimetotal(s.getMean())));
+				out.add(String.valueOf(StatisticUtils.roundTimetotalstddev(s.getStdDev())));
+			} else {
+				out.add(String.valueOf(s.getMean()));
+				out.add(String.valueOf(s.getStdDev()));
+			}
+			out.add(String.valueOf(s.getMin()));
+			out.add(String.valueOf(s.getMax()));
+			for (final double p : s.getPercentiles()) {
+				out.add(String.valueOf(p));
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Parses the value of the given column or returns NaN if the column is missing
+	 * or not numeric.
+	 *
+	 * @param rec    CSV record to read from.
+	 * @param column Name of the column.
+	 * @return Parsed value or NaN.
+	 */
+	private static double parse(final CSVRecord rec, final String column) {
+		if (!rec.isMapped(column) || !rec.isSet(column)) {
+			return Double.NaN;
+		}
+
+		try {
+			return Double.parseDouble(rec.get(column));
+		} catch (final NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Opens the given CSV file with its first line as header.
+	 *
+	 * @param path Path of the CSV file.
+	 * @return CSV parser of the file.
+	 * @throws IOException If the file could not be opened.
+	 */
+	private static CSVParser openCsv(final Path path) throws IOException {
+		final Reader reader = Files.newBufferedReader(path);
+		return CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build().parse(reader);
+	}
+
+	/**
+	 * Opens the given run file, i.e., a CSV or a binary result file.
+	 *
+	 * @param path Path of the run file.
+	 * @return The run file.
+	 * @throws IOException If the file could not be opened.
+	 */
+	private static RunFile openRunFile(final Path path) throws IOException {
+		if (isBinary(path)) {
+			final ResultReader reader = new ResultReader(path);
+			return new RunFile() {
+
+				@Override
+				public List<String> getHeader() {
+					return reader.getColumns();
+				}
+
+				@Override
+				public Iterator<RunLine> lines() {
+					final Iterator<ResultReader.Row> rows = reader.iterator();
+					return new Iterator<>() {
+
+						@Override
+						public boolean hasNext() {
+							return rows.hasNext();
+						}
+
+						@Override
+						public RunLine next() {
+							return rows.next()::getDouble;
+						}
+
+					};
+				}
+
+				@Override
+				public void close() {
+					reader.close();
+				}
+
+			};
+		}
+
+		final CSVParser parser = openCsv(path);
+		return new RunFile() {
+
+			@Override
+			public List<String> getHeader() {
+				return parser.getHeaderNames();
+			}
+
+			@Override
+			public Iterator<RunLine> lines() {
+				final Iterator<CSVRecord> records = parser.iterator();
+				return new Iterator<>() {
+
+					@Override
+					public boolean hasNext() {
+						return records.hasNext();
+					}
+
+					@Override
+					public RunLine next() {
+						final CSVRecord rec = records.next();
+						return column -> parse(rec, column);
+					}
+
+				};
+			}
+
+			@Override
+			public void close() throws IOException {
+				parser.close();
+			}
+
+		};
+	}
 
-		logger.info("=> Finished statistics file: " + outputName);
+	/**
+	 * Checks if the given file is a binary result file.
+	 *
+	 * @param path Path of the file.
+	 * @return True if the file is a binary result file.
+	 */
+	static boolean isBinary(final Path path) {
+		return path.getFileName().toString().endsWith(ResultFormat.EXTENSION);
 	}
 
 }
@@ -2,15 +2,26 @@ package statistics;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import iflye.dependencies.logging.IflyeLogger;
 
 /**
- * Runner wrapper class that searches for CSV metric files and starts the Runner
- * class accordingly.
+ * Runner wrapper class that searches for CSV (or binary) metric files and starts
+ * the Runner class accordingly. The experiments found are aggregated in
+ * parallel (see {@link StatisticConfig#NUM_OF_THREADS}).
  *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
@@ -24,7 +35,7 @@ public class RunnerWrapper extends IflyeLogger {
 
 	/**
 	 * Main method to start the runner wrapper. Argument must contain the base path
-	 * to search CSV files recursive in.
+	 * to search metric files recursive in.
 	 *
 	 * @param args Arguments to parse, i.e., args[0] must hold the base path.
 	 */
@@ -34,18 +45,14 @@ public class RunnerWrapper extends IflyeLogger {
 		}
 
 		final String path = args[0];
-		final Set<String> experiments = new HashSet<>();
+		Set<String> experiments = null;
 
-		try {
-			Files.walk(Paths.get(path)) //
+		try (final Stream<Path> files = Files.walk(Paths.get(path))) {
+			experiments = files //
 					.filter(Files::isRegularFile) //
-					.forEach(p -> {
-						final String pabs = p.toAbsolutePath().toString();
-						if (pabs.contains(".csv") && pabs.contains("_run")) {
-							// Cut of "_run1.csv" from filename
-							experiments.add(pabs.substring(0, pabs.indexOf(".csv") - 5));
-						}
-					});
+					.map(Runner::experimentOf) //
+					.filter(Objects::nonNull) //
+					.collect(Collectors.toCollection(TreeSet::new));
 		} catch (final IOException e) {
 			logger.warning("=> Catched an IOException. Halting.");
 			e.printStackTrace();
@@ -53,9 +60,34 @@ public class RunnerWrapper extends IflyeLogger {
 		}
 
 		// Start basic runner for each experiment
-		experiments.forEach(e -> {
-			Runner.main(new String[] { e });
-		});
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(Math.max(1, Math.min(StatisticConfig.NUM_OF_THREADS, experiments.size())));
+		final List<Future<?>> futures = new ArrayList<>();
+		try {
+			experiments.forEach(e -> futures.add(executor.submit(() -> Runner.run(e))));
+
+			boolean failed = false;
+			for (final Future<?> f : futures) {
+				try {
+					f.get();
+				} catch (final ExecutionException e) {
+					logger.warning("=> Aggregation of an experiment failed: " + e.getCause());
+					failed = true;
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failed = true;
+					break;
+				}
+			}
+
+			if (failed) {
+				logger.warning("=> Runner wrapper finished with errors.");
+				System.exit(1);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
 		logger.info("=> Runner wrapper finished.");
 	}
 
@@ -1,8 +1,7 @@
 package statistics;
 
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Configuration of the statistic module.
@@ -29,10 +28,9 @@ public class StatisticConfig {
 	public static final boolean ROUND_TIMESUMS = true;
 
 	/**
-	 * Rounding decimal format setting for the time sums.
+	 * Number of decimal places of the rounded time sums.
 	 */
-	public static final DecimalFormat ROUND_TIMESUMS_FORMAT = ((DecimalFormat) NumberFormat
-			.getNumberInstance(new Locale("en", "US")));
+	public static final int ROUND_TIMESUMS_DECIMALS = 2;
 
 	/**
 	 * If true, the time-based total values (time_total, time_total_stddev) of the
@@ -41,21 +39,73 @@ public class StatisticConfig {
 	public static final boolean ROUND_TIMETOTAL_STATS = true;
 
 	/**
-	 * Rounding decimal format setting for the time_total column in *_stats.csv.
+	 * Number of decimal places of the rounded time_total column in *_stats.csv.
 	 */
-	public static final DecimalFormat ROUND_TIMETOTAL_FORMAT = new DecimalFormat("0.000");
+	public static final int ROUND_TIMETOTAL_DECIMALS = 3;
 
 	/**
-	 * Rounding decimal format setting for the time_total_stddev column in
+	 * Number of decimal places of the rounded time_total_stddev column in
 	 * *_stats.csv.
 	 */
-	public static final DecimalFormat ROUND_TIMETOTALSTDDEV_FORMAT = new DecimalFormat("0.0000");
+	public static final int ROUND_TIMETOTALSTDDEV_DECIMALS = 4;
 
-	/*
-	 * Apply pattern to time sums format
+	/**
+	 * Percentiles (in the range (0, 1)) that get estimated for every metric in
+	 * *_stats.csv.
 	 */
-	static {
-		ROUND_TIMESUMS_FORMAT.applyPattern("0.00");
-	}
+	public static double[] PERCENTILES = new double[] { 0.5, 0.95, 0.99 };
+
+	/**
+	 * Columns of the run files that are never treated as metrics.
+	 */
+	public static final Set<String> IGNORED_COLUMNS = Set.of("counter", "level_0.counter");
+
+	/**
+	 * Time columns that get summed up to time_total if the run files do not
+	 * contain a time_total column themselves.
+	 */
+	public static final Set<String> TIME_TOTAL_COMPONENTS = Set.of("time_pm", "time_ilp", "time_deploy",
+			"time_rest");
+
+	/**
+	 * Number of threads the runner wrapper uses to aggregate experiments in
+	 * parallel.
+	 */
+	public static int NUM_OF_THREADS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Prefixes of the columns the regression detector compares, i.e., all timing
+	 * and memory columns.
+	 */
+	public static final List<String> REGRESSION_COLUMN_PREFIXES = List.of("time_", "memory_");
+
+	/**
+	 * Relative change of the median ratio (candidate / baseline) that the
+	 * regression detector treats as relevant, e.g., 0.1 for a slow-down of more
+	 * than 10%.
+	 */
+	public static double REGRESSION_THRESHOLD = 0.1;
+
+	/**
+	 * Confidence level of the bootstrap confidence intervals of the regression
+	 * detector.
+	 */
+	public static double REGRESSION_CONFIDENCE = 0.95;
+
+	/**
+	 * Number of bootstrap resamples of the regression detector.
+	 */
+	public static int REGRESSION_BOOTSTRAP_SAMPLES = 2_000;
+
+	/**
+	 * Minimum number of paired VNRs the regression detector needs for a verdict.
+	 */
+	public static int REGRESSION_MIN_SAMPLES = 5;
+
+	/**
+	 * Random seed of the bootstrap of the regression detector (for reproducible
+	 * verdicts).
+	 */
+	public static long REGRESSION_SEED = 0;
 
 }
@@ -1,7 +1,7 @@
 package statistics;
 
-import java.text.DecimalFormat;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Utility class for the statistics project.
@@ -16,56 +16,6 @@ public class StatisticUtils {
 	private StatisticUtils() {
 	}
 
-	/**
-	 * Assembles one line for the output CSV files with the statistics. Takes a
-	 * counter (= line number), the array of doubles for the mean, and an array of
-	 * double for the standard derivation and combines them to an array of strings
-	 * in this form:
-	 *
-	 * {counter, mean[0], stddev[0], mean[1], stddev[1], ...}
-	 *
-	 * @param counter Line counter.
-	 * @param mean    Array of doubles that defines the mean values.
-	 * @param stddev  Array of doubles that defines the standard derivation values.
-	 * @return Array of string as described above.
-	 */
-	static String[] assembleCsvLine(final int counter, final double[] mean, final double[] stddev) {
-		if (mean.length != stddev.length) {
-			throw new IllegalArgumentException("Array length differs.");
-		}
-
-		final String[] output = new String[mean.length * 2 + 1];
-		output[0] = String.valueOf(counter);
-
-		for (int i = 0; i < mean.length * 2; i += 2) {
-			output[i + 1] = String.valueOf(mean[i / 2]);
-			output[i + 2] = String.valueOf(stddev[i / 2]);
-		}
-
-		return output;
-	}
-
-	/**
-	 * Assembles one line for the output CSV file with time summing.
-	 *
-	 * @param timeSums Mapping of time values to double array.
-	 * @return String that represents the line of the output CSV file.
-	 */
-	static String[] assembleTimeSumCsvLine(final Map<String, Double[]> timeSums) {
-		final String[] sums = new String[10];
-		sums[0] = String.valueOf(roundTimesums(StatisticUtils.mean(timeSums.get("time_total"))));
-		sums[1] = String.valueOf(roundTimesums(StatisticUtils.stdDev(timeSums.get("time_total"))));
-		sums[2] = String.valueOf(roundTimesums(StatisticUtils.mean(timeSums.get("time_pm"))));
-		sums[3] = String.valueOf(roundTimesums(StatisticUtils.stdDev(timeSums.get("time_pm"))));
-		sums[4] = String.valueOf(roundTimesums(StatisticUtils.mean(timeSums.get("time_ilp"))));
-		sums[5] = String.valueOf(roundTimesums(StatisticUtils.stdDev(timeSums.get("time_ilp"))));
-		sums[6] = String.valueOf(roundTimesums(StatisticUtils.mean(timeSums.get("time_deploy"))));
-		sums[7] = String.valueOf(roundTimesums(StatisticUtils.stdDev(timeSums.get("time_deploy"))));
-		sums[8] = String.valueOf(roundTimesums(StatisticUtils.mean(timeSums.get("time_rest"))));
-		sums[9] = String.valueOf(roundTimesums(StatisticUtils.stdDev(timeSums.get("time_rest"))));
-		return sums;
-	}
-
 	/**
 	 * Calculates the mean for a given double array.
 	 *
@@ -102,6 +52,18 @@ public class StatisticUtils {
 		return Math.sqrt(val);
 	}
 
+	/**
+	 * Returns the name suffix of the given percentile, e.g., '95' for 0.95 or
+	 * '99_9' for 0.999.
+	 *
+	 * @param percentile Percentile in the range (0, 1).
+	 * @return Name suffix of the percentile.
+	 */
+	static String percentileName(final double percentile) {
+		final String name = BigDecimal.valueOf(percentile * 100).stripTrailingZeros().toPlainString();
+		return name.replace('.', '_');
+	}
+
 	/**
 	 * Rounds the given double value (time sum) according to the modules
 	 * configuration.
@@ -110,7 +72,7 @@ public class StatisticUtils {
 	 * @return Output value (rounded if configured).
 	 */
 	static double roundTimesums(final double value) {
-		return round(value, StatisticConfig.ROUND_TIMESUMS, StatisticConfig.ROUND_TIMESUMS_FORMAT);
+		return round(value, StatisticConfig.ROUND_TIMESUMS, StatisticConfig.ROUND_TIMESUMS_DECIMALS);
 	}
 
 	/**
@@ -121,7 +83,7 @@ public class StatisticUtils {
 	 * @return Output value (rounded if configured).
 	 */
 	static double roundTimetotal(final double value) {
-		return round(value, StatisticConfig.ROUND_TIMETOTAL_STATS, StatisticConfig.ROUND_TIMETOTAL_FORMAT);
+		return round(value, StatisticConfig.ROUND_TIMETOTAL_STATS, StatisticConfig.ROUND_TIMETOTAL_DECIMALS);
 	}
 
 	/**
@@ -132,21 +94,25 @@ public class StatisticUtils {
 	 * @return Output value (rounded if configured).
 	 */
 	static double roundTimetotalstddev(final double value) {
-		return round(value, StatisticConfig.ROUND_TIMETOTAL_STATS, StatisticConfig.ROUND_TIMETOTALSTDDEV_FORMAT);
+		return round(value, StatisticConfig.ROUND_TIMETOTAL_STATS, StatisticConfig.ROUND_TIMETOTALSTDDEV_DECIMALS);
 	}
 
 	/**
-	 * Actual rounding method.
+	 * Actual rounding method. Rounds half to even (like the formerly used
+	 * DecimalFormat), but without any shared state or dependency on the default
+	 * locale. NaN and infinite values are returned unchanged.
 	 *
-	 * @param value  Input double value.
-	 * @param round  If true, value gets rounded.
-	 * @param format DecimalFormat that configures the decimal places.
+	 * @param value    Input double value.
+	 * @param round    If true, value gets rounded.
+	 * @param decimals Number of decimal places.
 	 * @return Rounded value
 	 */
-	private static double round(final double value, final boolean round, final DecimalFormat format) {
-		return round //
-				? Double.valueOf(format.format(value)) //
-				: value;
+	private static double round(final double value, final boolean round, final int decimals) {
+		if (!round || Double.isNaN(value) || Double.isInfinite(value)) {
+			return value;
+		}
+
+		return BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_EVEN).doubleValue();
 	}
 
 }
@@ -0,0 +1,308 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass accumulator for a stream of double values. It keeps track of the
+ * count, mean, (population) standard deviation, minimum, and maximum as well as
+ * an estimation of the configured percentiles without storing the values
+ * themselves.
+ *
+ * The mean and the variance are updated with Welford's algorithm. Percentiles
+ * are estimated with the P-square algorithm [1], which is exact as long as there are
+ * at most five values.
+ *
+ * [1] Jain, R., and Chlamtac, I., "The P-square algorithm for dynamic calculation of
+ * quantiles and histograms without storing observations," Communications of
+ * the ACM, vol. 28, no. 10, pp. 1076-1085, 1985.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class StreamingStatistic {
+
+	/**
+	 * Number of recorded values.
+	 */
+	private long count = 0;
+
+	/**
+	 * Running mean.
+	 */
+	private double mean = 0;
+
+	/**
+	 * Running sum of squared differences from the mean.
+	 */
+	private double m2 = 0;
+
+	/**
+	 * Smallest recorded value.
+	 */
+	private double min = Double.NaN;
+
+	/**
+	 * Largest recorded value.
+	 */
+	private double max = Double.NaN;
+
+	/**
+	 * Percentile estimators (one per configured percentile).
+	 */
+	private final Quantile[] quantiles;
+
+	/**
+	 * Creates a new accumulator for the percentiles configured in
+	 * {@link StatisticConfig#PERCENTILES}.
+	 */
+	public StreamingStatistic() {
+		this(StatisticConfig.PERCENTILES);
+	}
+
+	/**
+	 * Creates a new accumulator for the given percentiles.
+	 *
+	 * @param percentiles Percentiles to estimate, each in the range (0, 1).
+	 */
+	public StreamingStatistic(final double[] percentiles) {
+		if (percentiles == null) {
+			throw new IllegalArgumentException("Given percentiles were null.");
+		}
+
+		this.quantiles = new Quantile[percentiles.length];
+		for (int i = 0; i < percentiles.length; i++) {
+			this.quantiles[i] = new Quantile(percentiles[i]);
+		}
+	}
+
+	/**
+	 * Records the given value. NaN values are ignored.
+	 *
+	 * @param value Value to record.
+	 */
+	public void record(final double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+
+		count++;
+		final double d = value - mean;
+		mean += d / count;
+		m2 += d * (value - mean);
+
+		if (count == 1) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+
+		for (final Quantile q : quantiles) {
+			q.record(value);
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return Number of recorded values.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the mean of all recorded values or NaN if there are none.
+	 *
+	 * @return Mean of all recorded values.
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Returns the (population) standard deviation of all recorded values or NaN if
+	 * there are none. This matches {@link StatisticUtils#stdDev(Double[])}.
+	 *
+	 * @return Standard deviation of all recorded values.
+	 */
+	public double getStdDev() {
+		return count == 0 ? Double.NaN : Math.sqrt(m2 / count);
+	}
+
+	/**
+	 * Returns the smallest recorded value or NaN if there are none.
+	 *
+	 * @return Smallest recorded value.
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * Returns the largest recorded value or NaN if there are none.
+	 *
+	 * @return Largest recorded value.
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the estimations of all configured percentiles in the order they were
+	 * given to the constructor.
+	 *
+	 * @return Array of percentile estimations.
+	 */
+	public double[] getPercentiles() {
+		final double[] out = new double[quantiles.length];
+		for (int i = 0; i < quantiles.length; i++) {
+			out[i] = quantiles[i].get();
+		}
+		return out;
+	}
+
+	/**
+	 * P-square estimator for a single quantile.
+	 */
+	private static class Quantile {
+
+		/**
+		 * Quantile to estimate.
+		 */
+		private final double p;
+
+		/**
+		 * Marker heights.
+		 */
+		private final double[] q = new double[5];
+
+		/**
+		 * Actual marker positions.
+		 */
+		private final double[] n = new double[5];
+
+		/**
+		 * Desired marker positions.
+		 */
+		private final double[] np = new double[5];
+
+		/**
+		 * Increments of the desired marker positions.
+		 */
+		private final double[] dn = new double[5];
+
+		/**
+		 * Number of recorded values.
+		 */
+		private int count = 0;
+
+		/**
+		 * Creates a new estimator for quantile p.
+		 *
+		 * @param p Quantile to estimate in the range (0, 1).
+		 */
+		Quantile(final double p) {
+			if (p <= 0 || p >= 1) {
+				throw new IllegalArgumentException("Percentile must be in the range (0, 1) but was " + p + ".");
+			}
+
+			this.p = p;
+			dn[0] = 0;
+			dn[1] = p / 2;
+			dn[2] = p;
+			dn[3] = (1 + p) / 2;
+			dn[4] = 1;
+		}
+
+		/**
+		 * Records the given value.
+		 *
+		 * @param x Value to record.
+		 */
+		void record(final double x) {
+			// The first five values are simply collected
+			if (count < 5) {
+				q[count++] = x;
+				if (count == 5) {
+					Arrays.sort(q);
+					for (int i = 0; i < 5; i++) {
+						n[i] = i;
+					}
+					np[0] = 0;
+					np[1] = 2 * p;
+					np[2] = 4 * p;
+					np[3] = 2 + 2 * p;
+					np[4] = 4;
+				}
+				return;
+			}
+			count++;
+
+			// Find cell k with q[k] <= x < q[k+1] and adjust extreme values
+			int k;
+			if (x < q[0]) {
+				q[0] = x;
+				k = 0;
+			} else if (x >= q[4]) {
+				q[4] = x;
+				k = 3;
+			} else {
+				k = 0;
+				while (k < 3 && x >= q[k + 1]) {
+					k++;
+				}
+			}
+
+			for (int i = k + 1; i < 5; i++) {
+				n[i]++;
+			}
+			for (int i = 0; i < 5; i++) {
+				np[i] += dn[i];
+			}
+
+			// Adjust the heights of the three inner markers
+			for (int i = 1; i <= 3; i++) {
+				final double d = np[i] - n[i];
+				if ((d >= 1 && n[i + 1] - n[i] > 1) || (d <= -1 && n[i - 1] - n[i] < -1)) {
+					final int s = d >= 0 ? 1 : -1;
+					final double parabolic = q[i] + s / (n[i + 1] - n[i - 1])
+							* ((n[i] - n[i - 1] + s) * (q[i + 1] - q[i]) / (n[i + 1] - n[i])
+									+ (n[i + 1] - n[i] - s) * (q[i] - q[i - 1]) / (n[i] - n[i - 1]));
+					if (q[i - 1] < parabolic && parabolic < q[i + 1]) {
+						q[i] = parabolic;
+					} else {
+						q[i] = q[i] + s * (q[i + s] - q[i]) / (n[i + s] - n[i]);
+					}
+					n[i] += s;
+				}
+			}
+		}
+
+		/**
+		 * Returns the current estimation of the quantile or NaN if no value was
+		 * recorded.
+		 *
+		 * @return Estimation of the quantile.
+		 */
+		double get() {
+			if (count == 0) {
+				return Double.NaN;
+			}
+
+			// Exact (linearly interpolated) quantile for up to five values
+			if (count <= 5) {
+				final double[] sorted = Arrays.copyOf(q, count);
+				Arrays.sort(sorted);
+				final double pos = p * (count - 1);
+				final int lower = (int) Math.floor(pos);
+				final int upper = (int) Math.ceil(pos);
+				return sorted[lower] + (pos - lower) * (sorted[upper] - sorted[lower]);
+			}
+
+			return q[2];
+		}
+
+	}
+
+}
@@ -0,0 +1,249 @@
+package test.algorithms.admission;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.admission.AdmissionFilter;
+import algorithms.admission.AdmissionFilter.Reason;
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the admission filter.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class AdmissionFilterTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Old bandwidth ignore flag.
+	 */
+	private boolean oldIgnoreBw;
+
+	@BeforeEach
+	public void resetModel() {
+		facade.resetAll();
+		oldIgnoreBw = ModelFacadeConfig.IGNORE_BW;
+		ModelFacadeConfig.IGNORE_BW = false;
+
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		facade.validateModel();
+		ModelFacadeConfig.IGNORE_BW = oldIgnoreBw;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testFits() {
+		oneTierSetupTwoServers("sub", 2);
+		virtualServers("virt", 2, 2, 1);
+
+		assertNull(getFilter().check(getVnet(), false));
+		assertTrue(getFilter().reject(Set.of(getVnet()), false).isEmpty());
+	}
+
+	@Test
+	public void testSameFilterForSameNetwork() {
+		oneTierSetupTwoServers("sub", 2);
+		assertSame(getFilter(), getFilter());
+	}
+
+	@Test
+	public void testTotalCapacity() {
+		oneTierSetupTwoServers("sub", 2);
+		virtualServers("virt", 3, 2, 1);
+
+		assertEquals(Reason.TOTAL_CAPACITY, getFilter().check(getVnet(), false));
+		assertEquals(Set.of(getVnet()), getFilter().reject(List.of(getVnet()), false));
+	}
+
+	@Test
+	public void testLargestVm() {
+		oneTierSetupTwoServers("sub", 2);
+		virtualServers("virt", 1, 3, 1);
+
+		assertEquals(Reason.LARGEST_VM, getFilter().check(getVnet(), false));
+
+		// Totals only must not check the largest virtual server
+		assertNull(getFilter().check(getVnet(), true));
+	}
+
+	@Test
+	public void testRackBandwidth() {
+		twoTierSetupFourServers("sub", 2);
+
+		// Three virtual servers do not fit into one rack
+		virtualServers("virt", 3, 2, 20);
+		assertEquals(Reason.RACK_BANDWIDTH, getFilter().check(getVnet(), false));
+
+		// Without bandwidth, the rack uplinks are irrelevant
+		ModelFacadeConfig.IGNORE_BW = true;
+		assertNull(getFilter().check(getVnet(), false));
+	}
+
+	@Test
+	public void testRackBandwidthFits() {
+		twoTierSetupFourServers("sub", 2);
+		virtualServers("virt", 3, 2, 5);
+		assertNull(getFilter().check(getVnet(), false));
+	}
+
+	@Test
+	public void testIncrementalUpdate() {
+		oneTierSetupTwoServers("sub", 2);
+		virtualServers("virt", 2, 2, 1);
+		final AdmissionFilter filter = getFilter();
+		assertArrayEquals(new long[] { 4, 4, 4 }, filter.getTotalResiduals());
+
+		// Embed one virtual server
+		facade.embedNetworkToNetwork("sub", "virt");
+		facade.embedServerToServer("sub_srv1", "virt_srv1");
+		assertArrayEquals(new long[] { 2, 2, 2 }, filter.getTotalResiduals());
+		assertEquals(Reason.TOTAL_CAPACITY, filter.check(getVnet(), true));
+
+		// Remove the embedding again
+		facade.unembedVirtualNetwork(getVnet());
+		assertArrayEquals(new long[] { 4, 4, 4 }, filter.getTotalResiduals());
+		assertNull(filter.check(getVnet(), false));
+	}
+
+	@Test
+	public void testStructuralChange() {
+		oneTierSetupTwoServers("sub", 2);
+		virtualServers("virt", 1, 3, 1);
+		assertEquals(Reason.LARGEST_VM, getFilter().check(getVnet(), false));
+
+		// A new and larger substrate server must be taken into account
+		facade.addServerToNetwork("sub_srv3", "sub", 4, 4, 4, 1);
+		assertNull(getFilter().check(getVnet(), false));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullNetwork() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			AdmissionFilter.get(null);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Returns the admission filter of the substrate network 'sub'.
+	 *
+	 * @return Admission filter.
+	 */
+	private AdmissionFilter getFilter() {
+		return AdmissionFilter.get((SubstrateNetwork) facade.getNetworkById("sub"));
+	}
+
+	/**
+	 * Returns the virtual network 'virt'.
+	 *
+	 * @return Virtual network.
+	 */
+	private VirtualNetwork getVnet() {
+		return (VirtualNetwork) facade.getNetworkById("virt");
+	}
+
+	/**
+	 * Creates a virtual network with the given number of servers that are all
+	 * connected to one switch.
+	 *
+	 * @param networkId      Network id.
+	 * @param servers        Number of virtual servers.
+	 * @param slotsPerServer Number of CPU, memory and storage resources.
+	 * @param bw             Bandwidth of all virtual links.
+	 */
+	private void virtualServers(final String networkId, final int servers, final int slotsPerServer,
+			final int bw) {
+		facade.addSwitchToNetwork(networkId + "_sw", networkId, 0);
+		for (int i = 1; i <= servers; i++) {
+			facade.addServerToNetwork(networkId + "_srv" + i, networkId, slotsPerServer, slotsPerServer,
+					slotsPerServer, 1);
+			facade.addLinkToNetwork(networkId + "_ln" + (2 * i - 1), networkId, bw, networkId + "_srv" + i,
+					networkId + "_sw");
+			facade.addLinkToNetwork(networkId + "_ln" + (2 * i), networkId, bw, networkId + "_sw",
+					networkId + "_srv" + i);
+		}
+	}
+
+	/**
+	 * Creates a one tier network with two servers and one switch.
+	 *
+	 * @param networkId      Network id.
+	 * @param slotsPerServer Number of CPU, memory and storage resources.
+	 */
+	private void oneTierSetupTwoServers(final String networkId, final int slotsPerServer) {
+		facade.addSwitchToNetwork(networkId + "_sw", networkId, 0);
+		facade.addServerToNetwork(networkId + "_srv1", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 1);
+		facade.addServerToNetwork(networkId + "_srv2", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 1);
+		facade.addLinkToNetwork(networkId + "_ln1", networkId, 1, networkId + "_srv1", networkId + "_sw");
+		facade.addLinkToNetwork(networkId + "_ln2", networkId, 1, networkId + "_srv2", networkId + "_sw");
+		facade.addLinkToNetwork(networkId + "_ln3", networkId, 1, networkId + "_sw", networkId + "_srv1");
+		facade.addLinkToNetwork(networkId + "_ln4", networkId, 1, networkId + "_sw", networkId + "_srv2");
+	}
+
+	/**
+	 * Creates a two tier network with four servers total, two rack switches, and
+	 * one core switch. Each rack uplink has a bandwidth of 10.
+	 *
+	 * @param networkId      Network id.
+	 * @param slotsPerServer Number of CPU, memory and storage resources.
+	 */
+	private void twoTierSetupFourServers(final String networkId, final int slotsPerServer) {
+		facade.addSwitchToNetwork(networkId + "_csw1", networkId, 0);
+		facade.addSwitchToNetwork(networkId + "_rsw1", networkId, 1);
+		facade.addSwitchToNetwork(networkId + "_rsw2", networkId, 1);
+
+		facade.addServerToNetwork(networkId + "_srv1", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 2);
+		facade.addServerToNetwork(networkId + "_srv2", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 2);
+		facade.addServerToNetwork(networkId + "_srv3", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 2);
+		facade.addServerToNetwork(networkId + "_srv4", networkId, slotsPerServer, slotsPerServer, slotsPerServer, 2);
+
+		facade.addLinkToNetwork(networkId + "_ln1", networkId, 1, networkId + "_srv1", networkId + "_rsw1");
+		facade.addLinkToNetwork(networkId + "_ln2", networkId, 1, networkId + "_srv2", networkId + "_rsw1");
+		facade.addLinkToNetwork(networkId + "_ln3", networkId, 1, networkId + "_rsw1", networkId + "_srv1");
+		facade.addLinkToNetwork(networkId + "_ln4", networkId, 1, networkId + "_rsw1", networkId + "_srv2");
+		facade.addLinkToNetwork(networkId + "_ln5", networkId, 1, networkId + "_srv3", networkId + "_rsw2");
+		facade.addLinkToNetwork(networkId + "_ln6", networkId, 1, networkId + "_srv4", networkId + "_rsw2");
+		facade.addLinkToNetwork(networkId + "_ln7", networkId, 1, networkId + "_rsw2", networkId + "_srv3");
+		facade.addLinkToNetwork(networkId + "_ln8", networkId, 1, networkId + "_rsw2", networkId + "_srv4");
+
+		facade.addLinkToNetwork(networkId + "_ln9", networkId, 10, networkId + "_rsw1", networkId + "_csw1");
+		facade.addLinkToNetwork(networkId + "_ln10", networkId, 10, networkId + "_rsw2", networkId + "_csw1");
+		facade.addLinkToNetwork(networkId + "_ln11", networkId, 10, networkId + "_csw1", networkId + "_rsw1");
+		facade.addLinkToNetwork(networkId + "_ln12", networkId, 10, networkId + "_csw1", networkId + "_rsw2");
+	}
+
+}
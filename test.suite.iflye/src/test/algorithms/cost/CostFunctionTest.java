@@ -0,0 +1,246 @@
+package test.algorithms.cost;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.cost.CostFunction;
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import metrics.CostUtility;
+import model.Link;
+import model.Node;
+import model.SubstrateElement;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstrateServer;
+import model.VirtualLink;
+import model.VirtualNetwork;
+import model.VirtualNode;
+
+/**
+ * Test class for the cost functions of the objectives. All costs
+ * must be equal to the ones of the {@link CostUtility}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class CostFunctionTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Old lower limit value.
+	 */
+	private int oldLowerLimit;
+
+	/**
+	 * Old upper limit value.
+	 */
+	private int oldUpperLimit;
+
+	@BeforeEach
+	public void resetModel() {
+		facade.resetAll();
+		oldLowerLimit = ModelFacadeConfig.MIN_PATH_LENGTH;
+		oldUpperLimit = ModelFacadeConfig.MAX_PATH_LENGTH;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("csw", "sub", 0);
+		facade.addSwitchToNetwork("rsw1", "sub", 1);
+		facade.addSwitchToNetwork("rsw2", "sub", 1);
+		facade.addServerToNetwork("ssrv1", "sub", 4, 4, 4, 2);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 4, 4, 2);
+		facade.addLinkToNetwork("sln1", "sub", 10, "ssrv1", "rsw1");
+		facade.addLinkToNetwork("sln2", "sub", 10, "rsw1", "ssrv1");
+		facade.addLinkToNetwork("sln3", "sub", 10, "ssrv2", "rsw2");
+		facade.addLinkToNetwork("sln4", "sub", 10, "rsw2", "ssrv2");
+		facade.addLinkToNetwork("sln5", "sub", 10, "rsw1", "csw");
+		facade.addLinkToNetwork("sln6", "sub", 10, "csw", "rsw1");
+		facade.addLinkToNetwork("sln7", "sub", 10, "rsw2", "csw");
+		facade.addLinkToNetwork("sln8", "sub", 10, "csw", "rsw2");
+		facade.createAllPathsForNetwork("sub");
+
+		facade.addNetworkToRoot("virt", true);
+		facade.addSwitchToNetwork("vsw", "virt", 0);
+		facade.addServerToNetwork("vsrv1", "virt", 1, 1, 1, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 2, 2, 2, 1);
+		facade.addLinkToNetwork("vln1", "virt", 3, "vsrv1", "vsw");
+		facade.addLinkToNetwork("vln2", "virt", 5, "vsw", "vsrv2");
+
+		// Fill up one substrate server to get different node costs
+		facade.embedNetworkToNetwork("sub", "virt");
+		facade.embedServerToServer("ssrv1", "vsrv1");
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		ModelFacadeConfig.MIN_PATH_LENGTH = oldLowerLimit;
+		ModelFacadeConfig.MAX_PATH_LENGTH = oldUpperLimit;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testTotalPathCost() {
+		checkAllPairs(Objective.TOTAL_PATH_COST);
+	}
+
+	@Test
+	public void testTotalCommunicationCostA() {
+		checkAllPairs(Objective.TOTAL_COMMUNICATION_COST_A);
+	}
+
+	@Test
+	public void testTotalCommunicationCostB() {
+		checkAllPairs(Objective.TOTAL_COMMUNICATION_COST_B);
+	}
+
+	@Test
+	public void testTotalCommunicationObjectiveC() {
+		checkAllPairs(Objective.TOTAL_COMMUNICATION_OBJECTIVE_C);
+	}
+
+	@Test
+	public void testTotalCommunicationObjectiveD() {
+		checkAllPairs(Objective.TOTAL_COMMUNICATION_OBJECTIVE_D);
+	}
+
+	@Test
+	public void testSharedPerObjective() {
+		for (final Objective objective : Objective.values()) {
+			assertSame(CostFunction.of(objective), CostFunction.of(objective));
+		}
+	}
+
+	@Test
+	public void testNodeCostFollowsResiduals() {
+		final CostFunction function = CostFunction.of(Objective.TOTAL_COMMUNICATION_OBJECTIVE_C);
+		final VirtualNode vsrv = (VirtualNode) facade.getServerById("vsrv2");
+		final SubstrateNode ssrv = (SubstrateNode) facade.getServerById("ssrv2");
+		final double before = function.getNodeCost(vsrv, ssrv);
+
+		// The cost function must not cache any residual values of the substrate
+		facade.embedServerToServer("ssrv2", "vsrv2");
+		assertEquals(CostUtility.getTotalCommunicationCostObjectiveNodeC(vsrv, ssrv), function.getNodeCost(vsrv, ssrv));
+		assertNotEquals(before, function.getNodeCost(vsrv, ssrv));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testUnsupportedObjective() {
+		final CostFunction function = CostFunction.of(Objective.TOTAL_TAF_COMMUNICATION_COST);
+		final VirtualNode vsrv = (VirtualNode) facade.getServerById("vsrv1");
+		final SubstrateNode ssrv = (SubstrateNode) facade.getServerById("ssrv1");
+		assertThrows(UnsupportedOperationException.class, () -> {
+			function.getNodeCost(vsrv, ssrv);
+		});
+	}
+
+	@Test
+	public void testNullObjective() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			CostFunction.of(null);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Checks the costs of all pairs of virtual and substrate elements of the given
+	 * objective against the {@link CostUtility}.
+	 *
+	 * @param objective Objective to check.
+	 */
+	private void checkAllPairs(final Objective objective) {
+		final SubstrateNetwork sNet = getSnet();
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		final CostFunction function = CostFunction.of(objective);
+
+		final List<SubstrateElement> linkHosts = new ArrayList<>(sNet.getPaths());
+		for (final Node n : sNet.getNodess()) {
+			if (n instanceof SubstrateServer) {
+				linkHosts.add((SubstrateServer) n);
+			}
+		}
+
+		for (final Node v : vNet.getNodess()) {
+			for (final Node s : sNet.getNodess()) {
+				assertEquals(expectedNodeCost(objective, (VirtualNode) v, (SubstrateNode) s),
+						function.getNodeCost((VirtualNode) v, (SubstrateNode) s));
+			}
+		}
+
+		for (final Link l : vNet.getLinks()) {
+			for (final SubstrateElement host : linkHosts) {
+				assertEquals(expectedLinkCost(objective, (VirtualLink) l, host),
+						function.getLinkCost((VirtualLink) l, host));
+			}
+		}
+	}
+
+	/**
+	 * Returns the expected node cost of the given objective.
+	 *
+	 * @param objective Objective.
+	 * @param virt      Virtual node.
+	 * @param sub       Substrate node.
+	 * @return Expected node cost.
+	 */
+	private double expectedNodeCost(final Objective objective, final VirtualNode virt, final SubstrateNode sub) {
+		return switch (objective) {
+		case TOTAL_PATH_COST -> CostUtility.getTotalPathCostNode(virt, sub);
+		case TOTAL_COMMUNICATION_COST_A, TOTAL_COMMUNICATION_COST_B -> CostUtility.getTotalCommunicationCostNodeAB();
+		case TOTAL_COMMUNICATION_OBJECTIVE_C -> CostUtility.getTotalCommunicationCostObjectiveNodeC(virt, sub);
+		case TOTAL_COMMUNICATION_OBJECTIVE_D -> CostUtility.getTotalCommunicationCostObjectiveNodeD(virt, sub);
+		default -> throw new UnsupportedOperationException();
+		};
+	}
+
+	/**
+	 * Returns the expected link cost of the given objective.
+	 *
+	 * @param objective Objective.
+	 * @param virt      Virtual link.
+	 * @param host      Substrate element hosting the virtual link.
+	 * @return Expected link cost.
+	 */
+	private double expectedLinkCost(final Objective objective, final VirtualLink virt,
+			final SubstrateElement host) {
+		return switch (objective) {
+		case TOTAL_PATH_COST -> CostUtility.getTotalPathCostLink(host);
+		case TOTAL_COMMUNICATION_COST_A -> CostUtility.getTotalCommunicationCostLinkA(virt, host);
+		default -> CostUtility.getTotalCommunicationCostLinkBCD(virt, host);
+		};
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSnet() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+}
@@ -0,0 +1,199 @@
+package test.algorithms.fakeilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Embedding;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.ilp.VneColumnGenerationAlgorithm;
+import algorithms.ilp.VneFakeIlpAlgorithm;
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import metrics.embedding.TotalCommunicationCostMetricC;
+import model.SubstrateNetwork;
+import model.VirtualLink;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the pricing of the VNE fake ILP algorithm with column
+ * generation. The substrate network contains two paths between its servers,
+ * but each of them only has enough bandwidth for one of the virtual links.
+ * Hence, the second path must be priced in.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VneColumnGenerationAlgorithmPricingTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Algorithm of the current test.
+	 */
+	private VneFakeIlpAlgorithm algo;
+
+	/**
+	 * Old lower limit value.
+	 */
+	private int oldLowerLimit;
+
+	/**
+	 * Old upper limit value.
+	 */
+	private int oldUpperLimit;
+
+	/**
+	 * Old Yen flag.
+	 */
+	private boolean oldYen;
+
+	/**
+	 * Old K parameter.
+	 */
+	private int oldK;
+
+	/**
+	 * Old number of pricing iterations.
+	 */
+	private int oldIterations;
+
+	/**
+	 * Old exact paths flag.
+	 */
+	private boolean oldExact;
+
+	@BeforeEach
+	public void resetModel() {
+		oldLowerLimit = ModelFacadeConfig.MIN_PATH_LENGTH;
+		oldUpperLimit = ModelFacadeConfig.MAX_PATH_LENGTH;
+		oldYen = ModelFacadeConfig.YEN_PATH_GEN;
+		oldK = ModelFacadeConfig.YEN_K;
+		oldIterations = AlgorithmConfig.ilpColumnGenerationIterations;
+		oldExact = AlgorithmConfig.ilpExactPaths;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+		ModelFacadeConfig.YEN_PATH_GEN = true;
+		ModelFacadeConfig.YEN_K = 3;
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.emb = Embedding.MANUAL;
+
+		// Two tier network with two core switches, i.e., two paths between the racks
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("csw1", "sub", 0);
+		facade.addSwitchToNetwork("csw2", "sub", 0);
+		facade.addSwitchToNetwork("rsw1", "sub", 1);
+		facade.addSwitchToNetwork("rsw2", "sub", 1);
+		facade.addServerToNetwork("ssrv1", "sub", 1, 4, 4, 2);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 1, 4, 2);
+		facade.addLinkToNetwork("sln1", "sub", 20, "ssrv1", "rsw1");
+		facade.addLinkToNetwork("sln2", "sub", 20, "rsw1", "ssrv1");
+		facade.addLinkToNetwork("sln3", "sub", 20, "ssrv2", "rsw2");
+		facade.addLinkToNetwork("sln4", "sub", 20, "rsw2", "ssrv2");
+		facade.addLinkToNetwork("sln5", "sub", 10, "rsw1", "csw1");
+		facade.addLinkToNetwork("sln6", "sub", 10, "csw1", "rsw1");
+		facade.addLinkToNetwork("sln7", "sub", 10, "rsw2", "csw1");
+		facade.addLinkToNetwork("sln8", "sub", 10, "csw1", "rsw2");
+		facade.addLinkToNetwork("sln9", "sub", 10, "rsw1", "csw2");
+		facade.addLinkToNetwork("sln10", "sub", 10, "csw2", "rsw1");
+		facade.addLinkToNetwork("sln11", "sub", 10, "rsw2", "csw2");
+		facade.addLinkToNetwork("sln12", "sub", 10, "csw2", "rsw2");
+		facade.createAllPathsForNetwork("sub");
+
+		// Each virtual server only fits onto one of the substrate servers
+		facade.addNetworkToRoot("virt", true);
+		facade.addServerToNetwork("vsrv1", "virt", 1, 3, 1, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 3, 1, 1, 1);
+		facade.addLinkToNetwork("vln1", "virt", 6, "vsrv1", "vsrv2");
+		facade.addLinkToNetwork("vln2", "virt", 6, "vsrv1", "vsrv2");
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		if (algo != null) {
+			algo.dispose();
+		}
+		ModelFacadeConfig.MIN_PATH_LENGTH = oldLowerLimit;
+		ModelFacadeConfig.MAX_PATH_LENGTH = oldUpperLimit;
+		ModelFacadeConfig.YEN_PATH_GEN = oldYen;
+		ModelFacadeConfig.YEN_K = oldK;
+		AlgorithmConfig.ilpColumnGenerationIterations = oldIterations;
+		AlgorithmConfig.ilpExactPaths = oldExact;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testPathPricedIn() {
+		algo = new VneColumnGenerationAlgorithm();
+		assertTrue(embed());
+
+		final VirtualLink vln1 = (VirtualLink) facade.getLinkById("vln1");
+		final VirtualLink vln2 = (VirtualLink) facade.getLinkById("vln2");
+		assertNotEquals(vln1.getHost(), vln2.getHost());
+		facade.validateModel();
+	}
+
+	@Test
+	public void testSameCostAsAllPaths() {
+		AlgorithmConfig.ilpExactPaths = true;
+		algo = new VneFakeIlpAlgorithm();
+		assertTrue(embed());
+		final double exactCost = getCost();
+		algo.dispose();
+		facade.removeNetworkEmbedding("virt");
+
+		algo = new VneColumnGenerationAlgorithm();
+		assertTrue(embed());
+		assertEquals(exactCost, getCost());
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testRejectedWithoutPricing() {
+		AlgorithmConfig.ilpColumnGenerationIterations = 0;
+		algo = new VneColumnGenerationAlgorithm();
+		assertFalse(embed());
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Embeds the virtual network 'virt' with the current algorithm.
+	 *
+	 * @return True if the virtual network could be embedded.
+	 */
+	private boolean embed() {
+		algo.prepare((SubstrateNetwork) facade.getNetworkById("sub"),
+				Set.of((VirtualNetwork) facade.getNetworkById("virt")));
+		return algo.execute();
+	}
+
+	/**
+	 * Returns the total communication cost of the substrate network.
+	 *
+	 * @return Total communication cost of the substrate network.
+	 */
+	private double getCost() {
+		return new TotalCommunicationCostMetricC((SubstrateNetwork) facade.getNetworkById("sub")).getValue();
+	}
+
+}
@@ -0,0 +1,337 @@
+package test.algorithms.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.ilp.PathCandidateFilter;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import gt.PatternMatchingDelta.Match;
+import metrics.embedding.TotalCommunicationCostMetricC;
+import model.SubstrateNetwork;
+import model.SubstratePath;
+import model.VirtualLink;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the filter of the candidate paths per virtual link and host
+ * pair of the ILP formulation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PathCandidateFilterTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Old lower limit value.
+	 */
+	private int oldLowerLimit;
+
+	/**
+	 * Old upper limit value.
+	 */
+	private int oldUpperLimit;
+
+	/**
+	 * Old Yen flag.
+	 */
+	private boolean oldYen;
+
+	/**
+	 * Old K parameter.
+	 */
+	private int oldK;
+
+	/**
+	 * Old maximum number of candidate paths per pair.
+	 */
+	private int oldMaxPaths;
+
+	/**
+	 * Old exact paths flag.
+	 */
+	private boolean oldExact;
+
+	@BeforeEach
+	public void resetModel() {
+		oldLowerLimit = ModelFacadeConfig.MIN_PATH_LENGTH;
+		oldUpperLimit = ModelFacadeConfig.MAX_PATH_LENGTH;
+		oldYen = ModelFacadeConfig.YEN_PATH_GEN;
+		oldK = ModelFacadeConfig.YEN_K;
+		oldMaxPaths = AlgorithmConfig.ilpMaxPathsPerPair;
+		oldExact = AlgorithmConfig.ilpExactPaths;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+		ModelFacadeConfig.YEN_PATH_GEN = true;
+		ModelFacadeConfig.YEN_K = 3;
+
+		// Two tier network with two core switches, i.e., two paths between the racks
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("csw1", "sub", 0);
+		facade.addSwitchToNetwork("csw2", "sub", 0);
+		facade.addSwitchToNetwork("rsw1", "sub", 1);
+		facade.addSwitchToNetwork("rsw2", "sub", 1);
+		facade.addServerToNetwork("ssrv1", "sub", 4, 4, 4, 2);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 4, 4, 2);
+		facade.addLinkToNetwork("sln1", "sub", 10, "ssrv1", "rsw1");
+		facade.addLinkToNetwork("sln2", "sub", 10, "rsw1", "ssrv1");
+		facade.addLinkToNetwork("sln3", "sub", 10, "ssrv2", "rsw2");
+		facade.addLinkToNetwork("sln4", "sub", 10, "rsw2", "ssrv2");
+		facade.addLinkToNetwork("sln5", "sub", 10, "rsw1", "csw1");
+		facade.addLinkToNetwork("sln6", "sub", 10, "csw1", "rsw1");
+		facade.addLinkToNetwork("sln7", "sub", 10, "rsw2", "csw1");
+		facade.addLinkToNetwork("sln8", "sub", 10, "csw1", "rsw2");
+		facade.addLinkToNetwork("sln9", "sub", 10, "rsw1", "csw2");
+		facade.addLinkToNetwork("sln10", "sub", 10, "csw2", "rsw1");
+		facade.addLinkToNetwork("sln11", "sub", 10, "rsw2", "csw2");
+		facade.addLinkToNetwork("sln12", "sub", 10, "csw2", "rsw2");
+		facade.createAllPathsForNetwork("sub");
+
+		facade.addNetworkToRoot("virt", true);
+		facade.addServerToNetwork("vsrv1", "virt", 1, 1, 1, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 1, 1, 1, 1);
+		facade.addLinkToNetwork("vln1", "virt", 2, "vsrv1", "vsrv2");
+		facade.addLinkToNetwork("vln2", "virt", 2, "vsrv2", "vsrv1");
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		ModelFacadeConfig.MIN_PATH_LENGTH = oldLowerLimit;
+		ModelFacadeConfig.MAX_PATH_LENGTH = oldUpperLimit;
+		ModelFacadeConfig.YEN_PATH_GEN = oldYen;
+		ModelFacadeConfig.YEN_K = oldK;
+		AlgorithmConfig.ilpMaxPathsPerPair = oldMaxPaths;
+		AlgorithmConfig.ilpExactPaths = oldExact;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testKeepCheapest() {
+		final List<SubstratePath> paths = getPaths("ssrv1", "ssrv2");
+		assertEquals(2, paths.size());
+		final SubstratePath cheap = paths.get(1);
+
+		final PathCandidateFilter filter = new PathCandidateFilter(1, (v, p) -> p == cheap ? 1 : 2);
+		final List<Match> kept = filter.filter(getMatches("vln1", paths));
+
+		assertEquals(List.of(new Match(getLink("vln1"), cheap)), kept);
+		assertEquals(1, filter.getNumberOfPrunedPaths());
+	}
+
+	@Test
+	public void testTieBrokenByResidualBandwidth() {
+		final List<SubstratePath> paths = getPaths("ssrv1", "ssrv2");
+		paths.get(0).setResidualBandwidth(5);
+
+		final PathCandidateFilter filter = new PathCandidateFilter(1, (v, p) -> 1);
+		final List<Match> kept = filter.filter(getMatches("vln1", paths));
+
+		assertEquals(List.of(new Match(getLink("vln1"), paths.get(1))), kept);
+	}
+
+	@Test
+	public void testInfeasibleRankedLast() {
+		final List<SubstratePath> paths = getPaths("ssrv1", "ssrv2");
+		final SubstratePath infeasible = paths.get(0);
+		infeasible.setResidualBandwidth(1);
+
+		final PathCandidateFilter filter = new PathCandidateFilter(1, (v, p) -> p == infeasible ? 1 : 2);
+		final List<Match> kept = filter.filter(getMatches("vln1", paths));
+
+		assertEquals(List.of(new Match(getLink("vln1"), paths.get(1))), kept);
+	}
+
+	@Test
+	public void testPairsAndLinksIndependent() {
+		final List<Match> matches = getMatches("vln1", getPaths("ssrv1", "ssrv2"));
+		matches.addAll(getMatches("vln1", getPaths("ssrv2", "ssrv1")));
+		matches.addAll(getMatches("vln2", getPaths("ssrv1", "ssrv2")));
+		matches.addAll(getMatches("vln1", getPaths("ssrv1", "rsw1")));
+
+		final PathCandidateFilter filter = new PathCandidateFilter(1, (v, p) -> p.getHops());
+		final List<Match> kept = filter.filter(matches);
+
+		assertEquals(4, kept.size());
+		assertEquals(matches.size() - 4, filter.getNumberOfPrunedPaths());
+		assertEquals(4, kept.stream().map(m -> List.of(m.getVirtual(), ((SubstratePath) m.getSubstrate()).getSource(),
+				((SubstratePath) m.getSubstrate()).getTarget())).collect(Collectors.toSet()).size());
+	}
+
+	@Test
+	public void testOrderKept() {
+		final List<Match> matches = getMatches("vln1", getPaths("ssrv1", "ssrv2"));
+		matches.addAll(getMatches("vln2", getPaths("ssrv2", "ssrv1")));
+
+		final PathCandidateFilter filter = new PathCandidateFilter(2, (v, p) -> p.getHops());
+		assertEquals(matches, filter.filter(matches));
+		assertEquals(0, filter.getNumberOfPrunedPaths());
+	}
+
+	@Test
+	public void testOfferEvictsWorst() {
+		final List<SubstratePath> paths = getPaths("ssrv1", "ssrv2");
+		final SubstratePath cheap = paths.get(1);
+		final Match expensive = new Match(getLink("vln1"), paths.get(0));
+		final Match cheapest = new Match(getLink("vln1"), cheap);
+
+		final PathCandidateFilter filter = new PathCandidateFilter(1, (v, p) -> p == cheap ? 1 : 2);
+		assertTrue(filter.offer(expensive));
+		assertTrue(filter.offer(cheapest));
+		assertEquals(1, filter.getNumberOfPrunedPaths());
+
+		// A worse candidate than the held one gets pruned directly
+		assertFalse(filter.offer(expensive));
+		assertEquals(2, filter.getNumberOfPrunedPaths());
+
+		assertEquals(List.of(cheapest), filter.drain());
+		assertEquals(List.of(), filter.drain());
+	}
+
+	@Test
+	public void testDrainBestFirst() {
+		final List<Match> matches = getMatches("vln1", getPaths("ssrv1", "ssrv2"));
+		final Match cheap = matches.get(1);
+
+		final PathCandidateFilter filter = new PathCandidateFilter(2, (v, p) -> p == cheap.getSubstrate() ? 1 : 2);
+		matches.forEach(m -> assertTrue(filter.offer(m)));
+
+		assertEquals(List.of(cheap, matches.get(0)), filter.drain());
+		assertEquals(0, filter.getNumberOfPrunedPaths());
+	}
+
+	@Test
+	public void testDisabled() {
+		final List<Match> matches = getMatches("vln1", getPaths("ssrv1", "ssrv2"));
+		final PathCandidateFilter filter = new PathCandidateFilter(0, (v, p) -> p.getHops());
+
+		assertFalse(filter.isActive());
+		assertEquals(matches, filter.filter(matches));
+	}
+
+	@Test
+	public void testExactMode() {
+		AlgorithmConfig.ilpMaxPathsPerPair = 1;
+		AlgorithmConfig.ilpExactPaths = false;
+		assertTrue(new PathCandidateFilter((v, p) -> p.getHops()).isActive());
+
+		AlgorithmConfig.ilpExactPaths = true;
+		assertFalse(new PathCandidateFilter((v, p) -> p.getHops()).isActive());
+	}
+
+	@Test
+	public void testPmEmbeddingCostUnchanged() {
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+
+		// All virtual servers do not fit onto one substrate server
+		facade.addServerToNetwork("vsrv3", "virt", 3, 3, 3, 1);
+		facade.addLinkToNetwork("vln3", "virt", 2, "vsrv1", "vsrv3");
+		facade.addLinkToNetwork("vln4", "virt", 2, "vsrv3", "vsrv1");
+
+		AlgorithmConfig.ilpExactPaths = true;
+		final double exactCost = embed();
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		facade.removeNetworkEmbedding("virt");
+
+		AlgorithmConfig.ilpExactPaths = false;
+		AlgorithmConfig.ilpMaxPathsPerPair = 1;
+		assertEquals(exactCost, embed());
+		assertTrue(sNet.getGuests().contains(facade.getNetworkById("virt")));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullCostFunction() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new PathCandidateFilter(1, null);
+		});
+	}
+
+	@Test
+	public void testOfferDisabled() {
+		final PathCandidateFilter filter = new PathCandidateFilter(0, (v, p) -> p.getHops());
+		assertThrows(UnsupportedOperationException.class, () -> {
+			filter.offer(getMatches("vln1", getPaths("ssrv1", "ssrv2")).get(0));
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Embeds the virtual network 'virt' with the VNE PM MdVNE algorithm.
+	 *
+	 * @return Total communication cost of the substrate network afterwards.
+	 */
+	private double embed() {
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VnePmMdvneAlgorithm algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, Set.of((VirtualNetwork) facade.getNetworkById("virt")));
+		try {
+			assertTrue(algo.execute());
+		} finally {
+			algo.dispose();
+		}
+		return new TotalCommunicationCostMetricC(sNet).getValue();
+	}
+
+	/**
+	 * Returns all paths from the given source to the given target node sorted by
+	 * their names.
+	 *
+	 * @param source Source node ID.
+	 * @param target Target node ID.
+	 * @return List of paths.
+	 */
+	private List<SubstratePath> getPaths(final String source, final String target) {
+		return facade.getAllPathsOfNetwork("sub").stream()
+				.filter(p -> p.getSource().getName().equals(source) && p.getTarget().getName().equals(target))
+				.sorted((a, b) -> a.getName().compareTo(b.getName())).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the virtual link with the given ID.
+	 *
+	 * @param id Virtual link ID.
+	 * @return Virtual link.
+	 */
+	private VirtualLink getLink(final String id) {
+		return (VirtualLink) facade.getLinkById(id);
+	}
+
+	/**
+	 * Creates link to path matches from the given virtual link to all given paths.
+	 *
+	 * @param link  Virtual link ID.
+	 * @param paths Substrate paths.
+	 * @return Modifiable list of matches.
+	 */
+	private List<Match> getMatches(final String link, final List<SubstratePath> paths) {
+		return paths.stream().map(p -> new Match(getLink(link), p)).collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,309 @@
+package test.algorithms.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Embedding;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.ilp.SwitchPlacement;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import model.Node;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import model.VirtualServer;
+import model.VirtualSwitch;
+
+/**
+ * Test class for the placement of the virtual switches in the ILP formulation,
+ * i.e., the pruning of their candidate hosts and the collapsing of star-shaped
+ * virtual networks.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SwitchPlacementTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * Old lower limit value.
+	 */
+	private int oldLowerLimit;
+
+	/**
+	 * Old upper limit value.
+	 */
+	private int oldUpperLimit;
+
+	/**
+	 * Old switch pruning flag.
+	 */
+	private boolean oldPruning;
+
+	/**
+	 * Old star collapsing flag.
+	 */
+	private boolean oldCollapse;
+
+	@BeforeEach
+	public void resetModel() {
+		oldLowerLimit = ModelFacadeConfig.MIN_PATH_LENGTH;
+		oldUpperLimit = ModelFacadeConfig.MAX_PATH_LENGTH;
+		oldPruning = AlgorithmConfig.ilpSwitchPruning;
+		oldCollapse = AlgorithmConfig.ilpCollapseStars;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+
+		// Two tier network with three racks, only the servers of the first rack can
+		// host the virtual servers
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("csw1", "sub", 0);
+		facade.addSwitchToNetwork("rsw1", "sub", 1);
+		facade.addSwitchToNetwork("rsw2", "sub", 1);
+		facade.addSwitchToNetwork("rsw3", "sub", 1);
+		facade.addServerToNetwork("ssrv1", "sub", 4, 4, 4, 2);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 4, 4, 2);
+		facade.addServerToNetwork("ssrv3", "sub", 1, 1, 1, 2);
+		facade.addServerToNetwork("ssrv4", "sub", 1, 1, 1, 2);
+		facade.addLinkToNetwork("sln1", "sub", 10, "ssrv1", "rsw1");
+		facade.addLinkToNetwork("sln2", "sub", 10, "rsw1", "ssrv1");
+		facade.addLinkToNetwork("sln3", "sub", 10, "ssrv2", "rsw1");
+		facade.addLinkToNetwork("sln4", "sub", 10, "rsw1", "ssrv2");
+		facade.addLinkToNetwork("sln5", "sub", 10, "ssrv3", "rsw2");
+		facade.addLinkToNetwork("sln6", "sub", 10, "rsw2", "ssrv3");
+		facade.addLinkToNetwork("sln7", "sub", 10, "ssrv4", "rsw3");
+		facade.addLinkToNetwork("sln8", "sub", 10, "rsw3", "ssrv4");
+		facade.addLinkToNetwork("sln9", "sub", 10, "rsw1", "csw1");
+		facade.addLinkToNetwork("sln10", "sub", 10, "csw1", "rsw1");
+		facade.addLinkToNetwork("sln11", "sub", 10, "rsw2", "csw1");
+		facade.addLinkToNetwork("sln12", "sub", 10, "csw1", "rsw2");
+		facade.addLinkToNetwork("sln13", "sub", 10, "rsw3", "csw1");
+		facade.addLinkToNetwork("sln14", "sub", 10, "csw1", "rsw3");
+		facade.createAllPathsForNetwork("sub");
+
+		// Star-shaped virtual network
+		facade.addNetworkToRoot("virt", true);
+		facade.addSwitchToNetwork("vsw", "virt", 0);
+		facade.addServerToNetwork("vsrv1", "virt", 2, 2, 2, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 2, 2, 2, 1);
+		facade.addLinkToNetwork("vln1", "virt", 1, "vsrv1", "vsw");
+		facade.addLinkToNetwork("vln2", "virt", 1, "vsw", "vsrv1");
+		facade.addLinkToNetwork("vln3", "virt", 2, "vsrv2", "vsw");
+		facade.addLinkToNetwork("vln4", "virt", 2, "vsw", "vsrv2");
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		ModelFacadeConfig.MIN_PATH_LENGTH = oldLowerLimit;
+		ModelFacadeConfig.MAX_PATH_LENGTH = oldUpperLimit;
+		AlgorithmConfig.ilpSwitchPruning = oldPruning;
+		AlgorithmConfig.ilpCollapseStars = oldCollapse;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testPruneToPathsBetweenHosts() {
+		final SwitchPlacement placement = new SwitchPlacement(getSubstrate(), Set.of(getVirtual()), true, false);
+
+		for (final String id : List.of("ssrv1", "ssrv2", "rsw1", "csw1")) {
+			assertTrue(placement.isCandidate(getSwitch("vsw"), getNode(id)), id);
+		}
+		for (final String id : List.of("ssrv3", "ssrv4", "rsw2", "rsw3")) {
+			assertFalse(placement.isCandidate(getSwitch("vsw"), getNode(id)), id);
+		}
+		assertEquals(4, placement.getNumberOfPrunedCandidates());
+	}
+
+	@Test
+	public void testPruneInfeasiblePaths() {
+		// The hosts are connected via one switch with enough bandwidth and via a chain
+		// of three switches without enough bandwidth
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("sw1", "sub", 1);
+		facade.addSwitchToNetwork("sw2", "sub", 1);
+		facade.addSwitchToNetwork("sw3", "sub", 1);
+		facade.addSwitchToNetwork("sw4", "sub", 1);
+		facade.addServerToNetwork("ssrv1", "sub", 4, 4, 4, 2);
+		facade.addServerToNetwork("ssrv2", "sub", 4, 4, 4, 2);
+		facade.addLinkToNetwork("sln1", "sub", 10, "ssrv1", "sw1");
+		facade.addLinkToNetwork("sln2", "sub", 10, "sw1", "ssrv2");
+		facade.addLinkToNetwork("sln3", "sub", 1, "ssrv1", "sw2");
+		facade.addLinkToNetwork("sln4", "sub", 1, "sw2", "sw3");
+		facade.addLinkToNetwork("sln5", "sub", 1, "sw3", "sw4");
+		facade.addLinkToNetwork("sln6", "sub", 1, "sw4", "ssrv2");
+		facade.createAllPathsForNetwork("sub");
+		facade.addNetworkToRoot("virt", true);
+		facade.addSwitchToNetwork("vsw", "virt", 0);
+		facade.addServerToNetwork("vsrv1", "virt", 2, 2, 2, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 2, 2, 2, 1);
+		facade.addLinkToNetwork("vln1", "virt", 2, "vsrv1", "vsw");
+		facade.addLinkToNetwork("vln2", "virt", 2, "vsw", "vsrv2");
+
+		final SwitchPlacement placement = new SwitchPlacement(getSubstrate(), Set.of(getVirtual()), true, false);
+		assertTrue(placement.isCandidate(getSwitch("vsw"), getNode("sw1")));
+
+		// Adjacent to a host, but not on a feasible path
+		assertTrue(placement.isCandidate(getSwitch("vsw"), getNode("sw2")));
+		assertTrue(placement.isCandidate(getSwitch("vsw"), getNode("sw4")));
+
+		// Neither on nor adjacent to a feasible path
+		assertFalse(placement.isCandidate(getSwitch("vsw"), getNode("sw3")));
+	}
+
+	@Test
+	public void testNoNeighboringServers() {
+		facade.addNetworkToRoot("virt2", true);
+		facade.addSwitchToNetwork("vsw2", "virt2", 0);
+		facade.addSwitchToNetwork("vsw3", "virt2", 0);
+		facade.addLinkToNetwork("vln5", "virt2", 1, "vsw2", "vsw3");
+
+		final SwitchPlacement placement = new SwitchPlacement(getSubstrate(),
+				Set.of((VirtualNetwork) facade.getNetworkById("virt2")), true, true);
+		assertFalse(placement.isCollapsed(getSwitch("vsw2")));
+		assertTrue(placement.isCandidate(getSwitch("vsw2"), getNode("ssrv4")));
+		assertEquals(0, placement.getNumberOfPrunedCandidates());
+	}
+
+	@Test
+	public void testCollapseStar() {
+		final SwitchPlacement placement = new SwitchPlacement(getSubstrate(), Set.of(getVirtual()), false, true);
+
+		assertTrue(placement.isCollapsed(getSwitch("vsw")));
+		assertFalse(placement.isCandidate(getSwitch("vsw"), getNode("ssrv1")));
+
+		// The anchor is the server with the highest bandwidth to the switch
+		assertEquals(facade.getServerById("vsrv2"), placement.getRepresentative(getSwitch("vsw")));
+		assertEquals(facade.getServerById("vsrv1"), placement.getRepresentative(facade.getServerById("vsrv1")));
+	}
+
+	@Test
+	public void testNoStar() {
+		facade.addLinkToNetwork("vln5", "virt", 1, "vsrv1", "vsrv2");
+
+		final SwitchPlacement placement = new SwitchPlacement(getSubstrate(), Set.of(getVirtual()), false, true);
+		assertFalse(placement.isCollapsed(getSwitch("vsw")));
+		assertEquals(getSwitch("vsw"), placement.getRepresentative(getSwitch("vsw")));
+	}
+
+	@Test
+	public void testUnrestricted() {
+		final SwitchPlacement placement = SwitchPlacement.unrestricted();
+		assertFalse(placement.isCollapsed(getSwitch("vsw")));
+		assertTrue(placement.isCandidate(getSwitch("vsw"), getNode("ssrv4")));
+	}
+
+	@Test
+	public void testPmEmbeddingPruned() {
+		AlgorithmConfig.ilpSwitchPruning = true;
+		embed();
+
+		final Node host = getSwitch("vsw").getHost();
+		assertTrue(List.of("ssrv1", "ssrv2", "rsw1", "csw1").contains(host.getName()));
+		facade.validateModel();
+	}
+
+	@Test
+	public void testPmEmbeddingCollapsed() {
+		AlgorithmConfig.ilpCollapseStars = true;
+		embed();
+
+		final VirtualServer anchor = (VirtualServer) facade.getServerById("vsrv2");
+		assertEquals(anchor.getHost(), getSwitch("vsw").getHost());
+		facade.validateModel();
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullVirtualNetworks() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SwitchPlacement(getSubstrate(), null, true, true);
+		});
+	}
+
+	@Test
+	public void testPruneWithoutSubstrateNetwork() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new SwitchPlacement(null, Set.of(getVirtual()), true, false);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Embeds the virtual network 'virt' with the VNE PM MdVNE algorithm.
+	 */
+	private void embed() {
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		AlgorithmConfig.emb = Embedding.MANUAL;
+		final VnePmMdvneAlgorithm algo = new VnePmMdvneAlgorithm();
+		algo.prepare(getSubstrate(), Set.of(getVirtual()));
+		try {
+			assertTrue(algo.execute());
+		} finally {
+			algo.dispose();
+		}
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSubstrate() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+	/**
+	 * Returns the virtual network 'virt'.
+	 *
+	 * @return Virtual network.
+	 */
+	private VirtualNetwork getVirtual() {
+		return (VirtualNetwork) facade.getNetworkById("virt");
+	}
+
+	/**
+	 * Returns the virtual switch with the given ID.
+	 *
+	 * @param id Virtual switch ID.
+	 * @return Virtual switch.
+	 */
+	private VirtualSwitch getSwitch(final String id) {
+		return (VirtualSwitch) facade.getSwitchById(id);
+	}
+
+	/**
+	 * Returns the substrate server or switch with the given ID.
+	 *
+	 * @param id Substrate node ID.
+	 * @return Substrate node.
+	 */
+	private Node getNode(final String id) {
+		return id.contains("srv") ? facade.getServerById(id) : facade.getSwitchById(id);
+	}
+
+}
@@ -0,0 +1,177 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.pm.PatternMatcherWarmup;
+import gt.IncrementalPatternMatcher;
+import gt.IncrementalPatternMatcherFactory;
+import gt.PatternMatchingDelta;
+import model.SubstrateElement;
+import model.VirtualElement;
+
+/**
+ * Test class for the background construction of pattern matchers.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PatternMatcherWarmupTest {
+
+	/**
+	 * Fake pattern matcher that remembers the thread it was built on.
+	 */
+	private static class FakePatternMatcher implements IncrementalPatternMatcher {
+
+		/**
+		 * Name of the thread that built this pattern matcher.
+		 */
+		private final String thread = Thread.currentThread().getName();
+
+		/**
+		 * True if this pattern matcher was disposed.
+		 */
+		private boolean disposed = false;
+
+		@Override
+		public void dispose() {
+			disposed = true;
+		}
+
+		@Override
+		public PatternMatchingDelta run() {
+			return new PatternMatchingDelta();
+		}
+
+		@Override
+		public void apply(final VirtualElement virt, final SubstrateElement sub, final boolean doUpdate) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/**
+	 * Factory for fake pattern matchers that counts all creations.
+	 */
+	private static class FakeFactory extends IncrementalPatternMatcherFactory {
+
+		/**
+		 * Number of created pattern matchers.
+		 */
+		private final AtomicInteger created = new AtomicInteger();
+
+		/**
+		 * Last created pattern matcher.
+		 */
+		private volatile FakePatternMatcher last;
+
+		@Override
+		public IncrementalPatternMatcher create() {
+			created.incrementAndGet();
+			last = new FakePatternMatcher();
+			return last;
+		}
+
+	}
+
+	/**
+	 * Old background initialization flag.
+	 */
+	private boolean oldBackgroundInit;
+
+	@BeforeEach
+	public void saveConfig() {
+		oldBackgroundInit = AlgorithmConfig.pmBackgroundInit;
+		AlgorithmConfig.pmBackgroundInit = true;
+	}
+
+	@AfterEach
+	public void restoreConfig() {
+		AlgorithmConfig.pmBackgroundInit = oldBackgroundInit;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testTakeBackgroundEngine() {
+		final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+		final FakeFactory factory = new FakeFactory();
+		warmup.start(factory);
+
+		// Starting a second time must not build a second engine
+		warmup.start(factory);
+
+		final FakePatternMatcher pm = (FakePatternMatcher) warmup.take(factory);
+		assertEquals(1, factory.created.get());
+		assertNotEquals(Thread.currentThread().getName(), pm.thread);
+	}
+
+	@Test
+	public void testTakeWithoutStart() {
+		final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+		final FakeFactory factory = new FakeFactory();
+
+		final FakePatternMatcher pm = (FakePatternMatcher) warmup.take(factory);
+		assertEquals(1, factory.created.get());
+		assertEquals(Thread.currentThread().getName(), pm.thread);
+	}
+
+	@Test
+	public void testDisabled() {
+		AlgorithmConfig.pmBackgroundInit = false;
+		final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+		final FakeFactory factory = new FakeFactory();
+		warmup.start(factory);
+		warmup.joinAll();
+		assertEquals(0, factory.created.get());
+
+		final FakePatternMatcher pm = (FakePatternMatcher) warmup.take(factory);
+		assertEquals(Thread.currentThread().getName(), pm.thread);
+	}
+
+	@Test
+	public void testJoinAllAndDispose() {
+		final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+		final FakeFactory factory = new FakeFactory();
+		warmup.start(factory);
+		warmup.joinAll();
+		assertEquals(1, factory.created.get());
+		assertFalse(factory.last.disposed);
+
+		// Engines that were not taken get disposed
+		warmup.dispose();
+		assertTrue(factory.last.disposed);
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testFailingConstruction() {
+		final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+		final IncrementalPatternMatcherFactory factory = new IncrementalPatternMatcherFactory() {
+			@Override
+			public IncrementalPatternMatcher create() {
+				throw new UnsupportedOperationException("fail");
+			}
+		};
+		warmup.start(factory);
+
+		assertThrows(UnsupportedOperationException.class, () -> {
+			warmup.take(factory);
+		});
+	}
+
+}
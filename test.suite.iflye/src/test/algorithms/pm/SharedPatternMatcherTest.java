@@ -0,0 +1,151 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import facade.ModelFacade;
+import generators.OneTierNetworkGenerator;
+import generators.config.OneTierConfig;
+import gt.IncrementalPatternMatcher;
+import gt.IncrementalPatternMatcherFactory;
+import gt.PatternMatchingDelta;
+import gt.emoflon.EmoflonGtFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
+import gt.emoflon.EmoflonGtSharedFactory;
+
+/**
+ * Test class for the shared pattern matching engine that contains the rules of
+ * all pipeline stages.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SharedPatternMatcherTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	/**
+	 * All pattern matchers created by a test.
+	 */
+	private final List<IncrementalPatternMatcher> matchers = new ArrayList<>();
+
+	@BeforeEach
+	public void resetModel() {
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+		new OneTierNetworkGenerator(new OneTierConfig(2, 1, false, 2, 2, 2, 10)).createNetwork("sub", false);
+		new OneTierNetworkGenerator(new OneTierConfig(2, 1, false, 1, 1, 1, 1)).createNetwork("virt", true);
+		facade.createAllPathsForNetwork("sub");
+	}
+
+	@AfterEach
+	public void disposeMatchers() {
+		matchers.forEach(IncrementalPatternMatcher::dispose);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testFullStageEqualsSeparateEngine() {
+		final PatternMatchingDelta expected = create(new EmoflonGtFactory()).run();
+		final PatternMatchingDelta actual = create(new EmoflonGtSharedFactory(Stage.FULL)).run();
+
+		assertFalse(actual.getNewServerMatchPositives().isEmpty());
+		assertEquals(expected.getNewServerMatchPositives(), actual.getNewServerMatchPositives());
+		assertEquals(expected.getNewSwitchMatchPositives(), actual.getNewSwitchMatchPositives());
+		assertEquals(expected.getNewLinkPathMatchPositives(), actual.getNewLinkPathMatchPositives());
+		assertEquals(expected.getNewLinkServerMatchPositives(), actual.getNewLinkServerMatchPositives());
+		assertTrue(actual.getNewNetworkServerMatchPositives().isEmpty());
+	}
+
+	@Test
+	public void testMatchesTaggedByStage() {
+		final PatternMatchingDelta rack = create(new EmoflonGtSharedFactory(Stage.RACK_A)).run();
+		final PatternMatchingDelta vnet = create(new EmoflonGtSharedFactory(Stage.VNET)).run();
+
+		assertFalse(rack.getNewServerMatchPositives().isEmpty());
+		assertTrue(rack.getNewNetworkServerMatchPositives().isEmpty());
+		assertFalse(vnet.getNewNetworkServerMatchPositives().isEmpty());
+		assertTrue(vnet.getNewServerMatchPositives().isEmpty());
+		assertTrue(vnet.getNewLinkPathMatchPositives().isEmpty());
+	}
+
+	@Test
+	public void testViewsHaveOwnDeltas() {
+		final IncrementalPatternMatcher first = create(new EmoflonGtSharedFactory(Stage.FULL));
+		final IncrementalPatternMatcher second = create(new EmoflonGtSharedFactory(Stage.FULL));
+
+		final PatternMatchingDelta firstDelta = first.run();
+		assertTrue(first.run().getNewServerMatchPositives().isEmpty());
+		assertEquals(firstDelta.getNewServerMatchPositives(), second.run().getNewServerMatchPositives());
+	}
+
+	@Test
+	public void testLateViewGetsExistingMatches() {
+		final PatternMatchingDelta expected = create(new EmoflonGtSharedFactory(Stage.FULL)).run();
+		final PatternMatchingDelta actual = create(new EmoflonGtSharedFactory(Stage.FULL)).run();
+
+		assertEquals(expected.getNewServerMatchPositives(), actual.getNewServerMatchPositives());
+		assertEquals(expected.getNewLinkPathMatchPositives(), actual.getNewLinkPathMatchPositives());
+	}
+
+	@Test
+	public void testFactoryEquality() {
+		assertEquals(new EmoflonGtSharedFactory(Stage.RACK_A), new EmoflonGtSharedFactory(Stage.RACK_A));
+		assertEquals(new EmoflonGtSharedFactory(Stage.RACK_A).hashCode(),
+				new EmoflonGtSharedFactory(Stage.RACK_A).hashCode());
+		assertNotEquals(new EmoflonGtSharedFactory(Stage.RACK_A), new EmoflonGtSharedFactory(Stage.RACK_B));
+		assertNotEquals(new EmoflonGtSharedFactory(Stage.FULL), new EmoflonGtFactory());
+	}
+
+	@Test
+	public void testDisposeTwice() {
+		final IncrementalPatternMatcher matcher = create(new EmoflonGtSharedFactory(Stage.FULL));
+		matcher.dispose();
+		matcher.dispose();
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullStage() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new EmoflonGtSharedFactory(null);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Creates a new pattern matcher with the given factory that gets disposed
+	 * after the test.
+	 *
+	 * @param factory Factory to create the pattern matcher with.
+	 * @return New pattern matcher.
+	 */
+	private IncrementalPatternMatcher create(final IncrementalPatternMatcherFactory factory) {
+		final IncrementalPatternMatcher matcher = factory.create();
+		matchers.add(matcher);
+		return matcher;
+	}
+
+}
@@ -0,0 +1,153 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class that checks the rule set of the shared pattern matching engine
+ * against the rule sets of all pipeline stages. The shared rule set must be a
+ * copy of the stage rule sets in which the stage rules are prefixed with the
+ * name of their stage.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SharedRulesConsistencyTest {
+
+	/**
+	 * Path of the shared rule set.
+	 */
+	private static final Path SHARED = Path.of("../network.model.rules.shared/src/network/model/rules/shared/Rules.gt");
+
+	/**
+	 * Marker comment that starts the rules of a stage in the shared rule set.
+	 */
+	private static final Pattern STAGE_MARKER = Pattern.compile("^//\\n// Stage: (.*)\\n//\\n", Pattern.MULTILINE);
+
+	/**
+	 * Declaration of a rule.
+	 */
+	private static final Pattern RULE = Pattern.compile("^rule (\\w+)\\(", Pattern.MULTILINE);
+
+	/**
+	 * Name of the stage, rule name prefix, and path of the original rule set of
+	 * all stages (in the order of the shared rule set).
+	 */
+	private static final String[][] STAGES = new String[][] {
+			{ "Full", "", "../network.model.rules/src/network/model/rules/embeddingRules.gt" },
+			{ "Rack A", "rackA", "../network.model.rules.racka/src/network/model/rules/racka/Rules.gt" },
+			{ "Rack B", "rackB", "../network.model.rules.rackb/src/network/model/rules/rackb/Rules.gt" },
+			{ "Virtual network", "vnet",
+					"../network.model.rules.vnet/src/network/model/rules/vnet/embeddingRules.gt" } };
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testSameImports() throws IOException {
+		final String shared = read(SHARED);
+		for (final String[] stage : STAGES) {
+			for (final String imp : getImports(read(Path.of(stage[2])))) {
+				assertTrue(shared.contains(imp + "\n"), "Missing import of stage " + stage[0] + ": " + imp);
+			}
+		}
+	}
+
+	@Test
+	public void testSameStages() throws IOException {
+		final List<String> names = new ArrayList<>();
+		final Matcher m = STAGE_MARKER.matcher(read(SHARED));
+		while (m.find()) {
+			names.add(m.group(1));
+		}
+
+		final List<String> expected = new ArrayList<>();
+		for (final String[] stage : STAGES) {
+			expected.add(stage[0]);
+		}
+		assertEquals(expected, names);
+	}
+
+	@Test
+	public void testSameRules() throws IOException {
+		final String[] sections = STAGE_MARKER.split(read(SHARED));
+		assertEquals(STAGES.length + 1, sections.length);
+
+		for (int i = 0; i < STAGES.length; i++) {
+			final String expected = prefixRules(stripImports(read(Path.of(STAGES[i][2]))), STAGES[i][1]);
+			assertEquals(expected.strip(), sections[i + 1].strip(),
+					"Rules of stage " + STAGES[i][0] + " differ from " + STAGES[i][2]);
+		}
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Reads the given rule set with normalized line breaks.
+	 *
+	 * @param path Path of the rule set.
+	 * @return Content of the rule set.
+	 * @throws IOException If the file could not be read.
+	 */
+	private static String read(final Path path) throws IOException {
+		return Files.readString(path).replace("\r\n", "\n");
+	}
+
+	/**
+	 * Returns all import lines of the given rule set.
+	 *
+	 * @param rules Content of the rule set.
+	 * @return Import lines.
+	 */
+	private static List<String> getImports(final String rules) {
+		return rules.lines().filter(l -> l.startsWith("import ")).toList();
+	}
+
+	/**
+	 * Removes all import lines from the given rule set.
+	 *
+	 * @param rules Content of the rule set.
+	 * @return Rule set without imports.
+	 */
+	private static String stripImports(final String rules) {
+		return rules.replaceAll("(?m)^import .*\\n", "");
+	}
+
+	/**
+	 * Prefixes the names of all rules with the given stage prefix, unless they
+	 * already start with it.
+	 *
+	 * @param rules  Content of the rule set.
+	 * @param prefix Prefix of the stage (empty for no prefix).
+	 * @return Rule set with prefixed rule names.
+	 */
+	private static String prefixRules(final String rules, final String prefix) {
+		if (prefix.isEmpty()) {
+			return rules;
+		}
+
+		final Matcher m = RULE.matcher(rules);
+		final StringBuilder sb = new StringBuilder();
+		while (m.find()) {
+			final String name = m.group(1);
+			final String prefixed = name.startsWith(prefix) ? name
+					: prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+			m.appendReplacement(sb, "rule " + prefixed + "(");
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+
+}
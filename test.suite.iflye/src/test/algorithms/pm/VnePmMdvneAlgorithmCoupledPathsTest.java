@@ -0,0 +1,67 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import gt.PatternMatchingConfig;
+import gt.PatternMatchingDelta;
+import gt.PatternMatchingDelta.Match;
+import model.SubstrateNetwork;
+import model.SubstratePath;
+import model.VirtualLink;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with endpoint-coupled
+ * link to path matching. All embeddings must be equal to the ones without the
+ * coupling.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmCoupledPathsTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		PatternMatchingConfig.coupledLinkPaths = true;
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetCoupling() {
+		PatternMatchingConfig.coupledLinkPaths = false;
+	}
+
+	@Test
+	public void testEndpointMatches() {
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("sub", 1);
+		facade.createAllPathsForNetwork("sub");
+
+		final VirtualLink vLink = (VirtualLink) facade.getLinkById("virt_ln1");
+		final SubstratePath sPath = facade.getPathFromSourceToTarget("sub_srv1", "sub_sw");
+		final Match linkPathMatch = new Match(vLink, sPath);
+
+		final PatternMatchingDelta delta = new PatternMatchingDelta();
+		delta.addLinkPathMatchPositive(vLink, sPath);
+		assertFalse(delta.hasEndpointMatches(linkPathMatch));
+
+		// Source only
+		delta.addServerMatchPositive(vLink.getSource(), sPath.getSource());
+		assertFalse(delta.hasEndpointMatches(linkPathMatch));
+
+		// Source and target
+		delta.addSwitchMatchPositive(vLink.getTarget(), sPath.getTarget());
+		assertTrue(delta.hasEndpointMatches(linkPathMatch));
+	}
+
+}
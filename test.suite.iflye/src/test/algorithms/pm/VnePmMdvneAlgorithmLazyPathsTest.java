@@ -0,0 +1,215 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import generators.OneTierNetworkGenerator;
+import generators.TwoTierNetworkGenerator;
+import generators.cache.LazySubstratePaths;
+import generators.config.OneTierConfig;
+import generators.config.PathCacheConfig;
+import generators.config.TwoTierConfig;
+import metrics.embedding.TotalCommunicationCostMetricC;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AAlgorithmTest;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with substrate paths
+ * that are generated on demand. All embeddings must be identical (i.e.,
+ * accepted or rejected with the same cost) to the ones with eagerly generated
+ * paths.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmLazyPathsTest extends AAlgorithmTest {
+
+	/**
+	 * Old lazy flag.
+	 */
+	private boolean oldLazy;
+
+	/**
+	 * Old maximum number of materialized paths.
+	 */
+	private int oldMaxPaths;
+
+	@BeforeEach
+	public void saveLazyConfig() {
+		oldLazy = PathCacheConfig.LAZY;
+		oldMaxPaths = PathCacheConfig.LAZY_MAX_PATHS;
+	}
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		PathCacheConfig.LAZY = oldLazy;
+		PathCacheConfig.LAZY_MAX_PATHS = oldMaxPaths;
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testAllOnOneServerSmall() {
+		checkIdentical(2, 2, List.of(2), false);
+	}
+
+	@Test
+	public void testAllOnOneRackSmall() {
+		checkIdentical(2, 2, List.of(4), false);
+	}
+
+	@Test
+	public void testAllOnMultipleRacksSmall() {
+		checkIdentical(2, 2, List.of(8), false);
+	}
+
+	@Test
+	public void testPartiallyFilledSubstrate() {
+		checkIdentical(4, 2, List.of(4), true);
+	}
+
+	@Test
+	public void testRejection() {
+		// 2 * 2 substrate servers with 2 CPUs each can not host 10 virtual servers
+		checkIdentical(2, 2, List.of(10), false);
+	}
+
+	@Test
+	public void testMultipleRequests() {
+		checkIdentical(2, 3, List.of(2, 3, 4), false);
+	}
+
+	@Test
+	public void testMultipleRequestsWithEviction() {
+		PathCacheConfig.LAZY_MAX_PATHS = 1;
+		checkIdentical(2, 3, List.of(2, 3, 4), false);
+	}
+
+	@Test
+	public void testFewerPathsThanEager() {
+		PathCacheConfig.LAZY = false;
+		embed(4, 2, List.of(2), true);
+		final int eager = getSnet().getPaths().size();
+		((VnePmMdvneAlgorithm) algo).dispose();
+
+		PathCacheConfig.LAZY = true;
+		embed(4, 2, List.of(2), true);
+		assertTrue(LazySubstratePaths.isLazy(getSnet()));
+		assertTrue(LazySubstratePaths.getNumberOfMaterializedPaths(getSnet()) < eager);
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Embeds the same virtual networks onto the same substrate network once with
+	 * eagerly generated paths and once with paths generated on demand and checks
+	 * that the results and costs are equal.
+	 *
+	 * @param serversPerRack Number of substrate servers per rack.
+	 * @param racks          Number of substrate racks.
+	 * @param virtualServers Number of virtual servers per virtual network (in
+	 *                       order of their embedding).
+	 * @param preFill        If true, one substrate server is filled before the
+	 *                       actual embedding.
+	 */
+	private void checkIdentical(final int serversPerRack, final int racks, final List<Integer> virtualServers,
+			final boolean preFill) {
+		PathCacheConfig.LAZY = false;
+		final List<Boolean> eagerResults = embed(serversPerRack, racks, virtualServers, preFill);
+		final double eagerCost = new TotalCommunicationCostMetricC(getSnet()).getValue();
+		((VnePmMdvneAlgorithm) algo).dispose();
+
+		PathCacheConfig.LAZY = true;
+		final List<Boolean> lazyResults = embed(serversPerRack, racks, virtualServers, preFill);
+		final double lazyCost = new TotalCommunicationCostMetricC(getSnet()).getValue();
+
+		assertTrue(LazySubstratePaths.isLazy(getSnet()));
+		assertEquals(eagerResults, lazyResults);
+		assertEquals(eagerCost, lazyCost);
+		facade.validateModel();
+	}
+
+	/**
+	 * Creates a new model with a two tier substrate network and embeds one tier
+	 * virtual networks one after another.
+	 *
+	 * @param serversPerRack Number of substrate servers per rack.
+	 * @param racks          Number of substrate racks.
+	 * @param virtualServers Number of virtual servers per virtual network (in
+	 *                       order of their embedding).
+	 * @param preFill        If true, one substrate server is filled before the
+	 *                       actual embedding.
+	 * @return List of embedding results of all virtual networks.
+	 */
+	private List<Boolean> embed(final int serversPerRack, final int racks, final List<Integer> virtualServers,
+			final boolean preFill) {
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+
+		final TwoTierConfig config = new TwoTierConfig();
+		config.setCoreBandwidth(10);
+		config.setCoreSwitchesConnected(false);
+		config.setNumberOfCoreSwitches(1);
+		config.setNumberOfRacks(racks);
+		config.setRack(new OneTierConfig(serversPerRack, 1, false, 2, 2, 2, 10));
+		new TwoTierNetworkGenerator(config).createNetwork("sub", false);
+
+		if (preFill) {
+			facade.addNetworkToRoot("fill", true);
+			facade.addServerToNetwork("fill_srv", "fill", 1, 1, 1, 0);
+			facade.embedNetworkToNetwork("sub", "fill");
+			facade.embedServerToServer(facade.getAllServersOfNetwork("sub").get(0).getName(), "fill_srv");
+		}
+
+		final List<Boolean> results = new ArrayList<>();
+		for (int i = 0; i < virtualServers.size(); i++) {
+			if (algo != null) {
+				((VnePmMdvneAlgorithm) algo).dispose();
+			}
+
+			final String vNetId = "virt" + i;
+			facade.addNetworkToRoot(vNetId, true);
+			new OneTierNetworkGenerator(new OneTierConfig(virtualServers.get(i), 1, false, 1, 1, 1, 1))
+					.createNetwork(vNetId, true);
+
+			initAlgo(getSnet(), Set.of((VirtualNetwork) facade.getNetworkById(vNetId)));
+			results.add(algo.execute());
+		}
+		return results;
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSnet() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+}
@@ -0,0 +1,184 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gt.IncrementalPatternMatcher;
+import gt.PatternMatchingConfig;
+import gt.PatternMatchingDelta;
+import gt.PatternMatchingDelta.Match;
+import gt.emoflon.EmoflonGtFactory;
+import model.Link;
+import model.Network;
+import model.Node;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with pattern
+ * matching that is scoped to the virtual networks of the current request.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmScopedMatchingTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	/**
+	 * Old scoped matching flag.
+	 */
+	private boolean oldScopedMatching;
+
+	@BeforeEach
+	public void enableScope() {
+		oldScopedMatching = PatternMatchingConfig.scopedMatching;
+		PatternMatchingConfig.scopedMatching = true;
+	}
+
+	@AfterEach
+	public void restoreScope() {
+		PatternMatchingConfig.scopedMatching = oldScopedMatching;
+	}
+
+	@Test
+	public void testScopedDeltaContainsOnlyScopedNetworks() {
+		oneTierSetupTwoServers("virt", 1);
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		final IncrementalPatternMatcher matcher = new EmoflonGtFactory().create();
+		matcher.setScope(Set.of(vNet));
+		final PatternMatchingDelta delta = matcher.run();
+		matcher.dispose();
+
+		final Set<Network> networks = getVirtualNetworks(delta);
+		assertEquals(Set.of(vNet), networks);
+		assertFalse(delta.getNewLinkPathMatchPositives().isEmpty());
+	}
+
+	@Test
+	public void testUnscopedDeltaContainsAllNetworks() {
+		oneTierSetupTwoServers("virt", 1);
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final IncrementalPatternMatcher matcher = new EmoflonGtFactory().create();
+		matcher.setScope(null);
+		final PatternMatchingDelta delta = matcher.run();
+		matcher.dispose();
+
+		assertEquals(Set.of(facade.getNetworkById("virt"), facade.getNetworkById("virt2")),
+				getVirtualNetworks(delta));
+	}
+
+	@Test
+	public void testSequentialRequests() {
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+
+		// The second request reuses the (scoped) pattern matcher of the first one
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+		algo.prepare(sNet, Set.of(vNet2));
+		assertTrue(algo.execute());
+
+		assertEquals(sNet, vNet.getHost());
+		assertEquals(sNet, vNet2.getHost());
+	}
+
+	@Test
+	public void testHeldMatchesReplayedWhenInScope() {
+		oneTierSetupTwoServers("virt", 1);
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+		final IncrementalPatternMatcher matcher = new EmoflonGtFactory().create();
+		try {
+			matcher.setScope(Set.of(vNet));
+			assertEquals(Set.of(vNet), getVirtualNetworks(matcher.run()));
+
+			// The matches of 'virt2' appeared during the first run and are not found again
+			// by the engine, hence, they must be reported once 'virt2' is in the scope
+			matcher.setScope(Set.of(vNet2));
+			final PatternMatchingDelta delta = matcher.run();
+			assertEquals(Set.of(vNet2), getVirtualNetworks(delta));
+			assertFalse(delta.getNewLinkPathMatchPositives().isEmpty());
+		} finally {
+			matcher.dispose();
+		}
+	}
+
+	@Test
+	public void testPreloadedRequestsEmbeddedOneByOne() {
+		// Both virtual networks are part of the model before the first run
+		oneTierSetupTwoServers("virt", 1);
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+		assertEquals(sNet, vNet.getHost());
+		assertNull(vNet2.getHost());
+
+		// The same instance (and pattern matcher) embeds the second network later
+		algo.prepare(sNet, Set.of(vNet2));
+		assertTrue(algo.execute());
+
+		assertEquals(sNet, vNet.getHost());
+		assertEquals(sNet, vNet2.getHost());
+	}
+
+	/**
+	 * Returns all virtual networks that have at least one match in the given
+	 * delta.
+	 *
+	 * @param delta Pattern matching delta.
+	 * @return Set of virtual networks.
+	 */
+	private Set<Network> getVirtualNetworks(final PatternMatchingDelta delta) {
+		final Set<Network> networks = new HashSet<>();
+		final Set<Match> matches = new HashSet<>();
+		matches.addAll(delta.getNewServerMatchPositives());
+		matches.addAll(delta.getNewSwitchMatchPositives());
+		matches.addAll(delta.getNewLinkPathMatchPositives());
+		matches.addAll(delta.getNewLinkServerMatchPositives());
+
+		for (final Match m : matches) {
+			if (m.getVirtual() instanceof Node n) {
+				networks.add(n.getNetwork());
+			} else if (m.getVirtual() instanceof Link l) {
+				networks.add(l.getNetwork());
+			}
+		}
+		return networks;
+	}
+
+}
@@ -0,0 +1,78 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import gt.IncrementalPatternMatcher;
+import gt.PatternMatchingDelta;
+import gt.emoflon.EmoflonGtFactory;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation that translates the
+ * matches into the ILP while the pattern matcher reports them. All embeddings
+ * must be equal to the ones of the delta based translation.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmStreamingTest extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	/**
+	 * Small batch size to apply multiple batches in every test.
+	 */
+	private static final int BATCH_SIZE = 3;
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmStreamingBatchSize = BATCH_SIZE;
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetStreaming() {
+		AlgorithmConfig.pmStreamingBatchSize = 0;
+	}
+
+	@Test
+	public void testStreamedMatchesEqualDelta() {
+		oneTierSetupTwoServers("virt", 2);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final IncrementalPatternMatcher deltaMatcher = new EmoflonGtFactory().create();
+		final PatternMatchingDelta expected = deltaMatcher.run();
+		deltaMatcher.dispose();
+
+		final IncrementalPatternMatcher streamingMatcher = new EmoflonGtFactory().create();
+		final PatternMatchingDelta actual = new PatternMatchingDelta();
+		streamingMatcher.run(actual);
+		streamingMatcher.dispose();
+
+		assertFalse(actual.getNewLinkPathMatchPositives().isEmpty());
+		assertEquals(expected.getNewServerMatchPositives(), actual.getNewServerMatchPositives());
+		assertEquals(expected.getNewSwitchMatchPositives(), actual.getNewSwitchMatchPositives());
+		assertEquals(expected.getNewLinkPathMatchPositives(), actual.getNewLinkPathMatchPositives());
+		assertEquals(expected.getNewLinkServerMatchPositives(), actual.getNewLinkServerMatchPositives());
+	}
+
+	@Test
+	public void testInvalidBatchSize() {
+		final VnePmMdvneAlgorithm pm = new VnePmMdvneAlgorithm();
+		assertThrows(IllegalArgumentException.class, () -> {
+			pm.new IlpStreamGenerator(0, Set.of());
+		});
+	}
+
+}
@@ -0,0 +1,177 @@
+package test.algorithms.pm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithm;
+import generators.OneTierNetworkGenerator;
+import generators.TwoTierNetworkGenerator;
+import generators.config.OneTierConfig;
+import generators.config.TwoTierConfig;
+import metrics.embedding.TotalCommunicationCostMetricC;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.generic.AAlgorithmTest;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation with the symmetry
+ * aggregation of interchangeable substrate servers. All embeddings must have
+ * the same cost as the ones of the plain ILP.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmSymmetryTest extends AAlgorithmTest {
+
+	/**
+	 * Old symmetry aggregation flag.
+	 */
+	private boolean oldSymmetryAggregation;
+
+	@BeforeEach
+	public void saveSymmetryAggregation() {
+		oldSymmetryAggregation = AlgorithmConfig.ilpSymmetryAggregation;
+	}
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		algo = new VnePmMdvneAlgorithm();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetAlgo() {
+		AlgorithmConfig.ilpSymmetryAggregation = oldSymmetryAggregation;
+		if (algo != null) {
+			((VnePmMdvneAlgorithm) algo).dispose();
+		}
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testAllOnOneServerSmall() {
+		checkExactness(2, 2, 2, false);
+	}
+
+	@Test
+	public void testAllOnOneRackSmall() {
+		checkExactness(2, 2, 4, false);
+	}
+
+	@Test
+	public void testAllOnMultipleRacksSmall() {
+		checkExactness(2, 2, 8, false);
+	}
+
+	@Test
+	public void testAllOnOneRackLarge() {
+		checkExactness(6, 3, 4, false);
+	}
+
+	@Test
+	public void testAllOnMultipleRacksLarge() {
+		checkExactness(4, 4, 12, false);
+	}
+
+	@Test
+	public void testPartiallyFilledSubstrate() {
+		checkExactness(4, 2, 4, true);
+	}
+
+	@Test
+	public void testRejection() {
+		// 2 * 2 substrate servers with 2 CPUs each can not host 10 virtual servers
+		checkExactness(2, 2, 10, false);
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Embeds the same virtual network onto the same substrate network once with
+	 * the plain ILP and once with the symmetry aggregation and checks that the
+	 * results and costs are equal.
+	 *
+	 * @param serversPerRack Number of substrate servers per rack.
+	 * @param racks          Number of substrate racks.
+	 * @param virtualServers Number of virtual servers.
+	 * @param preFill        If true, one substrate server is filled before the
+	 *                       actual embedding.
+	 */
+	private void checkExactness(final int serversPerRack, final int racks, final int virtualServers,
+			final boolean preFill) {
+		AlgorithmConfig.ilpSymmetryAggregation = false;
+		final boolean plainResult = embed(serversPerRack, racks, virtualServers, preFill);
+		final double plainCost = new TotalCommunicationCostMetricC(getSnet()).getValue();
+		((VnePmMdvneAlgorithm) algo).dispose();
+
+		AlgorithmConfig.ilpSymmetryAggregation = true;
+		final boolean aggregatedResult = embed(serversPerRack, racks, virtualServers, preFill);
+		final double aggregatedCost = new TotalCommunicationCostMetricC(getSnet()).getValue();
+
+		assertEquals(plainResult, aggregatedResult);
+		assertEquals(plainCost, aggregatedCost);
+		facade.validateModel();
+	}
+
+	/**
+	 * Creates a new model with a two tier substrate network and a one tier
+	 * virtual network and embeds the virtual network.
+	 *
+	 * @param serversPerRack Number of substrate servers per rack.
+	 * @param racks          Number of substrate racks.
+	 * @param virtualServers Number of virtual servers.
+	 * @param preFill        If true, one substrate server is filled before the
+	 *                       actual embedding.
+	 * @return True if the virtual network was embedded.
+	 */
+	private boolean embed(final int serversPerRack, final int racks, final int virtualServers,
+			final boolean preFill) {
+		facade.resetAll();
+		facade.addNetworkToRoot("sub", false);
+		facade.addNetworkToRoot("virt", true);
+
+		final TwoTierConfig config = new TwoTierConfig();
+		config.setCoreBandwidth(10);
+		config.setCoreSwitchesConnected(false);
+		config.setNumberOfCoreSwitches(1);
+		config.setNumberOfRacks(racks);
+		config.setRack(new OneTierConfig(serversPerRack, 1, false, 2, 2, 2, 10));
+		new TwoTierNetworkGenerator(config).createNetwork("sub", false);
+		facade.createAllPathsForNetwork("sub");
+
+		if (preFill) {
+			facade.addNetworkToRoot("fill", true);
+			facade.addServerToNetwork("fill_srv", "fill", 1, 1, 1, 0);
+			facade.embedNetworkToNetwork("sub", "fill");
+			facade.embedServerToServer(facade.getAllServersOfNetwork("sub").get(0).getName(), "fill_srv");
+		}
+
+		new OneTierNetworkGenerator(new OneTierConfig(virtualServers, 1, false, 1, 1, 1, 1)).createNetwork("virt",
+				true);
+
+		initAlgo(getSnet(), Set.of((VirtualNetwork) facade.getNetworkById("virt")));
+		return algo.execute();
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSnet() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+}
@@ -0,0 +1,37 @@
+package test.algorithms.pm.pipeline;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+
+import algorithms.AlgorithmConfig;
+import algorithms.AlgorithmConfig.Objective;
+import algorithms.pm.VnePmMdvneAlgorithmPipelineThreeStagesA;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+import test.algorithms.pm.VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation including the
+ * pipeline functionality with one shared pattern matching engine for all
+ * stages. All embeddings must be equal to the ones with one engine per stage.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmPipelineThreeStagesASharedEngineTest
+		extends VnePmMdvneAlgorithmTotalCommunicationObjectiveCTest {
+
+	@Override
+	public void initAlgo(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		AlgorithmConfig.pmSharedEngine = true;
+		AlgorithmConfig.obj = Objective.TOTAL_COMMUNICATION_OBJECTIVE_C;
+		algo = new VnePmMdvneAlgorithmPipelineThreeStagesA();
+		algo.prepare(sNet, vNets);
+	}
+
+	@AfterEach
+	public void resetSharedEngine() {
+		AlgorithmConfig.pmSharedEngine = false;
+	}
+
+}
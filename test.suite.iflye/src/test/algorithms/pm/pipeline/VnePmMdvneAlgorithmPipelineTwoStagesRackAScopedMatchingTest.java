@@ -0,0 +1,66 @@
+package test.algorithms.pm.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gt.PatternMatchingConfig;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the VNE PM MdVNE algorithm implementation including the
+ * pipeline functionality with pattern matching that is scoped to the virtual
+ * networks of the current request. The final stage of the pipeline is a plain
+ * VnePmMdvneAlgorithm and, therefore, runs with a scoped pattern matcher.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VnePmMdvneAlgorithmPipelineTwoStagesRackAScopedMatchingTest
+		extends VnePmMdvneAlgorithmPipelineTwoStagesRackATotalCommunicationObjectiveCTest {
+
+	/**
+	 * Old scoped matching flag.
+	 */
+	private boolean oldScopedMatching;
+
+	@BeforeEach
+	public void enableScope() {
+		oldScopedMatching = PatternMatchingConfig.scopedMatching;
+		PatternMatchingConfig.scopedMatching = true;
+	}
+
+	@AfterEach
+	public void restoreScope() {
+		PatternMatchingConfig.scopedMatching = oldScopedMatching;
+	}
+
+	@Test
+	public void testSequentialRequests() {
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("sub", 2);
+		facade.createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		initAlgo(sNet, Set.of(vNet));
+		assertTrue(algo.execute());
+
+		// The final stage must receive all matches of the second request, although
+		// its pattern matcher was scoped to the first one before
+		facade.addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt2", 1);
+		final VirtualNetwork vNet2 = (VirtualNetwork) facade.getNetworkById("virt2");
+		algo.prepare(sNet, Set.of(vNet2));
+		assertTrue(algo.execute());
+
+		assertEquals(sNet, vNet.getHost());
+		assertEquals(sNet, vNet2.getHost());
+	}
+
+}
@@ -1,10 +1,13 @@
 package test.algorithms.random;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
@@ -227,6 +230,88 @@ public class RandomAlgorithmTest extends AAlgorithmTest {
 		assertNotNull(vLn6.getHost());
 	}
 
+	@Test
+	public void testMultipleVnsAtOnce() {
+		ModelFacade.getInstance().addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("virt2", 1);
+		twoTierSetupFourServers("sub", 1);
+		ModelFacade.getInstance().createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt2");
+
+		final RandomVneAlgorithm randomVne = new RandomVneAlgorithm();
+		randomVne.prepare(sNet, Set.of(vNet, vNet2));
+		assertTrue(randomVne.execute());
+
+		// Test all vServer hosts
+		for (final Node n : ModelFacade.getInstance().getAllServersOfNetwork("virt")) {
+			assertNotNull(((VirtualServer) n).getHost());
+		}
+		for (final Node n : ModelFacade.getInstance().getAllServersOfNetwork("virt2")) {
+			assertNotNull(((VirtualServer) n).getHost());
+		}
+
+		// Test all vLink hosts
+		for (final Link l : ModelFacade.getInstance().getAllLinksOfNetwork("virt")) {
+			assertNotNull(((VirtualLink) l).getHost());
+		}
+		for (final Link l : ModelFacade.getInstance().getAllLinksOfNetwork("virt2")) {
+			assertNotNull(((VirtualLink) l).getHost());
+		}
+	}
+
+	@Test
+	public void testMultipleVnsOnlyOneFits() {
+		ModelFacade.getInstance().addNetworkToRoot("virt2", true);
+		oneTierSetupTwoServers("virt", 1);
+		oneTierSetupTwoServers("virt2", 2);
+		twoTierSetupFourServers("sub", 1);
+		ModelFacade.getInstance().createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt");
+		final VirtualNetwork vNet2 = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt2");
+
+		final RandomVneAlgorithm randomVne = new RandomVneAlgorithm();
+		randomVne.prepare(sNet, Set.of(vNet, vNet2));
+		assertFalse(randomVne.execute());
+
+		// The first virtual network must be embedded, the second one must be rejected
+		assertNotNull(vNet.getHost());
+		assertNull(vNet2.getHost());
+		for (final Node n : ModelFacade.getInstance().getAllServersOfNetwork("virt")) {
+			assertNotNull(((VirtualServer) n).getHost());
+		}
+		for (final Node n : ModelFacade.getInstance().getAllServersOfNetwork("virt2")) {
+			assertNull(((VirtualServer) n).getHost());
+		}
+	}
+
+	@Test
+	public void testSameSeedSameEmbedding() {
+		oneTierSetupThreeServers("virt", 1);
+		twoTierSetupFourServers("sub", 2);
+		ModelFacade.getInstance().createAllPathsForNetwork("sub");
+
+		final SubstrateNetwork sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt");
+
+		final RandomVneAlgorithm first = new RandomVneAlgorithm(42);
+		first.prepare(sNet, Set.of(vNet));
+		assertTrue(first.execute());
+		final List<String> firstHosts = getServerHosts("virt");
+
+		ModelFacade.getInstance().unembedVirtualNetwork(vNet);
+
+		final RandomVneAlgorithm second = new RandomVneAlgorithm(42);
+		second.prepare(sNet, Set.of(vNet));
+		assertTrue(second.execute());
+		assertEquals(firstHosts, getServerHosts("virt"));
+	}
+
 	/*
 	 * Negative tests.
 	 */
@@ -288,23 +373,21 @@ public class RandomAlgorithmTest extends AAlgorithmTest {
 		assertFalse(randomVne.execute());
 	}
 
-	@Test
-	public void testMultipleVnsAtOnce() {
-		oneTierSetupTwoServers("virt", 2);
-		twoTierSetupFourServers("sub", 1);
-
-		final SubstrateNetwork sNet = (SubstrateNetwork) ModelFacade.getInstance().getNetworkById("sub");
-		final VirtualNetwork vNet = (VirtualNetwork) ModelFacade.getInstance().getNetworkById("virt");
-
-		assertThrows(IllegalArgumentException.class, () -> {
-			new RandomVneAlgorithm().prepare(sNet, Set.of(vNet, vNet));
-		});
-	}
-
 	/*
 	 * Utility methods.
 	 */
 
+	/**
+	 * Returns the names of the hosts of all virtual servers of the given network.
+	 *
+	 * @param networkId Virtual network id.
+	 * @return List of the names of all hosts.
+	 */
+	private static List<String> getServerHosts(final String networkId) {
+		return ModelFacade.getInstance().getAllServersOfNetwork(networkId).stream()
+				.map(n -> ((VirtualServer) n).getHost().getName()).toList();
+	}
+
 	/**
 	 * Creates a one tier network with two servers and one switch.
 	 *
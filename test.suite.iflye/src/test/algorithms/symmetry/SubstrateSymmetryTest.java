@@ -0,0 +1,170 @@
+package test.algorithms.symmetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import algorithms.symmetry.SubstrateSymmetry;
+import facade.ModelFacade;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the equivalence classes of interchangeable substrate servers.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstrateSymmetryTest {
+
+	/**
+	 * ModelFacade instance.
+	 */
+	protected ModelFacade facade = ModelFacade.getInstance();
+
+	@BeforeEach
+	public void resetModel() {
+		facade.resetAll();
+
+		// Two racks with three (rack 1) and two (rack 2) servers
+		facade.addNetworkToRoot("sub", false);
+		facade.addSwitchToNetwork("csw", "sub", 0);
+		facade.addSwitchToNetwork("rsw1", "sub", 1);
+		facade.addSwitchToNetwork("rsw2", "sub", 1);
+		facade.addLinkToNetwork("cl1", "sub", 10, "rsw1", "csw");
+		facade.addLinkToNetwork("cl2", "sub", 10, "csw", "rsw1");
+		facade.addLinkToNetwork("cl3", "sub", 10, "rsw2", "csw");
+		facade.addLinkToNetwork("cl4", "sub", 10, "csw", "rsw2");
+		addServer("srv1", "rsw1");
+		addServer("srv2", "rsw1");
+		addServer("srv3", "rsw1");
+		addServer("srv4", "rsw2");
+		addServer("srv5", "rsw2");
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testClassesPerRack() {
+		final List<List<SubstrateServer>> classes = SubstrateSymmetry.of(getSnet()).getClasses();
+		assertEquals(2, classes.size());
+		assertEquals(List.of("srv1", "srv2", "srv3"), getNames(classes.get(0)));
+		assertEquals(List.of("srv4", "srv5"), getNames(classes.get(1)));
+	}
+
+	@Test
+	public void testRedundantServers() {
+		final SubstrateSymmetry symmetry = SubstrateSymmetry.of(getSnet());
+		assertEquals(Set.of("srv2", "srv3", "srv5"), getNames(symmetry.getRedundantServers(1)));
+		assertEquals(Set.of("srv3"), getNames(symmetry.getRedundantServers(2)));
+		assertTrue(symmetry.getRedundantServers(3).isEmpty());
+		assertEquals(5, symmetry.getRedundantServers(0).size());
+	}
+
+	@Test
+	public void testResidualsSplitClass() {
+		facade.addNetworkToRoot("virt", true);
+		facade.addServerToNetwork("vsrv", "virt", 1, 1, 1, 0);
+		facade.embedNetworkToNetwork("sub", "virt");
+		facade.embedServerToServer("srv2", "vsrv");
+
+		final List<List<SubstrateServer>> classes = SubstrateSymmetry.of(getSnet()).getClasses();
+		assertEquals(2, classes.size());
+		assertEquals(List.of("srv1", "srv3"), getNames(classes.get(0)));
+		assertFalse(getNames(SubstrateSymmetry.of(getSnet()).getRedundantServers(1)).contains("srv2"));
+	}
+
+	@Test
+	public void testDifferentResourcesSplitClass() {
+		facade.addServerToNetwork("srv6", "sub", 4, 4, 4, 1);
+		facade.addLinkToNetwork("srv6_up", "sub", 10, "srv6", "rsw2");
+		facade.addLinkToNetwork("srv6_down", "sub", 10, "rsw2", "srv6");
+
+		final List<List<SubstrateServer>> classes = SubstrateSymmetry.of(getSnet()).getClasses();
+		assertEquals(List.of("srv4", "srv5"), getNames(classes.get(1)));
+	}
+
+	@Test
+	public void testCountVirtualNodes() {
+		facade.addNetworkToRoot("virt", true);
+		facade.addSwitchToNetwork("vsw", "virt", 0);
+		facade.addServerToNetwork("vsrv1", "virt", 1, 1, 1, 1);
+		facade.addServerToNetwork("vsrv2", "virt", 1, 1, 1, 1);
+		assertEquals(3,
+				SubstrateSymmetry.countVirtualNodes(Set.of((VirtualNetwork) facade.getNetworkById("virt"))));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullNetwork() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			SubstrateSymmetry.of(null);
+		});
+	}
+
+	@Test
+	public void testNegativeVirtualNodes() {
+		final SubstrateSymmetry symmetry = SubstrateSymmetry.of(getSnet());
+		assertThrows(IllegalArgumentException.class, () -> {
+			symmetry.getRedundantServers(-1);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Adds a substrate server with two links to the given rack switch.
+	 *
+	 * @param name   Name of the server.
+	 * @param rackSw Name of the rack switch.
+	 */
+	private void addServer(final String name, final String rackSw) {
+		facade.addServerToNetwork(name, "sub", 2, 2, 2, 2);
+		facade.addLinkToNetwork(name + "_up", "sub", 10, name, rackSw);
+		facade.addLinkToNetwork(name + "_down", "sub", 10, rackSw, name);
+	}
+
+	/**
+	 * Returns the names of the given substrate servers.
+	 *
+	 * @param servers Substrate servers.
+	 * @return Names of the servers.
+	 */
+	private List<String> getNames(final List<SubstrateServer> servers) {
+		return servers.stream().map(SubstrateServer::getName).toList();
+	}
+
+	/**
+	 * Returns the names of the given substrate servers.
+	 *
+	 * @param servers Substrate servers.
+	 * @return Names of the servers.
+	 */
+	private Set<String> getNames(final Set<SubstrateServer> servers) {
+		return Set.copyOf(servers.stream().map(SubstrateServer::getName).toList());
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSnet() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+}
@@ -0,0 +1,236 @@
+package test.generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import facade.config.ModelFacadeConfig;
+import generators.OneTierNetworkGenerator;
+import generators.TwoTierNetworkGenerator;
+import generators.cache.LazySubstratePaths;
+import generators.config.OneTierConfig;
+import generators.config.PathCacheConfig;
+import generators.config.TwoTierConfig;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstratePath;
+
+/**
+ * Test class for the LazySubstratePaths. It checks that paths generated on
+ * demand are identical to eagerly generated ones (the two tier networks of the
+ * tests have unique shortest paths) and that only unused paths get evicted.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LazySubstratePathsTest extends IGeneratorTest {
+
+	/**
+	 * Old lazy flag.
+	 */
+	private boolean oldLazy;
+
+	/**
+	 * Old maximum number of materialized paths.
+	 */
+	private int oldMaxPaths;
+
+	@BeforeEach
+	public void saveConfig() {
+		oldLazy = PathCacheConfig.LAZY;
+		oldMaxPaths = PathCacheConfig.LAZY_MAX_PATHS;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+	}
+
+	@AfterEach
+	public void restoreLazyConfig() {
+		PathCacheConfig.LAZY = oldLazy;
+		PathCacheConfig.LAZY_MAX_PATHS = oldMaxPaths;
+	}
+
+	/*
+	 * Positive tests
+	 */
+
+	@Test
+	public void testNoPathsInModel() {
+		PathCacheConfig.LAZY = true;
+		generate();
+
+		assertTrue(LazySubstratePaths.isLazy(getSnet()));
+		assertTrue(getSnet().getPaths().isEmpty());
+		assertEquals(0, LazySubstratePaths.getNumberOfMaterializedPaths(getSnet()));
+	}
+
+	@Test
+	public void testEagerIsNotLazy() {
+		PathCacheConfig.LAZY = false;
+		generate();
+
+		assertFalse(LazySubstratePaths.isLazy(getSnet()));
+		assertFalse(getSnet().getPaths().isEmpty());
+	}
+
+	@Test
+	public void testAllPathsIdentical() {
+		PathCacheConfig.LAZY = false;
+		generate();
+		final List<String> eager = describePaths();
+
+		facade.resetAll();
+		PathCacheConfig.LAZY = true;
+		generate();
+		LazySubstratePaths.generateAllPaths(getSnet());
+
+		assertEquals(eager, describePaths());
+		facade.validateModel();
+	}
+
+	@Test
+	public void testPairPathsIdentical() {
+		PathCacheConfig.LAZY = false;
+		generate();
+		final SubstrateNode source = getServer(0);
+		final SubstrateNode target = getServer(3);
+		final List<String> eager = describePaths().stream()
+				.filter(p -> p.startsWith(source.getName() + ";" + target.getName() + ";")).toList();
+		assertFalse(eager.isEmpty());
+
+		facade.resetAll();
+		PathCacheConfig.LAZY = true;
+		generate();
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(0), Set.of(getServer(3))));
+
+		assertEquals(eager, describePaths());
+		assertEquals(eager.size(), LazySubstratePaths.getNumberOfMaterializedPaths(getSnet()));
+	}
+
+	@Test
+	public void testResidualBandwidthIsLinkMinimum() {
+		PathCacheConfig.LAZY = true;
+		generate();
+		final SubstrateNode source = getServer(0);
+		final SubstrateNode target = getServer(3);
+
+		// Reduce the residual bandwidth of the first link of the source server
+		final SubstrateLink link = (SubstrateLink) source.getOutgoingLinks().get(0);
+		link.setResidualBandwidth(link.getResidualBandwidth() - 3);
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(source, Set.of(target)));
+
+		assertFalse(getSnet().getPaths().isEmpty());
+		for (final SubstratePath p : getSnet().getPaths()) {
+			assertEquals(p.getLinks().stream().mapToInt(l -> l.getResidualBandwidth()).min().getAsInt(),
+					p.getResidualBandwidth());
+			assertTrue(p.getLinks().contains(link));
+			assertEquals(link.getResidualBandwidth(), p.getResidualBandwidth());
+		}
+	}
+
+	@Test
+	public void testGenerateTwice() {
+		PathCacheConfig.LAZY = true;
+		generate();
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(0), Set.of(getServer(1))));
+		final int size = getSnet().getPaths().size();
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(0), Set.of(getServer(1))));
+
+		assertEquals(size, getSnet().getPaths().size());
+	}
+
+	@Test
+	public void testEvictUnusedPaths() {
+		PathCacheConfig.LAZY = true;
+		PathCacheConfig.LAZY_MAX_PATHS = 0;
+		generate();
+
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(0), Set.of(getServer(1))));
+		assertFalse(getSnet().getPaths().isEmpty());
+
+		// Paths of the current request must not get evicted
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(2), Set.of(getServer(3))));
+		assertFalse(getSnet().getPaths().isEmpty());
+		assertTrue(getSnet().getPaths().stream().allMatch(p -> p.getSource().equals(getServer(2))));
+		facade.validateModel();
+	}
+
+	@Test
+	public void testKeepEmbeddedPaths() {
+		PathCacheConfig.LAZY = true;
+		PathCacheConfig.LAZY_MAX_PATHS = 0;
+		generate();
+
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(0), Set.of(getServer(1))));
+		final SubstratePath embedded = getSnet().getPaths().get(0);
+		facade.addNetworkToRoot("virt", true);
+		facade.addServerToNetwork("vsrv1", "virt", 1, 1, 1, 0);
+		facade.addServerToNetwork("vsrv2", "virt", 1, 1, 1, 0);
+		facade.addLinkToNetwork("vl", "virt", 1, "vsrv1", "vsrv2");
+		facade.embedNetworkToNetwork("sub", "virt");
+		facade.embedServerToServer(embedded.getSource().getName(), "vsrv1");
+		facade.embedServerToServer(embedded.getTarget().getName(), "vsrv2");
+		facade.embedLinkToPath(embedded.getName(), "vl");
+
+		LazySubstratePaths.generatePaths(getSnet(), Map.of(getServer(2), Set.of(getServer(3))));
+		assertTrue(getSnet().getPaths().contains(embedded));
+	}
+
+	/*
+	 * Utility methods
+	 */
+
+	/**
+	 * Generates a two tier substrate network with the ID 'sub'.
+	 */
+	private void generate() {
+		final TwoTierConfig config = new TwoTierConfig();
+		config.setNumberOfRacks(2);
+		config.setRack(new OneTierConfig(2, 1, false, 2, 2, 2, 10));
+		facade.addNetworkToRoot("sub", false);
+		new TwoTierNetworkGenerator(config).createNetwork("sub", false);
+	}
+
+	/**
+	 * Returns the substrate server with the given index.
+	 *
+	 * @param index Index of the server.
+	 * @return Substrate server with the given index.
+	 */
+	private SubstrateNode getServer(final int index) {
+		return (SubstrateNode) facade.getAllServersOfNetwork("sub").get(index);
+	}
+
+	/**
+	 * Returns the substrate network 'sub'.
+	 *
+	 * @return Substrate network.
+	 */
+	private SubstrateNetwork getSnet() {
+		return (SubstrateNetwork) facade.getNetworkById("sub");
+	}
+
+	/**
+	 * Returns a sorted textual description of all paths of the substrate network
+	 * including all of their attributes and references (in order).
+	 *
+	 * @return Sorted list of path descriptions.
+	 */
+	private List<String> describePaths() {
+		return getSnet().getPaths().stream().map(p -> //
+		p.getSource().getName() + ";" + p.getTarget().getName() + ";" + p.getName() + ";" + p.getHops() + ";"
+				+ p.getBandwidth() + ";" + p.getResidualBandwidth() + ";"
+				+ p.getNodes().stream().map(n -> n.getName()).collect(Collectors.joining(",")) + ";"
+				+ p.getLinks().stream().map(l -> l.getName()).collect(Collectors.joining(","))) //
+				.sorted().collect(Collectors.toList());
+	}
+
+}
@@ -0,0 +1,225 @@
+package test.generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import generators.FatTreeNetworkGenerator;
+import generators.OneTierNetworkGenerator;
+import generators.TwoTierNetworkGenerator;
+import generators.config.FatTreeConfig;
+import generators.config.OneTierConfig;
+import generators.config.PathCacheConfig;
+import generators.config.TwoTierConfig;
+import model.SubstratePath;
+
+/**
+ * Test class for the SubstratePathCache. It checks that paths loaded from the
+ * cache are identical to freshly generated ones.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstratePathCacheTest extends IGeneratorTest {
+
+	/**
+	 * Old cache enabled flag.
+	 */
+	private boolean oldEnabled;
+
+	/**
+	 * Old cache directory.
+	 */
+	private Path oldCacheDir;
+
+	/**
+	 * Old Yen flag.
+	 */
+	private boolean oldYen;
+
+	/**
+	 * Old K parameter.
+	 */
+	private int oldK;
+
+	@BeforeEach
+	public void setUpCache() throws IOException {
+		oldEnabled = PathCacheConfig.ENABLED;
+		oldCacheDir = PathCacheConfig.CACHE_DIR;
+		oldYen = ModelFacadeConfig.YEN_PATH_GEN;
+		oldK = ModelFacadeConfig.YEN_K;
+
+		PathCacheConfig.CACHE_DIR = Files.createTempDirectory("iflye-path-cache-test");
+	}
+
+	@AfterEach
+	public void restoreCache() throws IOException {
+		try (final Stream<Path> files = Files.walk(PathCacheConfig.CACHE_DIR)) {
+			for (final Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(p);
+			}
+		}
+
+		PathCacheConfig.ENABLED = oldEnabled;
+		PathCacheConfig.CACHE_DIR = oldCacheDir;
+		ModelFacadeConfig.YEN_PATH_GEN = oldYen;
+		ModelFacadeConfig.YEN_K = oldK;
+	}
+
+	/*
+	 * Positive tests
+	 */
+
+	@Test
+	public void testOneTierLoadedPathsIdentical() throws IOException {
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 2;
+		checkLoadedPathsIdentical(() -> new OneTierNetworkGenerator(new OneTierConfig(4, 1, false, 2, 2, 2, 10))
+				.createNetwork("sub", false));
+	}
+
+	@Test
+	public void testTwoTierLoadedPathsIdentical() throws IOException {
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 4;
+		checkLoadedPathsIdentical(() -> new TwoTierNetworkGenerator(new TwoTierConfig()).createNetwork("sub", false));
+	}
+
+	@Test
+	public void testFatTreeYenLoadedPathsIdentical() throws IOException {
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 6;
+		ModelFacadeConfig.YEN_PATH_GEN = true;
+		ModelFacadeConfig.YEN_K = 3;
+		checkLoadedPathsIdentical(() -> new FatTreeNetworkGenerator(new FatTreeConfig(4)).createNetwork("sub", false));
+	}
+
+	@Test
+	public void testDifferentSettingsDifferentEntries() throws IOException {
+		PathCacheConfig.ENABLED = true;
+		ModelFacadeConfig.YEN_PATH_GEN = true;
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 6;
+
+		ModelFacadeConfig.YEN_K = 2;
+		new FatTreeNetworkGenerator(new FatTreeConfig(4)).createNetwork("sub", false);
+		assertEquals(1, getCacheFiles().size());
+
+		ModelFacade.getInstance().resetAll();
+		ModelFacadeConfig.YEN_K = 3;
+		new FatTreeNetworkGenerator(new FatTreeConfig(4)).createNetwork("sub", false);
+		assertEquals(2, getCacheFiles().size());
+
+		// Same settings again must not create a new entry
+		ModelFacade.getInstance().resetAll();
+		new FatTreeNetworkGenerator(new FatTreeConfig(4)).createNetwork("sub", false);
+		assertEquals(2, getCacheFiles().size());
+	}
+
+	@Test
+	public void testBrokenEntryFallsBackToGeneration() throws IOException {
+		ModelFacadeConfig.MIN_PATH_LENGTH = 1;
+		ModelFacadeConfig.MAX_PATH_LENGTH = 2;
+		final Runnable gen = () -> new OneTierNetworkGenerator(new OneTierConfig(4, 1, false, 2, 2, 2, 10))
+				.createNetwork("sub", false);
+
+		// Fresh paths
+		gen.run();
+		final List<String> fresh = describePaths("sub");
+
+		// Store a cache entry and overwrite it with garbage
+		ModelFacade.getInstance().resetAll();
+		PathCacheConfig.ENABLED = true;
+		gen.run();
+		final List<Path> files = getCacheFiles();
+		assertEquals(1, files.size());
+		Files.write(files.get(0), new byte[] { 1, 2, 3 });
+
+		ModelFacade.getInstance().resetAll();
+		gen.run();
+		assertEquals(fresh, describePaths("sub"));
+	}
+
+	/*
+	 * Utility methods
+	 */
+
+	/**
+	 * Generates the network three times (without cache, populating the cache, and
+	 * loading from the cache) and checks that all resulting path sets are
+	 * identical.
+	 *
+	 * @param gen Generation of the substrate network with ID 'sub'.
+	 * @throws IOException If the cache directory could not be read.
+	 */
+	private void checkLoadedPathsIdentical(final Runnable gen) throws IOException {
+		PathCacheConfig.ENABLED = false;
+		gen.run();
+		final List<String> fresh = describePaths("sub");
+		assertFalse(fresh.isEmpty());
+		assertEquals(0, getCacheFiles().size());
+
+		// Populate the cache
+		ModelFacade.getInstance().resetAll();
+		PathCacheConfig.ENABLED = true;
+		gen.run();
+		assertEquals(fresh, describePaths("sub"));
+		assertEquals(1, getCacheFiles().size());
+
+		// Load from the cache
+		ModelFacade.getInstance().resetAll();
+		gen.run();
+		assertEquals(fresh, describePaths("sub"));
+		assertEquals(1, getCacheFiles().size());
+
+		// Loaded paths must be valid and reachable via the facade
+		ModelFacade.getInstance().validateModel();
+		for (final SubstratePath p : ModelFacade.getInstance().getAllPathsOfNetwork("sub")) {
+			assertNotNull(ModelFacade.getInstance().getPathFromSourceToTarget(p.getSource(), p.getTarget()));
+			assertEquals(p.getSource(), p.getNodes().get(0));
+			assertEquals(p.getTarget(), p.getNodes().get(p.getNodes().size() - 1));
+		}
+	}
+
+	/**
+	 * Returns a textual description of all paths of the given network including
+	 * all of their attributes and references (in order).
+	 *
+	 * @param networkId Network ID.
+	 * @return List of path descriptions.
+	 */
+	private List<String> describePaths(final String networkId) {
+		return ModelFacade.getInstance().getAllPathsOfNetwork(networkId).stream().map(p -> //
+		p.getName() + ";" + p.getSource().getName() + ";" + p.getTarget().getName() + ";" + p.getHops() + ";"
+				+ p.getBandwidth() + ";" + p.getResidualBandwidth() + ";"
+				+ p.getNodes().stream().map(n -> n.getName()).collect(Collectors.joining(",")) + ";"
+				+ p.getLinks().stream().map(l -> l.getName()).collect(Collectors.joining(","))) //
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns all files of the cache directory.
+	 *
+	 * @return List of all cache files.
+	 * @throws IOException If the cache directory could not be read.
+	 */
+	private List<Path> getCacheFiles() throws IOException {
+		try (final Stream<Path> files = Files.list(PathCacheConfig.CACHE_DIR)) {
+			return files.filter(Files::isRegularFile).toList();
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+package test.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.IlpSolverException;
+import ilp.wrapper.IncrementalIlpSolver;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.config.IlpSolverConfig;
+import ilp.wrapper.config.Solver;
+
+/**
+ * Test class for the LP relaxation and the dual values of all ILP solvers.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class IlpSolverRelaxationTest {
+
+	/**
+	 * Saves the currently configured ILP solver type.
+	 */
+	public static Solver savedSolver = null;
+
+	/**
+	 * ILP solver of the current test.
+	 */
+	private IncrementalIlpSolver solver;
+
+	@BeforeAll
+	public static void saveConfig() {
+		savedSolver = IlpSolverConfig.solver;
+	}
+
+	@AfterAll
+	public static void restoreConfig() {
+		IlpSolverConfig.solver = savedSolver;
+	}
+
+	@AfterEach
+	public void disposeSolver() {
+		if (solver != null) {
+			solver.dispose();
+		}
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testGurobiRelaxation() {
+		IlpSolverConfig.solver = Solver.GUROBI;
+		checkRelaxation();
+	}
+
+	@Test
+	public void testCplexRelaxation() {
+		IlpSolverConfig.solver = Solver.CPLEX;
+		checkRelaxation();
+	}
+
+	@Test
+	public void testGurobiAddVariableAfterRelaxation() {
+		IlpSolverConfig.solver = Solver.GUROBI;
+		checkAddVariableAfterRelaxation();
+	}
+
+	@Test
+	public void testCplexAddVariableAfterRelaxation() {
+		IlpSolverConfig.solver = Solver.CPLEX;
+		checkAddVariableAfterRelaxation();
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testGurobiNoDualAfterSolve() {
+		IlpSolverConfig.solver = Solver.GUROBI;
+		checkNoDualAfterSolve();
+	}
+
+	@Test
+	public void testCplexNoDualAfterSolve() {
+		IlpSolverConfig.solver = Solver.CPLEX;
+		checkNoDualAfterSolve();
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Creates the problem min -x - 2y s.t. x + y <= 1.5 with the ILP solver given
+	 * by the {@link IlpSolverConfig}. The LP relaxation has the solution x = 0.5, y
+	 * = 1 with the dual value -1 of the constraint, the ILP the solution x = 0, y =
+	 * 1.
+	 */
+	private void createProblem() {
+		solver = IlpSolverConfig.getIlpSolver();
+		solver.addVariable("x", -1);
+		solver.addVariable("y", -2);
+		solver.addLessOrEqualsConstraint("c", 1.5, new double[] { 1, 1 }, new String[] { "x", "y" });
+	}
+
+	/**
+	 * Checks the values and dual values of the LP relaxation and that the model
+	 * stays binary afterwards.
+	 */
+	private void checkRelaxation() {
+		createProblem();
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solveRelaxation().getStatus());
+		assertEquals(0.5, solver.getValue("x"), 1e-6);
+		assertEquals(1, solver.getValue("y"), 1e-6);
+		assertEquals(-1, solver.getDual("c"), 1e-6);
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solve().getStatus());
+		assertEquals(0, solver.getValue("x"), 1e-6);
+		assertFalse(solver.isSelected("x"));
+		assertTrue(solver.isSelected("y"));
+	}
+
+	/**
+	 * Checks that a variable added after a relaxation run is part of the next one.
+	 */
+	private void checkAddVariableAfterRelaxation() {
+		createProblem();
+		solver.solveRelaxation();
+
+		solver.addVariable("z", -4);
+		solver.setVariableWeightForConstraint("c", 1, "z");
+
+		assertEquals(SolverStatus.OPTIMAL, solver.solveRelaxation().getStatus());
+		assertEquals(1, solver.getValue("z"), 1e-6);
+		assertEquals(0.5, solver.getValue("y"), 1e-6);
+		assertEquals(-2, solver.getDual("c"), 1e-6);
+	}
+
+	/**
+	 * Checks that no dual values are available after a regular ILP run.
+	 */
+	private void checkNoDualAfterSolve() {
+		createProblem();
+		solver.solveRelaxation();
+		solver.solve();
+
+		assertThrows(IlpSolverException.class, () -> {
+			solver.getDual("c");
+		});
+	}
+
+}
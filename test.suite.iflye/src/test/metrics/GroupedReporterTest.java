@@ -0,0 +1,197 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.observation.Observation;
+import metrics.HasMetric;
+import metrics.MetricTransformer;
+import metrics.reporter.GroupByTagValueReporter;
+import metrics.reporter.GroupedReporter;
+
+/**
+ * Test class for the indexed grouping of the GroupedReporter.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class GroupedReporterTest {
+
+	/**
+	 * Reporter that records all flushed entries.
+	 */
+	private static class RecordingReporter extends GroupByTagValueReporter {
+
+		/**
+		 * Flushed entries of the last flush by group key.
+		 */
+		private final Map<String, GroupedReporter.Entry> flushed = new LinkedHashMap<>();
+
+		@Override
+		public void flush() {
+			flushed.clear();
+			super.flush();
+		}
+
+		@Override
+		protected void flushEntry(final GroupedReporter.Entry entry, final String groupKey) {
+			flushed.put(groupKey, entry);
+		}
+
+	}
+
+	/**
+	 * Meter provider that resets all distribution summaries and counts its lookups.
+	 */
+	private static class ResettingProvider implements HasMetric<Observation.Context> {
+
+		/**
+		 * Number of lookups.
+		 */
+		private final AtomicInteger lookups = new AtomicInteger();
+
+		@Override
+		public boolean supportsContext(final Observation.Context context) {
+			return false;
+		}
+
+		@Override
+		public Collection<MetricTransformer> getProvidedMeters() {
+			return List.of(new GroupedReporter.DefaultMetricTransformer() {
+
+				@Override
+				public boolean supportsMeter(final Meter meter) {
+					lookups.incrementAndGet();
+					return meter instanceof DistributionSummary;
+				}
+
+				@Override
+				public boolean shouldResetMeter(final Meter meter) {
+					return true;
+				}
+
+			});
+		}
+
+		@Override
+		public void setMeterRegistry(final MeterRegistry meterRegistry) {
+		}
+
+	}
+
+	/**
+	 * Reporter under test.
+	 */
+	private RecordingReporter reporter;
+
+	/**
+	 * Meter provider of the reporter.
+	 */
+	private ResettingProvider provider;
+
+	@BeforeEach
+	public void setUp() {
+		reporter = new RecordingReporter();
+		provider = new ResettingProvider();
+		reporter.registerMeterProvider(provider);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testUnchangedGroupRetired() {
+		reporter.counter("value", "series group uuid", "g1").increment();
+		reporter.flush();
+		assertEquals(1.0, reporter.flushed.get("g1").values().get("value.count"));
+
+		// The counter did not change, hence, its group is not emitted again
+		reporter.flush();
+		assertTrue(reporter.flushed.isEmpty());
+
+		reporter.counter("value", "series group uuid", "g1").increment();
+		reporter.flush();
+		assertEquals(2.0, reporter.flushed.get("g1").values().get("value.count"));
+	}
+
+	@Test
+	public void testResetMeterRemoved() {
+		reporter.summary("sum", "series group uuid", "g1").record(3);
+		reporter.flush();
+		assertEquals(3.0, reporter.flushed.get("g1").values().get("sum.total"));
+		assertTrue(reporter.getMeters().isEmpty());
+
+		reporter.flush();
+		assertTrue(reporter.flushed.isEmpty());
+	}
+
+	@Test
+	public void testGroupEmittedCompletely() {
+		reporter.counter("value", "series group uuid", "g1").increment();
+		reporter.counter("other", "series group uuid", "g2").increment();
+		reporter.flush();
+
+		// Only the group with an updated meter is emitted, but with all its meters
+		reporter.summary("sum", "series group uuid", "g1").record(3);
+		reporter.flush();
+		assertEquals(1, reporter.flushed.size());
+		assertEquals(1.0, reporter.flushed.get("g1").values().get("value.count"));
+		assertEquals(3.0, reporter.flushed.get("g1").values().get("sum.total"));
+	}
+
+	@Test
+	public void testGaugeVisitedEveryFlush() {
+		final AtomicInteger value = reporter.gauge("gauge", List.of(Tag.of("series group uuid", "g1")),
+				new AtomicInteger(5));
+		reporter.flush();
+		assertEquals(5.0, reporter.flushed.get("g1").values().get("gauge.value"));
+
+		// Gauges can not signal updates, hence, they are visited on every flush
+		value.set(6);
+		reporter.flush();
+		assertEquals(6.0, reporter.flushed.get("g1").values().get("gauge.value"));
+	}
+
+	@Test
+	public void testTransformerResolutionCached() {
+		final Counter counter = reporter.counter("value", "series group uuid", "g1");
+		counter.increment();
+		reporter.flush();
+		final int lookups = provider.lookups.get();
+
+		counter.increment();
+		reporter.flush();
+		assertEquals(lookups, provider.lookups.get());
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testRemovedMeterNotVisited() {
+		final Counter counter = reporter.counter("value", "series group uuid", "g1");
+		reporter.remove(counter);
+
+		// Updates of a removed meter must not bring it back
+		counter.increment();
+		reporter.flush();
+		assertNull(reporter.flushed.get("g1"));
+	}
+
+}
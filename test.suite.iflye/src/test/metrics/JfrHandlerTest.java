@@ -0,0 +1,122 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.handler.EmbeddingPhaseEvent;
+import metrics.handler.JfrHandler;
+import metrics.manager.Context;
+import metrics.manager.MetricsManager;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the JDK Flight Recorder events of the embedding phases.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class JfrHandlerTest extends AMetricTest {
+
+	/**
+	 * Metrics manager with the JFR handler only.
+	 */
+	private MetricsManager manager;
+
+	@BeforeEach
+	public void setUp() {
+		manager = new MetricsManager(new CompositeMeterRegistry(), ObservationRegistry.create()) {
+		};
+		manager.addMeter(new JfrHandler());
+
+		createSubstrateNetwork();
+		createVirtualNetwork();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		manager.close(true);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testPhaseEvents() throws IOException {
+		final List<RecordedEvent> events;
+		try (final Recording recording = new Recording()) {
+			recording.enable(EmbeddingPhaseEvent.NAME);
+			recording.start();
+			embed();
+			recording.stop();
+
+			final Path file = Files.createTempFile("iflye", ".jfr");
+			recording.dump(file);
+			events = RecordingFile.readAllEvents(file).stream()
+					.filter(e -> e.getEventType().getName().equals(EmbeddingPhaseEvent.NAME)).toList();
+			Files.delete(file);
+		}
+
+		assertEquals(2, events.size());
+
+		// The nested phase ends (and gets committed) first
+		final RecordedEvent prepare = events.get(0);
+		assertEquals("prepare", prepare.getString("observation"));
+		assertEquals("prepare", prepare.getString("stage"));
+		assertEquals("virt", prepare.getString("vnr"));
+		assertEquals("test-algorithm", prepare.getString("algorithm"));
+		assertTrue(prepare.getLong("allocated") >= 0);
+
+		final RecordedEvent total = events.get(1);
+		assertEquals("algorithm", total.getString("observation"));
+		assertEquals("total", total.getString("stage"));
+		assertEquals("virt", total.getString("vnr"));
+		assertFalse(total.getStartTime().isAfter(prepare.getStartTime()));
+		assertFalse(total.getEndTime().isBefore(prepare.getEndTime()));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNoRecording() {
+		final Observation.Context context = manager.start("prepare", Context.PrepareStageContext::new);
+		assertFalse(context.containsKey(EmbeddingPhaseEvent.class));
+		manager.stop();
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Observes an embedding with a nested prepare stage.
+	 */
+	private void embed() {
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		manager.observe("algorithm", () -> new Context.VnetRootContext(sNet, Set.of(vNet), "test-algorithm"), () -> {
+			MetricsManager.getInstance().observe("prepare", Context.PrepareStageContext::new, () -> {
+			});
+		});
+	}
+
+}
@@ -0,0 +1,157 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import metrics.reporter.LatencyReporter;
+
+/**
+ * Test class for the latency reporter.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class LatencyReporterTest {
+
+	/**
+	 * Directory of the report file.
+	 */
+	private Path dir;
+
+	/**
+	 * Report file.
+	 */
+	private File report;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("iflye");
+		report = dir.resolve("latency.csv").toFile();
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(report.toPath());
+		Files.deleteIfExists(dir);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testPercentilesAndViolations() throws IOException {
+		final LatencyReporter reporter = new LatencyReporter(report, Map.of("execute", Duration.ofMillis(90)));
+
+		// 100 VNRs with 1ms, 2ms, ..., 100ms each
+		for (int i = 1; i <= 100; i++) {
+			reporter.timer("time_execute", "algorithm", "pm", "lastVNR", "v" + i).record(i, TimeUnit.MILLISECONDS);
+			reporter.flush();
+		}
+		reporter.conclude();
+
+		final Map<String, String> row = readRows().get("execute/pm");
+		assertEquals("100", row.get("count"));
+		assertEquals(0.0505, Double.parseDouble(row.get("mean")), 0.001);
+		assertEquals(0.050, Double.parseDouble(row.get("p50")), 0.001);
+		assertEquals(0.095, Double.parseDouble(row.get("p95")), 0.001);
+		assertEquals(0.099, Double.parseDouble(row.get("p99")), 0.001);
+		assertEquals(0.100, Double.parseDouble(row.get("max")), 0.001);
+		assertEquals(0.09, Double.parseDouble(row.get("slo")), 0.0001);
+		assertEquals("10", row.get("slo_violations"));
+		assertTrue(row.get("worst_vnrs").startsWith("v100=0.1;v99=0.099;"));
+		assertEquals(5, row.get("worst_vnrs").split(";").length);
+	}
+
+	@Test
+	public void testHistogramsPerPhaseAndAlgorithm() throws IOException {
+		final LatencyReporter reporter = new LatencyReporter(report, Map.of());
+		final CompositeMeterRegistry composite = new CompositeMeterRegistry();
+		composite.add(reporter);
+
+		composite.timer("time_ilp", "algorithm", "a", "lastVNR", "v1").record(1, TimeUnit.SECONDS);
+		composite.timer("time_ilp", "algorithm", "b", "lastVNR", "v1").record(2, TimeUnit.SECONDS);
+		composite.timer("time_execute", "algorithm", "a", "lastVNR", "v1").record(3, TimeUnit.SECONDS);
+		composite.counter("counter").increment();
+		reporter.flush();
+		reporter.conclude();
+
+		final Map<String, Map<String, String>> rows = readRows();
+		assertEquals(3, rows.size());
+		assertEquals("1", rows.get("ilp/a").get("count"));
+		assertEquals("1", rows.get("ilp/b").get("count"));
+		assertEquals(3.0, Double.parseDouble(rows.get("execute/a").get("max")), 0.01);
+		assertEquals("", rows.get("ilp/a").get("slo"));
+		assertEquals("", rows.get("ilp/a").get("slo_violations"));
+	}
+
+	@Test
+	public void testFlushKeepsHistograms() throws IOException {
+		final LatencyReporter reporter = new LatencyReporter(report, Map.of());
+		reporter.timer("time_total", "lastVNR", "v1").record(1, TimeUnit.SECONDS);
+		reporter.flush();
+
+		assertTrue(reporter.getMeters().isEmpty());
+		reporter.timer("time_total", "lastVNR", "v2").record(2, TimeUnit.SECONDS);
+		reporter.conclude();
+
+		assertEquals("2", readRows().get("total/").get("count"));
+	}
+
+	@Test
+	public void testReportFileNextToCsv() {
+		final File csv = dir.resolve("metrics.csv").toFile();
+		assertEquals(dir.resolve("metrics_latency.csv").toFile().getAbsoluteFile(),
+				LatencyReporter.reportFileFor(csv));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNullFile() {
+		assertThrows(IllegalArgumentException.class, () -> new LatencyReporter(null, Map.of()));
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Reads the rows of the report file.
+	 *
+	 * @return All rows by 'phase/algorithm'.
+	 */
+	private Map<String, Map<String, String>> readRows() throws IOException {
+		final List<String> lines = Files.readAllLines(report.toPath());
+		final String[] headers = lines.get(0).split(",");
+		final Map<String, Map<String, String>> rows = new HashMap<>();
+		for (final String line : lines.subList(1, lines.size())) {
+			final String[] values = Arrays.copyOf(line.split(",", -1), headers.length);
+			final Map<String, String> row = new HashMap<>();
+			for (int i = 0; i < headers.length; i++) {
+				row.put(headers[i], values[i]);
+			}
+			rows.put(row.get("phase") + "/" + row.get("algorithm"), row);
+		}
+		return rows;
+	}
+
+}
@@ -0,0 +1,159 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import metrics.manager.MetricsContext;
+import metrics.manager.MetricsManager;
+
+/**
+ * Test class for the propagation of metric contexts across threads.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class MetricsContextTest {
+
+	/**
+	 * All stopped observation contexts.
+	 */
+	private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Metrics manager under test.
+	 */
+	private MetricsManager manager;
+
+	/**
+	 * Executor for the worker thread.
+	 */
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setUp() {
+		final ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+
+			@Override
+			public boolean supportsContext(final Observation.Context context) {
+				return true;
+			}
+
+			@Override
+			public void onStop(final Observation.Context context) {
+				stopped.add(context);
+			}
+
+		});
+
+		manager = new MetricsManager(new CompositeMeterRegistry(), registry) {
+		};
+		manager.addTags("series", "s1");
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		executor.shutdownNow();
+		manager.close(true);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testScopedTagsWithoutNewManager() {
+		manager.withTags(() -> {
+			assertSame(manager, MetricsManager.getInstance());
+			assertEquals(Tags.of("series", "s1", "vnr", "v1"), MetricsManager.getInstance().getTags());
+		}, "vnr", "v1");
+
+		assertEquals(Tags.of("series", "s1"), manager.getTags());
+		assertNull(MetricsContext.current());
+	}
+
+	@Test
+	public void testChainIsShared() {
+		final MetricsContext vnr = manager.getContext().with("vnr", "v1");
+		final MetricsContext stage = vnr.with("stage", "pm");
+
+		assertSame(vnr, stage.getParent());
+		assertEquals(Tags.of("vnr", "v1"), vnr.getTags());
+		assertEquals(Tags.of("vnr", "v1", "stage", "pm"), stage.getTags());
+	}
+
+	@Test
+	public void testPropagationToExecutor() throws Exception {
+		final AtomicReference<MetricsManager> workerManager = new AtomicReference<>();
+		manager.withTags(() -> {
+			manager.observe("parent", () -> {
+				final Runnable task = manager.wrap(() -> {
+					workerManager.set(MetricsManager.getInstance());
+					MetricsManager.getInstance().observe("child", () -> {
+					});
+				});
+				executor.submit(task).get();
+				return null;
+			});
+		}, "vnr", "v1");
+
+		assertSame(manager, workerManager.get());
+		final Observation.Context child = stopped.stream().filter(c -> c.getName().equals("child")).findFirst()
+				.get();
+		assertEquals("v1", child.getLowCardinalityKeyValue("vnr").getValue());
+		assertEquals("parent", child.getParentObservation().getContextView().getName());
+
+		// The worker thread does not keep the context
+		executor.submit(() -> workerManager.set(MetricsManager.getInstance())).get();
+		assertNull(workerManager.get());
+	}
+
+	@Test
+	public void testPropagatingExecutor() throws Exception {
+		final AtomicReference<Tags> workerTags = new AtomicReference<>();
+		manager.withTags(() -> {
+			MetricsContext.propagating(executor).execute(() -> workerTags.set(MetricsManager.getInstance().getTags()));
+		}, "vnr", "v1");
+
+		executor.submit(() -> {
+		}).get();
+		assertEquals(Tags.of("series", "s1", "vnr", "v1"), workerTags.get());
+	}
+
+	@Test
+	public void testVirtualThread() throws Exception {
+		final AtomicReference<Tags> workerTags = new AtomicReference<>();
+		final MetricsContext context = manager.capture().with("vnr", "v2");
+		Thread.ofVirtual().start(context.wrap(() -> workerTags.set(MetricsManager.getInstance().getTags()))).join();
+
+		assertEquals(Tags.of("series", "s1", "vnr", "v2"), workerTags.get());
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testCaptureWithoutManager() throws Exception {
+		final AtomicReference<MetricsContext> captured = new AtomicReference<>(manager.getContext());
+		executor.submit(() -> captured.set(MetricsContext.capture())).get();
+		assertNull(captured.get());
+	}
+
+}
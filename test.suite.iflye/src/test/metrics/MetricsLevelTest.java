@@ -0,0 +1,183 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import metrics.MetricConfig;
+import metrics.MetricsLevel;
+import metrics.handler.EmbeddedNetworkHandler;
+import metrics.handler.SolverStatisticsHandler;
+import metrics.handler.TimingHandler;
+import metrics.manager.Context;
+import metrics.manager.GlobalMetricsManager;
+import metrics.manager.MetricsManager;
+import model.SubstrateNetwork;
+import model.VirtualNetwork;
+
+/**
+ * Test class for the metrics collection levels and the interval of the heavy
+ * substrate-wide metrics.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class MetricsLevelTest extends AMetricTest {
+
+	/**
+	 * Metrics manager with one handler per level.
+	 */
+	private MetricsManager manager;
+
+	/**
+	 * Registry holding the recorded meters.
+	 */
+	private SimpleMeterRegistry registry;
+
+	/**
+	 * Old metrics level.
+	 */
+	private MetricsLevel oldLevel;
+
+	/**
+	 * Old interval of the heavy metrics.
+	 */
+	private int oldInterval;
+
+	@BeforeEach
+	public void setUp() {
+		oldLevel = MetricConfig.METRICS_LEVEL;
+		oldInterval = MetricConfig.HEAVY_METRICS_INTERVAL;
+
+		final CompositeMeterRegistry composite = new CompositeMeterRegistry();
+		registry = new SimpleMeterRegistry();
+		composite.add(registry);
+		manager = new MetricsManager(composite, ObservationRegistry.create()) {
+		};
+		manager.addMeter(new TimingHandler());
+		manager.addMeter(new SolverStatisticsHandler());
+		manager.addMeter(new EmbeddedNetworkHandler());
+
+		createSubstrateNetwork();
+		createVirtualNetwork();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		MetricConfig.METRICS_LEVEL = oldLevel;
+		MetricConfig.HEAVY_METRICS_INTERVAL = oldInterval;
+		manager.close(true);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testTimingLevel() {
+		MetricConfig.METRICS_LEVEL = MetricsLevel.TIMING;
+		solveIlp();
+
+		assertNotNull(registry.find("time_ilp").timer());
+		assertNull(registry.find("ilp.node_count").summary());
+	}
+
+	@Test
+	public void testStandardLevel() {
+		MetricConfig.METRICS_LEVEL = MetricsLevel.STANDARD;
+		solveIlp();
+		embed();
+
+		assertNotNull(registry.find("time_ilp").timer());
+		assertNotNull(registry.find("ilp.node_count").summary());
+		assertEquals(1, count("accepted_vnrs"));
+		assertEquals(1, count("total_path_cost"));
+	}
+
+	@Test
+	public void testHeavyMetricsInterval() {
+		MetricConfig.HEAVY_METRICS_INTERVAL = 2;
+		embed();
+		embed();
+		embed();
+
+		assertEquals(3, count("accepted_vnrs"));
+		assertEquals(1, count("total_path_cost"));
+
+		// The skipped heavy metrics of the last VNR get computed at the end
+		manager.conclude();
+		assertEquals(3, count("accepted_vnrs"));
+		assertEquals(2, count("total_path_cost"));
+	}
+
+	@Test
+	public void testHeavyMetricsOnlyAtConclude() {
+		MetricConfig.HEAVY_METRICS_INTERVAL = 0;
+		embed();
+		embed();
+		assertEquals(2, count("accepted_vnrs"));
+		assertEquals(0, count("total_path_cost"));
+
+		manager.conclude();
+		assertEquals(1, count("total_path_cost"));
+
+		// Nothing is pending anymore
+		manager.conclude();
+		assertEquals(1, count("total_path_cost"));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testUnknownLevel() {
+		assertEquals(MetricsLevel.STANDARD, MetricsLevel.of("standard"));
+		assertThrows(IllegalArgumentException.class, () -> MetricsLevel.of("verbose"));
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Observes an ILP step with solver statistics.
+	 */
+	private void solveIlp() {
+		manager.observe("ilp", Context.IlpStepContext::new, () -> {
+			GlobalMetricsManager.recordIlpStatistics(Map.of("node_count", 1));
+		});
+	}
+
+	/**
+	 * Observes the embedding of the virtual network.
+	 */
+	private void embed() {
+		final SubstrateNetwork sNet = (SubstrateNetwork) facade.getNetworkById("sub");
+		final VirtualNetwork vNet = (VirtualNetwork) facade.getNetworkById("virt");
+		manager.observe("algorithm", () -> new Context.VnetRootContext(sNet, Set.of(vNet), "test-algorithm"), () -> {
+		});
+	}
+
+	/**
+	 * Returns the total number of recordings of the summaries with the given name.
+	 *
+	 * @param name Name of the summaries.
+	 * @return Total number of recordings.
+	 */
+	private long count(final String name) {
+		return registry.find(name).summaries().stream().mapToLong(DistributionSummary::count).sum();
+	}
+
+}
@@ -0,0 +1,179 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import metrics.MetricConfig;
+import metrics.manager.MetricsManager;
+import metrics.reporter.NotionReporter;
+import test.utils.NotionStub;
+
+/**
+ * Test class for the asynchronous NotionReporter. All requests are sent to a
+ * local stub of the Notion API.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class NotionReporterTest {
+
+	/**
+	 * Start date of the series.
+	 */
+	private static final String STARTED = OffsetDateTime.now().toString();
+
+	/**
+	 * Local stub of the Notion API.
+	 */
+	private NotionStub stub;
+
+	/**
+	 * Metrics manager that provides the series tags.
+	 */
+	private MetricsManager manager;
+
+	/**
+	 * Old queue capacity.
+	 */
+	private int oldCapacity;
+
+	/**
+	 * Old batch size.
+	 */
+	private int oldBatchSize;
+
+	/**
+	 * Old back-off.
+	 */
+	private long oldBackoff;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		oldCapacity = MetricConfig.NOTION_QUEUE_CAPACITY;
+		oldBatchSize = MetricConfig.NOTION_BATCH_SIZE;
+		oldBackoff = MetricConfig.NOTION_BACKOFF_MS;
+		MetricConfig.NOTION_BACKOFF_MS = 1;
+
+		stub = new NotionStub();
+		manager = new MetricsManager();
+		manager.addTags("started", STARTED, "name", "test");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		manager.close();
+		stub.close();
+
+		MetricConfig.NOTION_QUEUE_CAPACITY = oldCapacity;
+		MetricConfig.NOTION_BATCH_SIZE = oldBatchSize;
+		MetricConfig.NOTION_BACKOFF_MS = oldBackoff;
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testEntriesSentWithSeries() {
+		final NotionReporter reporter = createReporter();
+		reporter.initialized();
+		count(reporter, 1);
+		reporter.flush();
+		reporter.close();
+
+		final List<String> bodies = stub.getBodies();
+		assertEquals(2, bodies.size());
+		assertTrue(bodies.get(0).contains("series-db"));
+		assertTrue(bodies.get(1).contains("metric-db"));
+		assertTrue(bodies.get(1).contains("\"relation\""));
+		assertTrue(bodies.get(1).contains("\"number\""));
+		assertEquals(0, reporter.getDropped());
+	}
+
+	@Test
+	public void testFlushDoesNotBlock() {
+		stub.hold();
+		final NotionReporter reporter = createReporter();
+		reporter.initialized();
+		count(reporter, 1);
+		reporter.flush();
+
+		// The endpoint did not answer yet, but the flush already returned
+		assertTrue(stub.getBodies().isEmpty());
+
+		stub.release();
+		reporter.close();
+		assertEquals(2, stub.getBodies().size());
+	}
+
+	@Test
+	public void testRetryAfterRateLimit() {
+		stub.rateLimitNext(2);
+		final NotionReporter reporter = createReporter();
+		reporter.initialized();
+		count(reporter, 1);
+		reporter.flush();
+		reporter.close();
+
+		assertEquals(2, stub.getBodies().size());
+		assertEquals(4, stub.getReceived());
+		assertEquals(0, reporter.getDropped());
+	}
+
+	@Test
+	public void testBoundedQueue() {
+		MetricConfig.NOTION_QUEUE_CAPACITY = 2;
+		MetricConfig.NOTION_BATCH_SIZE = 1;
+		stub.hold();
+		final NotionReporter reporter = createReporter();
+		reporter.initialized();
+		count(reporter, 5);
+		reporter.flush();
+
+		stub.release();
+		reporter.close();
+
+		// At most one request in flight and two queued ones
+		assertTrue(stub.getBodies().size() <= 3);
+		assertEquals(6, stub.getBodies().size() + reporter.getDropped());
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Creates a new reporter that sends its requests to the stub.
+	 *
+	 * @return new reporter
+	 */
+	private NotionReporter createReporter() {
+		final NotionReporter reporter = new NotionReporter("token", "series-db", "metric-db",
+				Executors.newSingleThreadExecutor(), stub.getApiUrl());
+		reporter.addPropertyFormat("Name", NotionReporter.PROPERTY_TYPE.TITLE);
+		reporter.addPropertyFormat("Series", NotionReporter.PROPERTY_TYPE.RELATION);
+		reporter.addPropertyFormat("value.count", NotionReporter.PROPERTY_TYPE.NUMBER);
+		return reporter;
+	}
+
+	/**
+	 * Increments one counter per group, i.e., creates one entry per group.
+	 *
+	 * @param reporter reporter to create the counters in
+	 * @param groups   number of groups
+	 */
+	private void count(final NotionReporter reporter, final int groups) {
+		for (int i = 0; i < groups; i++) {
+			reporter.counter("value", "started", STARTED, "name", "test", "series group uuid", "g" + i).increment();
+		}
+	}
+
+}
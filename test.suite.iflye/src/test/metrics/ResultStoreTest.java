@@ -0,0 +1,208 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import metrics.store.ResultFormat.ColumnType;
+import metrics.store.ResultReader;
+import metrics.store.ResultWriter;
+
+/**
+ * Test class for the binary result store.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class ResultStoreTest {
+
+	/**
+	 * Path of the result file.
+	 */
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("iflye", ".iflye");
+		Files.delete(file);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testTypedRoundTrip() {
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			writer.writeRow(row("time_total", 0.1 + 0.2, "accepted_vnrs", 7, "lastVNR", "v1", "valid", true));
+			writer.writeRow(row("time_total", Math.PI, "accepted_vnrs", 8L, "lastVNR", "v2"));
+		}
+
+		try (final ResultReader reader = new ResultReader(file)) {
+			assertTrue(reader.isComplete());
+			assertEquals(2, reader.getRowCount());
+			assertEquals(List.of("time_total", "accepted_vnrs", "lastVNR", "valid"), reader.getColumns());
+			assertEquals(ColumnType.DOUBLE, reader.getType("time_total"));
+			assertEquals(ColumnType.LONG, reader.getType("accepted_vnrs"));
+			assertEquals(ColumnType.STRING, reader.getType("lastVNR"));
+			assertEquals(ColumnType.BOOLEAN, reader.getType("valid"));
+
+			final List<ResultReader.Row> rows = new ArrayList<>();
+			reader.forEach(rows::add);
+			assertEquals(2, rows.size());
+
+			// Doubles are lossless
+			assertEquals(Double.valueOf(0.1 + 0.2), rows.get(0).get("time_total"));
+			assertEquals(Long.valueOf(7), rows.get(0).get("accepted_vnrs"));
+			assertEquals("v1", rows.get(0).get("lastVNR"));
+			assertEquals(Boolean.TRUE, rows.get(0).get("valid"));
+			assertEquals(Math.PI, rows.get(1).getDouble("time_total"));
+			assertNull(rows.get(1).get("valid"));
+			assertTrue(Double.isNaN(rows.get(1).getDouble("lastVNR")));
+		}
+	}
+
+	@Test
+	public void testDictionaryEncoding() throws IOException {
+		final String uuid = "0b6f7c2e-5f5e-4d3a-9a55-0d1f3b8d2c11";
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			writer.writeRow(row("series uuid", uuid));
+		}
+		final long sizeOfOne = Files.size(file);
+
+		Files.delete(file);
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			for (int i = 0; i < 100; i++) {
+				writer.writeRow(row("series uuid", uuid));
+			}
+		}
+
+		// Every further row only holds the dictionary ID (and its offset)
+		assertTrue(Files.size(file) - sizeOfOne < 99 * uuid.length());
+	}
+
+	@Test
+	public void testAppendAndRandomAccess() {
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			writer.writeRow(row("counter", 0, "lastVNR", "v0"));
+		}
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			assertEquals(1, writer.getRowCount());
+			writer.writeRow(row("counter", 1, "lastVNR", "v1", "time_ilp", 2.5));
+		}
+
+		try (final ResultReader reader = new ResultReader(file)) {
+			assertTrue(reader.isComplete());
+			assertEquals(2, reader.getRowCount());
+			assertEquals("v1", reader.getRow(1).get("lastVNR"));
+			assertEquals(2.5, reader.getRow(1).getDouble("time_ilp"));
+			assertEquals("v0", reader.getRow(0).get("lastVNR"));
+			assertNull(reader.getRow(0).get("time_ilp"));
+		}
+	}
+
+	@Test
+	public void testRecoverAbortedRun() throws IOException {
+		final ResultWriter writer = new ResultWriter(file);
+		writer.writeRow(row("counter", 0, "lastVNR", "v0"));
+		writer.writeRow(row("counter", 1, "lastVNR", "v1"));
+		writer.flush();
+
+		// Simulate an aborted run with a truncated last block
+		final long size = Files.size(file);
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(size - 3);
+		}
+
+		try (final ResultReader reader = new ResultReader(file)) {
+			assertFalse(reader.isComplete());
+			assertEquals(1, reader.getRowCount());
+			assertEquals("v0", reader.iterator().next().get("lastVNR"));
+		}
+
+		// Appending cuts the truncated block off
+		try (final ResultWriter appender = new ResultWriter(file)) {
+			appender.writeRow(row("counter", 2, "lastVNR", "v2"));
+		}
+		try (final ResultReader reader = new ResultReader(file)) {
+			assertTrue(reader.isComplete());
+			assertEquals(List.of("v0", "v2"), reader.rows().map(r -> r.getString("lastVNR")).toList());
+		}
+	}
+
+	@Test
+	public void testToCsv() throws IOException {
+		try (final ResultWriter writer = new ResultWriter(file)) {
+			writer.writeRow(row("counter", 0, "time_total", 0.1 + 0.2, "algorithm", "pm,ilp"));
+			writer.writeRow(row("counter", 1));
+		}
+
+		final StringWriter out = new StringWriter();
+		try (final ResultReader reader = new ResultReader(file)) {
+			reader.toCsv(out);
+		}
+
+		final String[] lines = out.toString().split(System.lineSeparator());
+		assertEquals(3, lines.length);
+		assertEquals("counter,time_total,algorithm", lines[0]);
+		assertEquals("0,0.30000000000000004,\"pm,ilp\"", lines[1]);
+		assertEquals("1,,", lines[2]);
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNoResultFile() throws IOException {
+		Files.writeString(file, "counter,time_total\n0,1.0\n");
+		assertThrows(IllegalArgumentException.class, () -> new ResultReader(file));
+	}
+
+	@Test
+	public void testWriteAfterClose() {
+		final ResultWriter writer = new ResultWriter(file);
+		writer.close();
+		assertThrows(IllegalStateException.class, () -> writer.writeRow(row("counter", 0)));
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Creates a row of the given column names and values.
+	 *
+	 * @param keyValues Column names and values (alternating).
+	 * @return The row.
+	 */
+	private static Map<String, Object> row(final Object... keyValues) {
+		final Map<String, Object> row = new LinkedHashMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			row.put((String) keyValues[i], keyValues[i + 1]);
+		}
+		return row;
+	}
+
+}
@@ -0,0 +1,111 @@
+package test.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import ilp.wrapper.Statistics.SolverDetails;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import metrics.handler.SolverStatisticsHandler;
+import metrics.manager.Context;
+import metrics.manager.GlobalMetricsManager;
+import metrics.manager.MetricsManager;
+
+/**
+ * Test class for the solver-internal statistics of the ILP solvers and their
+ * "ilp.*" meters.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SolverStatisticsHandlerTest {
+
+	/**
+	 * Metrics manager with the solver statistics handler only.
+	 */
+	private MetricsManager manager;
+
+	/**
+	 * Registry holding the recorded meters.
+	 */
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	public void setUp() {
+		final CompositeMeterRegistry composite = new CompositeMeterRegistry();
+		registry = new SimpleMeterRegistry();
+		composite.add(registry);
+		manager = new MetricsManager(composite, ObservationRegistry.create()) {
+		};
+		manager.addMeter(new SolverStatisticsHandler());
+	}
+
+	@AfterEach
+	public void tearDown() {
+		manager.close(true);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testIlpMeters() {
+		final Statistics statistics = new Statistics(SolverStatus.OPTIMAL, 3_000_000_000L,
+				new SolverDetails(12, 340, 0.01, 5, 7, 2_000_000_000L, -1));
+
+		manager.observe("ilp", Context.IlpStepContext::new, () -> {
+			GlobalMetricsManager.recordIlpStatistics(statistics.getDetails().toMetrics());
+		});
+
+		assertEquals(12, registry.find("ilp.node_count").summary().max(), 0);
+		assertEquals(340, registry.find("ilp.simplex_iterations").summary().max(), 0);
+		assertEquals(0.01, registry.find("ilp.mip_gap").summary().max(), 0);
+		assertEquals(5, registry.find("ilp.presolve_removed_rows").summary().max(), 0);
+		assertEquals(7, registry.find("ilp.presolve_removed_columns").summary().max(), 0);
+		assertEquals(2.0, registry.find("ilp.root_relaxation_time").summary().max(), 0);
+
+		// Unknown values are not reported
+		assertNull(registry.find("ilp.time_to_first_incumbent").summary());
+	}
+
+	@Test
+	public void testToMetrics() {
+		final SolverDetails details = new SolverDetails(0, 17, Double.NaN, -1, -1, 500_000_000L, 250_000_000L);
+		assertEquals(List.of("node_count", "simplex_iterations", "root_relaxation_time", "time_to_first_incumbent"),
+				List.copyOf(details.toMetrics().keySet()));
+		assertEquals(0.25, details.toMetrics().get("time_to_first_incumbent").doubleValue(), 0);
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testUnknownDetails() {
+		final Statistics statistics = new Statistics(SolverStatus.TIME_OUT, 1);
+		assertEquals(SolverDetails.UNKNOWN, statistics.getDetails());
+		assertTrue(statistics.getDetails().toMetrics().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> new Statistics(SolverStatus.OPTIMAL, 1, null));
+	}
+
+	@Test
+	public void testNoIlpStep() {
+		manager.observe("pm", Context.PmStepContext::new, () -> {
+			GlobalMetricsManager.recordIlpStatistics(new SolverDetails(1, 1, 0, 1, 1, 1, 1).toMetrics());
+		});
+
+		assertNull(registry.find("ilp.node_count").summary());
+	}
+
+}
@@ -0,0 +1,121 @@
+package test.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import metrics.handler.EmbeddingPhaseEvent;
+import statistics.JfrReport;
+
+/**
+ * Test class for the JFR report tool.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class JfrReportTest {
+
+	/**
+	 * Path of the recording.
+	 */
+	private Path recording;
+
+	/**
+	 * Path of the report.
+	 */
+	private Path report;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		recording = Files.createTempFile("iflye", ".jfr");
+		report = Files.createTempFile("iflye", "_jfr.csv");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(recording);
+		Files.deleteIfExists(report);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testGroupedByPhaseAndAlgorithm() throws IOException {
+		try (final Recording r = new Recording()) {
+			r.enable(EmbeddingPhaseEvent.NAME);
+			r.start();
+			commit("pm", "VnePmMdvneAlgorithm", 100);
+			commit("pm", "VnePmMdvneAlgorithm", 200);
+			commit("pm", "VneFakeIlpAlgorithm", 50);
+			commit("total", "VneFakeIlpAlgorithm", 1);
+			commit("ilp", null, 7);
+			r.stop();
+			r.dump(recording);
+		}
+
+		JfrReport.main(new String[] { recording.toString(), report.toString() });
+
+		final List<String> lines = Files.readAllLines(report);
+		assertEquals(5, lines.size());
+		assertEquals("phase,algorithm,count,wall_time,cpu_time,allocated_mb,gc_pauses,gc_pause_time", lines.get(0));
+
+		// Known phases first, then ordered by algorithm
+		assertEquals(List.of("total", "VneFakeIlpAlgorithm", "1"), columns(lines.get(1)));
+		assertEquals(List.of("pm", "VneFakeIlpAlgorithm", "1"), columns(lines.get(2)));
+		assertEquals(List.of("pm", "VnePmMdvneAlgorithm", "2"), columns(lines.get(3)));
+		assertEquals(List.of("ilp", "unknown", "1"), columns(lines.get(4)));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNoRecording() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			JfrReport.main(new String[0]);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Commits an embedding phase event.
+	 *
+	 * @param stage     Phase of the event.
+	 * @param algorithm Algorithm of the event.
+	 * @param allocated Allocated bytes of the event.
+	 */
+	private static void commit(final String stage, final String algorithm, final long allocated) {
+		final EmbeddingPhaseEvent event = new EmbeddingPhaseEvent();
+		event.begin();
+		event.stage = stage;
+		event.algorithm = algorithm;
+		event.allocated = allocated;
+		event.end();
+		event.commit();
+	}
+
+	/**
+	 * Returns the phase, algorithm, and count columns of the given report line.
+	 *
+	 * @param line Line of the report.
+	 * @return First three columns of the line.
+	 */
+	private static List<String> columns(final String line) {
+		return List.of(line.split(",")).subList(0, 3);
+	}
+
+}
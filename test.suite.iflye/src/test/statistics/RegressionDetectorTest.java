@@ -0,0 +1,260 @@
+package test.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import statistics.RegressionDetector;
+import statistics.RegressionDetector.Comparison;
+import statistics.RegressionDetector.Verdict;
+
+/**
+ * Test class for the performance regression detector.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class RegressionDetectorTest {
+
+	/**
+	 * Path of the baseline file.
+	 */
+	private Path baseline;
+
+	/**
+	 * Path of the candidate file.
+	 */
+	private Path candidate;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		baseline = Files.createTempFile("iflye-baseline", ".csv");
+		candidate = Files.createTempFile("iflye-candidate", ".csv");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(baseline);
+		Files.deleteIfExists(candidate);
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testMedianOdd() {
+		final double[] values = new double[] { 5, 1, 3 };
+		assertEquals(3, RegressionDetector.median(values));
+
+		// The input is not modified
+		assertArrayEquals(new double[] { 5, 1, 3 }, values, 0);
+	}
+
+	@Test
+	public void testMedianEven() {
+		assertEquals(2.5, RegressionDetector.median(new double[] { 4, 1, 3, 2 }));
+	}
+
+	@Test
+	public void testBootstrapMedianDeterministic() {
+		final double[] values = new double[] { 0.9, 1.3, 1.1, 0.8, 1.2, 1.0, 1.4 };
+		final double[] first = RegressionDetector.bootstrapMedian(values);
+		final double[] second = RegressionDetector.bootstrapMedian(values);
+		assertArrayEquals(first, second, 0);
+	}
+
+	@Test
+	public void testBootstrapMedianBounds() {
+		final double[] values = new double[] { 0.9, 1.3, 1.1, 0.8, 1.2, 1.0, 1.4 };
+		final double[] interval = RegressionDetector.bootstrapMedian(values);
+		final double median = RegressionDetector.median(values);
+		assertTrue(0.8 <= interval[0]);
+		assertTrue(interval[0] <= median);
+		assertTrue(median <= interval[1]);
+		assertTrue(interval[1] <= 1.4);
+	}
+
+	@Test
+	public void testBootstrapMedianConstant() {
+		assertArrayEquals(new double[] { 2, 2 }, RegressionDetector.bootstrapMedian(new double[] { 2, 2, 2, 2, 2 }),
+				0);
+	}
+
+	@Test
+	public void testVerdictRegression() {
+		final Comparison c = RegressionDetector.compare("time_pm", "pm",
+				new double[] { 1.5, 1.6, 1.4, 1.55, 1.45, 1.5 }, 0.1);
+		assertEquals(Verdict.REGRESSION, c.verdict());
+		assertEquals(6, c.samples());
+		assertEquals(1.5, c.medianRatio());
+		assertTrue(c.lower() > 1.1);
+	}
+
+	@Test
+	public void testVerdictImprovement() {
+		final Comparison c = RegressionDetector.compare("time_pm", "pm", new double[] { 0.5, 0.6, 0.4, 0.55, 0.45 },
+				0.1);
+		assertEquals(Verdict.IMPROVEMENT, c.verdict());
+		assertTrue(c.upper() < 0.9);
+	}
+
+	@Test
+	public void testVerdictUnchanged() {
+		final Comparison c = RegressionDetector.compare("time_pm", "pm",
+				new double[] { 0.98, 1.02, 1.0, 1.01, 0.99, 1.03 }, 0.1);
+		assertEquals(Verdict.UNCHANGED, c.verdict());
+	}
+
+	@Test
+	public void testVerdictDependsOnThreshold() {
+		final double[] ratios = new double[] { 1.05, 1.06, 1.04, 1.05, 1.05 };
+		assertEquals(Verdict.UNCHANGED, RegressionDetector.compare("time_pm", "pm", ratios, 0.1).verdict());
+		assertEquals(Verdict.REGRESSION, RegressionDetector.compare("time_pm", "pm", ratios, 0.01).verdict());
+	}
+
+	@Test
+	public void testVerdictInsufficient() {
+		final Comparison c = RegressionDetector.compare("time_pm", "pm", new double[] { 2, 2, 2 }, 0.1);
+		assertEquals(Verdict.INSUFFICIENT, c.verdict());
+		assertEquals(3, c.samples());
+		assertEquals(2, c.medianRatio());
+	}
+
+	@Test
+	public void testPairingPerVnrAndAlgorithm() throws IOException {
+		// Candidate rows are in a different order and 'pm' got twice as slow
+		Files.writeString(baseline, """
+				lastVNR,algorithm,time_pm,memory_used,accepted
+				v1,pm,1.0,10,1
+				v1,ilp,3.0,10,1
+				v2,pm,2.0,10,1
+				v2,ilp,3.0,10,1
+				v3,pm,3.0,10,1
+				v3,ilp,3.0,10,1
+				v4,pm,4.0,10,1
+				v4,ilp,3.0,10,1
+				v5,pm,5.0,10,1
+				v5,ilp,3.0,10,1
+				""");
+		Files.writeString(candidate, """
+				lastVNR,algorithm,time_pm,memory_used,accepted
+				v5,ilp,3.0,10,1
+				v4,ilp,3.0,10,1
+				v3,ilp,3.0,10,1
+				v2,ilp,3.0,10,1
+				v1,ilp,3.0,10,1
+				v5,pm,10.0,10,1
+				v4,pm,8.0,10,1
+				v3,pm,6.0,10,1
+				v2,pm,4.0,10,1
+				v1,pm,2.0,10,1
+				""");
+
+		final List<Comparison> comparisons = RegressionDetector.compare(baseline, candidate, 0.1);
+
+		// Only the timing and memory columns get compared
+		assertEquals(4, comparisons.size());
+		assertEquals(Verdict.REGRESSION, find(comparisons, "pm", "time_pm").verdict());
+		assertEquals(2, find(comparisons, "pm", "time_pm").medianRatio());
+		assertEquals(Verdict.UNCHANGED, find(comparisons, "pm", "memory_used").verdict());
+		assertEquals(Verdict.UNCHANGED, find(comparisons, "ilp", "time_pm").verdict());
+		assertEquals(5, find(comparisons, "ilp", "time_pm").samples());
+	}
+
+	@Test
+	public void testPairingOfRepeatedVnrs() throws IOException {
+		// The same VNR appears multiple times and is paired by its occurrence
+		Files.writeString(baseline, """
+				lastVNR,time_pm
+				v1,1.0
+				v1,2.0
+				v1,4.0
+				v1,8.0
+				v1,16.0
+				""");
+		Files.writeString(candidate, """
+				lastVNR,time_pm
+				v1,1.0
+				v1,2.0
+				v1,4.0
+				v1,8.0
+				v1,16.0
+				""");
+
+		final Comparison c = find(RegressionDetector.compare(baseline, candidate, 0.1), "-", "time_pm");
+		assertEquals(5, c.samples());
+		assertEquals(1, c.medianRatio());
+		assertEquals(1, c.lower());
+		assertEquals(1, c.upper());
+		assertEquals(Verdict.UNCHANGED, c.verdict());
+	}
+
+	@Test
+	public void testUnpairedVnrsIgnored() throws IOException {
+		Files.writeString(baseline, """
+				lastVNR,time_pm
+				v1,1.0
+				v2,1.0
+				v3,1.0
+				""");
+		Files.writeString(candidate, """
+				lastVNR,time_pm
+				v2,1.0
+				v3,1.0
+				v4,1.0
+				""");
+
+		final Comparison c = find(RegressionDetector.compare(baseline, candidate, 0.1), "-", "time_pm");
+		assertEquals(2, c.samples());
+		assertEquals(Verdict.INSUFFICIENT, c.verdict());
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testMissingArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			RegressionDetector.main(new String[] { "baseline.csv" });
+		});
+	}
+
+	@Test
+	public void testInvalidThreshold() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			RegressionDetector.main(new String[] { baseline.toString(), candidate.toString(), "ten" });
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			RegressionDetector.compare("time_pm", "pm", new double[] { 1 }, -0.1);
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Returns the comparison of the given algorithm and column.
+	 *
+	 * @param comparisons All comparisons.
+	 * @param algorithm   Name of the algorithm.
+	 * @param column      Name of the column.
+	 * @return Comparison of the algorithm and column.
+	 */
+	private static Comparison find(final List<Comparison> comparisons, final String algorithm, final String column) {
+		return comparisons.stream().filter(c -> c.algorithm().equals(algorithm) && c.column().equals(column))
+				.findFirst().orElseThrow();
+	}
+
+}
@@ -0,0 +1,146 @@
+package test.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import statistics.Runner;
+
+/**
+ * Test class for the discovery and aggregation of run files by the statistics
+ * runner.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class RunnerTest {
+
+	/**
+	 * Directory of the run files.
+	 */
+	private Path dir;
+
+	/**
+	 * Old default locale.
+	 */
+	private Locale oldLocale;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("iflye-stats");
+		oldLocale = Locale.getDefault();
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Locale.setDefault(oldLocale);
+		try (final Stream<Path> files = Files.walk(dir)) {
+			for (final Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(p);
+			}
+		}
+	}
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testFindRunFilesSortedByRun() throws IOException {
+		write("exp_run10.csv", "");
+		write("exp_run2.csv", "");
+		write("exp_run1.csv", "");
+
+		assertEquals(List.of(dir.resolve("exp_run1.csv"), dir.resolve("exp_run2.csv"), dir.resolve("exp_run10.csv")),
+				Runner.findRunFiles(dir.resolve("exp").toString()));
+	}
+
+	@Test
+	public void testFindRunFilesPrefersBinary() throws IOException {
+		write("exp_run1.csv", "");
+		write("exp_run1.iflye", "");
+		write("exp_run2.csv", "");
+
+		assertEquals(List.of(dir.resolve("exp_run1.iflye"), dir.resolve("exp_run2.csv")),
+				Runner.findRunFiles(dir.resolve("exp").toString()));
+	}
+
+	@Test
+	public void testFindRunFilesIgnoresOtherFiles() throws IOException {
+		write("exp_run1.csv", "");
+		write("exp_stats.csv", "");
+		write("exp_timesums.csv", "");
+		write("exp2_run1.csv", "");
+		write("other_exp_run1.csv", "");
+		write("exp_run1.txt", "");
+
+		assertEquals(List.of(dir.resolve("exp_run1.csv")), Runner.findRunFiles(dir.resolve("exp").toString()));
+	}
+
+	@Test
+	public void testAggregateRoundsTimeTotal() throws IOException {
+		// The rounding must not depend on the default locale
+		Locale.setDefault(Locale.GERMANY);
+		write("exp_run1.csv", "counter,time_pm,time_ilp,accepted_vnrs\n0,1.0,0.23456,1\n");
+		write("exp_run2.csv", "counter,time_pm,time_ilp,accepted_vnrs\n0,1.0,0.23456,3\n");
+
+		Runner.run(dir.resolve("exp").toString());
+
+		final List<String> lines = Files.readAllLines(dir.resolve("exp_stats.csv"));
+		assertEquals(2, lines.size());
+		final List<String> header = List.of(lines.get(0).split(","));
+		final String[] values = lines.get(1).split(",");
+		assertEquals("1.235", values[header.indexOf("time_total")]);
+		assertEquals("0.0", values[header.indexOf("time_total_stddev")]);
+		assertEquals("2.0", values[header.indexOf("accepted_vnrs")]);
+		assertEquals("1.0", values[header.indexOf("accepted_vnrs_stddev")]);
+		assertTrue(Files.exists(dir.resolve("exp_timesums.csv")));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testNoRunFiles() {
+		assertTrue(Runner.findRunFiles(dir.resolve("exp").toString()).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> {
+			Runner.run(dir.resolve("exp").toString());
+		});
+	}
+
+	@Test
+	public void testEmptyExperimentName() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			Runner.run(" ");
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Writes the given content to the file with the given name in the test
+	 * directory.
+	 *
+	 * @param name    Name of the file.
+	 * @param content Content to write.
+	 * @throws IOException If the file could not be written.
+	 */
+	private void write(final String name, final String content) throws IOException {
+		Files.writeString(dir.resolve(name), content);
+	}
+
+}
@@ -0,0 +1,162 @@
+package test.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import statistics.StreamingStatistic;
+
+/**
+ * Test class for the single-pass statistic accumulator.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class StreamingStatisticTest {
+
+	/*
+	 * Positive tests.
+	 */
+
+	@Test
+	public void testMeanAndStdDev() {
+		final double[] values = new double[] { 4.2, -1.5, 3.0, 1e6, 0.001, 7.7, 42 };
+		final StreamingStatistic stat = record(new StreamingStatistic(new double[0]), values);
+
+		assertEquals(values.length, stat.getCount());
+		assertEquals(mean(values), stat.getMean(), 1e-9);
+		assertEquals(stdDev(values), stat.getStdDev(), 1e-6);
+		assertEquals(-1.5, stat.getMin());
+		assertEquals(1e6, stat.getMax());
+	}
+
+	@Test
+	public void testStdDevOfLargeOffset() {
+		// Welford's algorithm does not suffer from cancellation
+		final double[] values = new double[] { 1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16 };
+		final StreamingStatistic stat = record(new StreamingStatistic(new double[0]), values);
+		assertEquals(1e9 + 10, stat.getMean(), 1e-6);
+		assertEquals(Math.sqrt(22.5), stat.getStdDev(), 1e-6);
+	}
+
+	@Test
+	public void testExactPercentilesForFewValues() {
+		final StreamingStatistic stat = record(new StreamingStatistic(new double[] { 0.25, 0.5, 0.75 }),
+				new double[] { 4, 1, 3, 2 });
+		assertArrayEquals(new double[] { 1.75, 2.5, 3.25 }, stat.getPercentiles(), 1e-9);
+	}
+
+	@Test
+	public void testEstimatedPercentiles() {
+		final List<Double> values = new ArrayList<>();
+		for (int i = 0; i <= 10_000; i++) {
+			values.add((double) i);
+		}
+		Collections.shuffle(values, new Random(0));
+
+		final StreamingStatistic stat = new StreamingStatistic(new double[] { 0.5, 0.95, 0.99 });
+		values.forEach(stat::record);
+
+		// Exact values are 5000, 9500, and 9900; P-square is an estimation
+		final double[] percentiles = stat.getPercentiles();
+		assertEquals(5000, percentiles[0], 100);
+		assertEquals(9500, percentiles[1], 100);
+		assertEquals(9900, percentiles[2], 100);
+	}
+
+	@Test
+	public void testNanIgnored() {
+		final StreamingStatistic stat = record(new StreamingStatistic(new double[] { 0.5 }),
+				new double[] { 1, Double.NaN, 3 });
+		assertEquals(2, stat.getCount());
+		assertEquals(2, stat.getMean());
+		assertEquals(2, stat.getPercentiles()[0]);
+	}
+
+	@Test
+	public void testEmpty() {
+		final StreamingStatistic stat = new StreamingStatistic(new double[] { 0.5 });
+		assertEquals(0, stat.getCount());
+		assertTrue(Double.isNaN(stat.getMean()));
+		assertTrue(Double.isNaN(stat.getStdDev()));
+		assertTrue(Double.isNaN(stat.getMin()));
+		assertTrue(Double.isNaN(stat.getMax()));
+		assertTrue(Double.isNaN(stat.getPercentiles()[0]));
+	}
+
+	/*
+	 * Negative tests.
+	 */
+
+	@Test
+	public void testRejectNullPercentiles() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new StreamingStatistic(null);
+		});
+	}
+
+	@Test
+	public void testRejectPercentileOutOfRange() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new StreamingStatistic(new double[] { 0 });
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new StreamingStatistic(new double[] { 1 });
+		});
+	}
+
+	/*
+	 * Utility methods.
+	 */
+
+	/**
+	 * Records all given values.
+	 *
+	 * @param stat   Accumulator to record the values with.
+	 * @param values Values to record.
+	 * @return The given accumulator.
+	 */
+	private static StreamingStatistic record(final StreamingStatistic stat, final double[] values) {
+		for (final double v : values) {
+			stat.record(v);
+		}
+		return stat;
+	}
+
+	/**
+	 * Calculates the exact mean of the given values.
+	 *
+	 * @param values Values.
+	 * @return Mean.
+	 */
+	private static double mean(final double[] values) {
+		double sum = 0;
+		for (final double v : values) {
+			sum += v;
+		}
+		return sum / values.length;
+	}
+
+	/**
+	 * Calculates the exact (population) standard deviation of the given values.
+	 *
+	 * @param values Values.
+	 * @return Standard deviation.
+	 */
+	private static double stdDev(final double[] values) {
+		final double mean = mean(values);
+		double sum = 0;
+		for (final double v : values) {
+			sum += (v - mean) * (v - mean);
+		}
+		return Math.sqrt(sum / values.length);
+	}
+
+}
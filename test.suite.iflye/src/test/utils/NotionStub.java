@@ -0,0 +1,162 @@
+package test.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stub of the Notion API endpoint for creating pages. It records all
+ * received request bodies and answers with a page object containing a random
+ * ID. It can simulate rate limiting and a slow endpoint.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class NotionStub implements AutoCloseable {
+
+	/**
+	 * The HTTP server.
+	 */
+	private final HttpServer server;
+
+	/**
+	 * Executor of the HTTP server.
+	 */
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	/**
+	 * All request bodies received with status 200 (in order).
+	 */
+	private final List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Number of requests that still get rejected with status 429.
+	 */
+	private final AtomicInteger rateLimited = new AtomicInteger();
+
+	/**
+	 * Number of received requests (including rejected ones).
+	 */
+	private final AtomicInteger received = new AtomicInteger();
+
+	/**
+	 * Latch every request waits for before it gets answered.
+	 */
+	private volatile CountDownLatch gate = new CountDownLatch(0);
+
+	/**
+	 * Creates and starts a new stub on a free local port.
+	 *
+	 * @throws IOException if the server could not be started
+	 */
+	public NotionStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/v1/pages", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * Returns the base URL of the stubbed API.
+	 *
+	 * @return base URL of the stubbed API
+	 */
+	public String getApiUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+	}
+
+	/**
+	 * Rejects the next requests with status 429 (rate limited).
+	 *
+	 * @param requests number of requests to reject
+	 */
+	public void rateLimitNext(final int requests) {
+		rateLimited.set(requests);
+	}
+
+	/**
+	 * Holds all requests until {@link #release()} is called.
+	 */
+	public void hold() {
+		gate = new CountDownLatch(1);
+	}
+
+	/**
+	 * Releases all held requests.
+	 */
+	public void release() {
+		gate.countDown();
+	}
+
+	/**
+	 * Returns all successfully received request bodies.
+	 *
+	 * @return list of request bodies
+	 */
+	public List<String> getBodies() {
+		synchronized (bodies) {
+			return new ArrayList<>(bodies);
+		}
+	}
+
+	/**
+	 * Returns the number of all received requests.
+	 *
+	 * @return number of received requests
+	 */
+	public int getReceived() {
+		return received.get();
+	}
+
+	/**
+	 * Handles a single request.
+	 *
+	 * @param exchange HTTP exchange
+	 * @throws IOException if the response could not be written
+	 */
+	private void handle(final HttpExchange exchange) throws IOException {
+		received.incrementAndGet();
+		try {
+			gate.await(10, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+		final byte[] response;
+		if (rateLimited.getAndUpdate(i -> Math.max(0, i - 1)) > 0) {
+			exchange.getResponseHeaders().add("Retry-After", "0");
+			response = "{ \"object\": \"error\", \"status\": 429 }".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(429, response.length);
+		} else {
+			bodies.add(body);
+			response = ("{ \"object\": \"page\", \"id\": \"" + UUID.randomUUID() + "\", \"properties\": {} }")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, response.length);
+		}
+
+		try (final OutputStream os = exchange.getResponseBody()) {
+			os.write(response);
+		}
+	}
+
+	@Override
+	public void close() {
+		release();
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
@@ -6,6 +6,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import facade.ModelFacade;
+import generators.cache.LazySubstratePaths;
 import iflye.dependencies.logging.IflyeLogger;
 import model.SubstrateNetwork;
 import model.VirtualNetwork;
@@ -78,6 +79,21 @@ public abstract class AbstractAlgorithm extends IflyeLogger implements Algorithm
 		this.sNet = sNet;
 		this.vNets = new HashSet<>();
 		this.vNets.addAll(vNets);
+
+		if (!generatesPathsOnDemand()) {
+			LazySubstratePaths.generateAllPaths(sNet);
+		}
+	}
+
+	/**
+	 * Returns true if the algorithm generates the paths of a substrate network
+	 * with lazy paths (see {@link LazySubstratePaths}) on demand. Otherwise, all
+	 * paths get generated in {@link #prepare(SubstrateNetwork, Set)}.
+	 *
+	 * @return True if the algorithm generates the paths on demand.
+	 */
+	protected boolean generatesPathsOnDemand() {
+		return false;
 	}
 
 	@Override
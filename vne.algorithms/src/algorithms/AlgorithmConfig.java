@@ -1,7 +1,13 @@
 package algorithms;
 
+import algorithms.ilp.PathCandidateFilter;
+import algorithms.ilp.SwitchPlacement;
+import algorithms.ilp.VneColumnGenerationAlgorithm;
+import algorithms.ilp.VneFakeIlpAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import algorithms.pm.VnePmMdvneAlgorithmMigration;
+import algorithms.symmetry.SubstrateSymmetry;
+import gt.emoflon.EmoflonGtShared;
 
 /**
  * Configuration of the algorithms {@link VneIlpPathAlgorithm} and
@@ -107,4 +113,77 @@ public class AlgorithmConfig {
 	 */
 	public static boolean netRejCostDynamic = false;
 
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} (and its pipeline stages) build
+	 * their pattern matchers in the background as soon as they get prepared. The
+	 * model must not be modified between the preparation and the execution of the
+	 * algorithm while this option is enabled. Disabled by default, i.e., callers
+	 * have to opt in to this contract.
+	 */
+	public static boolean pmBackgroundInit = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} and the {@link VneFakeIlpAlgorithm}
+	 * only add the representatives of every class of interchangeable substrate
+	 * servers (see {@link SubstrateSymmetry}) to the ILP. The optimal objective
+	 * value does not change, but the chosen hosts may differ.
+	 */
+	public static boolean ilpSymmetryAggregation = false;
+
+	/**
+	 * If greater than 0, the {@link VnePmMdvneAlgorithm} translates the matches
+	 * into ILP variables and constraints while the pattern matcher reports them,
+	 * and applies them to the ILP solver in batches of this number of matches. If
+	 * 0, all matches are collected in a delta before the translation.
+	 */
+	public static int pmStreamingBatchSize = 0;
+
+	/**
+	 * If true, the pattern matchers of the {@link VnePmMdvneAlgorithm} and of all
+	 * pipeline stages are views of one shared engine that contains the rules of
+	 * all stages (see {@link EmoflonGtShared}). The model then only gets indexed
+	 * once for all stages of a pipeline.
+	 */
+	public static boolean pmSharedEngine = false;
+
+	/**
+	 * Maximum number of candidate paths per virtual link and pair of source and
+	 * target host that the {@link VnePmMdvneAlgorithm} and the
+	 * {@link VneFakeIlpAlgorithm} add to the ILP (see {@link PathCandidateFilter}).
+	 * Values less than 1 disable the limit.
+	 */
+	public static int ilpMaxPathsPerPair = 3;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} and the {@link VneFakeIlpAlgorithm}
+	 * add all candidate paths to the ILP, regardless of
+	 * {@link #ilpMaxPathsPerPair}.
+	 */
+	public static boolean ilpExactPaths = false;
+
+	/**
+	 * Maximum number of pricing iterations of the
+	 * {@link VneColumnGenerationAlgorithm}. Each iteration solves the LP relaxation
+	 * of the restricted ILP once and adds the candidate paths with negative reduced
+	 * cost. Values less than 1 solve the initial restricted ILP directly.
+	 */
+	public static int ilpColumnGenerationIterations = 100;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} and the {@link VneFakeIlpAlgorithm}
+	 * only add the substrate nodes on or adjacent to the feasible paths between the
+	 * candidate hosts of the neighboring virtual servers as candidates of a virtual
+	 * switch to the ILP (see {@link SwitchPlacement}). This may prune the optimal
+	 * host of a virtual switch.
+	 */
+	public static boolean ilpSwitchPruning = false;
+
+	/**
+	 * If true, the {@link VnePmMdvneAlgorithm} and the {@link VneFakeIlpAlgorithm}
+	 * do not add any variables for the central switch of star-shaped virtual
+	 * networks to the ILP. The switch gets placed implicitly onto the host of one
+	 * of its virtual servers instead (see {@link SwitchPlacement}).
+	 */
+	public static boolean ilpCollapseStars = false;
+
 }
@@ -0,0 +1,474 @@
+package algorithms.admission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import facade.config.ModelFacadeConfig;
+import iflye.dependencies.logging.IflyeLogger;
+import io.micrometer.observation.Observation;
+import metrics.manager.MetricsManager;
+import model.Link;
+import model.Node;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+import model.VirtualLink;
+import model.VirtualNetwork;
+import model.VirtualServer;
+
+/**
+ * Admission filter that rejects virtual networks which can not be embedded into
+ * a substrate network for sure, i.e., before pattern matching or ILP solving is
+ * started.
+ *
+ * The filter maintains the aggregated residual resources of the substrate
+ * network, the residual resources per rack (all servers connected to the same
+ * switch), and the residual uplink bandwidth per rack. All values are updated
+ * incrementally via EMF adapters whenever an embedding changes a residual value
+ * of a substrate server or link. Only necessary conditions are checked, so a
+ * virtual network that passes the filter may still be rejected later on.
+ *
+ * There is one filter per substrate network that can be obtained by
+ * {@link #get(SubstrateNetwork)}.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class AdmissionFilter extends IflyeLogger {
+
+	/**
+	 * Reason of a rejection by the admission filter.
+	 */
+	public enum Reason {
+		/**
+		 * The total residual resources of all substrate servers are insufficient.
+		 */
+		TOTAL_CAPACITY("total_capacity"),
+
+		/**
+		 * The largest virtual server does not fit onto any substrate server.
+		 */
+		LARGEST_VM("largest_vm"),
+
+		/**
+		 * The virtual network must span multiple racks but no rack has enough
+		 * residual uplink bandwidth.
+		 */
+		RACK_BANDWIDTH("rack_bandwidth");
+
+		/**
+		 * Value of the metric tag.
+		 */
+		private final String tag;
+
+		/**
+		 * Creates a new reason with the given metric tag value.
+		 *
+		 * @param tag Value of the metric tag.
+		 */
+		Reason(final String tag) {
+			this.tag = tag;
+		}
+
+		/**
+		 * Returns the value of the metric tag.
+		 *
+		 * @return Value of the metric tag.
+		 */
+		public String getTag() {
+			return tag;
+		}
+	}
+
+	/**
+	 * Name of the metric tag and counter for rejections.
+	 */
+	public static final String METRIC_NAME = "admission_rejected";
+
+	/**
+	 * Name of the tag that contains the rejection reason.
+	 */
+	public static final String REASON_TAG = "reason";
+
+	/**
+	 * Substrate network of this filter.
+	 */
+	private final SubstrateNetwork sNet;
+
+	/**
+	 * Adapter that gets attached to the substrate network and all of its servers
+	 * and rack uplinks.
+	 */
+	private final Listener listener = new Listener();
+
+	/**
+	 * Total residual resources of all substrate servers (CPU, memory, storage).
+	 */
+	private final long[] total = new long[3];
+
+	/**
+	 * Multisets of the residual resources of all substrate servers per resource
+	 * type, used to find the largest residual values.
+	 */
+	private final TreeMap<Long, Integer>[] residuals;
+
+	/**
+	 * Rack per substrate server.
+	 */
+	private final Map<SubstrateServer, Rack> serverRacks = new HashMap<>();
+
+	/**
+	 * Rack per uplink.
+	 */
+	private final Map<SubstrateLink, Rack> uplinkRacks = new HashMap<>();
+
+	/**
+	 * All racks by the name of their switch.
+	 */
+	private final Map<String, Rack> racks = new LinkedHashMap<>();
+
+	/**
+	 * True if the index must be rebuilt, e.g., because a substrate server was
+	 * removed.
+	 */
+	private boolean dirty = true;
+
+	/**
+	 * Creates a new admission filter for the given substrate network.
+	 *
+	 * @param sNet Substrate network.
+	 */
+	@SuppressWarnings("unchecked")
+	private AdmissionFilter(final SubstrateNetwork sNet) {
+		this.sNet = sNet;
+		this.residuals = new TreeMap[] { new TreeMap<>(), new TreeMap<>(), new TreeMap<>() };
+		sNet.eAdapters().add(listener);
+	}
+
+	/**
+	 * Returns the admission filter of the given substrate network. The filter is
+	 * created on the first call and reused afterwards.
+	 *
+	 * @param sNet Substrate network.
+	 * @return Admission filter of the given substrate network.
+	 */
+	public static AdmissionFilter get(final SubstrateNetwork sNet) {
+		if (sNet == null) {
+			throw new IllegalArgumentException("Substrate network must not be null.");
+		}
+
+		for (final Adapter a : sNet.eAdapters()) {
+			if (a instanceof Listener l) {
+				return l.getFilter();
+			}
+		}
+
+		return new AdmissionFilter(sNet);
+	}
+
+	/**
+	 * Checks all given virtual networks and returns the ones that can not be
+	 * embedded for sure. Every rejection is counted as metric with its reason as
+	 * tag.
+	 *
+	 * @param vNets      Virtual networks to check.
+	 * @param totalsOnly If true, only the total capacity is checked. This is
+	 *                   necessary for algorithms that may migrate already embedded
+	 *                   virtual networks.
+	 * @return Set of all virtual networks that can not be embedded.
+	 */
+	public Set<VirtualNetwork> reject(final Collection<VirtualNetwork> vNets, final boolean totalsOnly) {
+		final Set<VirtualNetwork> rejected = new HashSet<>();
+		for (final VirtualNetwork vNet : vNets) {
+			final Reason reason = check(vNet, totalsOnly);
+			if (reason != null) {
+				rejected.add(vNet);
+				record(vNet, reason);
+			}
+		}
+		return rejected;
+	}
+
+	/**
+	 * Checks if the given virtual network can be embedded at all.
+	 *
+	 * @param vNet       Virtual network to check.
+	 * @param totalsOnly If true, only the total capacity is checked.
+	 * @return Rejection reason or null if the virtual network may be embedded.
+	 */
+	public Reason check(final VirtualNetwork vNet, final boolean totalsOnly) {
+		if (dirty) {
+			rebuild();
+		}
+
+		final long[] demand = new long[3];
+		final long[] largest = new long[3];
+		for (final Node n : vNet.getNodess()) {
+			if (n instanceof VirtualServer vsrv) {
+				final long[] d = { vsrv.getCpu(), vsrv.getMemory(), vsrv.getStorage() };
+				for (int i = 0; i < 3; i++) {
+					demand[i] += d[i];
+					largest[i] = Math.max(largest[i], d[i]);
+				}
+			}
+		}
+
+		// Total capacity
+		for (int i = 0; i < 3; i++) {
+			if (demand[i] > total[i]) {
+				return Reason.TOTAL_CAPACITY;
+			}
+		}
+
+		if (totalsOnly) {
+			return null;
+		}
+
+		// Largest single virtual server
+		for (int i = 0; i < 3; i++) {
+			if (largest[i] > 0 && (residuals[i].isEmpty() || largest[i] > residuals[i].lastKey())) {
+				return Reason.LARGEST_VM;
+			}
+		}
+
+		// Rack bandwidth: If the virtual network does not fit into any rack, at least
+		// one virtual link has to leave its rack.
+		if (!ModelFacadeConfig.IGNORE_BW && !vNet.getLinks().isEmpty()) {
+			boolean fitsOneRack = false;
+			long maxUplink = 0;
+			for (final Rack r : racks.values()) {
+				fitsOneRack |= r.fits(demand);
+				maxUplink = Math.max(maxUplink, r.uplinkResidualBandwidth);
+			}
+
+			if (!fitsOneRack) {
+				long minLinkBw = Long.MAX_VALUE;
+				for (final Link l : vNet.getLinks()) {
+					minLinkBw = Math.min(minLinkBw, ((VirtualLink) l).getBandwidth());
+				}
+
+				if (minLinkBw > maxUplink) {
+					return Reason.RACK_BANDWIDTH;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the total residual resources of all substrate servers.
+	 *
+	 * @return Array of the total residual CPU, memory, and storage.
+	 */
+	public long[] getTotalResiduals() {
+		if (dirty) {
+			rebuild();
+		}
+		return total.clone();
+	}
+
+	/**
+	 * Records the rejection of the given virtual network as metric.
+	 *
+	 * @param vNet   Rejected virtual network.
+	 * @param reason Rejection reason.
+	 */
+	private void record(final VirtualNetwork vNet, final Reason reason) {
+		logger.info("=> Admission filter rejected " + vNet.getName() + ": " + reason.getTag());
+
+		final MetricsManager metrics = MetricsManager.getInstance();
+		if (metrics == null) {
+			return;
+		}
+
+		metrics.getMeterRegistry().counter(METRIC_NAME, REASON_TAG, reason.getTag()).increment();
+		final Observation observation = metrics.getCurrentObservation();
+		if (observation != null) {
+			observation.lowCardinalityKeyValue(METRIC_NAME, reason.getTag());
+		}
+	}
+
+	/**
+	 * Rebuilds the whole index from the substrate network and (re-)attaches the
+	 * adapters to all substrate servers and rack uplinks.
+	 */
+	private void rebuild() {
+		serverRacks.keySet().forEach(s -> s.eAdapters().remove(listener));
+		uplinkRacks.keySet().forEach(l -> l.eAdapters().remove(listener));
+		serverRacks.clear();
+		uplinkRacks.clear();
+		racks.clear();
+		for (int i = 0; i < 3; i++) {
+			total[i] = 0;
+			residuals[i].clear();
+		}
+
+		for (final Node n : sNet.getNodess()) {
+			if (!(n instanceof SubstrateServer srv)) {
+				continue;
+			}
+
+			// The rack of a server is defined by the switch its first link leads to
+			final Node rackSwitch = srv.getOutgoingLinks().isEmpty() ? srv
+					: srv.getOutgoingLinks().get(0).getTarget();
+			final Rack rack = racks.computeIfAbsent(rackSwitch.getName(), k -> createRack(rackSwitch));
+			serverRacks.put(srv, rack);
+
+			final long[] res = { srv.getResidualCpu(), srv.getResidualMemory(), srv.getResidualStorage() };
+			for (int i = 0; i < 3; i++) {
+				total[i] += res[i];
+				rack.residual[i] += res[i];
+				add(residuals[i], res[i]);
+			}
+			srv.eAdapters().add(listener);
+		}
+
+		dirty = false;
+	}
+
+	/**
+	 * Creates a new rack for the given switch and registers all of its uplinks,
+	 * i.e., all outgoing links to nodes with a lower depth.
+	 *
+	 * @param rackSwitch Switch of the rack.
+	 * @return New rack.
+	 */
+	private Rack createRack(final Node rackSwitch) {
+		final Rack rack = new Rack();
+		boolean hasUplinks = false;
+		for (final Link l : rackSwitch.getOutgoingLinks()) {
+			if (l.getTarget().getDepth() < rackSwitch.getDepth()) {
+				final SubstrateLink sl = (SubstrateLink) l;
+				rack.uplinkResidualBandwidth += sl.getResidualBandwidth();
+				uplinkRacks.put(sl, rack);
+				sl.eAdapters().add(listener);
+				hasUplinks = true;
+			}
+		}
+
+		// Racks without uplinks (e.g., one tier networks) do not limit the bandwidth
+		if (!hasUplinks) {
+			rack.uplinkResidualBandwidth = Long.MAX_VALUE;
+		}
+		return rack;
+	}
+
+	/**
+	 * Adds a value to the given multiset.
+	 *
+	 * @param set   Multiset.
+	 * @param value Value to add.
+	 */
+	private static void add(final TreeMap<Long, Integer> set, final long value) {
+		set.merge(value, 1, Integer::sum);
+	}
+
+	/**
+	 * Removes a value from the given multiset.
+	 *
+	 * @param set   Multiset.
+	 * @param value Value to remove.
+	 */
+	private static void remove(final TreeMap<Long, Integer> set, final long value) {
+		set.computeIfPresent(value, (k, v) -> v > 1 ? v - 1 : null);
+	}
+
+	/**
+	 * Aggregated residual values of one rack.
+	 */
+	private static class Rack {
+
+		/**
+		 * Residual resources of all servers in the rack (CPU, memory, storage).
+		 */
+		private final long[] residual = new long[3];
+
+		/**
+		 * Residual bandwidth of all uplinks of the rack.
+		 */
+		private long uplinkResidualBandwidth = 0;
+
+		/**
+		 * Checks if the given demand fits into the residual resources of this rack.
+		 *
+		 * @param demand Demand (CPU, memory, storage).
+		 * @return True if the demand fits.
+		 */
+		private boolean fits(final long[] demand) {
+			return demand[0] <= residual[0] && demand[1] <= residual[1] && demand[2] <= residual[2];
+		}
+
+	}
+
+	/**
+	 * Adapter that updates the index on every change of a residual value and marks
+	 * it dirty on structural changes of the substrate network.
+	 */
+	private class Listener extends AdapterImpl {
+
+		/**
+		 * Returns the surrounding admission filter.
+		 *
+		 * @return Admission filter.
+		 */
+		private AdmissionFilter getFilter() {
+			return AdmissionFilter.this;
+		}
+
+		@Override
+		public void notifyChanged(final Notification msg) {
+			if (msg.isTouch() || !(msg.getFeature() instanceof EStructuralFeature feature)) {
+				return;
+			}
+
+			final Object notifier = msg.getNotifier();
+			if (notifier == sNet) {
+				if (feature.getName().equals("nodess") || feature.getName().equals("links")) {
+					dirty = true;
+				}
+				return;
+			}
+
+			if (dirty || !(msg.getOldValue() instanceof Number o) || !(msg.getNewValue() instanceof Number n)) {
+				return;
+			}
+
+			final long delta = n.longValue() - o.longValue();
+			if (notifier instanceof SubstrateServer srv) {
+				final int i = switch (feature.getName()) {
+				case "residualCpu" -> 0;
+				case "residualMemory" -> 1;
+				case "residualStorage" -> 2;
+				default -> -1;
+				};
+
+				if (i >= 0) {
+					total[i] += delta;
+					remove(residuals[i], o.longValue());
+					add(residuals[i], n.longValue());
+					final Rack rack = serverRacks.get(srv);
+					if (rack != null) {
+						rack.residual[i] += delta;
+					}
+				}
+			} else if (notifier instanceof SubstrateLink link && feature.getName().equals("residualBandwidth")) {
+				final Rack rack = uplinkRacks.get(link);
+				if (rack != null) {
+					rack.uplinkResidualBandwidth += delta;
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+package algorithms.cost;
+
+import algorithms.AlgorithmConfig.Objective;
+import model.SubstrateElement;
+import model.SubstrateNode;
+import model.VirtualLink;
+import model.VirtualNode;
+
+/**
+ * Cost function of one objective (see {@link Objective}) for the ILP-based
+ * algorithms. The function is selected once (e.g., when an algorithm gets
+ * prepared) instead of switching on the configured objective for every match.
+ * The link costs of all objectives only depend on the hosting element type,
+ * the hop count of a path, and the virtual bandwidth, hence, they are cheap to
+ * compute and not tabled. Node costs of the objectives C and D depend on the
+ * residual resources and stay live.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public interface CostFunction {
+
+	/**
+	 * Returns the cost of embedding the given virtual node onto the given
+	 * substrate node.
+	 *
+	 * @param virt Virtual node to embed.
+	 * @param sub  Substrate node hosting the virtual node.
+	 * @return Cost for this particular mapping.
+	 */
+	double getNodeCost(final VirtualNode virt, final SubstrateNode sub);
+
+	/**
+	 * Returns the cost of embedding the given virtual link onto the given
+	 * substrate element (server or path).
+	 *
+	 * @param virt Virtual link to embed.
+	 * @param sub  Substrate element hosting the virtual link.
+	 * @return Cost for this particular mapping.
+	 */
+	double getLinkCost(final VirtualLink virt, final SubstrateElement sub);
+
+	/**
+	 * Returns the cost function of the given objective. The cost functions are
+	 * stateless and shared, i.e., this does not depend on (or scan) any substrate
+	 * network.
+	 *
+	 * @param objective Objective to select the cost function for.
+	 * @return Cost function of the objective.
+	 */
+	static CostFunction of(final Objective objective) {
+		if (objective == null) {
+			throw new IllegalArgumentException("Objective must not be null.");
+		}
+
+		return ObjectiveCostFunction.get(objective);
+	}
+
+}
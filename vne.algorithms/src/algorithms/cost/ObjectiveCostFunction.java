@@ -0,0 +1,90 @@
+package algorithms.cost;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToDoubleBiFunction;
+
+import algorithms.AlgorithmConfig.Objective;
+import metrics.CostUtility;
+import model.SubstrateElement;
+import model.SubstrateNode;
+import model.VirtualLink;
+import model.VirtualNode;
+
+/**
+ * Cost function that is composed of one node cost and one link cost function.
+ * The cost functions of all objectives are stateless, hence, they are created
+ * once and shared by all algorithms (see {@link CostFunction#of}).
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+class ObjectiveCostFunction implements CostFunction {
+
+	/**
+	 * Cost functions of all objectives.
+	 */
+	private static final Map<Objective, CostFunction> FUNCTIONS = new EnumMap<>(Objective.class);
+
+	static {
+		FUNCTIONS.put(Objective.TOTAL_PATH_COST, new ObjectiveCostFunction(CostUtility::getTotalPathCostNode,
+				(virt, sub) -> CostUtility.getTotalPathCostLink(sub)));
+		FUNCTIONS.put(Objective.TOTAL_COMMUNICATION_COST_A, new ObjectiveCostFunction(
+				(virt, sub) -> CostUtility.getTotalCommunicationCostNodeAB(),
+				CostUtility::getTotalCommunicationCostLinkA));
+		FUNCTIONS.put(Objective.TOTAL_COMMUNICATION_COST_B, new ObjectiveCostFunction(
+				(virt, sub) -> CostUtility.getTotalCommunicationCostNodeAB(),
+				CostUtility::getTotalCommunicationCostLinkBCD));
+		FUNCTIONS.put(Objective.TOTAL_COMMUNICATION_OBJECTIVE_C, new ObjectiveCostFunction(
+				CostUtility::getTotalCommunicationCostObjectiveNodeC, CostUtility::getTotalCommunicationCostLinkBCD));
+		FUNCTIONS.put(Objective.TOTAL_COMMUNICATION_OBJECTIVE_D, new ObjectiveCostFunction(
+				CostUtility::getTotalCommunicationCostObjectiveNodeD, CostUtility::getTotalCommunicationCostLinkBCD));
+		FUNCTIONS.put(Objective.TOTAL_TAF_COMMUNICATION_COST, new ObjectiveCostFunction((virt, sub) -> {
+			throw new UnsupportedOperationException();
+		}, (virt, sub) -> {
+			throw new UnsupportedOperationException();
+		}));
+	}
+
+	/**
+	 * Node cost function.
+	 */
+	private final ToDoubleBiFunction<VirtualNode, SubstrateNode> nodeCost;
+
+	/**
+	 * Link cost function.
+	 */
+	private final ToDoubleBiFunction<VirtualLink, SubstrateElement> linkCost;
+
+	/**
+	 * Creates a new cost function.
+	 *
+	 * @param nodeCost Node cost function.
+	 * @param linkCost Link cost function.
+	 */
+	private ObjectiveCostFunction(final ToDoubleBiFunction<VirtualNode, SubstrateNode> nodeCost,
+			final ToDoubleBiFunction<VirtualLink, SubstrateElement> linkCost) {
+		this.nodeCost = nodeCost;
+		this.linkCost = linkCost;
+	}
+
+	/**
+	 * Returns the shared cost function of the given objective.
+	 *
+	 * @param objective Objective (not null).
+	 * @return Cost function of the objective.
+	 */
+	static CostFunction get(final Objective objective) {
+		return FUNCTIONS.get(objective);
+	}
+
+	@Override
+	public double getNodeCost(final VirtualNode virt, final SubstrateNode sub) {
+		return nodeCost.applyAsDouble(virt, sub);
+	}
+
+	@Override
+	public double getLinkCost(final VirtualLink virt, final SubstrateElement sub) {
+		return linkCost.applyAsDouble(virt, sub);
+	}
+
+}
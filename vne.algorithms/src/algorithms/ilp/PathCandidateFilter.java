@@ -0,0 +1,193 @@
+package algorithms.ilp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.ToDoubleBiFunction;
+
+import algorithms.AlgorithmConfig;
+import gt.PatternMatchingDelta.Match;
+import model.SubstratePath;
+import model.VirtualLink;
+
+/**
+ * Filter that limits the candidate paths of the ILP formulation to the
+ * {@link AlgorithmConfig#ilpMaxPathsPerPair} cheapest ones per virtual link and
+ * pair of source and target host. The candidates of a pair are ranked by the
+ * link cost of the active objective and, for equal costs, by their residual
+ * bandwidth (descending). Paths that do not have enough residual bandwidth for
+ * the virtual link are ranked last.
+ *
+ * The candidates can be offered one by one (see {@link #offer(Match)}). The
+ * filter only holds the current cheapest candidates of every virtual link and
+ * host pair in a bounded heap, i.e., a worse candidate gets evicted as soon as
+ * a cheaper one arrives.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PathCandidateFilter {
+
+	/**
+	 * Maximum number of candidate paths per virtual link and host pair.
+	 */
+	private final int k;
+
+	/**
+	 * Link cost function of the active objective.
+	 */
+	private final ToDoubleBiFunction<VirtualLink, SubstratePath> cost;
+
+	/**
+	 * Ranking of the candidate paths that sorts the best candidate first.
+	 */
+	private final Comparator<Match> ranking;
+
+	/**
+	 * Current cheapest candidates per virtual link and host pair. The heads of the
+	 * heaps are the worst candidates, i.e., the next ones to evict.
+	 */
+	private final Map<List<Object>, PriorityQueue<Match>> candidates = new LinkedHashMap<>();
+
+	/**
+	 * Number of pruned candidate paths.
+	 */
+	private int pruned = 0;
+
+	/**
+	 * Creates a new filter with the limit of the algorithm configuration. The
+	 * filter keeps all candidates if the exact mode is enabled (see
+	 * {@link AlgorithmConfig#ilpExactPaths}).
+	 *
+	 * @param cost Link cost function of the active objective.
+	 */
+	public PathCandidateFilter(final ToDoubleBiFunction<VirtualLink, SubstratePath> cost) {
+		this(AlgorithmConfig.ilpExactPaths ? 0 : AlgorithmConfig.ilpMaxPathsPerPair, cost);
+	}
+
+	/**
+	 * Creates a new filter with the given limit.
+	 *
+	 * @param k    Maximum number of candidate paths per virtual link and host
+	 *             pair. Values less than 1 disable the filter.
+	 * @param cost Link cost function of the active objective.
+	 */
+	public PathCandidateFilter(final int k, final ToDoubleBiFunction<VirtualLink, SubstratePath> cost) {
+		if (cost == null) {
+			throw new IllegalArgumentException("Cost function must not be null.");
+		}
+
+		this.k = k;
+		this.cost = cost;
+		this.ranking = ranking();
+	}
+
+	/**
+	 * Returns true if the filter limits the number of candidate paths.
+	 *
+	 * @return True if the filter limits the number of candidate paths.
+	 */
+	public boolean isActive() {
+		return k > 0;
+	}
+
+	/**
+	 * Offers the given link to path match as a candidate of its virtual link and
+	 * host pair. If the pair already has the maximum number of candidates, the
+	 * worst one of them (possibly the given match) gets pruned.
+	 *
+	 * @param match Link to path match.
+	 * @return True if the match is among the current cheapest candidates.
+	 */
+	public boolean offer(final Match match) {
+		if (!isActive()) {
+			throw new UnsupportedOperationException("Filter is not active.");
+		}
+
+		final SubstratePath sPath = (SubstratePath) match.getSubstrate();
+		final PriorityQueue<Match> pair = candidates.computeIfAbsent(
+				List.of(match.getVirtual(), sPath.getSource(), sPath.getTarget()),
+				key -> new PriorityQueue<>(k + 1, ranking.reversed()));
+
+		if (pair.size() < k) {
+			pair.add(match);
+			return true;
+		}
+
+		pruned++;
+		if (ranking.compare(match, pair.peek()) >= 0) {
+			return false;
+		}
+		pair.poll();
+		pair.add(match);
+		return true;
+	}
+
+	/**
+	 * Returns all offered link to path matches that were not pruned and resets the
+	 * held candidates. The matches are grouped by virtual link and host pair (in
+	 * the order of the first offer of the pair) with the best candidate first.
+	 *
+	 * @return Link to path matches that were not pruned.
+	 */
+	public List<Match> drain() {
+		final List<Match> kept = new ArrayList<>();
+		for (final PriorityQueue<Match> pair : candidates.values()) {
+			final List<Match> sorted = new ArrayList<>(pair);
+			sorted.sort(ranking);
+			kept.addAll(sorted);
+		}
+		candidates.clear();
+		return kept;
+	}
+
+	/**
+	 * Returns all given link to path matches that are among the cheapest
+	 * candidates of their virtual link and host pair. The order of the given
+	 * matches is kept.
+	 *
+	 * @param matches Link to path matches.
+	 * @return Link to path matches that were not pruned.
+	 */
+	public List<Match> filter(final Collection<Match> matches) {
+		if (!isActive()) {
+			return new ArrayList<>(matches);
+		}
+
+		matches.forEach(this::offer);
+		final Set<Match> kept = new HashSet<>(drain());
+		return matches.stream().filter(kept::contains).toList();
+	}
+
+	/**
+	 * Returns the number of candidate paths pruned by this filter so far.
+	 *
+	 * @return Number of pruned candidate paths.
+	 */
+	public int getNumberOfPrunedPaths() {
+		return pruned;
+	}
+
+	/**
+	 * Returns the ranking of the candidate paths of one virtual link and host
+	 * pair.
+	 *
+	 * @return Comparator that sorts the best candidate first.
+	 */
+	private Comparator<Match> ranking() {
+		final Comparator<Match> feasible = Comparator.comparing(m -> ((SubstratePath) m.getSubstrate())
+				.getResidualBandwidth() < ((VirtualLink) m.getVirtual()).getBandwidth());
+		return feasible
+				.thenComparingDouble(m -> cost.applyAsDouble((VirtualLink) m.getVirtual(),
+						(SubstratePath) m.getSubstrate()))
+				.thenComparing(m -> ((SubstratePath) m.getSubstrate()).getResidualBandwidth(),
+						Comparator.reverseOrder())
+				.thenComparing(m -> m.getSubstrate().getName());
+	}
+
+}
@@ -0,0 +1,310 @@
+package algorithms.ilp;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import algorithms.AlgorithmConfig;
+import algorithms.pm.PmAlgorithmUtils;
+import facade.ModelFacade;
+import model.Element;
+import model.Link;
+import model.Node;
+import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstratePath;
+import model.VirtualLink;
+import model.VirtualNetwork;
+import model.VirtualServer;
+import model.VirtualSwitch;
+
+/**
+ * Placement of the virtual switches in the ILP formulation. Without any option
+ * enabled, every virtual switch may be placed on every substrate node. This
+ * class offers two ways to reduce the number of switch mapping variables:
+ *
+ * Pruning ({@link AlgorithmConfig#ilpSwitchPruning}): The candidates of a
+ * virtual switch are limited to the substrate nodes on or adjacent to the
+ * feasible paths between the candidate hosts of its neighboring virtual
+ * servers. A path is feasible if its residual bandwidth is sufficient for the
+ * smallest virtual link of the switch. The candidates of a virtual switch
+ * without neighboring virtual servers are not limited. This is a heuristic,
+ * i.e., it may prune the optimal host of a virtual switch.
+ *
+ * Star collapsing ({@link AlgorithmConfig#ilpCollapseStars}): The central
+ * switch of a star-shaped virtual network (exactly one virtual switch and only
+ * virtual links between the switch and virtual servers) does not get any
+ * variables. Instead, it is placed implicitly onto the host of one of its
+ * virtual servers (the anchor with the highest bandwidth to the switch), i.e.,
+ * the virtual links of the switch use the mapping variables of the anchor.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SwitchPlacement {
+
+	/**
+	 * Candidate hosts of the pruned virtual switches. Virtual switches that are
+	 * not part of this map are not limited.
+	 */
+	private final Map<VirtualSwitch, Set<SubstrateNode>> candidates = new HashMap<>();
+
+	/**
+	 * Collapsed central switches of star-shaped virtual networks to their anchor
+	 * servers.
+	 */
+	private final Map<VirtualSwitch, VirtualServer> anchors = new LinkedHashMap<>();
+
+	/**
+	 * Number of pruned candidate hosts of virtual switches.
+	 */
+	private int pruned = 0;
+
+	/**
+	 * Creates a new switch placement for the given networks with the options of
+	 * the algorithm configuration.
+	 *
+	 * @param sNet  Substrate network.
+	 * @param vNets Virtual networks to place the switches of.
+	 * @return Switch placement.
+	 */
+	public static SwitchPlacement of(final SubstrateNetwork sNet, final Collection<VirtualNetwork> vNets) {
+		return new SwitchPlacement(sNet, vNets, AlgorithmConfig.ilpSwitchPruning, AlgorithmConfig.ilpCollapseStars);
+	}
+
+	/**
+	 * Creates a new switch placement that neither prunes nor collapses any virtual
+	 * switch.
+	 *
+	 * @return Switch placement without any limitation.
+	 */
+	public static SwitchPlacement unrestricted() {
+		return new SwitchPlacement(null, Set.of(), false, false);
+	}
+
+	/**
+	 * Creates a new switch placement for the given networks.
+	 *
+	 * @param sNet          Substrate network.
+	 * @param vNets         Virtual networks to place the switches of.
+	 * @param prune         If true, the candidate hosts of the virtual switches get
+	 *                      pruned.
+	 * @param collapseStars If true, the central switches of star-shaped virtual
+	 *                      networks get collapsed.
+	 */
+	public SwitchPlacement(final SubstrateNetwork sNet, final Collection<VirtualNetwork> vNets, final boolean prune,
+			final boolean collapseStars) {
+		if (vNets == null) {
+			throw new IllegalArgumentException("Virtual networks must not be null.");
+		}
+
+		if (prune && sNet == null) {
+			throw new IllegalArgumentException("Substrate network must not be null.");
+		}
+
+		if (collapseStars) {
+			vNets.forEach(this::collapse);
+		}
+
+		if (prune) {
+			prune(sNet, vNets);
+		}
+	}
+
+	/**
+	 * Returns true if the given virtual switch may be placed onto the given
+	 * substrate node. Counts the candidate as pruned otherwise.
+	 *
+	 * @param vSwitch   Virtual switch.
+	 * @param substrate Substrate node.
+	 * @return True if the switch mapping variable has to be added to the ILP.
+	 */
+	public boolean isCandidate(final VirtualSwitch vSwitch, final Element substrate) {
+		if (isCollapsed(vSwitch)) {
+			return false;
+		}
+
+		final Set<SubstrateNode> hosts = candidates.get(vSwitch);
+		if (hosts == null || hosts.contains(substrate)) {
+			return true;
+		}
+
+		pruned++;
+		return false;
+	}
+
+	/**
+	 * Returns true if the given virtual switch is the collapsed central switch of
+	 * a star-shaped virtual network.
+	 *
+	 * @param vSwitch Virtual switch.
+	 * @return True if the virtual switch does not get any mapping variables.
+	 */
+	public boolean isCollapsed(final VirtualSwitch vSwitch) {
+		return anchors.containsKey(vSwitch);
+	}
+
+	/**
+	 * Returns the virtual node whose mapping variables represent the given virtual
+	 * node in the ILP, i.e., the anchor server for a collapsed switch and the node
+	 * itself otherwise.
+	 *
+	 * @param vNode Virtual node.
+	 * @return Virtual node whose mapping variables represent the given one.
+	 */
+	public Node getRepresentative(final Node vNode) {
+		final VirtualServer anchor = anchors.get(vNode);
+		return anchor != null ? anchor : vNode;
+	}
+
+	/**
+	 * Embeds all collapsed switches onto the hosts of their anchor servers. Does
+	 * nothing for switches of rejected virtual networks, i.e., anchor servers
+	 * without a host.
+	 *
+	 * @param modelFacade Model facade to embed the switches with.
+	 */
+	public void embedCollapsedSwitches(final ModelFacade modelFacade) {
+		anchors.forEach((vSwitch, anchor) -> {
+			if (anchor.getHost() != null && vSwitch.getHost() == null) {
+				modelFacade.embedSwitchToNode(anchor.getHost().getName(), vSwitch.getName());
+			}
+		});
+	}
+
+	/**
+	 * Returns the number of candidate hosts of virtual switches pruned so far.
+	 *
+	 * @return Number of pruned candidate hosts.
+	 */
+	public int getNumberOfPrunedCandidates() {
+		return pruned;
+	}
+
+	/*
+	 * Helper methods.
+	 */
+
+	/**
+	 * Collapses the central switch of the given virtual network if it is
+	 * star-shaped.
+	 *
+	 * @param vNet Virtual network.
+	 */
+	private void collapse(final VirtualNetwork vNet) {
+		final List<Node> switches = vNet.getNodess().stream().filter(n -> n instanceof VirtualSwitch).toList();
+		if (switches.size() != 1 || vNet.getLinks().isEmpty()) {
+			return;
+		}
+
+		final VirtualSwitch center = (VirtualSwitch) switches.get(0);
+		final Map<VirtualServer, Long> bandwidths = new HashMap<>();
+		for (final Link l : vNet.getLinks()) {
+			final Node other = l.getSource() == center ? l.getTarget() : l.getSource();
+			if (l.getSource() != center && l.getTarget() != center || !(other instanceof VirtualServer)) {
+				return;
+			}
+			bandwidths.merge((VirtualServer) other, (long) ((VirtualLink) l).getBandwidth(), Long::sum);
+		}
+
+		anchors.put(center, bandwidths.keySet().stream()
+				.max(Comparator.comparing((VirtualServer s) -> bandwidths.get(s))
+						.thenComparing(s -> s.getName(), Comparator.reverseOrder()))
+				.get());
+	}
+
+	/**
+	 * Computes the candidate hosts of all virtual switches of the given networks
+	 * that are not collapsed.
+	 *
+	 * @param sNet  Substrate network.
+	 * @param vNets Virtual networks.
+	 */
+	private void prune(final SubstrateNetwork sNet, final Collection<VirtualNetwork> vNets) {
+		final Map<Node, Set<SubstrateNode>> adjacent = new HashMap<>();
+		for (final Link l : sNet.getLinks()) {
+			adjacent.computeIfAbsent(l.getSource(), n -> new HashSet<>()).add((SubstrateNode) l.getTarget());
+			adjacent.computeIfAbsent(l.getTarget(), n -> new HashSet<>()).add((SubstrateNode) l.getSource());
+		}
+
+		final Map<Node, List<SubstratePath>> paths = new HashMap<>();
+		for (final SubstratePath p : sNet.getPaths()) {
+			paths.computeIfAbsent(p.getSource(), n -> new LinkedList<>()).add(p);
+		}
+
+		final Map<Node, Set<SubstrateNode>> hosts = new HashMap<>();
+		for (final VirtualNetwork vNet : vNets) {
+			for (final Node n : vNet.getNodess()) {
+				if (n instanceof VirtualSwitch vSwitch && !isCollapsed(vSwitch)) {
+					final Set<SubstrateNode> switchHosts = getCandidateHosts(sNet, vSwitch, hosts, paths, adjacent);
+					if (switchHosts != null) {
+						candidates.put(vSwitch, switchHosts);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the candidate hosts of the given virtual switch, i.e., all substrate
+	 * nodes on or adjacent to the feasible paths between the candidate hosts of
+	 * its neighboring virtual servers.
+	 *
+	 * @param sNet     Substrate network.
+	 * @param vSwitch  Virtual switch.
+	 * @param hosts    Cache of the candidate hosts of the virtual servers.
+	 * @param paths    Substrate paths per source node.
+	 * @param adjacent Adjacent substrate nodes per substrate node.
+	 * @return Candidate hosts of the virtual switch or null if the virtual switch
+	 *         does not have any neighboring virtual server.
+	 */
+	private Set<SubstrateNode> getCandidateHosts(final SubstrateNetwork sNet, final VirtualSwitch vSwitch,
+			final Map<Node, Set<SubstrateNode>> hosts, final Map<Node, List<SubstratePath>> paths,
+			final Map<Node, Set<SubstrateNode>> adjacent) {
+		final Set<Node> neighbors = new HashSet<>();
+		long bandwidth = Long.MAX_VALUE;
+		for (final Link l : vSwitch.getOutgoingLinks()) {
+			if (l.getTarget() instanceof VirtualServer) {
+				neighbors.add(l.getTarget());
+				bandwidth = Math.min(bandwidth, ((VirtualLink) l).getBandwidth());
+			}
+		}
+		for (final Link l : vSwitch.getIncomingLinks()) {
+			if (l.getSource() instanceof VirtualServer) {
+				neighbors.add(l.getSource());
+				bandwidth = Math.min(bandwidth, ((VirtualLink) l).getBandwidth());
+			}
+		}
+
+		if (neighbors.isEmpty()) {
+			return null;
+		}
+
+		final Set<SubstrateNode> serverHosts = new HashSet<>();
+		neighbors.forEach(
+				v -> serverHosts.addAll(hosts.computeIfAbsent(v, n -> PmAlgorithmUtils.getCandidateHosts(sNet, n))));
+
+		// All nodes on feasible paths between the hosts (including the hosts itself)
+		final Set<SubstrateNode> onPaths = new HashSet<>(serverHosts);
+		if (neighbors.size() > 1) {
+			for (final SubstrateNode source : serverHosts) {
+				for (final SubstratePath p : paths.getOrDefault(source, List.of())) {
+					if (serverHosts.contains(p.getTarget()) && p.getResidualBandwidth() >= bandwidth) {
+						onPaths.addAll(p.getNodes());
+					}
+				}
+			}
+		}
+
+		// Plus all adjacent nodes
+		final Set<SubstrateNode> switchHosts = new HashSet<>(onPaths);
+		onPaths.forEach(n -> switchHosts.addAll(adjacent.getOrDefault(n, Set.of())));
+		return switchHosts;
+	}
+
+}
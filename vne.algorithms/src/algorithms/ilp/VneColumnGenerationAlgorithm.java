@@ -0,0 +1,298 @@
+package algorithms.ilp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import algorithms.AlgorithmConfig;
+import facade.ModelFacade;
+import gt.PatternMatchingDelta.Match;
+import ilp.wrapper.SolverStatus;
+import ilp.wrapper.Statistics;
+import model.Element;
+import model.Link;
+import model.SubstratePath;
+import model.VirtualLink;
+
+/**
+ * Implementation of the ILP fake algorithm that embeds the virtual links with
+ * column generation. The ILP initially only contains the cheapest candidate
+ * path per virtual link and host pair (see {@link PathCandidateFilter}). The
+ * algorithm then repeatedly solves the LP relaxation of this restricted ILP and
+ * prices the remaining candidate paths with the dual values of the virtual link
+ * and substrate link constraints: The reduced cost of a path is its cost minus
+ * the dual value of the virtual link plus its length with the negated dual
+ * values of the substrate links as link weights. Per virtual link, the path
+ * with the most negative reduced cost gets added to the ILP. As soon as no such
+ * path is left (or {@link AlgorithmConfig#ilpColumnGenerationIterations} is
+ * reached), the restricted ILP gets solved with all added paths.
+ *
+ * The pricing only scans the candidate paths that were already generated and
+ * matched, it does not search the substrate network for new paths. Hence, the
+ * column generation reduces the size of the ILP given to the solver, but not
+ * the path space: all candidate paths still get generated and matched up front.
+ *
+ * The LP relaxation of the requirement constraints of the virtual links (2x -
+ * s - t <= 0) allows embedding a virtual link for free between fractionally
+ * placed end points. Therefore, this algorithm additionally bounds every link
+ * variable by both end point variables (x - s <= 0, x - t <= 0). This does not
+ * change the integer solutions, but the dual values of the substrate links then
+ * reflect their bandwidth.
+ *
+ * The embedding is always valid, but it may be more expensive than the one of
+ * the {@link VneFakeIlpAlgorithm}, because paths that are only attractive in an
+ * integer solution are not priced in.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class VneColumnGenerationAlgorithm extends VneFakeIlpAlgorithm {
+
+	/**
+	 * Reduced cost a candidate path must fall below to be added to the ILP.
+	 */
+	private static final double REDUCED_COST_TOLERANCE = -1e-6;
+
+	/**
+	 * Candidate link to path matches that are not part of the ILP yet: Virtual
+	 * link to matches.
+	 */
+	protected final Map<VirtualLink, List<Match>> pricingPool = new LinkedHashMap<>();
+
+	/**
+	 * Number of pricing iterations of the current run.
+	 */
+	protected int iterations = 0;
+
+	/**
+	 * Number of candidate paths added by the pricing of the current run.
+	 */
+	protected int generatedPaths = 0;
+
+	/**
+	 * Initialize the algorithm with the global model facade.
+	 */
+	public VneColumnGenerationAlgorithm() {
+		this(ModelFacade.getInstance());
+	}
+
+	/**
+	 * Initialize the algorithm with the given model facade.
+	 *
+	 * @param modelFacade Model facade to work with.
+	 */
+	public VneColumnGenerationAlgorithm(final ModelFacade modelFacade) {
+		super(modelFacade);
+	}
+
+	/**
+	 * Adds the cheapest candidate path per virtual link and host pair to the given
+	 * delta generator. All other candidates are kept for the pricing.
+	 *
+	 * @param gen     ILP delta generator to add the matches to.
+	 * @param matches Candidate link to path matches.
+	 */
+	@Override
+	protected void addLinkPathMatches(final IlpDeltaGenerator gen, final List<Match> matches) {
+		pricingPool.clear();
+		iterations = 0;
+		generatedPaths = 0;
+
+		final List<Match> initial = new PathCandidateFilter(1, this::getLinkCost).filter(matches);
+		initial.forEach(gen::addLinkPathMatch);
+
+		final Set<Match> added = new HashSet<>(initial);
+		for (final Match m : matches) {
+			if (!added.contains(m)) {
+				pricingPool.computeIfAbsent((VirtualLink) m.getVirtual(), l -> new ArrayList<>()).add(m);
+			}
+		}
+	}
+
+	/**
+	 * Refines the restricted ILP with the end point constraints and the paths of
+	 * the column generation.
+	 */
+	@Override
+	protected void beforeSolve() {
+		addEndpointConstraints();
+		generatePaths();
+	}
+
+	@Override
+	protected Map<String, Number> getIlpStatistics(final Statistics solve) {
+		final Map<String, Number> statistics = super.getIlpStatistics(solve);
+		statistics.put("cg_iterations", iterations);
+		statistics.put("cg_generated_paths", generatedPaths);
+		return statistics;
+	}
+
+	/**
+	 * Bounds the variables of all virtual link matches of the ILP by the mapping
+	 * variables of their end points.
+	 */
+	protected void addEndpointConstraints() {
+		for (final Entry<String, Match> entry : new ArrayList<>(variablesToMatch.entrySet())) {
+			if (entry.getValue().getVirtual() instanceof VirtualLink vLink) {
+				final Element host = entry.getValue().getSubstrate();
+				final String source = host instanceof SubstratePath sPath ? sPath.getSource().getName()
+						: host.getName();
+				final String target = host instanceof SubstratePath sPath ? sPath.getTarget().getName()
+						: host.getName();
+				addEndpointConstraints(entry.getKey(), vLink, source, target);
+			}
+		}
+	}
+
+	/**
+	 * Bounds the given link variable by the mapping variables of the end points of
+	 * the given virtual link onto the given substrate nodes.
+	 *
+	 * @param varName Name of the link variable.
+	 * @param vLink   Virtual link.
+	 * @param source  Name of the substrate node of the source.
+	 * @param target  Name of the substrate node of the target.
+	 */
+	private void addEndpointConstraints(final String varName, final VirtualLink vLink, final String source,
+			final String target) {
+		ilpSolver.addLessOrEqualsConstraint("reqs" + varName, 0, new double[] { 1, -1 },
+				new String[] { varName,
+						switchPlacement.getRepresentative(vLink.getSource()).getName() + "_" + source });
+		ilpSolver.addLessOrEqualsConstraint("reqt" + varName, 0, new double[] { 1, -1 },
+				new String[] { varName,
+						switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_" + target });
+	}
+
+	/**
+	 * Adds candidate paths with negative reduced cost to the ILP until no such
+	 * path is left or the maximum number of iterations is reached. Afterwards, the
+	 * number of pruned paths is the number of candidates that were never added.
+	 */
+	protected void generatePaths() {
+		// Candidates of hosts that are not part of the ILP (e.g., redundant servers)
+		// can never be embedded
+		pricingPool.values().forEach(candidates -> candidates.removeIf(m -> !hasEndpointVariables(m)));
+		pricingPool.values().removeIf(List::isEmpty);
+
+		while (iterations < AlgorithmConfig.ilpColumnGenerationIterations && !pricingPool.isEmpty()) {
+			final Statistics relaxation = ilpSolver.solveRelaxation();
+			if (relaxation.getStatus() != SolverStatus.OPTIMAL) {
+				logger.warning("LP relaxation was not solved to optimality (" + relaxation.getStatus()
+						+ "). Stopping the column generation.");
+				break;
+			}
+			iterations++;
+
+			final List<Match> paths = price();
+			if (paths.isEmpty()) {
+				break;
+			}
+			paths.forEach(this::addPath);
+			generatedPaths += paths.size();
+		}
+
+		prunedPaths = pricingPool.values().stream().mapToInt(List::size).sum();
+	}
+
+	/**
+	 * Returns the candidate path with the most negative reduced cost per virtual
+	 * link and removes them from the pricing pool. The reduced costs of all
+	 * remaining candidates in the pool are computed, i.e., the pricing is a scan
+	 * and not a shortest path search. Requires the dual values of the last LP
+	 * relaxation run.
+	 *
+	 * @return Link to path matches to add to the ILP.
+	 */
+	protected List<Match> price() {
+		final Map<String, Double> linkWeights = new HashMap<>();
+		for (final Link l : sNet.getLinks()) {
+			linkWeights.put(l.getName(), -ilpSolver.getDual("sl" + l.getName()));
+		}
+
+		final List<Match> paths = new ArrayList<>();
+		final Iterator<Entry<VirtualLink, List<Match>>> it = pricingPool.entrySet().iterator();
+		while (it.hasNext()) {
+			final Entry<VirtualLink, List<Match>> entry = it.next();
+			final VirtualLink vLink = entry.getKey();
+			final double vLinkDual = ilpSolver.getDual("vl" + vLink.getName());
+
+			Match best = null;
+			double bestReducedCost = REDUCED_COST_TOLERANCE;
+			for (final Match m : entry.getValue()) {
+				final SubstratePath sPath = (SubstratePath) m.getSubstrate();
+				double length = 0;
+				for (final Link l : sPath.getLinks()) {
+					length += linkWeights.get(l.getName());
+				}
+
+				final double reducedCost = getCost(vLink, sPath) - vLinkDual + vLink.getBandwidth() * length;
+				if (reducedCost < bestReducedCost) {
+					best = m;
+					bestReducedCost = reducedCost;
+				}
+			}
+
+			if (best != null) {
+				paths.add(best);
+				entry.getValue().remove(best);
+				if (entry.getValue().isEmpty()) {
+					it.remove();
+				}
+			}
+		}
+
+		return paths;
+	}
+
+	/**
+	 * Adds the variable and constraints of the given link to path match directly
+	 * to the ILP solver (analogous to
+	 * {@link IlpDeltaGenerator#addLinkPathMatch(Match)}, but with the end point
+	 * constraints instead of the requirement constraint).
+	 *
+	 * @param match Link to path match to add.
+	 */
+	protected void addPath(final Match match) {
+		final VirtualLink vLink = (VirtualLink) match.getVirtual();
+		final SubstratePath sPath = (SubstratePath) match.getSubstrate();
+		final String varName = vLink.getName() + "_" + sPath.getName();
+
+		ilpSolver.addVariable(varName, getCost(vLink, sPath));
+		ilpSolver.setVariableWeightForConstraint("vl" + vLink.getName(), 1, varName);
+		addEndpointConstraints(varName, vLink, sPath.getSource().getName(), sPath.getTarget().getName());
+		forEachLink(sPath,
+				l -> ilpSolver.setVariableWeightForConstraint("sl" + l.getName(), vLink.getBandwidth(), varName));
+		variablesToMatch.put(varName, match);
+	}
+
+	/**
+	 * Returns true if the ILP contains the mapping variables of both end points of
+	 * the given link to path match.
+	 *
+	 * @param match Link to path match.
+	 * @return True if the ILP contains the mapping variables of both end points.
+	 */
+	private boolean hasEndpointVariables(final Match match) {
+		final VirtualLink vLink = (VirtualLink) match.getVirtual();
+		final SubstratePath sPath = (SubstratePath) match.getSubstrate();
+		return ilpSolver.hasVariable(
+				switchPlacement.getRepresentative(vLink.getSource()).getName() + "_" + sPath.getSource().getName())
+				&& ilpSolver.hasVariable(switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_"
+						+ sPath.getTarget().getName());
+	}
+
+	/**
+	 * The dual values of the LP relaxation are only defined without SOS1
+	 * constraints, hence, this algorithm never adds them.
+	 */
+	@Override
+	protected boolean usesSosConstraints() {
+		return false;
+	}
+
+}
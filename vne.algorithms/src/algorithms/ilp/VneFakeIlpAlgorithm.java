@@ -12,8 +12,12 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.admission.AdmissionFilter;
+import algorithms.cost.CostFunction;
+import algorithms.symmetry.SubstrateSymmetry;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
+import gt.PatternMatchingConfig;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
 import ilp.wrapper.IlpDelta;
@@ -86,7 +90,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		public void addSosMappings(final String v, final String vs) {
 			// If the algorithm configuration for the SOS constraint feature is disabled,
 			// return.
-			if (!AlgorithmConfig.pmSosEnabled) {
+			if (!usesSosConstraints()) {
 				return;
 			}
 
@@ -125,8 +129,10 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			// solver does not have to deal with the embedding of the link for this
 			// particular substrate
 			// node, to.
-			final String sourceVarName = vLink.getSource().getName() + "_" + match.getSubstrate().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + match.getSubstrate().getName();
+			final String sourceVarName = switchPlacement.getRepresentative(vLink.getSource()).getName() + "_"
+					+ match.getSubstrate().getName();
+			final String targetVarName = switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_"
+					+ match.getSubstrate().getName();
 
 			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
 				return;
@@ -163,8 +169,10 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			// This may e.g. be the case if the virtual node is a server but the substrate
 			// node is a
 			// switch.
-			final String sourceVarName = vLink.getSource().getName() + "_" + sPath.getSource().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + sPath.getTarget().getName();
+			final String sourceVarName = switchPlacement.getRepresentative(vLink.getSource()).getName() + "_"
+					+ sPath.getSource().getName();
+			final String targetVarName = switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_"
+					+ sPath.getTarget().getName();
 
 			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
 				return;
@@ -290,6 +298,18 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected IncrementalIlpSolver ilpSolver;
 
+	/**
+	 * Number of candidate paths pruned while creating the current ILP (see
+	 * {@link PathCandidateFilter}).
+	 */
+	protected int prunedPaths = 0;
+
+	/**
+	 * Placement of the virtual switches in the current ILP (see
+	 * {@link SwitchPlacement}).
+	 */
+	protected SwitchPlacement switchPlacement = SwitchPlacement.unrestricted();
+
 	/**
 	 * Mapping of string (name) to matches.
 	 */
@@ -302,6 +322,11 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Cost function of the configured objective.
+	 */
+	protected CostFunction costFunction;
+
 	/**
 	 * Initialize the algorithm with the global model facade.
 	 */
@@ -335,6 +360,7 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		}
 
 		super.prepare(sNet, vNets);
+		costFunction = CostFunction.of(AlgorithmConfig.obj);
 
 		checkPreConditions();
 	}
@@ -353,12 +379,12 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 		GlobalMetricsManager.measureMemory();
 		init();
 
-		// Check overall embedding possibility
-		checkOverallResources();
-
 		// Repair model consistency: Substrate network
 		repairSubstrateNetwork();
 
+		// Check overall embedding possibility
+		checkOverallResources();
+
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		vNets.addAll(repairedVnets);
@@ -442,18 +468,43 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected Set<VirtualNetwork> solveIlp() {
 		GlobalMetricsManager.startIlpTime();
+		beforeSolve();
 		final Statistics solve = ilpSolver.solve();
+		GlobalMetricsManager.recordIlpStatistics(getIlpStatistics(solve));
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		if (solve.isFeasible()) {
 			GlobalMetricsManager.startDeployTime();
 			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			switchPlacement.embedCollapsedSwitches(modelFacade);
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
 		return rejectedNetworks;
 	}
 
+	/**
+	 * Gets called right before the ILP gets solved (within the ILP time
+	 * measurement). Subclasses can use it to refine the ILP formulation.
+	 */
+	protected void beforeSolve() {
+		// Nothing to refine
+	}
+
+	/**
+	 * Returns the statistics of the given ILP solver run that get recorded by the
+	 * metrics manager.
+	 *
+	 * @param solve Statistics of the ILP solver run.
+	 * @return Modifiable map of statistic names to values.
+	 */
+	protected Map<String, Number> getIlpStatistics(final Statistics solve) {
+		final Map<String, Number> statistics = solve.getDetails().toMetrics();
+		statistics.put("pruned_paths", prunedPaths);
+		statistics.put("pruned_switch_candidates", switchPlacement.getNumberOfPrunedCandidates());
+		return statistics;
+	}
+
 	/**
 	 * Translates the given pattern matching delta to an ILP formulation.
 	 *
@@ -461,27 +512,33 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	 */
 	protected void delta2Ilp(final PatternMatchingDelta delta) {
 		final IlpDeltaGenerator gen = new IlpDeltaGenerator();
+		switchPlacement = createSwitchPlacement();
 
 		// add new elements
 		addElementsToSolver(gen);
 
-		// add new matches
+		// add new matches (link matches to left out servers are dropped implicitly as
+		// their node mapping variables are missing)
+		final Set<SubstrateServer> redundantServers = getRedundantServers();
 		delta.getNewServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
+				.filter(m -> !redundantServers.contains(m.getSubstrate()))
 				.forEach(gen::addServerMatch);
 		delta.getNewSwitchMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
+				.filter(m -> !redundantServers.contains(m.getSubstrate()))
+				.filter(m -> switchPlacement.isCandidate((VirtualSwitch) m.getVirtual(), m.getSubstrate()))
 				.forEach(gen::addSwitchMatch);
 
 		// Important: Due to the fact that both link constraint generating methods check
 		// the existence of the node mapping variables, the link constraints have to be
 		// added *after* all node constraints.
-		delta.getNewLinkPathMatchPositives().stream()
+		addLinkPathMatches(gen, delta.getNewLinkPathMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
-				.forEach(gen::addLinkPathMatch);
+				.filter(m -> !PatternMatchingConfig.coupledLinkPaths || delta.hasEndpointMatches(m)).toList());
 		delta.getNewLinkServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
@@ -492,48 +549,67 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Checks the overall resource availability for all nodes of all virtual
-	 * networks and all nodes of the substrate network. If a network can not be
-	 * placed on the substrate network at all, the method adds it to the set of
-	 * ignored networks.
+	 * Returns true if the ILP gets additional SOS1 constraints for each virtual
+	 * element to map (see {@link AlgorithmConfig#pmSosEnabled}).
+	 *
+	 * @return True if the ILP gets SOS1 constraints.
 	 */
-	protected void checkOverallResources() {
-		// Calculate total residual resources for substrate servers Datatype long is
-		// needed, because of the possible large values of substrate server residual
-		// resources (e.g. from the diss scenario).
-		long subTotalResidualCpu = 0;
-		long subTotalResidualMem = 0;
-		long subTotalResidualSto = 0;
-
-		for (final Node n : sNet.getNodess()) {
-			if (n instanceof SubstrateServer) {
-				final SubstrateServer ssrv = (SubstrateServer) n;
-				subTotalResidualCpu += ssrv.getResidualCpu();
-				subTotalResidualMem += ssrv.getResidualMemory();
-				subTotalResidualSto += ssrv.getResidualStorage();
-			}
-		}
+	protected boolean usesSosConstraints() {
+		return AlgorithmConfig.pmSosEnabled;
+	}
 
-		for (final VirtualNetwork vNet : vNets) {
-			// Calculate needed resources for current virtual network candidate
-			long virtTotalCpu = 0;
-			long virtTotalMem = 0;
-			long virtTotalSto = 0;
+	/**
+	 * Adds the given candidate link to path matches to the given delta generator.
+	 * Only the cheapest candidates per virtual link and host pair are added (see
+	 * {@link PathCandidateFilter}).
+	 *
+	 * @param gen     ILP delta generator to add the matches to.
+	 * @param matches Candidate link to path matches.
+	 */
+	protected void addLinkPathMatches(final IlpDeltaGenerator gen, final List<Match> matches) {
+		final PathCandidateFilter pathFilter = new PathCandidateFilter(this::getLinkCost);
+		pathFilter.filter(matches).forEach(gen::addLinkPathMatch);
+		prunedPaths = pathFilter.getNumberOfPrunedPaths();
+	}
 
-			for (final Node n : vNet.getNodess()) {
-				if (n instanceof VirtualServer) {
-					final VirtualServer vsrv = (VirtualServer) n;
-					virtTotalCpu += vsrv.getCpu();
-					virtTotalMem += vsrv.getMemory();
-					virtTotalSto += vsrv.getStorage();
-				}
-			}
+	/**
+	 * Creates the placement of the virtual switches of all virtual networks of the
+	 * current request that were not rejected by the admission filter.
+	 *
+	 * @return Switch placement with the options of the algorithm configuration.
+	 */
+	protected SwitchPlacement createSwitchPlacement() {
+		final Set<VirtualNetwork> requested = new HashSet<>(vNets);
+		requested.removeAll(ignoredVnets);
+		return SwitchPlacement.of(sNet, requested);
+	}
 
-			if (!(subTotalResidualCpu >= virtTotalCpu && subTotalResidualMem >= virtTotalMem
-					&& subTotalResidualSto >= virtTotalSto)) {
-				ignoredVnets.add(vNet);
-			}
+	/**
+	 * Returns all substrate servers that can be left out of the ILP of this run
+	 * because an interchangeable server is already part of it (see
+	 * {@link SubstrateSymmetry}). Returns an empty set if the symmetry aggregation
+	 * is disabled.
+	 *
+	 * @return Set of substrate servers that can be left out.
+	 */
+	protected Set<SubstrateServer> getRedundantServers() {
+		if (!AlgorithmConfig.ilpSymmetryAggregation) {
+			return Set.of();
 		}
+
+		final Set<VirtualNetwork> requested = new HashSet<>(vNets);
+		requested.removeAll(ignoredVnets);
+		return SubstrateSymmetry.of(sNet).getRedundantServers(SubstrateSymmetry.countVirtualNodes(requested));
+	}
+
+	/**
+	 * Checks the overall resource availability for all virtual networks with the
+	 * admission filter of the substrate network. If a network can not be placed on
+	 * the substrate network at all, the method adds it to the set of ignored
+	 * networks.
+	 */
+	protected void checkOverallResources() {
+		ignoredVnets.addAll(AdmissionFilter.get(sNet).reject(vNets, false));
 	}
 
 	/*
@@ -638,7 +714,8 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 			for (final Node n : vNet.getNodess()) {
 				if (n instanceof VirtualServer) {
 					gen.addNewVirtualServer((VirtualServer) n);
-				} else if (n instanceof VirtualSwitch) {
+				} else if (n instanceof VirtualSwitch && !switchPlacement.isCollapsed((VirtualSwitch) n)) {
+					// Collapsed switches do not have any mapping variables
 					gen.addNewVirtualSwitch((VirtualSwitch) n);
 				}
 			}
@@ -751,37 +828,25 @@ public class VneFakeIlpAlgorithm extends AbstractAlgorithm {
 	}
 
 	public double getNodeCost(final VirtualNode virt, final SubstrateNode sub) {
-		switch (AlgorithmConfig.obj) {
-		case TOTAL_PATH_COST:
-			return CostUtility.getTotalPathCostNode(virt, sub);
-		case TOTAL_COMMUNICATION_COST_A:
-			return CostUtility.getTotalCommunicationCostNodeAB();
-		case TOTAL_COMMUNICATION_COST_B:
-			return CostUtility.getTotalCommunicationCostNodeAB();
-		case TOTAL_COMMUNICATION_OBJECTIVE_C:
-			return CostUtility.getTotalCommunicationCostObjectiveNodeC(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_D:
-			return CostUtility.getTotalCommunicationCostObjectiveNodeD(virt, sub);
-		default:
-			throw new UnsupportedOperationException();
-		}
+		return getCostFunction().getNodeCost(virt, sub);
 	}
 
 	public double getLinkCost(final VirtualLink virt, final SubstrateElement sub) {
-		switch (AlgorithmConfig.obj) {
-		case TOTAL_PATH_COST:
-			return CostUtility.getTotalPathCostLink(sub);
-		case TOTAL_COMMUNICATION_COST_A:
-			return CostUtility.getTotalCommunicationCostLinkA(virt, sub);
-		case TOTAL_COMMUNICATION_COST_B:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_C:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_D:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		default:
-			throw new UnsupportedOperationException();
+		return getCostFunction().getLinkCost(virt, sub);
+	}
+
+	/**
+	 * Returns the cost function of the configured objective. The cost function is
+	 * selected once when the algorithm gets prepared (or on the first call if the
+	 * algorithm was not prepared).
+	 *
+	 * @return Cost function of the configured objective.
+	 */
+	protected CostFunction getCostFunction() {
+		if (costFunction == null) {
+			costFunction = CostFunction.of(AlgorithmConfig.obj);
 		}
+		return costFunction;
 	}
 
 	public double getNetRejCost(final VirtualNetwork vNet) {
@@ -86,12 +86,12 @@ public class VneFakeIlpBatchAlgorithm extends VneFakeIlpAlgorithm {
 		GlobalMetricsManager.measureMemory();
 		init();
 
-		// Check overall embedding possibility
-		checkOverallResources();
-
 		// Repair model consistency: Substrate network
 		repairSubstrateNetwork();
 
+		// Check overall embedding possibility
+		checkOverallResources();
+
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		vNets.addAll(repairedVnets);
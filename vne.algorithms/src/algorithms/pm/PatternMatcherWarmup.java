@@ -0,0 +1,117 @@
+package algorithms.pm;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import algorithms.AlgorithmConfig;
+import gt.IncrementalPatternMatcher;
+import gt.IncrementalPatternMatcherFactory;
+
+/**
+ * Builds incremental pattern matchers in the background, so that their (cold)
+ * construction does not lie on the critical path of the first algorithm
+ * execution.
+ *
+ * All engines of all algorithms are built one after another on a single shared
+ * thread, because their construction registers adapters on the shared model.
+ * For the same reason, an algorithm must call {@link #joinAll()} (or
+ * {@link #take(IncrementalPatternMatcherFactory)}) before it modifies the model.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class PatternMatcherWarmup {
+
+	/**
+	 * Shared single thread executor for the construction of all engines.
+	 */
+	private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+		final Thread t = new Thread(r, "pm-warmup");
+		t.setDaemon(true);
+		return t;
+	});
+
+	/**
+	 * Engines under construction per factory (in order of their start).
+	 */
+	private final Map<IncrementalPatternMatcherFactory, CompletableFuture<IncrementalPatternMatcher>> pending =
+			new LinkedHashMap<>();
+
+	/**
+	 * Starts the background construction of an engine of the given factory. This
+	 * method does nothing if the background construction is disabled (see
+	 * {@link AlgorithmConfig#pmBackgroundInit}) or if an engine of the factory is
+	 * already under construction.
+	 *
+	 * @param factory Factory to create the engine with.
+	 */
+	public void start(final IncrementalPatternMatcherFactory factory) {
+		if (!AlgorithmConfig.pmBackgroundInit || pending.containsKey(factory)) {
+			return;
+		}
+
+		pending.put(factory, CompletableFuture.supplyAsync(factory::create, executor));
+	}
+
+	/**
+	 * Returns an engine of the given factory. If one was started in the background,
+	 * this method waits for it. Otherwise, the engine gets created synchronously.
+	 *
+	 * @param factory Factory to create the engine with.
+	 * @return Engine of the given factory.
+	 */
+	public IncrementalPatternMatcher take(final IncrementalPatternMatcherFactory factory) {
+		final CompletableFuture<IncrementalPatternMatcher> future = pending.remove(factory);
+		if (future == null) {
+			return factory.create();
+		}
+
+		return join(future);
+	}
+
+	/**
+	 * Waits until all engines started by this object are constructed.
+	 */
+	public void joinAll() {
+		pending.values().forEach(PatternMatcherWarmup::join);
+	}
+
+	/**
+	 * Disposes all engines that were started but not taken.
+	 */
+	public void dispose() {
+		final Iterator<CompletableFuture<IncrementalPatternMatcher>> it = pending.values().iterator();
+		while (it.hasNext()) {
+			final CompletableFuture<IncrementalPatternMatcher> future = it.next();
+			it.remove();
+			try {
+				join(future).dispose();
+			} catch (final RuntimeException e) {
+				// The construction failed, hence, there is nothing to dispose
+			}
+		}
+	}
+
+	/**
+	 * Waits for the given engine and re-throws the original exception if its
+	 * construction failed.
+	 *
+	 * @param future Engine under construction.
+	 * @return Constructed engine.
+	 */
+	private static IncrementalPatternMatcher join(final CompletableFuture<IncrementalPatternMatcher> future) {
+		try {
+			return future.join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -1,10 +1,26 @@
 package algorithms.pm;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import algorithms.AlgorithmConfig;
 import facade.ModelFacade;
+import facade.config.ModelFacadeConfig;
+import generators.cache.LazySubstratePaths;
+import gt.IncrementalPatternMatcherFactory;
+import gt.emoflon.EmoflonGtFactory;
+import gt.emoflon.EmoflonGtRackAFactory;
+import gt.emoflon.EmoflonGtRackBFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
+import gt.emoflon.EmoflonGtSharedFactory;
+import gt.emoflon.EmoflonGtVnetFactory;
+import model.Link;
 import model.Node;
 import model.SubstrateNetwork;
+import model.SubstrateNode;
+import model.SubstrateServer;
 import model.VirtualNetwork;
 import model.VirtualServer;
 import model.VirtualSwitch;
@@ -57,4 +73,174 @@ public class PmAlgorithmUtils {
 		}
 	}
 
+	/**
+	 * Returns the factory for the pattern matchers of the given stage. If the
+	 * shared engine is enabled (see {@link AlgorithmConfig#pmSharedEngine}), all
+	 * created pattern matchers of one model use the same engine.
+	 *
+	 * @param stage Stage (i.e., rule set) of the pattern matcher.
+	 * @return Factory for the pattern matchers of the stage.
+	 */
+	public static IncrementalPatternMatcherFactory getPatternMatcherFactory(final Stage stage) {
+		if (AlgorithmConfig.pmSharedEngine) {
+			return new EmoflonGtSharedFactory(stage);
+		}
+
+		switch (stage) {
+		case FULL:
+			return new EmoflonGtFactory();
+		case RACK_A:
+			return new EmoflonGtRackAFactory();
+		case RACK_B:
+			return new EmoflonGtRackBFactory();
+		case VNET:
+			return new EmoflonGtVnetFactory();
+		default:
+			throw new IllegalArgumentException("Stage " + stage + " is not supported.");
+		}
+	}
+
+	/**
+	 * Generates all paths of the given substrate network that the given virtual
+	 * networks could use, if the paths of the substrate network are generated on
+	 * demand (see {@link LazySubstratePaths}). A virtual link could use every path
+	 * from a candidate host of its source to a candidate host of its target. The
+	 * candidate hosts of a virtual server are all substrate servers with
+	 * sufficient residual resources (cf. the server matching rule). The candidate
+	 * hosts of a virtual switch are bounded by its neighboring virtual servers
+	 * (see {@link #getSwitchCandidateHosts(SubstrateNetwork, VirtualSwitch, Map)}).
+	 *
+	 * @param sNet  Substrate network.
+	 * @param vNets Set of virtual networks to generate the paths for.
+	 */
+	public static void generatePaths(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
+		if (!LazySubstratePaths.isLazy(sNet)) {
+			return;
+		}
+
+		final Map<Node, Set<SubstrateNode>> hosts = new HashMap<>();
+		final Map<SubstrateNode, Set<SubstrateNode>> pairs = new HashMap<>();
+		for (final VirtualNetwork vNet : vNets) {
+			for (final Link l : vNet.getLinks()) {
+				final Set<SubstrateNode> sourceHosts = getHosts(sNet, l.getSource(), hosts);
+				final Set<SubstrateNode> targetHosts = getHosts(sNet, l.getTarget(), hosts);
+
+				for (final SubstrateNode source : sourceHosts) {
+					pairs.computeIfAbsent(source, s -> new HashSet<>()).addAll(targetHosts);
+				}
+			}
+		}
+
+		LazySubstratePaths.generatePaths(sNet, pairs);
+	}
+
+	/**
+	 * Returns the (cached) candidate hosts of the given virtual node for the path
+	 * generation.
+	 *
+	 * @param sNet  Substrate network.
+	 * @param v     Virtual node.
+	 * @param hosts Cache of the candidate hosts of all virtual nodes.
+	 * @return Set of all substrate nodes that could host the virtual node.
+	 */
+	private static Set<SubstrateNode> getHosts(final SubstrateNetwork sNet, final Node v,
+			final Map<Node, Set<SubstrateNode>> hosts) {
+		Set<SubstrateNode> candidates = hosts.get(v);
+		if (candidates == null) {
+			candidates = v instanceof VirtualSwitch vSwitch ? getSwitchCandidateHosts(sNet, vSwitch, hosts)
+					: getCandidateHosts(sNet, v);
+			hosts.put(v, candidates);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns all substrate nodes that could host the given virtual switch in an
+	 * embedding. A virtual link between the switch and a virtual server either
+	 * gets embedded onto the host of the server or onto a path of at most
+	 * {@link ModelFacadeConfig#MAX_PATH_LENGTH} hops. Hence, the candidate hosts
+	 * are all substrate nodes within this distance of a candidate host of every
+	 * neighboring virtual server. The candidate hosts of a virtual switch without
+	 * neighboring virtual servers are all substrate nodes.
+	 *
+	 * @param sNet    Substrate network.
+	 * @param vSwitch Virtual switch.
+	 * @param hosts   Cache of the candidate hosts of all virtual nodes.
+	 * @return Set of all substrate nodes that could host the virtual switch.
+	 */
+	private static Set<SubstrateNode> getSwitchCandidateHosts(final SubstrateNetwork sNet,
+			final VirtualSwitch vSwitch, final Map<Node, Set<SubstrateNode>> hosts) {
+		final Set<Node> neighbors = new HashSet<>();
+		vSwitch.getOutgoingLinks().forEach(l -> neighbors.add(l.getTarget()));
+		vSwitch.getIncomingLinks().forEach(l -> neighbors.add(l.getSource()));
+		final int maxHops = ModelFacadeConfig.MAX_PATH_LENGTH_AUTO ? Integer.MAX_VALUE
+				: ModelFacadeConfig.MAX_PATH_LENGTH;
+
+		Set<SubstrateNode> candidates = null;
+		for (final Node neighbor : neighbors) {
+			if (!(neighbor instanceof VirtualServer)) {
+				continue;
+			}
+
+			final Set<SubstrateNode> reachable = getReachableNodes(getHosts(sNet, neighbor, hosts), maxHops);
+			if (candidates == null) {
+				candidates = reachable;
+			} else {
+				candidates.retainAll(reachable);
+			}
+		}
+
+		return candidates == null ? getCandidateHosts(sNet, vSwitch) : candidates;
+	}
+
+	/**
+	 * Returns all substrate nodes within the given number of hops of one of the
+	 * given substrate nodes (including the given nodes).
+	 *
+	 * @param starts  Substrate nodes to start at.
+	 * @param maxHops Maximum number of hops.
+	 * @return Set of all reachable substrate nodes.
+	 */
+	private static Set<SubstrateNode> getReachableNodes(final Set<SubstrateNode> starts, final int maxHops) {
+		final Set<SubstrateNode> reachable = new HashSet<>(starts);
+		Set<SubstrateNode> frontier = starts;
+		for (int hops = 0; hops < maxHops && !frontier.isEmpty(); hops++) {
+			final Set<SubstrateNode> next = new HashSet<>();
+			for (final SubstrateNode n : frontier) {
+				n.getOutgoingLinks().forEach(l -> next.add((SubstrateNode) l.getTarget()));
+				n.getIncomingLinks().forEach(l -> next.add((SubstrateNode) l.getSource()));
+			}
+			next.removeAll(reachable);
+			reachable.addAll(next);
+			frontier = next;
+		}
+		return reachable;
+	}
+
+	/**
+	 * Returns all substrate nodes that could host the given virtual node. The
+	 * candidate hosts of a virtual server are all substrate servers with
+	 * sufficient residual resources, the candidate hosts of all other virtual
+	 * nodes are all substrate nodes.
+	 *
+	 * @param sNet Substrate network.
+	 * @param v    Virtual node.
+	 * @return Set of all substrate nodes that could host the virtual node.
+	 */
+	public static Set<SubstrateNode> getCandidateHosts(final SubstrateNetwork sNet, final Node v) {
+		final Set<SubstrateNode> candidates = new HashSet<>();
+		for (final Node n : sNet.getNodess()) {
+			if (v instanceof VirtualServer vsrv) {
+				if (n instanceof SubstrateServer ssrv && vsrv.getCpu() <= ssrv.getResidualCpu()
+						&& vsrv.getMemory() <= ssrv.getResidualMemory()
+						&& vsrv.getStorage() <= ssrv.getResidualStorage()) {
+					candidates.add(ssrv);
+				}
+			} else {
+				candidates.add((SubstrateNode) n);
+			}
+		}
+		return candidates;
+	}
+
 }
@@ -12,13 +12,20 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmConfig;
+import algorithms.admission.AdmissionFilter;
+import algorithms.cost.CostFunction;
+import algorithms.ilp.PathCandidateFilter;
+import algorithms.ilp.SwitchPlacement;
+import algorithms.symmetry.SubstrateSymmetry;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
+import generators.cache.LazySubstratePaths;
 import gt.IncrementalPatternMatcher;
+import gt.MatchConsumer;
+import gt.PatternMatchingConfig;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
-import gt.emoflon.EmoflonGt;
-import gt.emoflon.EmoflonGtFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
 import ilp.wrapper.IlpDelta;
 import ilp.wrapper.IlpSolverException;
 import ilp.wrapper.IncrementalIlpSolver;
@@ -26,7 +33,9 @@ import ilp.wrapper.Statistics;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.CostUtility;
 import metrics.manager.GlobalMetricsManager;
+import model.Element;
 import model.Link;
+import model.Network;
 import model.Node;
 import model.SubstrateElement;
 import model.SubstrateLink;
@@ -67,9 +76,10 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	public class IlpDeltaGenerator {
 		/**
-		 * ILP delta object that holds all information.
+		 * ILP delta object that holds all information that was not applied to the
+		 * solver yet.
 		 */
-		protected final IlpDelta delta = new IlpDelta();
+		protected IlpDelta delta = new IlpDelta();
 
 		/**
 		 * Mappings for the SOS1 constraints. Each virtual element IDs is a key and the
@@ -115,8 +125,10 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		 * Adds a match from a virtual link to a substrate server.
 		 *
 		 * @param match Match to get information from.
+		 * @return False if the match was not added because a mapping variable of the
+		 *         source or target node is missing.
 		 */
-		public void addLinkServerMatch(final Match match) {
+		public boolean addLinkServerMatch(final Match match) {
 			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
 			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(match.getVirtual().getName());
 
@@ -129,11 +141,13 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			// solver does not have to deal with the embedding of the link for this
 			// particular substrate
 			// node, to.
-			final String sourceVarName = vLink.getSource().getName() + "_" + match.getSubstrate().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + match.getSubstrate().getName();
+			final String sourceVarName = switchPlacement.getRepresentative(vLink.getSource()).getName() + "_"
+					+ match.getSubstrate().getName();
+			final String targetVarName = switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_"
+					+ match.getSubstrate().getName();
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
-				return;
+			if (!hasVariable(sourceVarName) || !hasVariable(targetVarName)) {
+				return false;
 			}
 
 			delta.addVariable(varName, getCost(vLink, (SubstrateNode) match.getSubstrate()));
@@ -144,14 +158,17 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 
 			// SOS match
 			addSosMappings(match.getVirtual().getName(), varName);
+			return true;
 		}
 
 		/**
 		 * Adds a match from a virtual link to a substrate path.
 		 *
 		 * @param match Match to get information from.
+		 * @return False if the match was not added because a mapping variable of the
+		 *         source or target node is missing.
 		 */
-		public void addLinkPathMatch(final Match match) {
+		public boolean addLinkPathMatch(final Match match) {
 			final VirtualLink vLink = (VirtualLink) modelFacade.getLinkById(match.getVirtual().getName());
 			final SubstratePath sPath = modelFacade.getPathById(match.getSubstrate().getName());
 
@@ -167,11 +184,13 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			// This may e.g. be the case if the virtual node is a server but the substrate
 			// node is a
 			// switch.
-			final String sourceVarName = vLink.getSource().getName() + "_" + sPath.getSource().getName();
-			final String targetVarName = vLink.getTarget().getName() + "_" + sPath.getTarget().getName();
+			final String sourceVarName = switchPlacement.getRepresentative(vLink.getSource()).getName() + "_"
+					+ sPath.getSource().getName();
+			final String targetVarName = switchPlacement.getRepresentative(vLink.getTarget()).getName() + "_"
+					+ sPath.getTarget().getName();
 
-			if (!delta.hasAddVariable(sourceVarName) || !delta.hasAddVariable(targetVarName)) {
-				return;
+			if (!hasVariable(sourceVarName) || !hasVariable(targetVarName)) {
+				return false;
 			}
 
 			final String varName = match.getVirtual().getName() + "_" + match.getSubstrate().getName();
@@ -186,6 +205,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 
 			// SOS match
 			addSosMappings(match.getVirtual().getName(), varName);
+			return true;
 		}
 
 		/**
@@ -273,6 +293,26 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			delta.setVariableWeightForConstraint("vl" + link.getName(), 1, "rej" + link.getNetwork().getName());
 		}
 
+		/**
+		 * Checks if a variable with the given name is part of the delta or was already
+		 * applied to the ILP solver.
+		 *
+		 * @param name Name of the variable.
+		 * @return True if the variable exists.
+		 */
+		protected boolean hasVariable(final String name) {
+			return delta.hasAddVariable(name) || ilpSolver.hasVariable(name);
+		}
+
+		/**
+		 * Applies the current delta (without the SOS1 constraints) to the ILP solver
+		 * object and starts a new one.
+		 */
+		public void flush() {
+			delta.apply(ilpSolver);
+			delta = new IlpDelta();
+		}
+
 		/**
 		 * Applies the delta to the ILP solver object.
 		 */
@@ -289,11 +329,179 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 
 	}
 
+	/**
+	 * ILP delta generator that translates matches while the pattern matcher
+	 * reports them and applies them to the ILP solver in batches. Link matches
+	 * that are reported before the matches of their source and target nodes are
+	 * held back until the pattern matcher has finished.
+	 *
+	 * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+	 */
+	public class IlpStreamGenerator extends IlpDeltaGenerator implements MatchConsumer {
+
+		/**
+		 * Number of matches after which the delta gets applied to the solver.
+		 */
+		private final int batchSize;
+
+		/**
+		 * Substrate servers that are left out of the ILP.
+		 */
+		private final Set<SubstrateServer> redundantServers;
+
+		/**
+		 * Link to path matches whose node mapping variables were missing.
+		 */
+		private final List<Match> pendingLinkPaths = new LinkedList<>();
+
+		/**
+		 * Link to server matches whose node mapping variables were missing.
+		 */
+		private final List<Match> pendingLinkServers = new LinkedList<>();
+
+		/**
+		 * Filter of the candidate paths per virtual link and host pair. It holds back
+		 * the current cheapest link to path matches of every pair until the end.
+		 */
+		private final PathCandidateFilter pathFilter = new PathCandidateFilter(VnePmMdvneAlgorithm.this::getLinkCost);
+
+		/**
+		 * Number of matches in the current delta.
+		 */
+		private int batch = 0;
+
+		/**
+		 * Creates a new streaming generator.
+		 *
+		 * @param batchSize        Number of matches after which the delta gets
+		 *                         applied to the solver.
+		 * @param redundantServers Substrate servers that are left out of the ILP.
+		 */
+		public IlpStreamGenerator(final int batchSize, final Set<SubstrateServer> redundantServers) {
+			if (batchSize <= 0) {
+				throw new IllegalArgumentException("Batch size must be greater than 0.");
+			}
+			this.batchSize = batchSize;
+			this.redundantServers = redundantServers;
+		}
+
+		@Override
+		public void addServerMatchPositive(final Element virtual, final Element substrate) {
+			if (isRequested(virtual) && !redundantServers.contains(substrate)) {
+				addServerMatch(new Match(virtual, substrate));
+				count();
+			}
+		}
+
+		@Override
+		public void addSwitchMatchPositive(final Element virtual, final Element substrate) {
+			if (isRequested(virtual) && !redundantServers.contains(substrate)
+					&& switchPlacement.isCandidate((VirtualSwitch) virtual, substrate)) {
+				addSwitchMatch(new Match(virtual, substrate));
+				count();
+			}
+		}
+
+		@Override
+		public void addLinkPathMatchPositive(final Element virtual, final Element substrate) {
+			// The coupled path check is covered by the node mapping variables
+			if (isRequested(virtual)) {
+				final Match match = new Match(virtual, substrate);
+				if (pathFilter.isActive()) {
+					// The cheapest candidates are only known after all matches were reported,
+					// hence, worse candidates get evicted but the survivors are held back
+					pathFilter.offer(match);
+				} else if (!addLinkPathMatch(match)) {
+					pendingLinkPaths.add(match);
+				}
+				count();
+			}
+		}
+
+		@Override
+		public void addLinkServerMatchPositive(final Element virtual, final Element substrate) {
+			if (isRequested(virtual)) {
+				final Match match = new Match(virtual, substrate);
+				if (!addLinkServerMatch(match)) {
+					pendingLinkServers.add(match);
+				}
+				count();
+			}
+		}
+
+		@Override
+		public void addNetworkServerMatchPositive(final Element virtual, final Element substrate) {
+			// Not used by this algorithm
+		}
+
+		/**
+		 * Adds all held back link matches whose node mapping variables exist by now
+		 * (and that were not pruned by the candidate path filter) and applies the
+		 * remaining delta (including the SOS1 constraints) to the ILP solver.
+		 */
+		public void finish() {
+			if (pathFilter.isActive()) {
+				pathFilter.drain().forEach(this::addLinkPathMatch);
+			}
+			pendingLinkPaths.forEach(this::addLinkPathMatch);
+			pendingLinkPaths.clear();
+			pendingLinkServers.forEach(this::addLinkServerMatch);
+			pendingLinkServers.clear();
+			apply();
+		}
+
+		/**
+		 * Counts one translated match and applies the delta to the solver if the batch
+		 * is full.
+		 */
+		private void count() {
+			if (++batch >= batchSize) {
+				flush();
+				batch = 0;
+			}
+		}
+
+		/**
+		 * Checks if the given virtual element belongs to a virtual network of the
+		 * current request that was not rejected by the admission filter.
+		 *
+		 * @param virtual Virtual node or link.
+		 * @return True if the element is part of the current request.
+		 */
+		private boolean isRequested(final Element virtual) {
+			final Network vNet = virtual instanceof Link ? ((Link) virtual).getNetwork()
+					: ((Node) virtual).getNetwork();
+			return vNets.contains(vNet) && !ignoredVnets.contains(vNet);
+		}
+
+		/**
+		 * Returns the number of candidate paths pruned by this generator.
+		 *
+		 * @return Number of pruned candidate paths.
+		 */
+		public int getNumberOfPrunedPaths() {
+			return pathFilter.getNumberOfPrunedPaths();
+		}
+
+	}
+
 	/**
 	 * Incremental pattern matcher to use.
 	 */
 	protected IncrementalPatternMatcher patternMatcher;
 
+	/**
+	 * Number of candidate paths pruned while creating the current ILP (see
+	 * {@link PathCandidateFilter}).
+	 */
+	protected int prunedPaths = 0;
+
+	/**
+	 * Placement of the virtual switches in the current ILP (see
+	 * {@link SwitchPlacement}).
+	 */
+	protected SwitchPlacement switchPlacement = SwitchPlacement.unrestricted();
+
 	/**
 	 * Incremental ILP solver to use.
 	 */
@@ -311,6 +519,16 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected final Set<VirtualNetwork> ignoredVnets = new HashSet<>();
 
+	/**
+	 * Cost function of the configured objective.
+	 */
+	protected CostFunction costFunction;
+
+	/**
+	 * Background construction of the pattern matcher(s).
+	 */
+	protected final PatternMatcherWarmup warmup = new PatternMatcherWarmup();
+
 	/**
 	 * Initialize the algorithm with the global model facade.
 	 */
@@ -345,8 +563,24 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		}
 
 		super.prepare(sNet, vNets);
+		costFunction = CostFunction.of(AlgorithmConfig.obj);
 
 		checkPreConditions();
+
+		// Start building the pattern matcher(s) while the caller and the ILP solver
+		// set-up continue
+		warmUpPatternMatchers();
+	}
+
+	/**
+	 * Starts the background construction of all pattern matchers that are not
+	 * built yet. Subclasses with additional pattern matchers have to extend this
+	 * method.
+	 */
+	protected void warmUpPatternMatchers() {
+		if (patternMatcher == null) {
+			warmup.start(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
+		}
 	}
 
 	/**
@@ -359,6 +593,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		if (this.patternMatcher != null) {
 			this.patternMatcher.dispose();
 		}
+		warmup.dispose();
 	}
 
 	@Override
@@ -366,24 +601,40 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		GlobalMetricsManager.measureMemory();
 		init();
 
-		// Check overall embedding possibility
-		checkOverallResources();
-
 		// Repair model consistency: Substrate network
 		repairSubstrateNetwork();
 
+		// Check overall embedding possibility
+		checkOverallResources();
+
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		if (!repairedVnets.isEmpty()) {
-			this.patternMatcher = new EmoflonGtFactory().create();
+			this.patternMatcher.dispose();
+			this.patternMatcher = PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL).create();
 		}
 		vNets.addAll(repairedVnets);
+		generatePaths();
+
+		// If the admission filter rejected all virtual networks, neither pattern
+		// matching nor the ILP solver have to be started
+		if (ignoredVnets.containsAll(vNets)) {
+			logger.info("=> All virtual networks rejected by the admission filter.");
+			GlobalMetricsManager.measureMemory();
+			return false;
+		}
 
 		GlobalMetricsManager.startPmTime();
-		final PatternMatchingDelta delta = patternMatcher.run();
-		GlobalMetricsManager.endPmTime();
-
-		delta2Ilp(delta);
+		scopePatternMatcher(patternMatcher);
+		if (AlgorithmConfig.pmStreamingBatchSize > 0) {
+			// The translation into the ILP overlaps with the pattern matching
+			stream2Ilp();
+			GlobalMetricsManager.endPmTime();
+		} else {
+			final PatternMatchingDelta delta = patternMatcher.run();
+			GlobalMetricsManager.endPmTime();
+			delta2Ilp(delta);
+		}
 		GlobalMetricsManager.measureMemory();
 		final Set<VirtualNetwork> rejectedNetworks = solveIlp();
 
@@ -403,11 +654,16 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	protected Set<VirtualNetwork> solveIlp() {
 		GlobalMetricsManager.startIlpTime();
 		final Statistics solve = ilpSolver.solve();
+		final Map<String, Number> statistics = solve.getDetails().toMetrics();
+		statistics.put("pruned_paths", prunedPaths);
+		statistics.put("pruned_switch_candidates", switchPlacement.getNumberOfPrunedCandidates());
+		GlobalMetricsManager.recordIlpStatistics(statistics);
 		GlobalMetricsManager.endIlpTime();
 		Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
 		if (solve.isFeasible()) {
 			GlobalMetricsManager.startDeployTime();
 			rejectedNetworks = updateMappingsAndEmbed(ilpSolver.getMappings());
+			switchPlacement.embedCollapsedSwitches(modelFacade);
 		} else {
 			throw new IlpSolverException("Problem was infeasible.");
 		}
@@ -421,18 +677,24 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	 */
 	protected void delta2Ilp(final PatternMatchingDelta delta) {
 		final IlpDeltaGenerator gen = new IlpDeltaGenerator();
+		switchPlacement = createSwitchPlacement();
 
 		// add new elements
 		addElementsToSolver(gen);
 
-		// add new matches
+		// add new matches (link matches to left out servers are dropped implicitly as
+		// their node mapping variables are missing)
+		final Set<SubstrateServer> redundantServers = getRedundantServers();
 		delta.getNewServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualServer) m.getVirtual()).getNetwork()))
+				.filter(m -> !redundantServers.contains(m.getSubstrate()))
 				.forEach(gen::addServerMatch);
 		delta.getNewSwitchMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualSwitch) m.getVirtual()).getNetwork()))
+				.filter(m -> !redundantServers.contains(m.getSubstrate()))
+				.filter(m -> switchPlacement.isCandidate((VirtualSwitch) m.getVirtual(), m.getSubstrate()))
 				.forEach(gen::addSwitchMatch);
 
 		// Important: Due to the fact that both link constraint generating methods check
@@ -440,10 +702,13 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		// of the node mapping variables, the link constraints have to be added *after*
 		// all node
 		// constraints.
-		delta.getNewLinkPathMatchPositives().stream()
+		final PathCandidateFilter pathFilter = new PathCandidateFilter(this::getLinkCost);
+		pathFilter.filter(delta.getNewLinkPathMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
+				.filter(m -> !PatternMatchingConfig.coupledLinkPaths || delta.hasEndpointMatches(m)).toList())
 				.forEach(gen::addLinkPathMatch);
+		prunedPaths = pathFilter.getNumberOfPrunedPaths();
 		delta.getNewLinkServerMatchPositives().stream()
 				.filter(m -> !ignoredVnets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
 				.filter(m -> vNets.contains(((VirtualLink) m.getVirtual()).getNetwork()))
@@ -454,49 +719,80 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Checks the overall resource availability for all nodes of all virtual
-	 * networks and all nodes of the substrate network. If a network can not be
-	 * placed on the substrate network at all, the method adds it to the set of
-	 * ignored networks.
+	 * Limits the given pattern matcher to the virtual networks of the current
+	 * request that were not rejected by the admission filter, if the scoped
+	 * matching is enabled.
+	 *
+	 * @param matcher Pattern matcher to limit.
 	 */
-	protected void checkOverallResources() {
-		// Calculate total residual resources for substrate servers
-		// Datatype long is needed, because of the possible large values of substrate
-		// server residual
-		// resources (e.g. from the diss scenario).
-		long subTotalResidualCpu = 0;
-		long subTotalResidualMem = 0;
-		long subTotalResidualSto = 0;
-
-		for (final Node n : sNet.getNodess()) {
-			if (n instanceof SubstrateServer) {
-				final SubstrateServer ssrv = (SubstrateServer) n;
-				subTotalResidualCpu += ssrv.getResidualCpu();
-				subTotalResidualMem += ssrv.getResidualMemory();
-				subTotalResidualSto += ssrv.getResidualStorage();
-			}
+	protected void scopePatternMatcher(final IncrementalPatternMatcher matcher) {
+		if (!PatternMatchingConfig.scopedMatching) {
+			return;
 		}
 
-		for (final VirtualNetwork vNet : vNets) {
-			// Calculate needed resources for current virtual network candidate
-			long virtTotalCpu = 0;
-			long virtTotalMem = 0;
-			long virtTotalSto = 0;
+		final Set<VirtualNetwork> scope = new HashSet<>(vNets);
+		scope.removeAll(ignoredVnets);
+		matcher.setScope(scope);
+	}
 
-			for (final Node n : vNet.getNodess()) {
-				if (n instanceof VirtualServer) {
-					final VirtualServer vsrv = (VirtualServer) n;
-					virtTotalCpu += vsrv.getCpu();
-					virtTotalMem += vsrv.getMemory();
-					virtTotalSto += vsrv.getStorage();
-				}
-			}
+	/**
+	 * Runs the pattern matcher and translates all reported matches directly into
+	 * the ILP formulation, without collecting them in a pattern matching delta
+	 * first.
+	 */
+	protected void stream2Ilp() {
+		final IlpStreamGenerator gen = new IlpStreamGenerator(AlgorithmConfig.pmStreamingBatchSize,
+				getRedundantServers());
+		switchPlacement = createSwitchPlacement();
 
-			if (!(subTotalResidualCpu >= virtTotalCpu && subTotalResidualMem >= virtTotalMem
-					&& subTotalResidualSto >= virtTotalSto)) {
-				ignoredVnets.add(vNet);
-			}
+		// The constraints of all elements must be part of the solver before the
+		// first batch of matches refers to them
+		addElementsToSolver(gen);
+		gen.flush();
+
+		patternMatcher.run(gen);
+		gen.finish();
+		prunedPaths = gen.getNumberOfPrunedPaths();
+	}
+
+	/**
+	 * Creates the placement of the virtual switches of all virtual networks of the
+	 * current request that were not rejected by the admission filter.
+	 *
+	 * @return Switch placement with the options of the algorithm configuration.
+	 */
+	protected SwitchPlacement createSwitchPlacement() {
+		final Set<VirtualNetwork> requested = new HashSet<>(vNets);
+		requested.removeAll(ignoredVnets);
+		return SwitchPlacement.of(sNet, requested);
+	}
+
+	/**
+	 * Returns all substrate servers that can be left out of the ILP of this run
+	 * because an interchangeable server is already part of it (see
+	 * {@link SubstrateSymmetry}). Returns an empty set if the symmetry aggregation
+	 * is disabled.
+	 *
+	 * @return Set of substrate servers that can be left out.
+	 */
+	protected Set<SubstrateServer> getRedundantServers() {
+		if (!AlgorithmConfig.ilpSymmetryAggregation) {
+			return Set.of();
 		}
+
+		final Set<VirtualNetwork> requested = new HashSet<>(vNets);
+		requested.removeAll(ignoredVnets);
+		return SubstrateSymmetry.of(sNet).getRedundantServers(SubstrateSymmetry.countVirtualNodes(requested));
+	}
+
+	/**
+	 * Checks the overall resource availability for all virtual networks with the
+	 * admission filter of the substrate network. If a network can not be placed on
+	 * the substrate network at all, the method adds it to the set of ignored
+	 * networks.
+	 */
+	protected void checkOverallResources() {
+		ignoredVnets.addAll(AdmissionFilter.get(sNet).reject(vNets, false));
 	}
 
 	/*
@@ -549,11 +845,27 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		}
 
 		// There must be generated substrate paths
-		if (sNet.getPaths().isEmpty()) {
+		if (sNet.getPaths().isEmpty() && !LazySubstratePaths.isLazy(sNet)) {
 			throw new UnsupportedOperationException("Generated paths are missing in substrate network.");
 		}
 	}
 
+	@Override
+	protected boolean generatesPathsOnDemand() {
+		return true;
+	}
+
+	/**
+	 * Generates all substrate paths the virtual networks to embed could use, if
+	 * the paths of the substrate network are generated on demand (see
+	 * {@link LazySubstratePaths}).
+	 */
+	protected void generatePaths() {
+		if (generatesPathsOnDemand()) {
+			PmAlgorithmUtils.generatePaths(sNet, vNets);
+		}
+	}
+
 	/**
 	 * Embeds all virtual networks that are not part of the given rejected networks
 	 * set to the substrate network.
@@ -601,7 +913,8 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 			for (final Node n : vNet.getNodess()) {
 				if (n instanceof VirtualServer) {
 					gen.addNewVirtualServer((VirtualServer) n);
-				} else if (n instanceof VirtualSwitch) {
+				} else if (n instanceof VirtualSwitch && !switchPlacement.isCollapsed((VirtualSwitch) n)) {
+					// Collapsed switches do not have any mapping variables
 					gen.addNewVirtualSwitch((VirtualSwitch) n);
 				}
 			}
@@ -628,7 +941,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		final EmoflonGt engine = (EmoflonGt) patternMatcher;
+		final IncrementalPatternMatcher engine = patternMatcher;
 
 		// for (final String s : newMappings) {
 		for (final String s : mappings.keySet()) {
@@ -688,7 +1001,7 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
-			patternMatcher = new EmoflonGtFactory().create();
+			patternMatcher = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
 		}
 	}
 
@@ -731,37 +1044,25 @@ public class VnePmMdvneAlgorithm extends AbstractAlgorithm {
 	}
 
 	public double getNodeCost(final VirtualNode virt, final SubstrateNode sub) {
-		switch (AlgorithmConfig.obj) {
-		case TOTAL_PATH_COST:
-			return CostUtility.getTotalPathCostNode(virt, sub);
-		case TOTAL_COMMUNICATION_COST_A:
-			return CostUtility.getTotalCommunicationCostNodeAB();
-		case TOTAL_COMMUNICATION_COST_B:
-			return CostUtility.getTotalCommunicationCostNodeAB();
-		case TOTAL_COMMUNICATION_OBJECTIVE_C:
-			return CostUtility.getTotalCommunicationCostObjectiveNodeC(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_D:
-			return CostUtility.getTotalCommunicationCostObjectiveNodeD(virt, sub);
-		default:
-			throw new UnsupportedOperationException();
-		}
+		return getCostFunction().getNodeCost(virt, sub);
 	}
 
 	public double getLinkCost(final VirtualLink virt, final SubstrateElement sub) {
-		switch (AlgorithmConfig.obj) {
-		case TOTAL_PATH_COST:
-			return CostUtility.getTotalPathCostLink(sub);
-		case TOTAL_COMMUNICATION_COST_A:
-			return CostUtility.getTotalCommunicationCostLinkA(virt, sub);
-		case TOTAL_COMMUNICATION_COST_B:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_C:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		case TOTAL_COMMUNICATION_OBJECTIVE_D:
-			return CostUtility.getTotalCommunicationCostLinkBCD(virt, sub);
-		default:
-			throw new UnsupportedOperationException();
+		return getCostFunction().getLinkCost(virt, sub);
+	}
+
+	/**
+	 * Returns the cost function of the configured objective. The cost function is
+	 * selected once when the algorithm gets prepared (or on the first call if the
+	 * algorithm was not prepared).
+	 *
+	 * @return Cost function of the configured objective.
+	 */
+	protected CostFunction getCostFunction() {
+		if (costFunction == null) {
+			costFunction = CostFunction.of(AlgorithmConfig.obj);
 		}
+		return costFunction;
 	}
 
 	public double getNetRejCost(final VirtualNetwork vNet) {
@@ -4,9 +4,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.admission.AdmissionFilter;
 import facade.ModelFacade;
 import gt.PatternMatchingDelta;
-import gt.emoflon.EmoflonGtFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
 import metrics.manager.GlobalMetricsManager;
 import model.Node;
 import model.VirtualNetwork;
@@ -63,16 +64,17 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		GlobalMetricsManager.measureMemory();
 		init();
 
-		// Check overall embedding possibility
-		checkOverallResources();
-
 		// Repair model consistency: Substrate network
 		repairSubstrateNetwork();
 
+		// Check overall embedding possibility
+		checkOverallResources();
+
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		if (!repairedVnets.isEmpty()) {
-			this.patternMatcher = new EmoflonGtFactory().create();
+			this.patternMatcher.dispose();
+			this.patternMatcher = PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL).create();
 		}
 		vNets.addAll(repairedVnets);
 
@@ -102,6 +104,25 @@ public class VnePmMdvneAlgorithmMigration extends VnePmMdvneAlgorithm {
 		return rejectedDespiteMigration.isEmpty();
 	}
 
+	/**
+	 * The migration re-uses the matches of all previous runs, hence, their paths
+	 * must not get evicted and all paths get generated in the preparation.
+	 */
+	@Override
+	protected boolean generatesPathsOnDemand() {
+		return false;
+	}
+
+	/**
+	 * Checks the overall resource availability for all virtual networks. As other
+	 * virtual networks may be migrated, only the total capacity of the substrate
+	 * network is checked.
+	 */
+	@Override
+	protected void checkOverallResources() {
+		ignoredVnets.addAll(AdmissionFilter.get(sNet).reject(vNets, true));
+	}
+
 	/**
 	 * Removes the smallest virtual network currently embedded on the substrate one
 	 * and tries the embedding job again. If it fails again, the method removes the
@@ -11,19 +11,18 @@ import java.util.stream.Collectors;
 
 import algorithms.AbstractAlgorithm;
 import algorithms.AlgorithmPipeline;
+import algorithms.admission.AdmissionFilter;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
+import generators.cache.LazySubstratePaths;
 import gt.IncrementalPatternMatcher;
 import gt.PatternMatchingDelta.Match;
-import gt.emoflon.EmoflonGtFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
 import ilp.wrapper.IncrementalIlpSolver;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.manager.GlobalMetricsManager;
-import model.Node;
 import model.SubstrateNetwork;
-import model.SubstrateServer;
 import model.VirtualNetwork;
-import model.VirtualServer;
 
 /**
  * Implementation of the model-driven virtual network algorithm that uses
@@ -155,18 +154,20 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 		GlobalMetricsManager.measureMemory();
 		init();
 
-		// Check overall embedding possibility
-		checkOverallResources();
-
 		// Repair model consistency: Substrate network
 		repairSubstrateNetwork();
 
+		// Check overall embedding possibility
+		checkOverallResources();
+
 		// Repair model consistency: Virtual network(s)
 		final Set<VirtualNetwork> repairedVnets = repairVirtualNetworks();
 		if (!repairedVnets.isEmpty()) {
-			this.patternMatcher = new EmoflonGtFactory().create();
+			this.patternMatcher.dispose();
+			this.patternMatcher = PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL).create();
 		}
 		vNets.addAll(repairedVnets);
+		generatePaths();
 
 		int stage = 0;
 		for (AbstractAlgorithm algo : pipeline) {
@@ -187,50 +188,14 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 	}
 
 	/**
-	 * Checks the overall resource availability for all nodes of all virtual
-	 * networks and all nodes of the substrate network. If a network can not be
-	 * placed on the substrate network at all, the method adds it to the set of
-	 * ignored networks.
+	 * Checks the overall resource availability for all virtual networks with the
+	 * admission filter of the substrate network. If a network can not be placed on
+	 * the substrate network at all, the method adds it to the set of ignored
+	 * networks.
 	 */
 	@Override
 	protected void checkOverallResources() {
-		// Calculate total residual resources for substrate servers
-		// Datatype long is needed, because of the possible large values of substrate
-		// server residual
-		// resources (e.g. from the diss scenario).
-		long subTotalResidualCpu = 0;
-		long subTotalResidualMem = 0;
-		long subTotalResidualSto = 0;
-
-		for (final Node n : sNet.getNodess()) {
-			if (n instanceof SubstrateServer) {
-				final SubstrateServer ssrv = (SubstrateServer) n;
-				subTotalResidualCpu += ssrv.getResidualCpu();
-				subTotalResidualMem += ssrv.getResidualMemory();
-				subTotalResidualSto += ssrv.getResidualStorage();
-			}
-		}
-
-		for (final VirtualNetwork vNet : vNets) {
-			// Calculate needed resources for current virtual network candidate
-			long virtTotalCpu = 0;
-			long virtTotalMem = 0;
-			long virtTotalSto = 0;
-
-			for (final Node n : vNet.getNodess()) {
-				if (n instanceof VirtualServer) {
-					final VirtualServer vsrv = (VirtualServer) n;
-					virtTotalCpu += vsrv.getCpu();
-					virtTotalMem += vsrv.getMemory();
-					virtTotalSto += vsrv.getStorage();
-				}
-			}
-
-			if (!(subTotalResidualCpu >= virtTotalCpu && subTotalResidualMem >= virtTotalMem
-					&& subTotalResidualSto >= virtTotalSto)) {
-				ignoredVnets.add(vNet);
-			}
-		}
+		ignoredVnets.addAll(AdmissionFilter.get(sNet).reject(vNets, false));
 	}
 
 	/*
@@ -286,7 +251,7 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 		}
 
 		// There must be generated substrate paths
-		if (sNet.getPaths().isEmpty()) {
+		if (sNet.getPaths().isEmpty() && !LazySubstratePaths.isLazy(sNet)) {
 			throw new UnsupportedOperationException("Generated paths are missing in substrate network.");
 		}
 	}
@@ -301,7 +266,33 @@ public abstract class VnePmMdvnePipelineAlgorithm extends VnePmMdvneAlgorithm im
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
-			patternMatcher = new EmoflonGtFactory().create();
+			patternMatcher = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
+		}
+
+		// The model gets modified from now on, hence, all stages must have finished
+		// the construction of their pattern matchers
+		for (final AbstractAlgorithm algo : pipeline) {
+			if (algo instanceof VnePmMdvneAlgorithm stage) {
+				stage.warmup.joinAll();
+			}
+		}
+	}
+
+	/**
+	 * Starts the background construction of the pattern matcher of this algorithm
+	 * and of all pattern matchers of the pipeline stages (in the order of the
+	 * stages).
+	 */
+	@Override
+	protected void warmUpPatternMatchers() {
+		if (patternMatcher == null) {
+			warmup.start(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
+		}
+
+		for (final AbstractAlgorithm algo : pipeline) {
+			if (algo instanceof VnePmMdvneAlgorithm stage) {
+				stage.warmUpPatternMatchers();
+			}
 		}
 	}
 
@@ -5,14 +5,13 @@ import java.util.Map;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.pm.PmAlgorithmUtils;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import facade.ModelFacade;
 import gt.IncrementalPatternMatcher;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
-import gt.emoflon.EmoflonGtFactory;
-import gt.emoflon.EmoflonGtRackB;
-import gt.emoflon.EmoflonGtRackBFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.manager.GlobalMetricsManager;
 import model.SubstrateElement;
@@ -123,11 +122,20 @@ public class VnePmMdvneAlgorithmPipelineStageRackB extends VnePmMdvneAlgorithm {
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
-			patternMatcher = new EmoflonGtFactory().create();
+			patternMatcher = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
 		}
 
 		if (patternMatcherRack == null) {
-			patternMatcherRack = new EmoflonGtRackBFactory().create();
+			patternMatcherRack = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.RACK_B));
+		}
+	}
+
+	@Override
+	protected void warmUpPatternMatchers() {
+		super.warmUpPatternMatchers();
+
+		if (patternMatcherRack == null) {
+			warmup.start(PmAlgorithmUtils.getPatternMatcherFactory(Stage.RACK_B));
 		}
 	}
 
@@ -143,7 +151,7 @@ public class VnePmMdvneAlgorithmPipelineStageRackB extends VnePmMdvneAlgorithm {
 	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		final EmoflonGtRackB engine = (EmoflonGtRackB) patternMatcherRack;
+		final IncrementalPatternMatcher engine = patternMatcherRack;
 
 		// for (final String s : newMappings) {
 		for (final String s : mappings.keySet()) {
@@ -6,14 +6,13 @@ import java.util.Map;
 import java.util.Set;
 
 import algorithms.AlgorithmConfig;
+import algorithms.pm.PmAlgorithmUtils;
 import algorithms.pm.VnePmMdvneAlgorithm;
 import facade.ModelFacade;
 import gt.IncrementalPatternMatcher;
 import gt.PatternMatchingDelta;
 import gt.PatternMatchingDelta.Match;
-import gt.emoflon.EmoflonGtFactory;
-import gt.emoflon.EmoflonGtVnet;
-import gt.emoflon.EmoflonGtVnetFactory;
+import gt.emoflon.EmoflonGtShared.Stage;
 import ilp.wrapper.config.IlpSolverConfig;
 import metrics.manager.GlobalMetricsManager;
 import model.Link;
@@ -245,7 +244,7 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 	protected Set<VirtualNetwork> updateMappingsAndEmbed(final Map<String, Boolean> mappings) {
 		// Embed elements
 		final Set<VirtualNetwork> rejectedNetworks = new HashSet<>();
-		final EmoflonGtVnet engine = (EmoflonGtVnet) patternMatcherVnet;
+		final IncrementalPatternMatcher engine = patternMatcherVnet;
 
 		for (final String s : mappings.keySet()) {
 			if (!mappings.get(s)) {
@@ -292,11 +291,20 @@ public class VnePmMdvneAlgorithmPipelineStageVnet extends VnePmMdvneAlgorithm {
 		ilpSolver = IlpSolverConfig.getIlpSolver();
 
 		if (patternMatcher == null) {
-			patternMatcher = new EmoflonGtFactory().create();
+			patternMatcher = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.FULL));
 		}
 
 		if (patternMatcherVnet == null) {
-			patternMatcherVnet = new EmoflonGtVnetFactory().create();
+			patternMatcherVnet = warmup.take(PmAlgorithmUtils.getPatternMatcherFactory(Stage.VNET));
+		}
+	}
+
+	@Override
+	protected void warmUpPatternMatchers() {
+		super.warmUpPatternMatchers();
+
+		if (patternMatcherVnet == null) {
+			warmup.start(PmAlgorithmUtils.getPatternMatcherFactory(Stage.VNET));
 		}
 	}
 
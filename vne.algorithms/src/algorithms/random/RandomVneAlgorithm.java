@@ -1,12 +1,13 @@
 package algorithms.random;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
 import algorithms.AbstractAlgorithm;
+import algorithms.admission.AdmissionFilter;
 import facade.ModelFacade;
 import facade.config.ModelFacadeConfig;
 import model.Link;
@@ -24,6 +25,14 @@ import model.VirtualSwitch;
  * Super simple Virtual Network Embedding algorithm. It chooses substrate nodes
  * randomly and embeds the virtual links accordingly.
  *
+ * Virtual servers are only placed on substrate servers with sufficient residual
+ * resources. Therefore, the algorithm keeps a residual index of all substrate
+ * servers that gets updated with every placement, samples uniformly from the
+ * fitting candidates, and never relies on failing embedding attempts. Multiple
+ * virtual networks are embedded one after another (sorted by their names to
+ * keep runs with the same seed reproducible). A virtual network that can not be
+ * embedded gets rejected without affecting the others.
+ *
  * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
  */
 public class RandomVneAlgorithm extends AbstractAlgorithm {
@@ -33,7 +42,10 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 	 */
 	final private Random randGen = new Random(0);
 
-	private int retries = 10;
+	/**
+	 * Residual index of all substrate servers.
+	 */
+	private ResidualIndex index;
 
 	/**
 	 * Initialize the algorithm with the global model facade.
@@ -43,21 +55,18 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Creates a new instance of the random VNE algorithm with the given parameters.
-	 * 
-	 * @param sNet       Substrate network to embed all virtual networks into.
-	 * @param vNets      Set of virtual networks to embed into the substrate
-	 *                   network.
+	 * Creates a new instance of the random VNE algorithm with the given random
+	 * seed.
+	 *
 	 * @param randomSeed Random seed.
-	 * @param retries    Number of retries.
 	 */
-	public RandomVneAlgorithm(final int randomSeed, final int retries) {
-		this(ModelFacade.getInstance(), randomSeed, retries);
+	public RandomVneAlgorithm(final int randomSeed) {
+		this(ModelFacade.getInstance(), randomSeed);
 	}
 
 	/**
 	 * Initialize the algorithm with the given model facade.
-	 * 
+	 *
 	 * @param modelFacade Model facade to work with.
 	 */
 	public RandomVneAlgorithm(final ModelFacade modelFacade) {
@@ -66,133 +75,117 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 
 	/**
 	 * Initialize the algorithm with the given model facade.
-	 * 
+	 *
 	 * @param modelFacade Model facade to work with.
 	 * @param randomSeed  Random seed.
-	 * @param retries     Number of retries.
 	 */
-	public RandomVneAlgorithm(final ModelFacade modelFacade, final int randomSeed, final int retries) {
+	public RandomVneAlgorithm(final ModelFacade modelFacade, final int randomSeed) {
 		this(modelFacade);
 
 		randGen.setSeed(randomSeed);
-		this.retries = retries;
 	}
 
 	@Override
 	public void prepare(final SubstrateNetwork sNet, final Set<VirtualNetwork> vNets) {
-		if (vNets.size() != 1) {
-			throw new IllegalArgumentException(
-					"The random VNE algorithm is only suited for one virtual network at a time.");
-		}
-
 		super.prepare(sNet, vNets);
 
 		// Check pre-conditions
 		checkPreConditions();
-
-		retries = sNet.getNodess().size() * 2;
 	}
 
 	@Override
 	public boolean execute() {
 		final List<Node> subServers = modelFacade.getAllServersOfNetwork(sNet.getName());
-		final List<Node> subSwitches = modelFacade.getAllSwitchesOfNetwork(sNet.getName());
-		final List<Node> allNodes = new LinkedList<Node>();
-		allNodes.addAll(subSwitches);
+		final List<Node> allNodes = new ArrayList<Node>();
+		allNodes.addAll(modelFacade.getAllSwitchesOfNetwork(sNet.getName()));
 		allNodes.addAll(subServers);
 
-		final Set<String> embeddedIds = new HashSet<String>();
+		index = new ResidualIndex(subServers);
 
-		/*
-		 * Place embedding on model
-		 */
+		// Sort the virtual networks to get a deterministic order for a given seed
+		final List<VirtualNetwork> sortedVnets = new ArrayList<>(vNets);
+		sortedVnets.sort(Comparator.comparing(VirtualNetwork::getName));
+
+		// Virtual networks that can not be embedded for sure are skipped
+		final Set<VirtualNetwork> rejected = AdmissionFilter.get(sNet).reject(vNets, false);
 
-		boolean success = true;
-		final VirtualNetwork vNet = vNets.iterator().next();
+		boolean success = rejected.isEmpty();
+		for (final VirtualNetwork vNet : sortedVnets) {
+			if (rejected.contains(vNet)) {
+				continue;
+			}
 
-		// Embed virtual network
-		success &= modelFacade.embedNetworkToNetwork(sNet.getName(), vNet.getName());
-		if (success) {
-			embeddedIds.add(vNet.getName());
+			if (!embed(vNet, allNodes)) {
+				// If at least one element could not be embedded, all other embeddings of this
+				// virtual network must be removed.
+				modelFacade.unembedVirtualNetwork(vNet);
+				index.reload();
+				success = false;
+			}
+		}
+
+		return success;
+	}
+
+	/**
+	 * Embeds the given virtual network randomly onto the substrate network.
+	 *
+	 * @param vNet     Virtual network to embed.
+	 * @param allNodes List of all substrate nodes (switches and servers).
+	 * @return True if all elements of the virtual network could be embedded.
+	 */
+	private boolean embed(final VirtualNetwork vNet, final List<Node> allNodes) {
+		if (!modelFacade.embedNetworkToNetwork(sNet.getName(), vNet.getName())) {
+			return false;
 		}
 
 		for (final Node vnode : vNet.getNodess()) {
 			if (vnode instanceof VirtualServer vserver) {
-				// Get random substrate server
-				SubstrateServer sserver = (SubstrateServer) subServers.get(rand(subServers.size()));
-
-				boolean serverSuccess = true;
-				for (int i = 0; i < retries; i++) {
-					try {
-						modelFacade.embedServerToServer(sserver.getName(), vserver.getName());
-						embeddedIds.add(vserver.getName());
-						serverSuccess = true;
-						break;
-					} catch (final UnsupportedOperationException ex) {
-						serverSuccess = false;
-						sserver = (SubstrateServer) subServers.get(rand(subServers.size()));
-					}
+				// Get random substrate server with sufficient residual resources
+				final int candidate = index.sample(vserver.getCpu(), vserver.getMemory(), vserver.getStorage());
+				if (candidate < 0) {
+					return false;
 				}
 
-				success &= serverSuccess;
+				if (!modelFacade.embedServerToServer(index.get(candidate).getName(), vserver.getName())) {
+					return false;
+				}
+				index.consume(candidate, vserver.getCpu(), vserver.getMemory(), vserver.getStorage());
 			} else if (vnode instanceof VirtualSwitch vswitch) {
 				final SubstrateNode snode = (SubstrateNode) allNodes.get(rand(allNodes.size()));
-				success &= modelFacade.embedSwitchToNode(snode.getName(), vswitch.getName());
-
-				if (success) {
-					embeddedIds.add(vswitch.getName());
+				if (!modelFacade.embedSwitchToNode(snode.getName(), vswitch.getName())) {
+					return false;
 				}
 			}
-
-			// Termination condition
-			if (!success) {
-				break;
-			}
 		}
 
-		if (success) {
-			for (final Link vLink : vNet.getLinks()) {
-				final VirtualNode vsource = (VirtualNode) vLink.getSource();
-				final VirtualNode vtarget = (VirtualNode) vLink.getTarget();
-
-				final SubstrateNode vsourceHost = findHost(vsource);
-				final SubstrateNode vtargetHost = findHost(vtarget);
-
-				// If both, the source and the target of a virtual link are embedded to the same
-				// substrate node, also use this node for the embedding of the virtual link.
-				if (vsourceHost.equals(vtargetHost)) {
-					success &= modelFacade.embedGeneric(vsourceHost.getName(), vLink.getName());
-
-					if (success) {
-						embeddedIds.add(vLink.getName());
-					}
-				} else {
-					// If source and target host are not the same node, find the corresponding path
-					// between the two nodes.
-					final SubstratePath sPath = modelFacade.getPathFromSourceToTarget(vsourceHost.getName(),
-							vtargetHost.getName());
-					try {
-						modelFacade.embedGeneric(sPath.getName(), vLink.getName());
-						embeddedIds.add(vLink.getName());
-					} catch (final UnsupportedOperationException ex) {
-						success = false;
-					}
+		for (final Link vLink : vNet.getLinks()) {
+			final SubstrateNode vsourceHost = findHost((VirtualNode) vLink.getSource());
+			final SubstrateNode vtargetHost = findHost((VirtualNode) vLink.getTarget());
+
+			// If both, the source and the target of a virtual link are embedded to the same
+			// substrate node, also use this node for the embedding of the virtual link.
+			if (vsourceHost.equals(vtargetHost)) {
+				if (!modelFacade.embedGeneric(vsourceHost.getName(), vLink.getName())) {
+					return false;
+				}
+			} else {
+				// If source and target host are not the same node, find the corresponding path
+				// between the two nodes.
+				final SubstratePath sPath = modelFacade.getPathFromSourceToTarget(vsourceHost.getName(),
+						vtargetHost.getName());
+				if (sPath == null || !modelFacade.embedGeneric(sPath.getName(), vLink.getName())) {
+					return false;
 				}
 			}
 		}
 
-		// If at least one element could not be embedded, all other embeddings must be
-		// removed.
-		if (!success) {
-			modelFacade.unembedVirtualNetwork((VirtualNetwork) modelFacade.getNetworkById(vNet.getName()));
-		}
-
-		return success;
+		return true;
 	}
 
 	/**
 	 * Returns a random number from start to end.
-	 * 
+	 *
 	 * @param start Inclusive lower bound.
 	 * @param end   Exclusive upper bound.
 	 * @return Random number from start to end.
@@ -203,7 +196,7 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 
 	/**
 	 * Returns a random number from 0 to end (exclusive).
-	 * 
+	 *
 	 * @param end Exclusive upper bound.
 	 * @return Random number from 0 to end.
 	 */
@@ -213,7 +206,7 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 
 	/**
 	 * Finds a possible host for the virtual node to be embedded into.
-	 * 
+	 *
 	 * @param vNode Virtual node to find a host for.
 	 * @return Possible host for the given virtual node.
 	 */
@@ -248,4 +241,112 @@ public class RandomVneAlgorithm extends AbstractAlgorithm {
 		}
 	}
 
+	/**
+	 * Residual index of the substrate servers. It mirrors the residual resources of
+	 * all substrate servers in plain arrays, so that finding all candidates for a
+	 * virtual server is a cheap scan.
+	 */
+	private class ResidualIndex {
+
+		/**
+		 * All indexed substrate servers.
+		 */
+		private final SubstrateServer[] servers;
+
+		/**
+		 * Residual CPU per substrate server.
+		 */
+		private final long[] cpu;
+
+		/**
+		 * Residual memory per substrate server.
+		 */
+		private final long[] memory;
+
+		/**
+		 * Residual storage per substrate server.
+		 */
+		private final long[] storage;
+
+		/**
+		 * Reusable buffer for the candidate indices.
+		 */
+		private final int[] candidates;
+
+		/**
+		 * Creates a new residual index for the given substrate servers.
+		 *
+		 * @param subServers List of substrate servers to index.
+		 */
+		ResidualIndex(final List<Node> subServers) {
+			final int n = subServers.size();
+			servers = new SubstrateServer[n];
+			cpu = new long[n];
+			memory = new long[n];
+			storage = new long[n];
+			candidates = new int[n];
+
+			for (int i = 0; i < n; i++) {
+				servers[i] = (SubstrateServer) subServers.get(i);
+			}
+			reload();
+		}
+
+		/**
+		 * Reloads all residual values from the model, e.g., after embeddings were
+		 * removed.
+		 */
+		void reload() {
+			for (int i = 0; i < servers.length; i++) {
+				cpu[i] = servers[i].getResidualCpu();
+				memory[i] = servers[i].getResidualMemory();
+				storage[i] = servers[i].getResidualStorage();
+			}
+		}
+
+		/**
+		 * Samples a random substrate server that fits the given demands.
+		 *
+		 * @param c CPU demand.
+		 * @param m Memory demand.
+		 * @param s Storage demand.
+		 * @return Index of the sampled substrate server or -1 if none fits.
+		 */
+		int sample(final long c, final long m, final long s) {
+			int found = 0;
+			for (int i = 0; i < servers.length; i++) {
+				if (cpu[i] >= c && memory[i] >= m && storage[i] >= s) {
+					candidates[found++] = i;
+				}
+			}
+
+			return found == 0 ? -1 : candidates[rand(found)];
+		}
+
+		/**
+		 * Subtracts the given demands from the residual values of a substrate server.
+		 *
+		 * @param i Index of the substrate server.
+		 * @param c CPU demand.
+		 * @param m Memory demand.
+		 * @param s Storage demand.
+		 */
+		void consume(final int i, final long c, final long m, final long s) {
+			cpu[i] -= c;
+			memory[i] -= m;
+			storage[i] -= s;
+		}
+
+		/**
+		 * Returns the substrate server with the given index.
+		 *
+		 * @param i Index of the substrate server.
+		 * @return Substrate server.
+		 */
+		SubstrateServer get(final int i) {
+			return servers[i];
+		}
+
+	}
+
 }
@@ -0,0 +1,173 @@
+package algorithms.symmetry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import model.Node;
+import model.SubstrateLink;
+import model.SubstrateNetwork;
+import model.SubstrateServer;
+import model.VirtualNetwork;
+
+/**
+ * Equivalence classes of interchangeable substrate servers. Two substrate
+ * servers are interchangeable if they are leaves of the substrate network that
+ * are connected to the same node and have identical total and residual
+ * resources as well as identical total and residual bandwidth on both of their
+ * links. Swapping two of these servers (and all paths ending at them) is an
+ * automorphism of the substrate network that keeps all residual values and
+ * costs, which is the case for all servers of one rack of the generated one
+ * tier, two tier, and fat tree networks as long as they are filled equally.
+ *
+ * A set of virtual networks with n virtual nodes can use at most n servers of
+ * one class. Therefore, an ILP that only contains the first n servers of every
+ * class (its representatives) has the same optimal objective value as the ILP
+ * with all servers, but does not have to explore the equivalent branches of the
+ * remaining ones. The chosen representatives are concrete substrate servers, so
+ * the solution can be embedded as is.
+ *
+ * The classes are a snapshot of the current residual values. They have to be
+ * created again (see {@link #of(SubstrateNetwork)}) after the substrate network
+ * has been changed.
+ *
+ * @author Maximilian Kratz {@literal <maximilian.kratz@es.tu-darmstadt.de>}
+ */
+public class SubstrateSymmetry {
+
+	/**
+	 * Signature of a substrate server. Servers with equal signatures are
+	 * interchangeable.
+	 */
+	private static record Signature(Node neighbor, long cpu, long memory, long storage, long residualCpu,
+			long residualMemory, long residualStorage, long upBandwidth, long upResidual, long downBandwidth,
+			long downResidual) {
+	}
+
+	/**
+	 * All equivalence classes with more than one substrate server. The servers of
+	 * every class are sorted by their names.
+	 */
+	private final List<List<SubstrateServer>> classes;
+
+	/**
+	 * Creates a new instance with the given equivalence classes.
+	 *
+	 * @param classes Equivalence classes.
+	 */
+	private SubstrateSymmetry(final List<List<SubstrateServer>> classes) {
+		this.classes = classes;
+	}
+
+	/**
+	 * Calculates the equivalence classes of the given substrate network based on
+	 * its current residual values.
+	 *
+	 * @param sNet Substrate network.
+	 * @return Equivalence classes of the substrate network.
+	 */
+	public static SubstrateSymmetry of(final SubstrateNetwork sNet) {
+		if (sNet == null) {
+			throw new IllegalArgumentException("Substrate network must not be null.");
+		}
+
+		final Map<Signature, List<SubstrateServer>> signatures = new LinkedHashMap<>();
+		for (final Node n : sNet.getNodess()) {
+			if (!(n instanceof SubstrateServer)) {
+				continue;
+			}
+
+			final SubstrateServer srv = (SubstrateServer) n;
+			final Signature signature = getSignature(srv);
+			if (signature != null) {
+				signatures.computeIfAbsent(signature, k -> new ArrayList<>()).add(srv);
+			}
+		}
+
+		final List<List<SubstrateServer>> classes = new ArrayList<>();
+		for (final List<SubstrateServer> c : signatures.values()) {
+			if (c.size() > 1) {
+				c.sort(Comparator.comparing(SubstrateServer::getName));
+				classes.add(Collections.unmodifiableList(c));
+			}
+		}
+		return new SubstrateSymmetry(Collections.unmodifiableList(classes));
+	}
+
+	/**
+	 * Returns the signature of the given substrate server or null if the server is
+	 * not a leaf with exactly one outgoing and one incoming link to the same node.
+	 *
+	 * @param srv Substrate server.
+	 * @return Signature of the server or null.
+	 */
+	private static Signature getSignature(final SubstrateServer srv) {
+		if (srv.getOutgoingLinks().size() != 1 || srv.getIncomingLinks().size() != 1) {
+			return null;
+		}
+
+		final SubstrateLink up = (SubstrateLink) srv.getOutgoingLinks().get(0);
+		final SubstrateLink down = (SubstrateLink) srv.getIncomingLinks().get(0);
+		if (!up.getTarget().equals(down.getSource())) {
+			return null;
+		}
+
+		return new Signature(up.getTarget(), srv.getCpu(), srv.getMemory(), srv.getStorage(), srv.getResidualCpu(),
+				srv.getResidualMemory(), srv.getResidualStorage(), up.getBandwidth(), up.getResidualBandwidth(),
+				down.getBandwidth(), down.getResidualBandwidth());
+	}
+
+	/**
+	 * Returns all equivalence classes with more than one substrate server. The
+	 * servers of every class are sorted by their names.
+	 *
+	 * @return List of all equivalence classes.
+	 */
+	public List<List<SubstrateServer>> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Returns all substrate servers that are not needed in the ILP of virtual
+	 * networks with the given number of virtual nodes, i.e., all servers of a
+	 * class except for its first representatives.
+	 *
+	 * @param virtualNodes Number of virtual nodes to embed.
+	 * @return Set of substrate servers that can be left out.
+	 */
+	public Set<SubstrateServer> getRedundantServers(final int virtualNodes) {
+		if (virtualNodes < 0) {
+			throw new IllegalArgumentException("Number of virtual nodes must not be negative.");
+		}
+
+		final Set<SubstrateServer> redundant = new HashSet<>();
+		for (final List<SubstrateServer> c : classes) {
+			if (c.size() > virtualNodes) {
+				redundant.addAll(c.subList(virtualNodes, c.size()));
+			}
+		}
+		return redundant;
+	}
+
+	/**
+	 * Returns the total number of virtual nodes (servers and switches) of the
+	 * given virtual networks.
+	 *
+	 * @param vNets Virtual networks.
+	 * @return Total number of virtual nodes.
+	 */
+	public static int countVirtualNodes(final Collection<VirtualNetwork> vNets) {
+		int count = 0;
+		for (final VirtualNetwork vNet : vNets) {
+			count += vNet.getNodess().size();
+		}
+		return count;
+	}
+
+}
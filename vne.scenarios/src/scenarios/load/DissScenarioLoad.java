@@ -19,8 +19,10 @@ import model.VirtualNetwork;
 import model.converter.BasicModelConverter;
 import model.converter.IncrementalModelConverter;
 import scenarios.modules.AlgorithmModule;
+import scenarios.modules.BinaryModule;
 import scenarios.modules.CsvModule;
 import scenarios.modules.MemoryModule;
+import scenarios.modules.MetricsLevelModule;
 import scenarios.modules.ModelConfigurationModule;
 import scenarios.modules.Module;
 import scenarios.modules.NotionModule;
@@ -60,8 +62,10 @@ public class DissScenarioLoad extends AbstractExperiment {
 	public List<Module> getConfigurationModules() {
 		return List.of(//
 				new AlgorithmModule(), //
+				new BinaryModule(), //
 				new CsvModule(), //
 				new MemoryModule(), //
+				new MetricsLevelModule(), //
 				new ModelConfigurationModule(), //
 				new NotionModule() //
 		);
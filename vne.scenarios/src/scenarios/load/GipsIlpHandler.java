@@ -17,6 +17,7 @@ import io.micrometer.core.instrument.Tag;
 import io.micrometer.observation.Observation;
 import metrics.HasMetric;
 import metrics.MetricTransformer;
+import metrics.MetricsLevel;
 import metrics.manager.Context;
 import metrics.reporter.NotionReporter;
 import metrics.reporter.NotionReporter.PropertyFormat;
@@ -112,6 +113,14 @@ public class GipsIlpHandler implements HasMetric<Context.VnetEmbeddingContext> {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public MetricsLevel getLevel() {
+		return MetricsLevel.STANDARD;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,44 @@
+package scenarios.modules;
+
+import java.io.File;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import metrics.manager.MetricsManager;
+import metrics.reporter.BinaryReporter;
+import scenarios.load.Experiment;
+
+/**
+ * Configure an experiment to use a binary result file as a reporter.
+ * 
+ * Options: -b / --binpath <arg>
+ */
+public class BinaryModule extends AbstractModule {
+	protected final Option binPath = Option.builder()//
+			.option("b")//
+			.longOpt("binpath")//
+			.desc("file path for the binary metric file")//
+			.hasArg()//
+			.build();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void register(final Experiment experiment, final Options options) {
+		options.addOption(binPath);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void configure(final Experiment experiment, final CommandLine cmd) throws ParseException {
+		if (cmd.getOptionValue(binPath) != null) {
+			MetricsManager.getInstance().addReporter(new BinaryReporter.Default(new File(cmd.getOptionValue(binPath))));
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package scenarios.modules;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.function.Function;
 
 import org.apache.commons.cli.CommandLine;
@@ -8,15 +9,19 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
+import metrics.MetricConfig;
 import metrics.Reporter;
 import metrics.manager.MetricsManager;
 import metrics.reporter.CsvReporter;
+import metrics.reporter.LatencyReporter;
 import scenarios.load.Experiment;
 
 /**
- * Configure an experiment to use a CSV file as a reporter.
+ * Configure an experiment to use a CSV file as a reporter. Next to the CSV
+ * file, a latency report with the percentiles and SLO violations per phase is
+ * written at the end of the experiment.
  * 
- * Options: -c / --csvpath <arg>
+ * Options: -c / --csvpath <arg>, --slo <phase=seconds,...>
  */
 public class CsvModule extends AbstractModule {
 	protected final Option csvPath = Option.builder()//
@@ -25,6 +30,11 @@ public class CsvModule extends AbstractModule {
 			.desc("file path for the CSV metric file")//
 			.hasArg()//
 			.build();
+	protected final Option slo = Option.builder()//
+			.longOpt("slo")//
+			.desc("latency SLOs per phase in seconds, e.g., 'execute=2.5,ilp=1'")//
+			.hasArg()//
+			.build();
 
 	/**
 	 * The factory to create a new CSV reporter with the configured CSV file path.
@@ -54,6 +64,7 @@ public class CsvModule extends AbstractModule {
 	@Override
 	public void register(final Experiment experiment, final Options options) {
 		options.addOption(csvPath);
+		options.addOption(slo);
 	}
 
 	/**
@@ -61,9 +72,26 @@ public class CsvModule extends AbstractModule {
 	 */
 	@Override
 	public void configure(final Experiment experiment, final CommandLine cmd) throws ParseException {
+		if (cmd.getOptionValue(slo) != null) {
+			for (final String entry : cmd.getOptionValue(slo).split(",")) {
+				final String[] parts = entry.split("=");
+				if (parts.length != 2 || parts[0].isBlank()) {
+					throw new ParseException("Invalid latency SLO: " + entry);
+				}
+
+				try {
+					final double seconds = Double.parseDouble(parts[1].trim());
+					MetricConfig.LATENCY_SLO.put(parts[0].trim(), Duration.ofNanos((long) (seconds * 1_000_000_000L)));
+				} catch (final NumberFormatException e) {
+					throw new ParseException("Invalid latency SLO: " + entry);
+				}
+			}
+		}
+
 		if (cmd.getOptionValue(csvPath) != null) {
-			final String csvPath = cmd.getOptionValue("csvpath");
-			MetricsManager.getInstance().addReporter(this.csvReporterSupplier.apply(new File(csvPath)));
+			final File csvFile = new File(cmd.getOptionValue("csvpath"));
+			MetricsManager.getInstance().addReporter(this.csvReporterSupplier.apply(csvFile));
+			MetricsManager.getInstance().addReporter(new LatencyReporter(LatencyReporter.reportFileFor(csvFile)));
 		}
 	}
 }
@@ -0,0 +1,68 @@
+package scenarios.modules;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import ilp.wrapper.config.IlpSolverConfig;
+import metrics.MetricConfig;
+import metrics.MetricsLevel;
+import metrics.manager.MetricsManager;
+import scenarios.load.Experiment;
+
+/**
+ * Configure the collection level of the metrics and the interval of the
+ * expensive substrate-wide metrics. The full level additionally collects the
+ * solver-internal statistics of the ILP solvers.
+ *
+ * Options: --metrics-level <timing|standard|full>, --metrics-interval <arg>
+ */
+public class MetricsLevelModule extends AbstractModule {
+	protected final Option level = Option.builder()//
+			.longOpt("metrics-level")//
+			.desc("collection level of the metrics: timing, standard, or full (default, includes solver statistics)")//
+			.hasArg()//
+			.build();
+	protected final Option interval = Option.builder()//
+			.longOpt("metrics-interval")//
+			.desc("compute the substrate-wide metrics every N VNRs, or only at the end if 0 (default: 1)")//
+			.hasArg()//
+			.build();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void register(final Experiment experiment, final Options options) {
+		options.addOption(level);
+		options.addOption(interval);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void configure(final Experiment experiment, final CommandLine cmd) throws ParseException {
+		if (cmd.getOptionValue(level) != null) {
+			try {
+				MetricConfig.METRICS_LEVEL = MetricsLevel.of(cmd.getOptionValue(level).trim());
+			} catch (final IllegalArgumentException e) {
+				throw new ParseException(e.getMessage());
+			}
+			MetricsManager.getInstance().addTags("metrics level", MetricConfig.METRICS_LEVEL.name().toLowerCase());
+		}
+		IlpSolverConfig.COLLECT_SOLVER_STATISTICS = MetricConfig.METRICS_LEVEL.includes(MetricsLevel.FULL);
+
+		if (cmd.getOptionValue(interval) != null) {
+			try {
+				MetricConfig.HEAVY_METRICS_INTERVAL = Integer.parseInt(cmd.getOptionValue(interval).trim());
+			} catch (final NumberFormatException e) {
+				throw new ParseException("Invalid metrics interval: " + cmd.getOptionValue(interval));
+			}
+			if (MetricConfig.HEAVY_METRICS_INTERVAL < 0) {
+				throw new ParseException("Invalid metrics interval: " + cmd.getOptionValue(interval));
+			}
+		}
+	}
+}
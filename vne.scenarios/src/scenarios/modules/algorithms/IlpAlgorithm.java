@@ -5,6 +5,8 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
+import algorithms.AlgorithmConfig;
+import algorithms.ilp.VneColumnGenerationAlgorithm;
 import algorithms.ilp.VneFakeIlpAlgorithm;
 import algorithms.ilp.VneFakeIlpBatchAlgorithm;
 import ilp.wrapper.config.IlpSolverConfig;
@@ -18,11 +20,14 @@ import scenarios.modules.AlgorithmModule;
  * {@link VneFakeIlpAlgorithm}.
  * 
  * Options: -i / --ilptimeout <arg>, -r / --ilprandomseed <arg>, -m /
- * --ilpopttol <arg>, -y / --ilpobjscaling <arg>, -x / --ilpobjlog, -a /
- * --algorithm <ilp/ilp-batch>
+ * --ilpopttol <arg>, -y / --ilpobjscaling <arg>, -x / --ilpobjlog,
+ * --ilpsymmetry, --ilppathsperpair <arg>, --ilpexactpaths, --ilpcgiterations
+ * <arg>, --ilpswitchpruning, --ilpcollapsestars, -a / --algorithm
+ * <ilp/ilp-batch/ilp-cg>
  * 
  * @see {@link VneFakeIlpAlgorithm}
  * @see {@link VneFakeIlpBatchAlgorithm}
+ * @see {@link VneColumnGenerationAlgorithm}
  */
 public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.AlgorithmConfiguration {
 	protected final Option ilpTimeout = Option.builder()//
@@ -59,6 +64,38 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 			.desc("ILP solver objective logarithm")//
 			.build();
 
+	protected final Option ilpSymmetry = Option.builder()//
+			.longOpt("ilpsymmetry")//
+			.desc("only add one representative per needed host of interchangeable substrate servers to the ILP")//
+			.build();
+
+	protected final Option ilpPathsPerPair = Option.builder()//
+			.longOpt("ilppathsperpair")//
+			.desc("maximum number of the cheapest candidate paths per virtual link and host pair in the ILP")//
+			.hasArg()//
+			.build();
+
+	protected final Option ilpExactPaths = Option.builder()//
+			.longOpt("ilpexactpaths")//
+			.desc("add all candidate paths to the ILP")//
+			.build();
+
+	protected final Option ilpCgIterations = Option.builder()//
+			.longOpt("ilpcgiterations")//
+			.desc("maximum number of pricing iterations of the column generation")//
+			.hasArg()//
+			.build();
+
+	protected final Option ilpSwitchPruning = Option.builder()//
+			.longOpt("ilpswitchpruning")//
+			.desc("only add virtual switch candidates on or adjacent to paths between the hosts of their servers")//
+			.build();
+
+	protected final Option ilpCollapseStars = Option.builder()//
+			.longOpt("ilpcollapsestars")//
+			.desc("place the central switch of star-shaped virtual networks implicitly with one of its servers")//
+			.build();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -66,6 +103,7 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 	public void initialize(final AlgorithmModule algorithmModule) {
 		algorithmModule.addAlgorithm("ilp", VneFakeIlpAlgorithm::new);
 		algorithmModule.addAlgorithm("ilp-batch", VneFakeIlpBatchAlgorithm::new);
+		algorithmModule.addAlgorithm("ilp-cg", VneColumnGenerationAlgorithm::new);
 	}
 
 	/**
@@ -78,6 +116,12 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 		options.addOption(ilpOptTol);
 		options.addOption(ilpObjScaling);
 		options.addOption(ilpObjLog);
+		options.addOption(ilpSymmetry);
+		options.addOption(ilpPathsPerPair);
+		options.addOption(ilpExactPaths);
+		options.addOption(ilpCgIterations);
+		options.addOption(ilpSwitchPruning);
+		options.addOption(ilpCollapseStars);
 	}
 
 	/**
@@ -109,6 +153,47 @@ public class IlpAlgorithm extends AbstractModule implements AlgorithmModule.Algo
 		if (cmd.hasOption(this.ilpObjLog)) {
 			MetricsManager.getInstance().addTags("ilpobjlog", String.valueOf(cmd.hasOption(this.ilpObjLog)));
 		}
+
+		AlgorithmConfig.ilpSymmetryAggregation = cmd.hasOption(this.ilpSymmetry);
+		if (cmd.hasOption(this.ilpSymmetry)) {
+			MetricsManager.getInstance().addTags("ilpsymmetry", "true");
+		}
+
+		if (cmd.getOptionValue(this.ilpPathsPerPair) != null) {
+			try {
+				AlgorithmConfig.ilpMaxPathsPerPair = Integer.parseInt(cmd.getOptionValue(this.ilpPathsPerPair).trim());
+			} catch (final NumberFormatException e) {
+				throw new ParseException(
+						"Invalid number of paths per pair: " + cmd.getOptionValue(this.ilpPathsPerPair));
+			}
+			MetricsManager.getInstance().addTags("ilppathsperpair", cmd.getOptionValue(this.ilpPathsPerPair));
+		}
+
+		AlgorithmConfig.ilpExactPaths = cmd.hasOption(this.ilpExactPaths);
+		if (cmd.hasOption(this.ilpExactPaths)) {
+			MetricsManager.getInstance().addTags("ilpexactpaths", "true");
+		}
+
+		if (cmd.getOptionValue(this.ilpCgIterations) != null) {
+			try {
+				AlgorithmConfig.ilpColumnGenerationIterations = Integer
+						.parseInt(cmd.getOptionValue(this.ilpCgIterations).trim());
+			} catch (final NumberFormatException e) {
+				throw new ParseException(
+						"Invalid number of pricing iterations: " + cmd.getOptionValue(this.ilpCgIterations));
+			}
+			MetricsManager.getInstance().addTags("ilpcgiterations", cmd.getOptionValue(this.ilpCgIterations));
+		}
+
+		AlgorithmConfig.ilpSwitchPruning = cmd.hasOption(this.ilpSwitchPruning);
+		if (cmd.hasOption(this.ilpSwitchPruning)) {
+			MetricsManager.getInstance().addTags("ilpswitchpruning", "true");
+		}
+
+		AlgorithmConfig.ilpCollapseStars = cmd.hasOption(this.ilpCollapseStars);
+		if (cmd.hasOption(this.ilpCollapseStars)) {
+			MetricsManager.getInstance().addTags("ilpcollapsestars", "true");
+		}
 	}
 
 }
@@ -13,6 +13,7 @@ import algorithms.pm.VnePmMdvneAlgorithmPipelineThreeStagesB;
 import algorithms.pm.VnePmMdvneAlgorithmPipelineTwoStagesRackA;
 import algorithms.pm.VnePmMdvneAlgorithmPipelineTwoStagesRackB;
 import algorithms.pm.VnePmMdvneAlgorithmPipelineTwoStagesVnet;
+import gt.PatternMatchingConfig;
 import metrics.manager.MetricsManager;
 import scenarios.load.Experiment;
 import scenarios.modules.AbstractModule;
@@ -22,7 +23,9 @@ import scenarios.modules.AlgorithmModule;
  * Add an option to configure the experiment to use the
  * {@link VnePmMdvneAlgorithm} with different characteristics.
  * 
- * Options: -t / --tries <arg>, -a / --algorithm
+ * Options: -t / --tries <arg>, --pm-coupled-paths, --pm-streaming <arg>,
+ * --pm-shared-engine, --pm-background-init, --pm-scoped-matching, -a /
+ * --algorithm
  * <pm/pm-migration/pm-pipeline2-vnet/pm-pipeline2-racka/pm-pipeline2-rackb/pm-pipeline3a/pm-pipeline3b>
  * 
  * @see {@link VnePmMdvneAlgorithm}
@@ -40,6 +43,31 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 			.desc("number of migration tries for the PM algorithm")//
 			.hasArg()//
 			.build();
+	protected final Option coupledPaths = Option.builder()//
+			.longOpt("pm-coupled-paths")//
+			.desc("only match virtual links to substrate paths whose endpoints can host the link's endpoints")//
+			.hasArg(false)//
+			.build();
+	protected final Option streaming = Option.builder()//
+			.longOpt("pm-streaming")//
+			.desc("translate matches into the ILP while matching, applied in batches of the given size")//
+			.hasArg()//
+			.build();
+	protected final Option sharedEngine = Option.builder()//
+			.longOpt("pm-shared-engine")//
+			.desc("use one pattern matching engine with the rules of all pipeline stages")//
+			.hasArg(false)//
+			.build();
+	protected final Option backgroundInit = Option.builder()//
+			.longOpt("pm-background-init")//
+			.desc("build the pattern matchers in the background while the algorithm gets prepared")//
+			.hasArg(false)//
+			.build();
+	protected final Option scopedMatching = Option.builder()//
+			.longOpt("pm-scoped-matching")//
+			.desc("only transfer the matches of the requested virtual networks from the pattern matcher")//
+			.hasArg(false)//
+			.build();
 
 	/**
 	 * {@inheritDoc}
@@ -61,6 +89,11 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 	@Override
 	public void register(final Experiment experiment, final Options options) {
 		options.addOption(tries);
+		options.addOption(coupledPaths);
+		options.addOption(streaming);
+		options.addOption(sharedEngine);
+		options.addOption(backgroundInit);
+		options.addOption(scopedMatching);
 	}
 
 	/**
@@ -72,6 +105,31 @@ public class PmAlgorithm extends AbstractModule implements AlgorithmModule.Algor
 			AlgorithmConfig.pmNoMigrations = Integer.valueOf(cmd.getOptionValue(this.tries));
 			MetricsManager.getInstance().addTags("tries", cmd.getOptionValue(this.tries));
 		}
+
+		if (cmd.hasOption(coupledPaths)) {
+			PatternMatchingConfig.coupledLinkPaths = true;
+			MetricsManager.getInstance().addTags("coupled paths", "true");
+		}
+
+		if (cmd.getOptionValue(this.streaming) != null) {
+			AlgorithmConfig.pmStreamingBatchSize = Integer.valueOf(cmd.getOptionValue(this.streaming));
+			MetricsManager.getInstance().addTags("streaming", cmd.getOptionValue(this.streaming));
+		}
+
+		if (cmd.hasOption(sharedEngine)) {
+			AlgorithmConfig.pmSharedEngine = true;
+			MetricsManager.getInstance().addTags("shared engine", "true");
+		}
+
+		if (cmd.hasOption(backgroundInit)) {
+			AlgorithmConfig.pmBackgroundInit = true;
+			MetricsManager.getInstance().addTags("background init", "true");
+		}
+
+		if (cmd.hasOption(scopedMatching)) {
+			PatternMatchingConfig.scopedMatching = true;
+			MetricsManager.getInstance().addTags("scoped matching", "true");
+		}
 	}
 
 }